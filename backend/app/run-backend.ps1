@@ -53,7 +53,7 @@ $envPath = Join-Path $PSScriptRoot ".env"
 Load-DotEnv -Path $envPath
 
 if (-not $env:DB_URL) {
-    $env:DB_URL = 'jdbc:mysql://localhost:3307/hostel_db?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC'
+    $env:DB_URL = 'jdbc:mysql://localhost:3307/hostel_db?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&rewriteBatchedStatements=true'
 }
 if (-not $env:DB_USERNAME) {
     $env:DB_USERNAME = 'root'
@@ -75,7 +75,7 @@ function Resolve-DbPort {
 # MySQL Connection Settings (defaults; can be overridden by existing env vars)
 if (-not $env:DB_URL) {
 	$resolvedDbPort = Resolve-DbPort
-	$env:DB_URL = "jdbc:mysql://localhost:$resolvedDbPort/hostel_db?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC"
+	$env:DB_URL = "jdbc:mysql://localhost:$resolvedDbPort/hostel_db?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&rewriteBatchedStatements=true"
 }
 if (-not $env:DB_USERNAME) {
 	$env:DB_USERNAME = "root"
@@ -10,7 +10,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
 @ConfigurationPropertiesScan
 @EnableScheduling
-@EnableAsync   // powers @Async on NotificationService
+@EnableAsync   // powers @Async (executor in AsyncConfig)
 @EnableCaching // powers @Cacheable / @CacheEvict on service methods
 public class HostelManagementSystemApplication {
   public static void main(String[] args) {
@@ -1,30 +1,61 @@
 package com.hostelmanagement.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 /**
- * Configures the thread pool used for all {@code @Async} tasks.
+ * Configures the executor used for all {@code @Async} tasks.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} every task gets its own virtual thread and
+ * nothing is queued or rejected; concurrency against SMTP, Paystack and the database is limited by
+ * the {@link com.hostelmanagement.service.Bulkheads} instead. The same flag switches Tomcat request
+ * handling and the {@code @Scheduled} scheduler to virtual threads (Spring Boot auto-configuration).
  *
- * <p>Sizing rationale:
+ * <p>Otherwise a platform pool is used. Sizing rationale:
  * <ul>
  *   <li>corePoolSize=4  — always-alive threads for hot-path notifications</li>
  *   <li>maxPoolSize=20  — burst capacity during the semester "booking rush"</li>
  *   <li>queueCapacity=100 — backlog buffer before tasks are rejected</li>
  * </ul>
- * Tasks that exceed the queue trigger RejectedExecutionException; callers
- * (e.g. {@link com.hostelmanagement.service.NotificationService}) catch and log.
+ * Tasks that exceed the queue trigger RejectedExecutionException. Notification emails no longer
+ * go through this pool; they are written to a durable outbox (see
+ * {@link com.hostelmanagement.service.NotificationOutboxDispatcher}).
+ *
+ * <p>Spring Boot binds the pool's {@code executor.*} meters (queued, active, pool size) under
+ * {@code name=taskExecutor}; {@code executor.rejected} is added here.
  */
 @Configuration
 public class AsyncConfig implements AsyncConfigurer {
 
+  private final boolean virtualThreads;
+  private final LongAdder rejections = new LongAdder();
+
+  public AsyncConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
   @Bean(name = "taskExecutor")
   @Override
   public Executor getAsyncExecutor() {
+    if (virtualThreads) {
+      SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("hostel-async-");
+      executor.setVirtualThreads(true);
+      executor.setTaskTerminationTimeout(30_000);
+      return executor;
+    }
+
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
     executor.setCorePoolSize(4);
     executor.setMaxPoolSize(20);
@@ -32,10 +63,24 @@ public class AsyncConfig implements AsyncConfigurer {
     executor.setThreadNamePrefix("hostel-async-");
     executor.setWaitForTasksToCompleteOnShutdown(true);
     executor.setAwaitTerminationSeconds(30);
+    executor.setRejectedExecutionHandler(
+        (task, pool) -> {
+          rejections.increment();
+          new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
     executor.initialize();
     return executor;
   }
 
+  @Bean
+  public MeterBinder taskExecutorRejections() {
+    return registry ->
+        FunctionCounter.builder("executor.rejected", rejections, LongAdder::sum)
+            .description("Async tasks rejected because the taskExecutor queue was full")
+            .tag("name", "taskExecutor")
+            .register(registry);
+  }
+
   /** Prevent uncaught async exceptions from being silently swallowed. */
   @Override
   public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
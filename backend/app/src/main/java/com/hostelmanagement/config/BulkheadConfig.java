@@ -0,0 +1,40 @@
+package com.hostelmanagement.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.hostelmanagement.service.Bulkheads;
+
+/**
+ * Puts the {@code database} bulkhead in front of the application {@link DataSource} when virtual
+ * threads are enabled.
+ *
+ * <p>With platform threads the Tomcat pool already bounds how many requests wait on Hikari, so
+ * the wrapper would only add a second, earlier timeout. With virtual threads nothing else bounds
+ * them, and the permits also cap how many carriers the MySQL driver can pin.
+ *
+ * <p>The post-processor is static and resolves {@link Bulkheads} lazily so the meter registry is
+ * not initialised ahead of the other post-processors.
+ */
+@Configuration
+public class BulkheadConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+  static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<Bulkheads> bulkheads) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+          return new BulkheadDataSource(dataSource, () -> bulkheads.getObject().database());
+        }
+        return bean;
+      }
+    };
+  }
+}
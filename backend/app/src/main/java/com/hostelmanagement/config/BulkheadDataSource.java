@@ -0,0 +1,83 @@
+package com.hostelmanagement.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.hostelmanagement.service.Bulkhead;
+
+/**
+ * Takes a {@code database} bulkhead permit for every connection borrowed from the pool and gives
+ * it back when the connection is closed.
+ *
+ * <p>Hikari would otherwise park callers for its full {@code connection-timeout} once the pool is
+ * drained, which in virtual-thread mode means thousands of parked requests each waiting to fail
+ * with a 500. The bulkhead fails them fast with a 503 instead.
+ */
+class BulkheadDataSource extends DelegatingDataSource {
+
+  private final Supplier<Bulkhead> bulkhead;
+
+  BulkheadDataSource(DataSource target, Supplier<Bulkhead> bulkhead) {
+    super(target);
+    this.bulkhead = bulkhead;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Bulkhead permits = bulkhead.get();
+    permits.acquire();
+    try {
+      return guard(super.getConnection(), permits);
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    Bulkhead permits = bulkhead.get();
+    permits.acquire();
+    try {
+      return guard(super.getConnection(username, password), permits);
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  private static Connection guard(Connection target, Bulkhead permits) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection)
+        Proxy.newProxyInstance(
+            BulkheadDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                default:
+                  break;
+              }
+              try {
+                return method.invoke(target, args);
+              } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+              } finally {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                  permits.release();
+                }
+              }
+            });
+  }
+}
@@ -1,13 +1,30 @@
 package com.hostelmanagement.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.web.dto.HostelResponse;
+import com.hostelmanagement.web.dto.RoomResponse;
+
 /**
  * Redis cache configuration for Spring Cache with per-cache TTL settings.
  *
@@ -26,13 +43,18 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
  *   <li>{@code active-hostels} (10 min TTL) – List of active hostels. Rarely changes,
  *       cached aggressively. Evicted manually when hostel status changes.
  *   <li>{@code available-rooms} (2 min TTL) – Available rooms by hostel/gender.
- *       Changes frequently (every booking). Evicted immediately via @CacheEvict.
- *       2-minute TTL is a safety net for edge cases.
+ *       Changes frequently (every booking). Evicted per hostel/gender after commit by
+ *       {@link com.hostelmanagement.service.AvailableRoomsCacheInvalidator}.
+ *       2-minute TTL is a safety net for edge cases. Keyed {@code <hostelId>-<gender>}, so all
+ *       students of one gender share an entry.
+ *   <li>{@code student-gender} (1 hour TTL) – Student id to gender, used to resolve the
+ *       {@code available-rooms} key for access tokens that predate the gender claim.
  * </ul>
  *
  * <p><b>Eviction Strategy:</b>
  * <ul>
- *   <li>Explicit eviction: {@code @CacheEvict} on write operations (apply, updateStatus, etc.)
+ *   <li>Explicit eviction: {@code @CacheEvict} on hostel writes; targeted post-commit eviction of
+ *       the affected hostel/gender {@code available-rooms} key on booking, room and rollover writes
  *   <li>Time-based eviction: TTL causes entries to expire automatically
  *   <li>Safety net: TTL ensures stale data never returns after 2-10 minutes
  * </ul>
@@ -45,15 +67,67 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
  * </ul>
  *
  * <p><b>Note on eviction ordering:</b> {@code @CacheEvict} on {@code @Transactional} methods
- * evicts <em>after the method returns but before the transaction commits</em>. For this
- * application this is acceptable — the TTL acts as a safety net. Production would use
- * {@code TransactionSynchronizationManager.registerSynchronization} for post-commit eviction.
+ * evicts <em>after the method returns but before the transaction commits</em>, which lets a
+ * concurrent reader re-cache the old rows. {@code available-rooms} is therefore invalidated through
+ * {@code TransactionSynchronizationManager.registerSynchronization} once the write has committed.
+ *
+ * <p><b>Near cache:</b> {@code active-hostels} and {@code available-rooms} are served through a
+ * {@link TwoTierCacheManager}: a bounded per-node Caffeine L1 (short TTL, size-based eviction) in
+ * front of Redis, so hot lookups skip the Redis round trip and JSON deserialization. Evictions are
+ * broadcast over Redis pub/sub ({@link TwoTierCacheManager#INVALIDATION_CHANNEL}) so every node
+ * drops its L1 copy. Per-tier metrics are published as {@code cache.tier.gets{tier,result}} and
+ * {@code cache.tier.latency{tier}}, plus Caffeine statistics under {@code <cache>-l1}.
+ *
+ * <p><b>Serialization:</b> the listing caches use {@link CompactJsonRedisSerializer} (typed JSON
+ * without per-element {@code @class} metadata, LZ4 above {@code app.cache.compression-threshold-bytes});
+ * anything else falls back to {@code GenericJackson2JsonRedisSerializer}.
+ *
+ * <p>Only active when {@code spring.cache.type=redis}; with {@code none} (tests) Spring Boot's
+ * no-op cache manager is used instead.
  */
 @Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
 public class CacheConfig {
 
+  private static final Set<String> NEAR_CACHES = Set.of("active-hostels", "available-rooms");
+
   @Bean
-  public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
+  public TwoTierCacheManager cacheManager(
+      RedisConnectionFactory connectionFactory,
+      ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+      StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${app.cache.near.max-size:1000}") long nearMaxSize,
+      @Value("${app.cache.near.ttl-seconds:10}") long nearTtlSeconds) {
+    // Built by hand, so Boot's spring.cache.redis.enable-statistics never reaches it; without
+    // statistics the cache.gets/puts meters for the Redis tier stay at zero.
+    RedisCacheManager.RedisCacheManagerBuilder builder =
+        RedisCacheManager.builder(connectionFactory).enableStatistics();
+    customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+    RedisCacheManager redisCacheManager = builder.build();
+    redisCacheManager.afterPropertiesSet();
+
+    return new TwoTierCacheManager(
+        redisCacheManager,
+        redisTemplate,
+        meterRegistry,
+        NEAR_CACHES,
+        nearMaxSize,
+        Duration.ofSeconds(nearTtlSeconds));
+  }
+
+  @Bean
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+      RedisConnectionFactory connectionFactory, TwoTierCacheManager cacheManager) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+    return container;
+  }
+
+  @Bean
+  public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(
+      @Value("${app.cache.compression-threshold-bytes:1024}") int compressionThreshold) {
     // Default cache configuration with JSON serialization
     RedisCacheConfiguration base = RedisCacheConfiguration.defaultCacheConfig()
         // Don't cache null values (avoids caching "not found" responses)
@@ -63,11 +137,31 @@ public class CacheConfig {
             RedisSerializationContext.SerializationPair
                 .fromSerializer(new GenericJackson2JsonRedisSerializer()));
 
+    // Listing caches know their value type, so they skip @class metadata and LZ4-compress large
+    // payloads. The "c1:" prefix keeps them apart from entries written in the generic format.
+    ObjectMapper mapper = new ObjectMapper();
+    TypeFactory types = mapper.getTypeFactory();
+    RedisCacheConfiguration hostels = compact(base, new CompactJsonRedisSerializer<>(
+        mapper, types.constructCollectionType(List.class, HostelResponse.class), compressionThreshold));
+    RedisCacheConfiguration rooms = compact(base, new CompactJsonRedisSerializer<>(
+        mapper, types.constructCollectionType(List.class, RoomResponse.class), compressionThreshold));
+    RedisCacheConfiguration genders = compact(base, new CompactJsonRedisSerializer<>(
+        mapper, types.constructType(Gender.class), compressionThreshold));
+
     // Configure individual cache TTLs
     return builder -> builder
         // Active hostels: 10 min TTL (stable list, rarely changes)
-        .withCacheConfiguration("active-hostels", base.entryTtl(Duration.ofMinutes(10)))
+        .withCacheConfiguration("active-hostels", hostels.entryTtl(Duration.ofMinutes(10)))
         // Available rooms: 2 min TTL (changes frequently, explicit eviction on writes)
-        .withCacheConfiguration("available-rooms", base.entryTtl(Duration.ofMinutes(2)));
+        .withCacheConfiguration("available-rooms", rooms.entryTtl(Duration.ofMinutes(2)))
+        // Student gender: 1 hour TTL (never edited after registration)
+        .withCacheConfiguration("student-gender", genders.entryTtl(Duration.ofHours(1)));
+  }
+
+  private static RedisCacheConfiguration compact(
+      RedisCacheConfiguration base, CompactJsonRedisSerializer<?> serializer) {
+    return base
+        .prefixCacheNameWith("c1:")
+        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
   }
 }
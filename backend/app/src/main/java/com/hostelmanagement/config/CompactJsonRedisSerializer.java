@@ -0,0 +1,111 @@
+package com.hostelmanagement.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * Redis value serializer for a single, statically known type.
+ *
+ * <p>Unlike {@code GenericJackson2JsonRedisSerializer} it writes plain JSON without
+ * {@code @class} metadata on every element (the cache already knows what it stores), and
+ * LZ4-compresses payloads at or above {@code compressionThreshold} bytes. Large room lists shrink
+ * several-fold; small values are stored uncompressed to avoid the framing cost.
+ *
+ * <p>Format: one header byte ({@link #PLAIN} or {@link #LZ4}); LZ4 payloads are followed by the
+ * uncompressed length as a 4-byte big-endian int.
+ */
+public class CompactJsonRedisSerializer<T> implements RedisSerializer<T> {
+
+  static final byte PLAIN = 0;
+  static final byte LZ4 = 1;
+
+  /**
+   * LZ4 cannot expand input by more than about 255x (one length byte per 255 output bytes), so a
+   * header claiming more is corrupt and is rejected before the output buffer is allocated.
+   */
+  static final int MAX_LZ4_RATIO = 255;
+
+  private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+
+  private final ObjectWriter writer;
+  private final ObjectReader reader;
+  private final int compressionThreshold;
+  private final LZ4Compressor compressor = LZ4_FACTORY.fastCompressor();
+  /** Bounds-checked: a truncated or corrupt entry fails instead of reading past the input. */
+  private final LZ4SafeDecompressor decompressor = LZ4_FACTORY.safeDecompressor();
+
+  public CompactJsonRedisSerializer(ObjectMapper objectMapper, JavaType type, int compressionThreshold) {
+    this.writer = objectMapper.writerFor(type);
+    this.reader = objectMapper.readerFor(type);
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  @Override
+  public byte[] serialize(T value) {
+    if (value == null) {
+      return new byte[0];
+    }
+
+    byte[] json;
+    try {
+      json = writer.writeValueAsBytes(value);
+    } catch (IOException ex) {
+      throw new SerializationException("Could not write JSON: " + ex.getMessage(), ex);
+    }
+
+    if (json.length < compressionThreshold) {
+      byte[] out = new byte[json.length + 1];
+      out[0] = PLAIN;
+      System.arraycopy(json, 0, out, 1, json.length);
+      return out;
+    }
+
+    int maxLength = compressor.maxCompressedLength(json.length);
+    byte[] out = new byte[maxLength + 5];
+    out[0] = LZ4;
+    ByteBuffer.wrap(out, 1, 4).putInt(json.length);
+    int compressedLength = compressor.compress(json, 0, json.length, out, 5, maxLength);
+    return Arrays.copyOf(out, compressedLength + 5);
+  }
+
+  @Override
+  public T deserialize(byte[] bytes) {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+
+    try {
+      return switch (bytes[0]) {
+        case PLAIN -> reader.readValue(bytes, 1, bytes.length - 1);
+        case LZ4 -> {
+          int length = bytes.length < 5 ? -1 : ByteBuffer.wrap(bytes, 1, 4).getInt();
+          if (length < 0 || length > (long) (bytes.length - 5) * MAX_LZ4_RATIO) {
+            throw new SerializationException("Corrupt cache payload: bad LZ4 length " + length);
+          }
+          byte[] json = new byte[length];
+          if (decompressor.decompress(bytes, 5, bytes.length - 5, json, 0) != length) {
+            throw new SerializationException("Truncated cache payload: expected " + length + " bytes");
+          }
+          yield reader.readValue(json);
+        }
+        default -> throw new SerializationException("Unknown cache payload header: " + bytes[0]);
+      };
+    } catch (IOException | LZ4Exception ex) {
+      throw new SerializationException("Could not read cached value: " + ex.getMessage(), ex);
+    }
+  }
+}
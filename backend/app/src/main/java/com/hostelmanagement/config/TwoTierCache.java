@@ -0,0 +1,180 @@
+package com.hostelmanagement.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A {@link Cache} that reads through a bounded on-heap L1 (Caffeine) before the shared Redis L2.
+ *
+ * <p>L1 hits skip both the Redis round trip and JSON deserialization. Writes go to both tiers;
+ * evictions and clears go to both tiers and are broadcast through {@link TwoTierCacheManager} so
+ * the other nodes drop their L1 copy. The short L1 TTL bounds staleness if a broadcast is lost.
+ *
+ * <p>L1 entries are keyed by {@code String.valueOf(key)} so that keys received over pub/sub match
+ * the keys produced by {@code @Cacheable}.
+ */
+public class TwoTierCache implements Cache {
+
+  private final String name;
+  private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+  private final Cache remote;
+  private final TwoTierCacheManager manager;
+
+  private final Counter l1Hits;
+  private final Counter l1Misses;
+  private final Counter l2Hits;
+  private final Counter l2Misses;
+  private final Timer l1Latency;
+  private final Timer l2Latency;
+
+  TwoTierCache(
+      String name,
+      com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+      Cache remote,
+      TwoTierCacheManager manager,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.local = local;
+    this.remote = remote;
+    this.manager = manager;
+    this.l1Hits = gets(meterRegistry, "l1", "hit");
+    this.l1Misses = gets(meterRegistry, "l1", "miss");
+    this.l2Hits = gets(meterRegistry, "l2", "hit");
+    this.l2Misses = gets(meterRegistry, "l2", "miss");
+    this.l1Latency = latency(meterRegistry, "l1");
+    this.l2Latency = latency(meterRegistry, "l2");
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return remote.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    String localKey = String.valueOf(key);
+
+    Object cached = readLocal(localKey);
+    if (cached != null) {
+      return new SimpleValueWrapper(cached);
+    }
+
+    long start = System.nanoTime();
+    ValueWrapper wrapper = remote.get(key);
+    l2Latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    if (wrapper == null || wrapper.get() == null) {
+      l2Misses.increment();
+      return wrapper;
+    }
+    l2Hits.increment();
+    local.put(localKey, wrapper.get());
+    return wrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper == null ? null : wrapper.get();
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    String localKey = String.valueOf(key);
+
+    Object cached = readLocal(localKey);
+    if (cached != null) {
+      return (T) cached;
+    }
+
+    long start = System.nanoTime();
+    T value = remote.get(key, valueLoader);
+    l2Latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    if (value != null) {
+      local.put(localKey, value);
+    }
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    remote.put(key, value);
+    if (value != null) {
+      local.put(String.valueOf(key), value);
+    }
+  }
+
+  @Override
+  public void evict(Object key) {
+    remote.evict(key);
+    evictLocal(String.valueOf(key));
+    manager.publishEvict(name, String.valueOf(key));
+  }
+
+  @Override
+  public void clear() {
+    remote.clear();
+    clearLocal();
+    manager.publishClear(name);
+  }
+
+  /** Drops one L1 entry; called for invalidations received from other nodes. */
+  void evictLocal(String key) {
+    local.invalidate(key);
+  }
+
+  /** Drops every L1 entry; called for invalidations received from other nodes. */
+  void clearLocal() {
+    local.invalidateAll();
+  }
+
+  private Object readLocal(String localKey) {
+    long start = System.nanoTime();
+    Object cached = local.getIfPresent(localKey);
+    l1Latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    if (cached != null) {
+      l1Hits.increment();
+    } else {
+      l1Misses.increment();
+    }
+    return cached;
+  }
+
+  private Counter gets(MeterRegistry meterRegistry, String tier, String result) {
+    return Counter.builder("cache.tier.gets")
+        .description("Two-tier cache lookups per tier")
+        .tag("cache", name)
+        .tag("tier", tier)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private Timer latency(MeterRegistry meterRegistry, String tier) {
+    return Timer.builder("cache.tier.latency")
+        .description("Two-tier cache lookup latency per tier")
+        .tag("cache", name)
+        .tag("tier", tier)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,121 @@
+package com.hostelmanagement.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * {@link CacheManager} that puts a per-node Caffeine L1 in front of the Redis-backed caches
+ * listed in {@code nearCacheNames}; every other cache is served by Redis alone.
+ *
+ * <p>L1 invalidations are broadcast on {@link #INVALIDATION_CHANNEL} as
+ * {@code <nodeId>|<cacheName>|<key>} (an empty key means "clear"). Each node ignores its own
+ * messages, since it already dropped the entry locally.
+ */
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+  public static final String INVALIDATION_CHANNEL = "hostel:cache:invalidate";
+
+  private static final Logger log = LoggerFactory.getLogger(TwoTierCacheManager.class);
+
+  private final CacheManager remote;
+  private final StringRedisTemplate redisTemplate;
+  private final MeterRegistry meterRegistry;
+  private final Set<String> nearCacheNames;
+  private final long localMaxSize;
+  private final Duration localTtl;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private final Map<String, TwoTierCache> nearCaches = new ConcurrentHashMap<>();
+
+  public TwoTierCacheManager(
+      CacheManager remote,
+      StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry,
+      Set<String> nearCacheNames,
+      long localMaxSize,
+      Duration localTtl) {
+    this.remote = remote;
+    this.redisTemplate = redisTemplate;
+    this.meterRegistry = meterRegistry;
+    this.nearCacheNames = Set.copyOf(nearCacheNames);
+    this.localMaxSize = localMaxSize;
+    this.localTtl = localTtl;
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    if (!nearCacheNames.contains(name)) {
+      return remote.getCache(name);
+    }
+    return nearCaches.computeIfAbsent(name, this::createNearCache);
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return remote.getCacheNames();
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+    if (parts.length < 3 || nodeId.equals(parts[0])) {
+      return;
+    }
+
+    TwoTierCache cache = nearCaches.get(parts[1]);
+    if (cache == null) {
+      return;
+    }
+    if (parts[2].isEmpty()) {
+      cache.clearLocal();
+    } else {
+      cache.evictLocal(parts[2]);
+    }
+  }
+
+  void publishEvict(String cacheName, String key) {
+    publish(cacheName + "|" + key);
+  }
+
+  void publishClear(String cacheName) {
+    publish(cacheName + "|");
+  }
+
+  private void publish(String payload) {
+    try {
+      redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + payload);
+    } catch (RuntimeException ex) {
+      // Other nodes fall back to the L1 TTL; the write itself already succeeded.
+      log.warn("[CACHE] Failed to broadcast L1 invalidation {}: {}", payload, ex.getMessage());
+    }
+  }
+
+  private TwoTierCache createNearCache(String name) {
+    com.github.benmanes.caffeine.cache.Cache<String, Object> local =
+        Caffeine.newBuilder()
+            .maximumSize(localMaxSize)
+            .expireAfterWrite(localTtl)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, local, name + "-l1");
+    return new TwoTierCache(name, local, remote.getCache(name), this, meterRegistry);
+  }
+}
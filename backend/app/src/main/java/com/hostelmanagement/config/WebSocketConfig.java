@@ -1,6 +1,6 @@
 package com.hostelmanagement.config;
 
-import com.hostelmanagement.security.JwtService;
+import com.hostelmanagement.security.JwtVerificationCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
@@ -33,10 +33,10 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
-  private final JwtService jwtService;
+  private final JwtVerificationCache jwtVerificationCache;
 
-  public WebSocketConfig(JwtService jwtService) {
-    this.jwtService = jwtService;
+  public WebSocketConfig(JwtVerificationCache jwtVerificationCache) {
+    this.jwtVerificationCache = jwtVerificationCache;
   }
 
   /**
@@ -72,7 +72,7 @@ public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
           if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring("Bearer ".length()).trim();
             try {
-              var jwtUser = jwtService.parse(token);
+              var jwtUser = jwtVerificationCache.verify(token);
               if (jwtUser.userId() != null) {
                 String principalName = String.valueOf(jwtUser.userId());
                 accessor.setUser(
@@ -12,6 +12,7 @@ import java.time.Instant;
       @Index(name = "idx_bookings_student_status", columnList = "student_id,status"),
       @Index(name = "idx_bookings_created_at", columnList = "created_at"),
       @Index(name = "idx_bookings_room", columnList = "room_id"),
+      @Index(name = "idx_bookings_status_room", columnList = "status,room_id"),
       @Index(name = "idx_bookings_academic_term", columnList = "academic_term_id")
     })
 public class Booking {
@@ -0,0 +1,70 @@
+package com.hostelmanagement.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Booking count for one status, striped over a few {@code slot} rows so concurrent applies do not
+ * all update the same row. The count for a status is the sum over its slots.
+ */
+@Entity
+@Table(name = "analytics_booking_status")
+@IdClass(BookingStatusSummary.Key.class)
+@SuppressWarnings({"java:S1068", "java:S1144"})
+public class BookingStatusSummary {
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private BookingStatus status;
+
+  @Id
+  @Column(nullable = false)
+  private int slot;
+
+  @Column(name = "booking_count", nullable = false)
+  private long bookingCount;
+
+  public BookingStatus getStatus() {
+    return status;
+  }
+
+  public int getSlot() {
+    return slot;
+  }
+
+  public long getBookingCount() {
+    return bookingCount;
+  }
+
+  public static class Key implements Serializable {
+
+    private BookingStatus status;
+    private int slot;
+
+    public Key() {}
+
+    public Key(BookingStatus status, int slot) {
+      this.status = status;
+      this.slot = slot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key other && status == other.status && slot == other.slot;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(status, slot);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.hostelmanagement.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Incrementally maintained room counts for one hostel; written by
+ * {@code AnalyticsProjectionService}, never by JPA.
+ */
+@Entity
+@Table(name = "analytics_hostel_occupancy")
+@SuppressWarnings({"java:S1068", "java:S1144"})
+public class HostelOccupancySummary {
+
+  @Id
+  @Column(name = "hostel_id")
+  private Long hostelId;
+
+  @Column(name = "total_rooms", nullable = false)
+  private int totalRooms;
+
+  /** Rooms with at least one {@code APPROVED} booking. */
+  @Column(name = "booked_rooms", nullable = false)
+  private int bookedRooms;
+
+  public Long getHostelId() {
+    return hostelId;
+  }
+
+  public int getTotalRooms() {
+    return totalRooms;
+  }
+
+  public int getBookedRooms() {
+    return bookedRooms;
+  }
+}
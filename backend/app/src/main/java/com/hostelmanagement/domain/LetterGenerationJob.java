@@ -0,0 +1,198 @@
+package com.hostelmanagement.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/** An admin request to render allocation letters for every approved booking in a term or hostel. */
+@Entity
+@Table(
+    name = "letter_generation_jobs",
+    indexes = @Index(name = "idx_letter_jobs_status_lease", columnList = "status,lease_until,id"))
+public class LetterGenerationJob {
+
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    /** Stopped on an error; an admin can resume it from its last checkpoint. */
+    FAILED,
+    CANCELLED
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "academic_term_id")
+  private Long academicTermId;
+
+  @Column(name = "hostel_id")
+  private Long hostelId;
+
+  @Column(name = "requested_by", nullable = false)
+  private Long requestedBy;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private Status status = Status.QUEUED;
+
+  @Column(name = "total_letters", nullable = false)
+  private int totalLetters;
+
+  @Column(nullable = false)
+  private int generated;
+
+  @Column(nullable = false)
+  private int failed;
+
+  /** Highest booking id already written; the next page starts after it. */
+  @Column(name = "last_booking_id", nullable = false)
+  private long lastBookingId;
+
+  @Column(name = "lease_until", nullable = false)
+  private Instant leaseUntil;
+
+  /**
+   * Letters directory the job writes to, set when the job is first claimed. Only nodes that see
+   * the same directory may resume or download the job.
+   */
+  @Column(name = "storage_id", length = 36)
+  private String storageId;
+
+  @Column(name = "last_error", length = 500)
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @Column(name = "started_at")
+  private Instant startedAt;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getAcademicTermId() {
+    return academicTermId;
+  }
+
+  public void setAcademicTermId(Long academicTermId) {
+    this.academicTermId = academicTermId;
+  }
+
+  public Long getHostelId() {
+    return hostelId;
+  }
+
+  public void setHostelId(Long hostelId) {
+    this.hostelId = hostelId;
+  }
+
+  public Long getRequestedBy() {
+    return requestedBy;
+  }
+
+  public void setRequestedBy(Long requestedBy) {
+    this.requestedBy = requestedBy;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public int getTotalLetters() {
+    return totalLetters;
+  }
+
+  public void setTotalLetters(int totalLetters) {
+    this.totalLetters = totalLetters;
+  }
+
+  public int getGenerated() {
+    return generated;
+  }
+
+  public void setGenerated(int generated) {
+    this.generated = generated;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public void setFailed(int failed) {
+    this.failed = failed;
+  }
+
+  public long getLastBookingId() {
+    return lastBookingId;
+  }
+
+  public void setLastBookingId(long lastBookingId) {
+    this.lastBookingId = lastBookingId;
+  }
+
+  public Instant getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public void setLeaseUntil(Instant leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+
+  public String getStorageId() {
+    return storageId;
+  }
+
+  public void setStorageId(String storageId) {
+    this.storageId = storageId;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public Instant getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(Instant startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public Instant getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(Instant finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+}
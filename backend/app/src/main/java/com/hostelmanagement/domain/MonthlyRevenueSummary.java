@@ -0,0 +1,75 @@
+package com.hostelmanagement.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Completed-payment revenue for one calendar month ({@code yyyy-MM}), striped over {@code slot}
+ * rows like {@link BookingStatusSummary}.
+ */
+@Entity
+@Table(name = "analytics_monthly_revenue")
+@IdClass(MonthlyRevenueSummary.Key.class)
+@SuppressWarnings({"java:S1068", "java:S1144"})
+public class MonthlyRevenueSummary {
+
+  @Id
+  @Column(name = "revenue_month", nullable = false, length = 7)
+  private String revenueMonth;
+
+  @Id
+  @Column(nullable = false)
+  private int slot;
+
+  @Column(nullable = false, precision = 14, scale = 2)
+  private BigDecimal revenue;
+
+  @Column(name = "completed_payments", nullable = false)
+  private long completedPayments;
+
+  public String getRevenueMonth() {
+    return revenueMonth;
+  }
+
+  public int getSlot() {
+    return slot;
+  }
+
+  public BigDecimal getRevenue() {
+    return revenue;
+  }
+
+  public long getCompletedPayments() {
+    return completedPayments;
+  }
+
+  public static class Key implements Serializable {
+
+    private String revenueMonth;
+    private int slot;
+
+    public Key() {}
+
+    public Key(String revenueMonth, int slot) {
+      this.revenueMonth = revenueMonth;
+      this.slot = slot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key other && Objects.equals(revenueMonth, other.revenueMonth) && slot == other.slot;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(revenueMonth, slot);
+    }
+  }
+}
@@ -12,7 +12,8 @@ import java.time.Instant;
       @Index(name = "idx_payments_booking", columnList = "booking_id"),
       @Index(name = "idx_payments_student", columnList = "student_id"),
       @Index(name = "idx_payments_transaction_ref", columnList = "transaction_reference"),
-      @Index(name = "idx_payments_student_status", columnList = "student_id,status")
+      @Index(name = "idx_payments_student_status", columnList = "student_id,status"),
+      @Index(name = "idx_payments_status_paid_at", columnList = "status,paid_at,amount")
     })
 @SuppressWarnings({"java:S1068", "java:S1144"})
 public class Payment {
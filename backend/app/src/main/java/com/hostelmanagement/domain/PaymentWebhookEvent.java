@@ -0,0 +1,152 @@
+package com.hostelmanagement.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/** A received Paystack webhook waiting in, or already drained from, the inbox. */
+@Entity
+@Table(
+    name = "payment_webhook_inbox",
+    uniqueConstraints = @UniqueConstraint(name = "uk_webhook_inbox_event", columnNames = "event_id"),
+    indexes = {
+      @Index(name = "idx_webhook_inbox_status_due", columnList = "status,next_attempt_at,id"),
+      @Index(name = "idx_webhook_inbox_reference", columnList = "transaction_reference,status,id")
+    })
+public class PaymentWebhookEvent {
+
+  public enum Status {
+    PENDING,
+    PROCESSED,
+    /** Gave up after the maximum number of attempts, or the event can never apply. */
+    FAILED
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "event_id", nullable = false, length = 190)
+  private String eventId;
+
+  @Column(name = "event_type", nullable = false, length = 50)
+  private String eventType;
+
+  @Column(name = "transaction_reference", length = 120)
+  private String transactionReference;
+
+  @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+  private String payload;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private Status status = Status.PENDING;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(name = "last_error", length = 500)
+  private String lastError;
+
+  @Column(name = "received_at", nullable = false, updatable = false)
+  private Instant receivedAt;
+
+  @Column(name = "processed_at")
+  private Instant processedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getEventId() {
+    return eventId;
+  }
+
+  public void setEventId(String eventId) {
+    this.eventId = eventId;
+  }
+
+  public String getEventType() {
+    return eventType;
+  }
+
+  public void setEventType(String eventType) {
+    this.eventType = eventType;
+  }
+
+  public String getTransactionReference() {
+    return transactionReference;
+  }
+
+  public void setTransactionReference(String transactionReference) {
+    this.transactionReference = transactionReference;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public void setPayload(String payload) {
+    this.payload = payload;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public Instant getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public void setNextAttemptAt(Instant nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public Instant getReceivedAt() {
+    return receivedAt;
+  }
+
+  public void setReceivedAt(Instant receivedAt) {
+    this.receivedAt = receivedAt;
+  }
+
+  public Instant getProcessedAt() {
+    return processedAt;
+  }
+
+  public void setProcessedAt(Instant processedAt) {
+    this.processedAt = processedAt;
+  }
+}
@@ -0,0 +1,43 @@
+package com.hostelmanagement.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Number of {@code APPROVED} bookings per room, kept so a hostel's booked-room count can be
+ * adjusted exactly when a room gains its first or loses its last approval.
+ */
+@Entity
+@Table(
+    name = "analytics_room_approvals",
+    indexes = {
+      @Index(name = "idx_analytics_room_approvals_hostel", columnList = "hostel_id")
+    })
+@SuppressWarnings({"java:S1068", "java:S1144"})
+public class RoomApprovalSummary {
+
+  @Id
+  @Column(name = "room_id")
+  private Long roomId;
+
+  @Column(name = "hostel_id", nullable = false)
+  private Long hostelId;
+
+  @Column(name = "approved_bookings", nullable = false)
+  private int approvedBookings;
+
+  public Long getRoomId() {
+    return roomId;
+  }
+
+  public Long getHostelId() {
+    return hostelId;
+  }
+
+  public int getApprovedBookings() {
+    return approvedBookings;
+  }
+}
@@ -2,19 +2,56 @@ package com.hostelmanagement.repository;
 
 import com.hostelmanagement.domain.Booking;
 import com.hostelmanagement.domain.BookingStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
   List<Booking> findByStatusAndCreatedAtBefore(BookingStatus status, Instant cutoff);
 
+  /**
+   * Locks the next chunk of bookings in {@code status} created before {@code cutoff}.
+   * Rows already locked by another transaction are skipped ({@code FOR UPDATE SKIP LOCKED}).
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT b FROM Booking b WHERE b.status = :status AND b.createdAt < :cutoff ORDER BY b.id")
+  List<Booking> lockChunkByStatusAndCreatedAtBefore(
+      @Param("status") BookingStatus status, @Param("cutoff") Instant cutoff, Pageable pageable);
+
+  /** Locks the given bookings that are still in {@code status}, skipping rows locked elsewhere. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = :status ORDER BY b.id")
+  List<Booking> lockByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      """
+      UPDATE Booking b
+      SET b.status = :to,
+          b.updatedAt = :now
+      WHERE b.id IN :ids
+        AND b.status = :from
+      """)
+  int bulkTransitionStatus(
+      @Param("ids") Collection<Long> ids,
+      @Param("from") BookingStatus from,
+      @Param("to") BookingStatus to,
+      @Param("now") Instant now);
+
   Optional<Booking> findFirstByStudentIdAndStatusInOrderByIdDesc(Long studentId, List<BookingStatus> statuses);
 
   List<Booking> findByStatus(BookingStatus status);
@@ -25,6 +62,21 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
   List<Booking> findByStatusAndAcademicTermId(BookingStatus status, Long academicTermId);
 
+  @Query("SELECT b.student.id AS studentId, b.status AS status FROM Booking b WHERE b.student.id IN :studentIds AND b.status IN :statuses")
+  List<StudentBookingStatus> findStatusesByStudentIdIn(
+      @Param("studentIds") Collection<Long> studentIds, @Param("statuses") Collection<BookingStatus> statuses);
+
+  /** Rooms holding at least one booking in {@code status}, per hostel. */
+  @Query(
+      """
+      SELECT r.hostel.id AS hostelId, COUNT(DISTINCT r.id) AS rooms
+      FROM Booking b
+      JOIN b.room r
+      WHERE b.status = :status
+      GROUP BY r.hostel.id
+      """)
+  List<HostelRoomCount> countDistinctRoomsByHostel(@Param("status") BookingStatus status);
+
   boolean existsByAcademicTermId(Long academicTermId);
 
   Optional<Booking> findFirstByStudentIdAndStatusOrderByIdDesc(Long studentId, BookingStatus status);
@@ -51,4 +103,43 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         + "LEFT JOIN FETCH r.hostel h "
         + "WHERE b.id = :id")
     Optional<Booking> findByIdWithDetails(@Param("id") Long id);
+
+  /** Keyset page of bookings after {@code afterId}, optionally limited to a term and/or hostel. */
+  @Query(
+      "SELECT b FROM Booking b "
+          + "JOIN FETCH b.student s "
+          + "LEFT JOIN FETCH b.room r "
+          + "LEFT JOIN FETCH r.hostel h "
+          + "WHERE b.status = :status AND b.id > :afterId "
+          + "AND (:termId IS NULL OR b.academicTerm.id = :termId) "
+          + "AND (:hostelId IS NULL OR h.id = :hostelId) "
+          + "ORDER BY b.id")
+  List<Booking> findPageWithDetailsAfter(
+      @Param("status") BookingStatus status,
+      @Param("afterId") long afterId,
+      @Param("termId") Long termId,
+      @Param("hostelId") Long hostelId,
+      Pageable pageable);
+
+  @Query(
+      "SELECT COUNT(b) FROM Booking b LEFT JOIN b.room r "
+          + "WHERE b.status = :status "
+          + "AND (:termId IS NULL OR b.academicTerm.id = :termId) "
+          + "AND (:hostelId IS NULL OR r.hostel.id = :hostelId)")
+  long countByStatusForTermAndHostel(
+      @Param("status") BookingStatus status,
+      @Param("termId") Long termId,
+      @Param("hostelId") Long hostelId);
+
+  interface StudentBookingStatus {
+    Long getStudentId();
+
+    BookingStatus getStatus();
+  }
+
+  interface HostelRoomCount {
+    Long getHostelId();
+
+    Long getRooms();
+  }
 }
@@ -0,0 +1,46 @@
+package com.hostelmanagement.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.BookingStatusSummary;
+
+public interface BookingStatusSummaryRepository
+    extends JpaRepository<BookingStatusSummary, BookingStatusSummary.Key> {
+
+  @Modifying
+  @Query(
+      value =
+          """
+          INSERT INTO analytics_booking_status (status, slot, booking_count)
+          VALUES (:status, :slot, :delta)
+          ON DUPLICATE KEY UPDATE booking_count = booking_count + :delta
+          """,
+      nativeQuery = true)
+  int add(@Param("status") String status, @Param("slot") int slot, @Param("delta") long delta);
+
+  @Query("SELECT s.status AS status, SUM(s.bookingCount) AS count FROM BookingStatusSummary s GROUP BY s.status")
+  List<StatusCount> totals();
+
+  /** Recomputes every row from {@code bookings}, all into slot 0. */
+  @Modifying
+  @Query(
+      value =
+          """
+          INSERT INTO analytics_booking_status (status, slot, booking_count)
+          SELECT status, 0, COUNT(*) FROM bookings GROUP BY status
+          """,
+      nativeQuery = true)
+  int rebuild();
+
+  interface StatusCount {
+    BookingStatus getStatus();
+
+    Long getCount();
+  }
+}
@@ -0,0 +1,26 @@
+package com.hostelmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hostelmanagement.domain.HostelOccupancySummary;
+
+public interface HostelOccupancySummaryRepository extends JpaRepository<HostelOccupancySummary, Long> {
+
+  @Modifying
+  @Query(
+      value =
+          """
+          INSERT INTO analytics_hostel_occupancy (hostel_id, total_rooms, booked_rooms)
+          VALUES (:hostelId, :totalDelta, :bookedDelta)
+          ON DUPLICATE KEY UPDATE total_rooms = total_rooms + :totalDelta,
+                                  booked_rooms = booked_rooms + :bookedDelta
+          """,
+      nativeQuery = true)
+  int add(
+      @Param("hostelId") Long hostelId,
+      @Param("totalDelta") int totalDelta,
+      @Param("bookedDelta") int bookedDelta);
+}
@@ -5,10 +5,20 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface HostelRepository extends JpaRepository<Hostel, Long> {
   List<Hostel> findByActiveTrue();
   Page<Hostel> findByActiveTrue(Pageable pageable);
   Page<Hostel> findByActiveFalse(Pageable pageable);
   Page<Hostel> findAll(Pageable pageable);
+
+  @Query("SELECT h.id AS id, h.name AS name FROM Hostel h ORDER BY h.id")
+  List<HostelName> findAllNames();
+
+  interface HostelName {
+    Long getId();
+
+    String getName();
+  }
 }
@@ -0,0 +1,78 @@
+package com.hostelmanagement.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.hostelmanagement.domain.LetterGenerationJob;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface LetterGenerationJobRepository extends JpaRepository<LetterGenerationJob, Long> {
+
+  /**
+   * Locks the oldest queued or running job whose lease has run out. A running job only qualifies
+   * once the node working on it has stopped renewing the lease, and a job that already wrote
+   * letters only to a node that sees the same letters directory ({@code storageId}). Rows locked
+   * by another node are skipped.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query(
+      """
+      SELECT j FROM LetterGenerationJob j
+      WHERE j.status IN :statuses AND j.leaseUntil <= :now
+        AND (j.storageId IS NULL OR j.storageId = :storageId)
+      ORDER BY j.id
+      """)
+  List<LetterGenerationJob> lockRunnable(
+      @Param("statuses") Collection<LetterGenerationJob.Status> statuses,
+      @Param("now") Instant now,
+      @Param("storageId") String storageId,
+      Pageable pageable);
+
+  List<LetterGenerationJob> findAllByOrderByIdDesc(Pageable pageable);
+
+  /**
+   * Checkpoints a page and renews the lease.
+   *
+   * @return 0 if the job is no longer running (cancelled by an admin), otherwise 1
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      """
+      UPDATE LetterGenerationJob j
+      SET j.lastBookingId = :lastBookingId, j.generated = j.generated + :generated,
+          j.failed = j.failed + :failed, j.leaseUntil = :leaseUntil
+      WHERE j.id = :id AND j.status = com.hostelmanagement.domain.LetterGenerationJob.Status.RUNNING
+      """)
+  int checkpoint(
+      @Param("id") Long id,
+      @Param("lastBookingId") long lastBookingId,
+      @Param("generated") int generated,
+      @Param("failed") int failed,
+      @Param("leaseUntil") Instant leaseUntil);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      """
+      UPDATE LetterGenerationJob j SET j.status = :status, j.finishedAt = :finishedAt, j.lastError = :error
+      WHERE j.id = :id AND j.status = com.hostelmanagement.domain.LetterGenerationJob.Status.RUNNING
+      """)
+  int finish(
+      @Param("id") Long id,
+      @Param("status") LetterGenerationJob.Status status,
+      @Param("finishedAt") Instant finishedAt,
+      @Param("error") String error);
+}
@@ -0,0 +1,62 @@
+package com.hostelmanagement.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hostelmanagement.domain.MonthlyRevenueSummary;
+
+public interface MonthlyRevenueSummaryRepository
+    extends JpaRepository<MonthlyRevenueSummary, MonthlyRevenueSummary.Key> {
+
+  @Modifying
+  @Query(
+      value =
+          """
+          INSERT INTO analytics_monthly_revenue (revenue_month, slot, revenue, completed_payments)
+          VALUES (:month, :slot, :amount, :payments)
+          ON DUPLICATE KEY UPDATE revenue = revenue + :amount,
+                                  completed_payments = completed_payments + :payments
+          """,
+      nativeQuery = true)
+  int add(
+      @Param("month") String month,
+      @Param("slot") int slot,
+      @Param("amount") BigDecimal amount,
+      @Param("payments") long payments);
+
+  /** Months are {@code yyyy-MM}, so string order is chronological. */
+  @Query(
+      """
+      SELECT m.revenueMonth AS month, SUM(m.revenue) AS revenue, SUM(m.completedPayments) AS payments
+      FROM MonthlyRevenueSummary m
+      WHERE m.revenueMonth >= :fromMonth
+      GROUP BY m.revenueMonth
+      """)
+  List<MonthRevenue> findFromMonth(@Param("fromMonth") String fromMonth);
+
+  @Query(
+      """
+      SELECT COALESCE(SUM(m.revenue), 0) AS revenue, COALESCE(SUM(m.completedPayments), 0) AS payments
+      FROM MonthlyRevenueSummary m
+      """)
+  RevenueTotals totals();
+
+  interface MonthRevenue {
+    String getMonth();
+
+    BigDecimal getRevenue();
+
+    Long getPayments();
+  }
+
+  interface RevenueTotals {
+    BigDecimal getRevenue();
+
+    Long getPayments();
+  }
+}
@@ -0,0 +1,56 @@
+package com.hostelmanagement.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.hostelmanagement.domain.NotificationOutboxMessage;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxMessage, Long> {
+
+  /** Locks the oldest due messages. Rows locked by another dispatcher are skipped. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query(
+      """
+      SELECT m FROM NotificationOutboxMessage m
+      WHERE m.status = :status AND m.nextAttemptAt <= :now
+      ORDER BY m.id
+      """)
+  List<NotificationOutboxMessage> lockDue(
+      @Param("status") NotificationOutboxMessage.Status status, @Param("now") Instant now, Pageable pageable);
+
+  long countByStatus(NotificationOutboxMessage.Status status);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "UPDATE NotificationOutboxMessage m SET m.status = :status, m.sentAt = :sentAt, m.lastError = null "
+          + "WHERE m.id IN :ids")
+  int markSent(
+      @Param("ids") Collection<Long> ids,
+      @Param("status") NotificationOutboxMessage.Status status,
+      @Param("sentAt") Instant sentAt);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "UPDATE NotificationOutboxMessage m SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, "
+          + "m.lastError = :error WHERE m.id = :id")
+  int markFailedAttempt(
+      @Param("id") Long id,
+      @Param("status") NotificationOutboxMessage.Status status,
+      @Param("nextAttemptAt") Instant nextAttemptAt,
+      @Param("error") String error);
+}
@@ -1,13 +1,22 @@
 package com.hostelmanagement.repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.hostelmanagement.domain.BookingStatus;
 import com.hostelmanagement.domain.Payment;
+import com.hostelmanagement.domain.PaymentStatus;
+
+import jakarta.persistence.LockModeType;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
   Optional<Payment> findByBookingId(Long bookingId);
@@ -15,6 +24,79 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
   List<Payment> findByBookingIdIn(List<Long> bookingIds);
 
+  /**
+   * Loads the payment with a row lock held until the transaction ends. Gateway verification and
+   * the webhook consumer complete a payment under this lock, so only one of them does it.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT p FROM Payment p WHERE p.booking.id = :bookingId")
+  Optional<Payment> findByBookingIdForUpdate(@Param("bookingId") Long bookingId);
+
+  /** As {@link #findByBookingIdForUpdate}, by gateway reference. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT p FROM Payment p WHERE p.transactionReference = :reference")
+  Optional<Payment> findByTransactionReferenceForUpdate(@Param("reference") String reference);
+
+  /** Due dates of payments still awaiting payment, used to rebuild in-memory deadlines on startup. */
+  @Query(
+      """
+      SELECT p.booking.id AS bookingId, p.dueAt AS dueAt
+      FROM Payment p
+      WHERE p.status = :status
+        AND p.booking.status = :bookingStatus
+      """)
+  List<PaymentDeadline> findDeadlines(
+      @Param("status") PaymentStatus status, @Param("bookingStatus") BookingStatus bookingStatus);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      """
+      UPDATE Payment p
+      SET p.status = :status,
+          p.updatedAt = :now
+      WHERE p.booking.id IN :bookingIds
+      """)
+  int bulkUpdateStatusByBookingIds(
+      @Param("bookingIds") Collection<Long> bookingIds,
+      @Param("status") PaymentStatus status,
+      @Param("now") Instant now);
+
   @Query("SELECT p FROM Payment p WHERE p.student.id = :studentId ORDER BY p.createdAt DESC")
   List<Payment> findPaymentsByStudentId(@Param("studentId") Long studentId);
+
+  /**
+   * Completed revenue per calendar month for payments paid in {@code [from, to)}, computed by the
+   * database. Months follow the stored {@code paid_at} values, which are written in UTC.
+   */
+  @Query(
+      """
+      SELECT YEAR(p.paidAt) AS revenueYear,
+             MONTH(p.paidAt) AS revenueMonth,
+             SUM(p.amount) AS revenue,
+             COUNT(p) AS payments
+      FROM Payment p
+      WHERE p.status = :status
+        AND p.paidAt >= :from
+        AND p.paidAt < :to
+      GROUP BY YEAR(p.paidAt), MONTH(p.paidAt)
+      ORDER BY YEAR(p.paidAt), MONTH(p.paidAt)
+      """)
+  List<MonthlyRevenue> sumAmountByMonth(
+      @Param("status") PaymentStatus status, @Param("from") Instant from, @Param("to") Instant to);
+
+  interface PaymentDeadline {
+    Long getBookingId();
+
+    Instant getDueAt();
+  }
+
+  interface MonthlyRevenue {
+    Integer getRevenueYear();
+
+    Integer getRevenueMonth();
+
+    BigDecimal getRevenue();
+
+    Long getPayments();
+  }
 }
@@ -0,0 +1,85 @@
+package com.hostelmanagement.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hostelmanagement.domain.PaymentWebhookEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+  /**
+   * Stores a received event unless one with the same {@code eventId} already exists.
+   *
+   * @return 1 if stored, 0 for a duplicate delivery
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+          INSERT IGNORE INTO payment_webhook_inbox
+            (event_id, event_type, transaction_reference, payload, status, attempts, next_attempt_at, received_at)
+          VALUES (:eventId, :eventType, :reference, :payload, 'PENDING', 0, :now, :now)
+          """,
+      nativeQuery = true)
+  int insertIfAbsent(
+      @Param("eventId") String eventId,
+      @Param("eventType") String eventType,
+      @Param("reference") String reference,
+      @Param("payload") String payload,
+      @Param("now") Instant now);
+
+  /**
+   * Locks due events that are the oldest pending event for their transaction reference, so events
+   * for one payment are applied strictly in arrival order. Rows locked by another consumer are
+   * skipped.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query(
+      """
+      SELECT e FROM PaymentWebhookEvent e
+      WHERE e.status = :status AND e.nextAttemptAt <= :now
+        AND NOT EXISTS (
+          SELECT p.id FROM PaymentWebhookEvent p
+          WHERE p.transactionReference = e.transactionReference AND p.status = :status AND p.id < e.id)
+      ORDER BY e.id
+      """)
+  List<PaymentWebhookEvent> lockDueHeads(
+      @Param("status") PaymentWebhookEvent.Status status, @Param("now") Instant now, Pageable pageable);
+
+  long countByStatus(PaymentWebhookEvent.Status status);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "UPDATE PaymentWebhookEvent e SET e.status = :status, e.processedAt = :processedAt, e.lastError = null "
+          + "WHERE e.id = :id")
+  int markProcessed(
+      @Param("id") Long id,
+      @Param("status") PaymentWebhookEvent.Status status,
+      @Param("processedAt") Instant processedAt);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "UPDATE PaymentWebhookEvent e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.lastError = :error "
+          + "WHERE e.id = :id")
+  int markFailedAttempt(
+      @Param("id") Long id,
+      @Param("status") PaymentWebhookEvent.Status status,
+      @Param("nextAttemptAt") Instant nextAttemptAt,
+      @Param("error") String error);
+}
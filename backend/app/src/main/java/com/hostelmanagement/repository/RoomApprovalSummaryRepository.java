@@ -0,0 +1,50 @@
+package com.hostelmanagement.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hostelmanagement.domain.RoomApprovalSummary;
+
+public interface RoomApprovalSummaryRepository extends JpaRepository<RoomApprovalSummary, Long> {
+
+  @Modifying
+  @Query(
+      value =
+          """
+          INSERT INTO analytics_room_approvals (room_id, hostel_id, approved_bookings)
+          VALUES (:roomId, :hostelId, :delta)
+          ON DUPLICATE KEY UPDATE approved_bookings = approved_bookings + :delta
+          """,
+      nativeQuery = true)
+  int add(@Param("roomId") Long roomId, @Param("hostelId") Long hostelId, @Param("delta") int delta);
+
+  @Query(value = "SELECT approved_bookings FROM analytics_room_approvals WHERE room_id = :roomId", nativeQuery = true)
+  Optional<Integer> findApprovedBookings(@Param("roomId") Long roomId);
+
+  @Modifying
+  @Query(value = "UPDATE analytics_room_approvals SET hostel_id = :hostelId WHERE room_id = :roomId", nativeQuery = true)
+  int moveToHostel(@Param("roomId") Long roomId, @Param("hostelId") Long hostelId);
+
+  @Modifying
+  @Query(value = "DELETE FROM analytics_room_approvals WHERE room_id = :roomId", nativeQuery = true)
+  int deleteByRoom(@Param("roomId") Long roomId);
+
+  /** Recomputes every row from {@code bookings}. */
+  @Modifying
+  @Query(
+      value =
+          """
+          INSERT INTO analytics_room_approvals (room_id, hostel_id, approved_bookings)
+          SELECT b.room_id, r.hostel_id, COUNT(*)
+          FROM bookings b
+          JOIN rooms r ON r.id = b.room_id
+          WHERE b.status = 'APPROVED'
+          GROUP BY b.room_id, r.hostel_id
+          """,
+      nativeQuery = true)
+  int rebuild();
+}
@@ -1,5 +1,6 @@
 package com.hostelmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -44,6 +46,33 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
   @Query("SELECT r FROM Room r JOIN FETCH r.hostel h")
   List<Room> findAllWithHostel();
 
+  @Query("SELECT r FROM Room r JOIN FETCH r.hostel h WHERE r.id IN :ids")
+  List<Room> findByIdInWithHostel(@Param("ids") Collection<Long> ids);
+
+  /** Row-locks the given rooms in id order, so concurrent batches cannot deadlock on them. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM Room r JOIN FETCH r.hostel h WHERE r.id IN :ids ORDER BY r.id")
+  List<Room> lockByIdInWithHostel(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Frees {@code beds} beds in each of the given rooms in one statement, never going below zero.
+   * Status is assigned first so it is computed from the pre-update occupancy on every database.
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      """
+      UPDATE Room r
+      SET r.status = CASE WHEN r.currentOccupancy - :beds < r.capacity
+                          THEN com.hostelmanagement.domain.RoomStatus.AVAILABLE
+                          ELSE com.hostelmanagement.domain.RoomStatus.FULL END,
+          r.currentOccupancy = CASE WHEN r.currentOccupancy > :beds
+                                    THEN r.currentOccupancy - :beds
+                                    ELSE 0 END,
+          r.version = r.version + 1
+      WHERE r.id IN :ids
+      """)
+  int bulkReleaseBeds(@Param("ids") Collection<Long> ids, @Param("beds") int beds);
+
   @Query("SELECT r FROM Room r JOIN FETCH r.hostel h WHERE h.id = :hostelId")
   List<Room> findByHostelIdWithHostel(@Param("hostelId") Long hostelId);
 
@@ -69,4 +98,7 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
   @Query("SELECT COUNT(r) FROM Room r WHERE r.status = :status")
 long countByStatus(@Param("status") RoomStatus status);
+
+  @Query("SELECT r.hostel.id AS hostelId, COUNT(r) AS rooms FROM Room r GROUP BY r.hostel.id")
+  List<BookingRepository.HostelRoomCount> countByHostel();
 }
@@ -0,0 +1,64 @@
+package com.hostelmanagement.security;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Verifies hex-encoded HMAC signatures over raw request bodies.
+ *
+ * <p>The keyed {@link Mac} is initialised once. Platform threads reuse their own copy through a
+ * thread local; virtual threads are not pooled, so they clone the keyed prototype instead, which
+ * skips the provider lookup and key setup. The body is MACed as bytes, the header is decoded to
+ * bytes once (either hex case) and the two digests are compared in constant time.
+ */
+public final class HmacSignatureVerifier {
+
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final Mac prototype;
+  private final ThreadLocal<Mac> platformMacs;
+
+  public HmacSignatureVerifier(String algorithm, byte[] secret) {
+    try {
+      this.prototype = Mac.getInstance(algorithm);
+      this.prototype.init(new SecretKeySpec(secret, algorithm));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Unable to initialise " + algorithm, ex);
+    }
+    this.platformMacs = ThreadLocal.withInitial(this::copy);
+  }
+
+  /** Whether {@code signatureHex} is the HMAC of {@code body}; malformed signatures are rejected. */
+  public boolean verify(byte[] body, String signatureHex) {
+    byte[] expected = decode(signatureHex);
+    if (expected == null || expected.length != prototype.getMacLength()) {
+      return false;
+    }
+    Mac mac = Thread.currentThread().isVirtual() ? copy() : platformMacs.get();
+    byte[] actual = mac.doFinal(body);
+    return MessageDigest.isEqual(expected, actual);
+  }
+
+  private Mac copy() {
+    try {
+      return (Mac) prototype.clone();
+    } catch (CloneNotSupportedException ex) {
+      throw new IllegalStateException("MAC provider does not support cloning", ex);
+    }
+  }
+
+  private static byte[] decode(String hex) {
+    if (hex == null || (hex.length() & 1) != 0) {
+      return null;
+    }
+    try {
+      return HEX.parseHex(hex);
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+}
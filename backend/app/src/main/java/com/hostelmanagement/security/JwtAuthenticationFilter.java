@@ -17,10 +17,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-  private final JwtService jwtService;
+  private final JwtVerificationCache jwtVerificationCache;
 
-  public JwtAuthenticationFilter(JwtService jwtService) {
-    this.jwtService = jwtService;
+  public JwtAuthenticationFilter(JwtVerificationCache jwtVerificationCache) {
+    this.jwtVerificationCache = jwtVerificationCache;
   }
 
   @Override
@@ -36,7 +36,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     String token = header.substring("Bearer ".length()).trim();
     try {
-      JwtUser user = jwtService.parse(token);
+      JwtUser user = jwtVerificationCache.verify(token);
 
       var auth =
           new UsernamePasswordAuthenticationToken(
@@ -1,6 +1,8 @@
 package com.hostelmanagement.security;
 
+import com.hostelmanagement.domain.Gender;
 import com.hostelmanagement.domain.Role;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
@@ -18,6 +20,8 @@ public class JwtService {
   private static final String TOKEN_TYPE_REFRESH = "refresh";
 
   private final SecretKey key;
+  /** Immutable and thread-safe; building one per call re-resolves the key and algorithms. */
+  private final JwtParser parser;
   private final long accessTokenExpirationSeconds;
   private final long refreshTokenExpirationSeconds;
 
@@ -29,20 +33,23 @@ public class JwtService {
       throw new IllegalArgumentException("JWT secret must be at least 32 characters");
     }
     this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    this.parser = Jwts.parser().verifyWith(key).build();
     this.accessTokenExpirationSeconds = accessTokenExpirationSeconds;
     this.refreshTokenExpirationSeconds = refreshTokenExpirationSeconds;
   }
 
   /**
    * Generate an access token (short-lived, typically 1 hour).
+   * Carries the student's gender so room listings can be resolved without a student lookup.
    */
-  public String generateAccessToken(Long userId, String email, Role role) {
+  public String generateAccessToken(Long userId, String email, Role role, Gender gender) {
     Instant now = Instant.now();
     Instant exp = now.plusSeconds(accessTokenExpirationSeconds);
     return Jwts.builder()
         .subject(String.valueOf(userId))
         .claim("email", email)
         .claim("role", role.name())
+        .claim("gender", gender == null ? null : gender.name())
       .claim("type", TOKEN_TYPE_ACCESS)
         .issuedAt(Date.from(now))
         .expiration(Date.from(exp))
@@ -70,37 +77,38 @@ public class JwtService {
   }
 
   public JwtUser parse(String token) {
-    var claims =
-        Jwts.parser()
-            .verifyWith(key)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    return verify(token).user();
+  }
+
+  /**
+   * Verifies the signature and expiry of a token and returns its principal together with the
+   * expiry, so callers such as {@link JwtVerificationCache} know how long the result stays valid.
+   */
+  public VerifiedToken verify(String token) {
+    var claims = parser.parseSignedClaims(token).getPayload();
+    Instant expiresAt = claims.getExpiration() == null ? null : claims.getExpiration().toInstant();
 
     String tokenType = (String) claims.get("type");
     if (TOKEN_TYPE_REFRESH.equals(tokenType)) {
       // For refresh tokens, only return userId
       long userId = Long.parseLong(claims.getSubject());
-      return new JwtUser(userId, null, null);
+      return new VerifiedToken(new JwtUser(userId, null, null, null), expiresAt);
     }
 
     long userId = Long.parseLong(claims.getSubject());
     String email = (String) claims.get("email");
     String role = (String) claims.get("role");
+    String gender = (String) claims.get("gender");
 
-    return new JwtUser(userId, email, Role.valueOf(role));
+    JwtUser user = new JwtUser(userId, email, Role.valueOf(role), gender == null ? null : Gender.valueOf(gender));
+    return new VerifiedToken(user, expiresAt);
   }
 
   /**
    * Parse refresh token and extract token ID for rotation tracking.
    */
   public RefreshTokenData parseRefreshToken(String token) {
-    var claims =
-        Jwts.parser()
-            .verifyWith(key)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    var claims = parser.parseSignedClaims(token).getPayload();
 
     String tokenType = (String) claims.get("type");
     if (!TOKEN_TYPE_REFRESH.equals(tokenType)) {
@@ -120,4 +128,7 @@ public class JwtService {
    * Data class for refresh token parsing results.
    */
   public record RefreshTokenData(long userId, String tokenId) {}
+
+  /** A verified token's principal; {@code expiresAt} is {@code null} if the token has no expiry. */
+  public record VerifiedToken(JwtUser user, Instant expiresAt) {}
 }
@@ -1,5 +1,12 @@
 package com.hostelmanagement.security;
 
+import com.hostelmanagement.domain.Gender;
 import com.hostelmanagement.domain.Role;
 
-public record JwtUser(Long userId, String email, Role role) {}
+/**
+ * Authenticated principal extracted from an access token.
+ *
+ * <p>{@code gender} is {@code null} for refresh tokens and for access tokens issued before the
+ * claim was added.
+ */
+public record JwtUser(Long userId, String email, Role role, Gender gender) {}
@@ -0,0 +1,94 @@
+package com.hostelmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verified-token cache shared by {@link JwtAuthenticationFilter} and the STOMP {@code CONNECT}
+ * interceptor. A student browsing rooms sends the same access token with every request; after
+ * the first request its signature and claims are not checked again.
+ *
+ * <p>Entries are keyed by the SHA-256 of the token, so raw bearer tokens are not kept in memory.
+ * Each entry expires at the token's {@code exp}, so a cached token is never accepted after the
+ * parser would have rejected it. Tokens that fail verification are not cached. The cache holds at
+ * most {@code app.jwt.verified-cache-size} entries. Hit and miss counts are published as
+ * {@code cache.gets{cache=jwt-verified}}.
+ */
+@Component
+public class JwtVerificationCache {
+
+  private final JwtService jwtService;
+  private final Cache<String, JwtService.VerifiedToken> verified;
+
+  public JwtVerificationCache(
+      JwtService jwtService,
+      MeterRegistry meterRegistry,
+      @Value("${app.jwt.verified-cache-size:10000}") long maximumSize) {
+    this.jwtService = jwtService;
+    this.verified =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt-verified");
+  }
+
+  /**
+   * Returns the principal of a valid token, from the cache when it was verified before.
+   *
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+   */
+  public JwtUser verify(String token) {
+    String key = fingerprint(token);
+    JwtService.VerifiedToken cached = verified.getIfPresent(key);
+    if (cached != null) {
+      return cached.user();
+    }
+    JwtService.VerifiedToken fresh = jwtService.verify(token);
+    if (fresh.expiresAt() != null) {
+      verified.put(key, fresh);
+    }
+    return fresh.user();
+  }
+
+  private static String fingerprint(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  private static final class UntilTokenExpiry implements Expiry<String, JwtService.VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String key, JwtService.VerifiedToken value, long currentTime) {
+      return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, JwtService.VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, JwtService.VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
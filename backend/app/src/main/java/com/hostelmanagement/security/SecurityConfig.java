@@ -1,5 +1,10 @@
 package com.hostelmanagement.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -10,6 +15,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableMethodSecurity
@@ -21,9 +28,18 @@ public class SecurityConfig {
   }
 
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter)
+  public SecurityFilterChain securityFilterChain(
+      HttpSecurity http,
+      JwtAuthenticationFilter jwtFilter,
+      @Value("${server.port:8080}") int serverPort,
+      @Value("${management.server.port:${server.port:8080}}") int managementPort)
       throws Exception {
 
+    // Prometheus scrapes without a JWT, but only on the management port, which the proxy does not
+    // publish. If actuator shares the application port the scrape needs an ADMIN token like the rest.
+    RequestMatcher managementPortOnly =
+        request -> managementPort != serverPort && request.getLocalPort() == managementPort;
+
     http.csrf(csrf -> csrf.disable());
     http.cors(Customizer.withDefaults());
 
@@ -31,13 +47,20 @@ public class SecurityConfig {
 
     http.authorizeHttpRequests(
         auth ->
-            auth.requestMatchers("/api/auth/**").permitAll()
+            // Deferred results (the booking admission queue) were authorized on the original request.
+            auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/announcements").permitAll()
           .requestMatchers("/ws-notifications", "/ws-notifications/**").permitAll()
                 .requestMatchers("/api/uploads/**").permitAll()
                 .requestMatchers("/uploads/**").permitAll()
                 .requestMatchers("/api/payments/webhook/paystack").permitAll()
-                .requestMatchers("/actuator/health").permitAll() // load-balancer & Docker health probes
+                .requestMatchers("/livez", "/readyz").permitAll() // load-balancer probes on the app port
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll() // Docker health probes
+                .requestMatchers(new AndRequestMatcher(
+                    managementPortOnly, EndpointRequest.to(PrometheusScrapeEndpoint.class))).permitAll()
+                // Meters and app info name internal hosts, caches and queues; not for students.
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                 .anyRequest().authenticated());
 
     http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
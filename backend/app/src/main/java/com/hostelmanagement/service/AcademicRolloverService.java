@@ -14,7 +14,6 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,17 +31,29 @@ public class AcademicRolloverService {
   private final RoomRepository roomRepository;
   private final StudentRepository studentRepository;
   private final AcademicTermRepository academicTermRepository;
+  private final RoomInventoryService roomInventoryService;
+  private final RoomSearchIndex roomSearchIndex;
+  private final AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator;
+  private final AnalyticsProjectionService analyticsProjectionService;
   private final ZoneId zoneId;
 
   public AcademicRolloverService(
       BookingRepository bookingRepository,
       RoomRepository roomRepository,
       StudentRepository studentRepository,
-      AcademicTermRepository academicTermRepository) {
+      AcademicTermRepository academicTermRepository,
+      RoomInventoryService roomInventoryService,
+      RoomSearchIndex roomSearchIndex,
+      AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator,
+      AnalyticsProjectionService analyticsProjectionService) {
     this.bookingRepository = bookingRepository;
     this.roomRepository = roomRepository;
     this.studentRepository = studentRepository;
     this.academicTermRepository = academicTermRepository;
+    this.roomInventoryService = roomInventoryService;
+    this.roomSearchIndex = roomSearchIndex;
+    this.availableRoomsCacheInvalidator = availableRoomsCacheInvalidator;
+    this.analyticsProjectionService = analyticsProjectionService;
     this.zoneId = DEFAULT_ZONE;
   }
 
@@ -154,13 +165,11 @@ public class AcademicRolloverService {
     return !LocalDate.now(zoneId).isBefore(activeTerm.getReapplicationOpenDate());
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
   @Transactional
   public RolloverRunSummary runAnnualRollover() {
     return checkoutTermBookings(getRequiredActiveTerm(), false);
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
   @Transactional
   public RolloverRunSummary runTermEndCheckoutIfDue() {
     AcademicTerm activeTerm = resolveActiveTerm().orElse(null);
@@ -177,7 +186,6 @@ public class AcademicRolloverService {
     return checkoutTermBookings(activeTerm, true);
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
   @Transactional
   public StudentActionResult checkoutStudent(Long studentId) {
     Student student =
@@ -378,9 +386,13 @@ public class AcademicRolloverService {
       if (lockedRoom != null && lockedRoom.getCurrentOccupancy() > 0) {
         lockedRoom.decrementOccupancy();
         roomRepository.save(lockedRoom);
+        roomInventoryService.releaseBedAfterCommit(lockedRoom.getId());
+        roomSearchIndex.refreshAfterCommit(lockedRoom);
+        availableRoomsCacheInvalidator.evictAfterCommit(lockedRoom);
       }
     }
 
+    analyticsProjectionService.bookingTransitioned(room, BookingStatus.APPROVED, BookingStatus.CHECKED_OUT);
     booking.setRoom(null);
     booking.setStatus(BookingStatus.CHECKED_OUT);
     booking.setCheckedOutAt(Instant.now());
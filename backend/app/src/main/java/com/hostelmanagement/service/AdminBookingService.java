@@ -33,16 +33,19 @@ public class AdminBookingService {
   private final PaymentRepository paymentRepository;
   private final BookingService bookingService;
   private final NotificationService notificationService;
+  private final AnalyticsProjectionService analyticsProjectionService;
 
   public AdminBookingService(
       BookingRepository bookingRepository,
       PaymentRepository paymentRepository,
       BookingService bookingService,
-      NotificationService notificationService) {
+      NotificationService notificationService,
+      AnalyticsProjectionService analyticsProjectionService) {
     this.bookingRepository = bookingRepository;
     this.paymentRepository = paymentRepository;
     this.bookingService = bookingService;
     this.notificationService = notificationService;
+    this.analyticsProjectionService = analyticsProjectionService;
   }
 
   @Transactional(readOnly = true)
@@ -103,6 +106,7 @@ public class AdminBookingService {
       payment.setStatus(PaymentStatus.COMPLETED);
       payment.setPaidAt(Instant.now());
       paymentRepository.save(payment);
+      analyticsProjectionService.paymentCompleted(payment.getAmount(), payment.getPaidAt());
       System.out.println("[AdminBookingService] Payment status auto-completed for booking " + bookingId);
     }
     
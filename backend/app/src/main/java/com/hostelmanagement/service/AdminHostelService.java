@@ -3,7 +3,6 @@ package com.hostelmanagement.service;
 import java.util.List;
 
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,9 +18,16 @@ import com.hostelmanagement.web.dto.PageResponse;
 public class AdminHostelService {
 
   private final HostelRepository hostelRepository;
+  private final RoomSearchIndex roomSearchIndex;
+  private final AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator;
 
-  public AdminHostelService(HostelRepository hostelRepository) {
+  public AdminHostelService(
+      HostelRepository hostelRepository,
+      RoomSearchIndex roomSearchIndex,
+      AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator) {
     this.hostelRepository = hostelRepository;
+    this.roomSearchIndex = roomSearchIndex;
+    this.availableRoomsCacheInvalidator = availableRoomsCacheInvalidator;
   }
 
   @Transactional(readOnly = true)
@@ -76,18 +82,20 @@ public class AdminHostelService {
     h.setImagePath(request.imagePath());
     h.setDistanceToCampusKm(request.distanceToCampusKm());
     h.setActive(request.active());
-    return toDto(hostelRepository.save(h));
+    Hostel saved = hostelRepository.save(h);
+    roomSearchIndex.refreshHostelAfterCommit(saved);
+    availableRoomsCacheInvalidator.evictHostelAfterCommit(saved.getId());
+    return toDto(saved);
   }
 
-  @Caching(evict = {
-      @CacheEvict(value = "active-hostels", allEntries = true),
-      @CacheEvict(value = "available-rooms", allEntries = true)
-  })
+  @CacheEvict(value = "active-hostels", allEntries = true)
   @Transactional
   public void deactivate(Long id) {
     Hostel h = hostelRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Hostel not found"));
     h.setActive(false);
     hostelRepository.save(h);
+    roomSearchIndex.refreshHostelAfterCommit(h);
+    availableRoomsCacheInvalidator.evictHostelAfterCommit(h.getId());
   }
 
   private static HostelResponse toDto(Hostel h) {
@@ -3,7 +3,6 @@ package com.hostelmanagement.service;
 import java.util.List;
 import java.util.Objects;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -24,10 +23,24 @@ public class AdminRoomService {
 
   private final RoomRepository roomRepository;
   private final HostelRepository hostelRepository;
-
-  public AdminRoomService(RoomRepository roomRepository, HostelRepository hostelRepository) {
+  private final RoomInventoryService roomInventoryService;
+  private final RoomSearchIndex roomSearchIndex;
+  private final AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator;
+  private final AnalyticsProjectionService analyticsProjectionService;
+
+  public AdminRoomService(
+      RoomRepository roomRepository,
+      HostelRepository hostelRepository,
+      RoomInventoryService roomInventoryService,
+      RoomSearchIndex roomSearchIndex,
+      AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator,
+      AnalyticsProjectionService analyticsProjectionService) {
     this.roomRepository = roomRepository;
     this.hostelRepository = hostelRepository;
+    this.roomInventoryService = roomInventoryService;
+    this.roomSearchIndex = roomSearchIndex;
+    this.availableRoomsCacheInvalidator = availableRoomsCacheInvalidator;
+    this.analyticsProjectionService = analyticsProjectionService;
   }
 
   @Transactional(readOnly = true)
@@ -50,7 +63,6 @@ public class AdminRoomService {
     return PageResponse.from(responsePage);
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
   @Transactional
   public RoomResponse create(UpsertRoomRequest request) {
     Long requiredHostelId = Objects.requireNonNull(request.hostelId(), "hostelId is required");
@@ -79,11 +91,14 @@ public class AdminRoomService {
 
     hostel.setTotalRooms(hostel.getTotalRooms() + 1);
     hostelRepository.save(hostel);
+    analyticsProjectionService.roomAdded(hostel.getId());
 
+    roomInventoryService.syncAfterCommit(saved);
+    roomSearchIndex.refreshAfterCommit(saved);
+    availableRoomsCacheInvalidator.evictAfterCommit(saved);
     return toDto(saved);
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
   @Transactional
   public RoomResponse update(Long id, UpsertRoomRequest request) {
     Room r = roomRepository.findByIdWithHostel(id).orElseThrow(() -> new IllegalArgumentException("Room not found"));
@@ -95,6 +110,8 @@ public class AdminRoomService {
     Long requiredHostelId = Objects.requireNonNull(request.hostelId(), "hostelId is required");
 
     Hostel currentHostel = r.getHostel();
+    // The room may leave its old hostel/gender listing, so evict that one as well.
+    availableRoomsCacheInvalidator.evictAfterCommit(currentHostel.getId(), r.getRoomGender());
     Long targetHostelId = requiredHostelId;
     int targetFloorNumber = request.floorNumber();
 
@@ -111,6 +128,7 @@ public class AdminRoomService {
 
       newHostel.setTotalRooms(newHostel.getTotalRooms() + 1);
       hostelRepository.save(newHostel);
+      analyticsProjectionService.roomMoved(r.getId(), currentHostel.getId(), newHostel.getId());
     }
 
     validateFloorGenderConsistency(targetHostelId, targetFloorNumber, request.roomGender(), r.getId());
@@ -126,10 +144,13 @@ public class AdminRoomService {
     r.setRoomType(request.roomType() != null ? request.roomType() : com.hostelmanagement.domain.RoomType.STANDARD);
     r.recalculateStatus();
 
-    return toDto(roomRepository.save(r));
+    Room saved = roomRepository.save(r);
+    roomInventoryService.syncAfterCommit(saved);
+    roomSearchIndex.refreshAfterCommit(saved);
+    availableRoomsCacheInvalidator.evictAfterCommit(saved);
+    return toDto(saved);
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
   @Transactional
   public void delete(Long id) {
     Room r = roomRepository.findByIdWithHostel(id).orElseThrow(() -> new IllegalArgumentException("Room not found"));
@@ -138,11 +159,15 @@ public class AdminRoomService {
     }
 
     Hostel hostel = r.getHostel();
+    availableRoomsCacheInvalidator.evictAfterCommit(r);
 
     roomRepository.delete(r);
+    roomInventoryService.removeAfterCommit(id);
+    roomSearchIndex.removeAfterCommit(id);
 
     hostel.setTotalRooms(Math.max(0, hostel.getTotalRooms() - 1));
     hostelRepository.save(hostel);
+    analyticsProjectionService.roomRemoved(id, hostel.getId());
   }
 
   private static RoomResponse toDto(Room r) {
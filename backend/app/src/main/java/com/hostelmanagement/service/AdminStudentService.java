@@ -7,6 +7,7 @@ import com.hostelmanagement.repository.StudentRepository;
 import com.hostelmanagement.web.dto.StudentDTO;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,6 +44,7 @@ public class AdminStudentService {
         return studentRepo.save(student);
     }
 
+    @CacheEvict(value = StudentAttributeCache.GENDER_CACHE, key = "#id")
     public void delete(Long id) {
         studentRepo.deleteById(id);
     }
@@ -0,0 +1,19 @@
+package com.hostelmanagement.service;
+
+/**
+ * Thrown when the booking admission queue is full or a ticket waited too long; mapped to
+ * {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public AdmissionRejectedException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
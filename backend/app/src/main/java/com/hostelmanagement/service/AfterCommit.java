@@ -0,0 +1,28 @@
+package com.hostelmanagement.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Defers in-memory updates until the surrounding transaction has committed. */
+final class AfterCommit {
+
+  private AfterCommit() {}
+
+  /**
+   * Runs {@code action} once the current transaction commits, or right away when there is none.
+   * Nothing runs if the transaction rolls back.
+   */
+  static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,264 @@
+package com.hostelmanagement.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.HostelOccupancySummary;
+import com.hostelmanagement.domain.PaymentStatus;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.BookingStatusSummaryRepository;
+import com.hostelmanagement.repository.HostelOccupancySummaryRepository;
+import com.hostelmanagement.repository.MonthlyRevenueSummaryRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+import com.hostelmanagement.repository.RoomApprovalSummaryRepository;
+import com.hostelmanagement.repository.RoomRepository;
+
+/**
+ * Maintains the {@code analytics_*} summary tables that back the admin dashboard.
+ *
+ * <p>Every booking, payment and room write path calls one of the {@code *Created},
+ * {@code *Transitioned}, {@code *Completed} or {@code room*} hooks inside its own transaction, so
+ * counters commit or roll back together with the change they describe. Each hook is a single-row
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE}; status and revenue rows are striped over
+ * {@link #SLOTS} slots so concurrent applies and payments rarely contend on the same row.
+ *
+ * <p>{@link #reconcile()} rebuilds all tables from the source tables nightly (and on first start
+ * when they are empty), correcting any drift, e.g. from rows changed outside the application.
+ */
+@Service
+public class AnalyticsProjectionService {
+
+  private static final Logger log = LoggerFactory.getLogger(AnalyticsProjectionService.class);
+
+  static final int SLOTS = 8;
+
+  private final HostelOccupancySummaryRepository hostelOccupancyRepository;
+  private final RoomApprovalSummaryRepository roomApprovalRepository;
+  private final BookingStatusSummaryRepository bookingStatusRepository;
+  private final MonthlyRevenueSummaryRepository monthlyRevenueRepository;
+  private final BookingRepository bookingRepository;
+  private final PaymentRepository paymentRepository;
+  private final RoomRepository roomRepository;
+
+  public AnalyticsProjectionService(
+      HostelOccupancySummaryRepository hostelOccupancyRepository,
+      RoomApprovalSummaryRepository roomApprovalRepository,
+      BookingStatusSummaryRepository bookingStatusRepository,
+      MonthlyRevenueSummaryRepository monthlyRevenueRepository,
+      BookingRepository bookingRepository,
+      PaymentRepository paymentRepository,
+      RoomRepository roomRepository) {
+    this.hostelOccupancyRepository = hostelOccupancyRepository;
+    this.roomApprovalRepository = roomApprovalRepository;
+    this.bookingStatusRepository = bookingStatusRepository;
+    this.monthlyRevenueRepository = monthlyRevenueRepository;
+    this.bookingRepository = bookingRepository;
+    this.paymentRepository = paymentRepository;
+    this.roomRepository = roomRepository;
+  }
+
+  public void bookingCreated(BookingStatus status) {
+    bookingsCreated(status, 1);
+  }
+
+  public void bookingsCreated(BookingStatus status, int count) {
+    if (count > 0) {
+      bookingStatusRepository.add(status.name(), slot(), count);
+    }
+  }
+
+  /**
+   * Records a single booking moving from {@code from} to {@code to}. {@code room} is the room the
+   * booking holds before the transition (may be {@code null}).
+   */
+  public void bookingTransitioned(Room room, BookingStatus from, BookingStatus to) {
+    if (from == to) {
+      return;
+    }
+    bookingsTransitioned(from, to, 1);
+    if (room == null) {
+      return;
+    }
+    if (to == BookingStatus.APPROVED) {
+      adjustApprovals(room, 1);
+    } else if (from == BookingStatus.APPROVED) {
+      adjustApprovals(room, -1);
+    }
+  }
+
+  /** Bulk variant for transitions that never involve {@code APPROVED}, e.g. expiry. */
+  public void bookingsTransitioned(BookingStatus from, BookingStatus to, int count) {
+    if (count <= 0 || from == to) {
+      return;
+    }
+    int slot = slot();
+    bookingStatusRepository.add(from.name(), slot, -count);
+    bookingStatusRepository.add(to.name(), slot, count);
+  }
+
+  /** Call only when the payment was not already {@code COMPLETED}. */
+  public void paymentCompleted(BigDecimal amount, Instant paidAt) {
+    monthlyRevenueRepository.add(
+        monthOf(paidAt != null ? paidAt : Instant.now()),
+        slot(),
+        amount != null ? amount : BigDecimal.ZERO,
+        1);
+  }
+
+  public void roomAdded(Long hostelId) {
+    hostelOccupancyRepository.add(hostelId, 1, 0);
+  }
+
+  public void roomRemoved(Long roomId, Long hostelId) {
+    boolean booked = roomApprovalRepository.findApprovedBookings(roomId).orElse(0) > 0;
+    roomApprovalRepository.deleteByRoom(roomId);
+    hostelOccupancyRepository.add(hostelId, -1, booked ? -1 : 0);
+  }
+
+  public void roomMoved(Long roomId, Long fromHostelId, Long toHostelId) {
+    if (fromHostelId.equals(toHostelId)) {
+      return;
+    }
+    boolean booked = roomApprovalRepository.findApprovedBookings(roomId).orElse(0) > 0;
+    roomApprovalRepository.moveToHostel(roomId, toHostelId);
+    hostelOccupancyRepository.add(fromHostelId, -1, booked ? -1 : 0);
+    hostelOccupancyRepository.add(toHostelId, 1, booked ? 1 : 0);
+  }
+
+  @Transactional(readOnly = true)
+  public List<HostelOccupancySummary> hostelOccupancy() {
+    return hostelOccupancyRepository.findAll();
+  }
+
+  @Transactional(readOnly = true)
+  public Map<BookingStatus, Long> bookingCounts() {
+    Map<BookingStatus, Long> counts = new HashMap<>();
+    bookingStatusRepository.totals().forEach(row -> counts.put(row.getStatus(), row.getCount()));
+    return counts;
+  }
+
+  @Transactional(readOnly = true)
+  public Map<YearMonth, BigDecimal> revenueSince(YearMonth fromMonth) {
+    Map<YearMonth, BigDecimal> revenue = new HashMap<>();
+    monthlyRevenueRepository.findFromMonth(fromMonth.toString())
+        .forEach(row -> revenue.put(YearMonth.parse(row.getMonth()), row.getRevenue()));
+    return revenue;
+  }
+
+  @Transactional(readOnly = true)
+  public MonthlyRevenueSummaryRepository.RevenueTotals revenueTotals() {
+    return monthlyRevenueRepository.totals();
+  }
+
+  /**
+   * Completed revenue per month for payments paid between {@code from} and {@code to}
+   * (inclusive), aggregated by the database. Used for ad-hoc ranges the monthly summary cannot
+   * answer exactly.
+   */
+  @Transactional(readOnly = true)
+  public Map<YearMonth, BigDecimal> revenueBetween(LocalDate from, LocalDate to) {
+    Instant start = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+    Instant end = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+    Map<YearMonth, BigDecimal> revenue = new LinkedHashMap<>();
+    paymentRepository.sumAmountByMonth(PaymentStatus.COMPLETED, start, end)
+        .forEach(row -> revenue.put(YearMonth.of(row.getRevenueYear(), row.getRevenueMonth()), row.getRevenue()));
+    return revenue;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void seedIfEmpty() {
+    if (hostelOccupancyRepository.count() == 0 && roomRepository.count() > 0) {
+      reconcile();
+    }
+  }
+
+  /** Rebuilds every summary table from bookings, payments and rooms. */
+  @Scheduled(cron = "${app.analytics.reconcile-cron:0 30 3 * * *}")
+  @Transactional
+  public void reconcile() {
+    long startNs = System.nanoTime();
+
+    roomApprovalRepository.deleteAllInBatch();
+    hostelOccupancyRepository.deleteAllInBatch();
+    bookingStatusRepository.deleteAllInBatch();
+    monthlyRevenueRepository.deleteAllInBatch();
+
+    roomApprovalRepository.rebuild();
+    int hostels = rebuildHostelOccupancy();
+    bookingStatusRepository.rebuild();
+    int months = rebuildRevenue();
+
+    log.info(
+        "[ANALYTICS] Rebuilt summaries for {} hostels and {} revenue months in {}ms",
+        hostels, months, (System.nanoTime() - startNs) / 1_000_000);
+  }
+
+  private int rebuildHostelOccupancy() {
+    Map<Long, Integer> booked = new HashMap<>();
+    bookingRepository.countDistinctRoomsByHostel(BookingStatus.APPROVED)
+        .forEach(row -> booked.put(row.getHostelId(), row.getRooms().intValue()));
+
+    List<BookingRepository.HostelRoomCount> rooms = roomRepository.countByHostel();
+    rooms.forEach(row ->
+        hostelOccupancyRepository.add(row.getHostelId(), row.getRooms().intValue(), booked.getOrDefault(row.getHostelId(), 0)));
+    return rooms.size();
+  }
+
+  private int rebuildRevenue() {
+    List<PaymentRepository.MonthlyRevenue> months =
+        paymentRepository.sumAmountByMonth(
+            PaymentStatus.COMPLETED, Instant.EPOCH, Instant.now().plus(1, ChronoUnit.DAYS));
+    months.forEach(row ->
+        monthlyRevenueRepository.add(
+            YearMonth.of(row.getRevenueYear(), row.getRevenueMonth()).toString(),
+            0,
+            row.getRevenue(),
+            row.getPayments()));
+    return months.size();
+  }
+
+  private void adjustApprovals(Room room, int delta) {
+    Long roomId = room.getId();
+    Long hostelId = room.getHostel().getId();
+    roomApprovalRepository.add(roomId, hostelId, delta);
+
+    // The upsert holds the row lock, so this read sees every committed change plus our own.
+    int after = roomApprovalRepository.findApprovedBookings(roomId).orElse(0);
+    int before = after - delta;
+    if (before <= 0 && after > 0) {
+      hostelOccupancyRepository.add(hostelId, 0, 1);
+    } else if (before > 0 && after <= 0) {
+      hostelOccupancyRepository.add(hostelId, 0, -1);
+    }
+  }
+
+  private static String monthOf(Instant instant) {
+    // UTC, like the stored paid_at values that reconcile() groups with YEAR()/MONTH().
+    return YearMonth.from(instant.atOffset(ZoneOffset.UTC)).toString();
+  }
+
+  private static int slot() {
+    return ThreadLocalRandom.current().nextInt(SLOTS);
+  }
+}
@@ -72,7 +72,8 @@ public class AuthService {
     s.setRole(Role.STUDENT);
 
     Student saved = studentRepository.save(s);
-    String accessToken = jwtService.generateAccessToken(saved.getId(), saved.getEmail(), saved.getRole());
+    String accessToken = jwtService.generateAccessToken(
+        saved.getId(), saved.getEmail(), saved.getRole(), saved.getGender());
     String refreshToken = jwtService.generateRefreshToken(saved.getId());
     return new AuthResponse(accessToken, refreshToken, saved.getRole().name());
   }
@@ -94,7 +95,7 @@ public class AuthService {
       throw new IllegalArgumentException("Invalid email or password");
     }
 
-    String accessToken = jwtService.generateAccessToken(s.getId(), s.getEmail(), s.getRole());
+    String accessToken = jwtService.generateAccessToken(s.getId(), s.getEmail(), s.getRole(), s.getGender());
     String refreshToken = jwtService.generateRefreshToken(s.getId());
     return new AuthResponse(accessToken, refreshToken, s.getRole().name());
   }
@@ -200,7 +201,7 @@ public class AuthService {
         .orElseThrow(() -> new IllegalArgumentException("User not found"));
     
     String newAccessToken = jwtService.generateAccessToken(
-        student.getId(), student.getEmail(), student.getRole());
+        student.getId(), student.getEmail(), student.getRole(), student.getGender());
     String newRefreshToken = jwtService.generateRefreshToken(student.getId());
     
     return new AuthResponse(newAccessToken, newRefreshToken, student.getRole().name());
@@ -0,0 +1,133 @@
+package com.hostelmanagement.service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Room;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Targeted, post-commit invalidation of the {@code available-rooms} cache.
+ *
+ * <p>Replaces {@code @CacheEvict(value = "available-rooms", allEntries = true)} on the booking,
+ * room and rollover write paths. Those annotations wiped every hostel's entries, and did so
+ * <em>before</em> the transaction committed, so a concurrent reader could re-populate the cache
+ * with the old rows.
+ *
+ * <p>Callers register the hostel/gender whose availability changed; the keys are collected per
+ * transaction (duplicates collapse, so an expiry sweep over hundreds of bookings evicts each
+ * hostel once) and evicted in {@code afterCommit}. Nothing is evicted on rollback.
+ */
+@Component
+public class AvailableRoomsCacheInvalidator {
+
+  public static final String CACHE_NAME = "available-rooms";
+
+  private static final Logger log = LoggerFactory.getLogger(AvailableRoomsCacheInvalidator.class);
+
+  private final CacheManager cacheManager;
+  private final Counter targetedEvictions;
+
+  public AvailableRoomsCacheInvalidator(CacheManager cacheManager, MeterRegistry meterRegistry) {
+    this.cacheManager = cacheManager;
+    this.targetedEvictions =
+        Counter.builder("hostel.cache.evictions")
+            .description("Targeted post-commit evictions from the available-rooms cache")
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
+  }
+
+  /** Evicts the cached availability of the room's hostel/gender once the transaction commits. */
+  public void evictAfterCommit(Room room) {
+    if (room == null || room.getHostel() == null) {
+      return;
+    }
+    evictAfterCommit(room.getHostel().getId(), room.getRoomGender());
+  }
+
+  /** Evicts the cached availability for one hostel/gender once the transaction commits. */
+  public void evictAfterCommit(Long hostelId, Gender gender) {
+    if (hostelId == null) {
+      return;
+    }
+
+    Target target = new Target(hostelId, gender);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      // Outside a transaction there is nothing to wait for.
+      evictNow(target);
+      return;
+    }
+    pendingTargets().add(target);
+  }
+
+  /** Evicts every gender's availability for one hostel (e.g. hostel deactivated). */
+  public void evictHostelAfterCommit(Long hostelId) {
+    for (Gender gender : Gender.values()) {
+      evictAfterCommit(hostelId, gender);
+    }
+  }
+
+  private Set<Target> pendingTargets() {
+    @SuppressWarnings("unchecked")
+    Set<Target> pending = (Set<Target>) TransactionSynchronizationManager.getResource(this);
+    if (pending != null) {
+      return pending;
+    }
+
+    Set<Target> fresh = new LinkedHashSet<>();
+    TransactionSynchronizationManager.bindResource(this, fresh);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            fresh.forEach(AvailableRoomsCacheInvalidator.this::evictNow);
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AvailableRoomsCacheInvalidator.this);
+          }
+        });
+    return fresh;
+  }
+
+  private void evictNow(Target target) {
+    Cache cache = cacheManager.getCache(CACHE_NAME);
+    if (cache == null) {
+      return;
+    }
+
+    try {
+      if (target.gender() == null) {
+        for (Gender gender : Gender.values()) {
+          cache.evict(keyFor(target.hostelId(), gender));
+        }
+      } else {
+        cache.evict(keyFor(target.hostelId(), target.gender()));
+      }
+      targetedEvictions.increment();
+      log.debug("[CACHE] Evicted {} for hostel {} ({})", CACHE_NAME, target.hostelId(), target.gender());
+    } catch (RuntimeException ex) {
+      // TTL remains the safety net; never fail a committed write because Redis hiccupped.
+      log.warn("[CACHE] Failed to evict {} for hostel {}: {}", CACHE_NAME, target.hostelId(), ex.getMessage());
+    }
+  }
+
+  /** Mirrors the {@code @Cacheable} key on {@link StudentHostelService#listAvailableRooms}. */
+  static String keyFor(Long hostelId, Gender gender) {
+    return hostelId + "-" + gender;
+  }
+
+  private record Target(Long hostelId, Gender gender) {}
+}
@@ -0,0 +1,404 @@
+package com.hostelmanagement.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.hostelmanagement.web.dto.ApplyRequest;
+import com.hostelmanagement.web.dto.BookingResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Admission layer in front of {@link BookingService#apply} for the reapplication rush.
+ *
+ * <p>Each apply request gets a ticket in a bounded FIFO queue and its servlet thread is released
+ * (the controller returns the ticket's {@link DeferredResult}). A single dispatcher admits tickets
+ * in arrival order, at most {@code app.booking.admission.permits-per-second} per second, grouping
+ * those that arrive within {@code batch-window-ms} (up to {@code batch-size}) into one
+ * {@link BookingService#applyBatch} transaction. At most {@code max-concurrent} batches run at a
+ * time, which keeps the connection pool below saturation. Waiting students receive their queue
+ * position on {@code /user/queue/notifications}.
+ *
+ * <p>Load is shed rather than queued indefinitely: a full queue rejects new tickets and a ticket
+ * that waits longer than {@code max-wait-seconds} is dropped, both with
+ * {@link AdmissionRejectedException}. The dispatcher enforces that deadline when it takes a batch;
+ * the request itself only times out after a further {@code processing-timeout-seconds}, so an
+ * admitted application is normally answered with its real outcome. If its transaction is still
+ * running even then, the request completes with {@link BookingStillProcessingException} instead of
+ * a bare 503, since the booking may yet commit. The queue is per node.
+ *
+ * <p>Every admitted application is timed as {@code booking.apply}, tagged with {@code path}
+ * ({@code batch} or the {@code single} retry) and {@code outcome}: {@code booked}, a
+ * {@link BookingRejectedException.Reason} tag, {@code lock_conflict}, {@code invalid} or
+ * {@code error}. {@code booking.admission.wait} times the queueing before it.
+ */
+@Service
+public class BookingAdmissionService {
+
+  private static final Logger log = LoggerFactory.getLogger(BookingAdmissionService.class);
+
+  private final BookingService bookingService;
+  private final NotificationService notificationService;
+  private final int maxWaiting;
+  private final long maxWaitNs;
+  private final long requestTimeoutMs;
+  private final long admitIntervalNs;
+  private final int batchSize;
+  private final long batchWindowNs;
+  private final long positionIntervalNs;
+  private final Semaphore inFlight;
+  private final ExecutorService workers;
+  private final Counter admitted;
+  private final DistributionSummary batches;
+  private final Counter rejected;
+  private final Counter timedOut;
+  private final Counter stillProcessing;
+  private final Timer admissionWait;
+  private final MeterRegistry meterRegistry;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+  private final Map<Long, Ticket> ticketsByStudent = new HashMap<>();
+
+  private volatile Thread dispatcher;
+  private long nextAdmitNs;
+  private long lastPositionsNs;
+
+  public BookingAdmissionService(
+      BookingService bookingService,
+      NotificationService notificationService,
+      MeterRegistry meterRegistry,
+      @Value("${app.booking.admission.max-waiting:2000}") int maxWaiting,
+      @Value("${app.booking.admission.max-wait-seconds:120}") long maxWaitSeconds,
+      @Value("${app.booking.admission.permits-per-second:300}") int permitsPerSecond,
+      @Value("${app.booking.admission.max-concurrent:4}") int maxConcurrent,
+      @Value("${app.booking.admission.batch-size:32}") int batchSize,
+      @Value("${app.booking.admission.batch-window-ms:5}") long batchWindowMs,
+      @Value("${app.booking.admission.processing-timeout-seconds:30}") long processingTimeoutSeconds) {
+    if (maxWaiting <= 0 || permitsPerSecond <= 0 || maxConcurrent <= 0 || batchSize <= 0) {
+      throw new IllegalArgumentException("app.booking.admission limits must be positive");
+    }
+    this.bookingService = bookingService;
+    this.notificationService = notificationService;
+    this.meterRegistry = meterRegistry;
+    this.maxWaiting = maxWaiting;
+    this.maxWaitNs = TimeUnit.SECONDS.toNanos(maxWaitSeconds);
+    this.requestTimeoutMs = TimeUnit.SECONDS.toMillis(maxWaitSeconds + processingTimeoutSeconds);
+    this.admitIntervalNs = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    this.batchSize = batchSize;
+    this.batchWindowNs = TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+    this.positionIntervalNs = TimeUnit.SECONDS.toNanos(1);
+    this.inFlight = new Semaphore(maxConcurrent);
+    this.workers =
+        Executors.newFixedThreadPool(
+            maxConcurrent, Thread.ofPlatform().daemon().name("booking-admit-", 0).factory());
+    this.admitted = Counter.builder("booking.admission.admitted").register(meterRegistry);
+    this.batches =
+        DistributionSummary.builder("booking.admission.batch_size")
+            .description("Applications committed together per applyBatch transaction")
+            .register(meterRegistry);
+    this.rejected =
+        Counter.builder("booking.admission.rejected")
+            .description("Apply requests shed because the admission queue was full")
+            .register(meterRegistry);
+    this.timedOut =
+        Counter.builder("booking.admission.timed_out")
+            .description("Tickets dropped after waiting longer than max-wait-seconds")
+            .register(meterRegistry);
+    this.stillProcessing =
+        Counter.builder("booking.admission.still_processing")
+            .description("Admitted applications whose request timed out before the batch finished")
+            .register(meterRegistry);
+    this.admissionWait =
+        Timer.builder("booking.admission.wait")
+            .description("Time from queueing an application to its dispatch")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    Gauge.builder("booking.admission.waiting", this, BookingAdmissionService::waitingCount)
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    dispatcher = Thread.ofPlatform().daemon().name("booking-admission").start(this::dispatchLoop);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread thread = dispatcher;
+    if (thread != null) {
+      thread.interrupt();
+    }
+    workers.shutdown();
+  }
+
+  /**
+   * Queues an application; the returned result completes with the booking, or with the exception
+   * {@link BookingService#apply} threw, once the ticket is admitted.
+   *
+   * @throws AdmissionRejectedException if the queue is full
+   * @throws IllegalArgumentException if the student already has an application waiting
+   */
+  public DeferredResult<BookingResponse> submit(Long studentId, ApplyRequest request) {
+    DeferredResult<BookingResponse> result = new DeferredResult<>(requestTimeoutMs);
+    Ticket ticket = new Ticket(studentId, request, result, System.nanoTime());
+    int position;
+
+    lock.lock();
+    try {
+      if (ticketsByStudent.containsKey(studentId)) {
+        throw new IllegalArgumentException("Your booking application is already being processed");
+      }
+      if (waiting.size() >= maxWaiting) {
+        rejected.increment();
+        throw new AdmissionRejectedException(
+            "Booking is very busy right now. Please try again shortly.", retryAfterSeconds(waiting.size()));
+      }
+      waiting.addLast(ticket);
+      ticketsByStudent.put(studentId, ticket);
+      position = waiting.size();
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+
+    result.onTimeout(() -> {
+      if (remove(ticket)) {
+        expire(ticket);
+      } else {
+        // Already handed to applyBatch, which may still commit it.
+        stillProcessing.increment();
+        result.setErrorResult(
+            new BookingStillProcessingException(
+                "Your booking application is still being processed. Please check your booking shortly."));
+      }
+    });
+    if (position > 1) {
+      notificationService.notifyAdmissionPosition(studentId, position);
+    }
+    return result;
+  }
+
+  public int waitingCount() {
+    lock.lock();
+    try {
+      return waiting.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void dispatchLoop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        inFlight.acquire();
+        List<Ticket> batch = takeBatch();
+        batch.removeIf(ticket -> ticket.result().isSetOrExpired());
+        batch.removeIf(this::expireIfOverdue);
+        if (batch.isEmpty()) {
+          inFlight.release();
+          continue;
+        }
+        pace(batch.size());
+        admitted.increment(batch.size());
+        batches.record(batch.size());
+        workers.execute(() -> process(batch));
+        publishPositionsIfDue();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException ex) {
+        inFlight.release();
+        log.error("[ADMISSION] Dispatcher error: {}", ex.getMessage(), ex);
+      }
+    }
+  }
+
+  /** Drops a ticket that waited past {@code max-wait-seconds} instead of admitting it late. */
+  private boolean expireIfOverdue(Ticket ticket) {
+    if (System.nanoTime() - ticket.enqueuedNs() <= maxWaitNs) {
+      return false;
+    }
+    forget(ticket);
+    expire(ticket);
+    return true;
+  }
+
+  private void expire(Ticket ticket) {
+    timedOut.increment();
+    ticket.result().setErrorResult(
+        new AdmissionRejectedException(
+            "Your place in the booking queue expired. Please try again.", retryAfterSeconds(waitingCount())));
+  }
+
+  private void process(List<Ticket> batch) {
+    long start = System.nanoTime();
+    batch.forEach(ticket -> admissionWait.record(start - ticket.enqueuedNs(), TimeUnit.NANOSECONDS));
+    try {
+      List<BookingService.ApplyOutcome> outcomes =
+          bookingService.applyBatch(
+              batch.stream().map(t -> new BookingService.Application(t.studentId(), t.request())).toList());
+      long elapsed = System.nanoTime() - start;
+      for (int i = 0; i < batch.size(); i++) {
+        BookingService.ApplyOutcome outcome = outcomes.get(i);
+        applyTimer("batch", outcome.error()).record(elapsed, TimeUnit.NANOSECONDS);
+        complete(batch.get(i), outcome);
+      }
+    } catch (RuntimeException ex) {
+      // The group transaction failed as a whole (e.g. a deadlock); retry each application alone so
+      // one bad row cannot fail its neighbours.
+      log.warn("[ADMISSION] Batch of {} failed, retrying individually: {}", batch.size(), ex.getMessage());
+      batch.forEach(this::processAlone);
+    } finally {
+      inFlight.release();
+      batch.forEach(this::forget);
+    }
+  }
+
+  private void processAlone(Ticket ticket) {
+    long start = System.nanoTime();
+    try {
+      BookingResponse response = bookingService.apply(ticket.studentId(), ticket.request());
+      applyTimer("single", null).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      ticket.result().setResult(response);
+    } catch (RuntimeException ex) {
+      applyTimer("single", ex).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      ticket.result().setErrorResult(ex);
+    }
+  }
+
+  private Timer applyTimer(String path, RuntimeException error) {
+    return Timer.builder("booking.apply")
+        .description("Booking applications from dispatch to commit, by outcome")
+        .tag("path", path)
+        .tag("outcome", outcomeTag(error))
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  static String outcomeTag(RuntimeException error) {
+    if (error == null) {
+      return "booked";
+    }
+    if (error instanceof BookingRejectedException rejection) {
+      return rejection.getReason().tag();
+    }
+    if (error instanceof ConcurrencyFailureException) {
+      return "lock_conflict";
+    }
+    return error instanceof IllegalArgumentException ? "invalid" : "error";
+  }
+
+  private static void complete(Ticket ticket, BookingService.ApplyOutcome outcome) {
+    if (outcome.error() != null) {
+      ticket.result().setErrorResult(outcome.error());
+    } else {
+      ticket.result().setResult(outcome.response());
+    }
+  }
+
+  /** Waits for one ticket, then up to {@code batchWindowNs} for more, up to {@code batchSize}. */
+  private List<Ticket> takeBatch() throws InterruptedException {
+    lock.lock();
+    try {
+      while (waiting.isEmpty()) {
+        notEmpty.await();
+      }
+      long deadline = System.nanoTime() + batchWindowNs;
+      long remaining = batchWindowNs;
+      while (waiting.size() < batchSize && remaining > 0) {
+        notEmpty.awaitNanos(remaining);
+        remaining = deadline - System.nanoTime();
+      }
+
+      List<Ticket> batch = new ArrayList<>(Math.min(batchSize, waiting.size()));
+      while (batch.size() < batchSize && !waiting.isEmpty()) {
+        batch.add(waiting.pollFirst());
+      }
+      return batch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void pace(int tickets) {
+    long now = System.nanoTime();
+    if (nextAdmitNs - now > 0) {
+      LockSupport.parkNanos(nextAdmitNs - now);
+      now = System.nanoTime();
+    }
+    nextAdmitNs = Math.max(now, nextAdmitNs) + admitIntervalNs * tickets;
+  }
+
+  private void publishPositionsIfDue() {
+    long now = System.nanoTime();
+    if (now - lastPositionsNs < positionIntervalNs) {
+      return;
+    }
+    lastPositionsNs = now;
+
+    List<Long> students;
+    lock.lock();
+    try {
+      students = new ArrayList<>(waiting.size());
+      waiting.forEach(ticket -> students.add(ticket.studentId()));
+    } finally {
+      lock.unlock();
+    }
+    for (int i = 0; i < students.size(); i++) {
+      notificationService.notifyAdmissionPosition(students.get(i), i + 1);
+    }
+  }
+
+  private boolean remove(Ticket ticket) {
+    lock.lock();
+    try {
+      ticketsByStudent.remove(ticket.studentId(), ticket);
+      return waiting.remove(ticket);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void forget(Ticket ticket) {
+    lock.lock();
+    try {
+      ticketsByStudent.remove(ticket.studentId(), ticket);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long retryAfterSeconds(int queued) {
+    long drainSeconds = queued * admitIntervalNs / TimeUnit.SECONDS.toNanos(1);
+    return Math.max(5, drainSeconds);
+  }
+
+  private record Ticket(
+      Long studentId, ApplyRequest request, DeferredResult<BookingResponse> result, long enqueuedNs) {}
+}
@@ -0,0 +1,132 @@
+package com.hostelmanagement.service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.PaymentStatus;
+
+/**
+ * Inserts the bookings and payments of one group-committed apply batch as two JDBC batches.
+ *
+ * <p>Hibernate cannot batch inserts for {@code IDENTITY} ids, so this writes the rows directly on
+ * the transaction's connection and reads the generated booking ids back. Instants are bound with
+ * a UTC calendar, as Hibernate does. With {@code rewriteBatchedStatements=true} on the MySQL URL
+ * each batch becomes a single multi-row {@code INSERT}.
+ */
+@Component
+class BookingBatchWriter {
+
+  private static final String INSERT_BOOKING =
+      """
+      INSERT INTO bookings (student_id, room_id, status, special_requests, academic_year,
+                            academic_session, academic_term_id, created_at, updated_at)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private static final String INSERT_PAYMENT =
+      """
+      INSERT INTO payments (student_id, booking_id, amount, status, due_at, created_at, updated_at)
+      VALUES (?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  BookingBatchWriter(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Inserts one booking and one pending payment per row.
+   *
+   * @return generated booking ids, in row order
+   */
+  List<Long> insert(List<NewBooking> rows, Instant now) {
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+
+    List<Long> bookingIds =
+        jdbcTemplate.execute(
+            con -> con.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS),
+            (PreparedStatement ps) -> {
+              for (NewBooking row : rows) {
+                ps.setLong(1, row.studentId());
+                ps.setLong(2, row.roomId());
+                ps.setString(3, BookingStatus.PENDING_PAYMENT.name());
+                ps.setString(4, row.specialRequests());
+                ps.setString(5, row.academicYear());
+                ps.setString(6, row.academicSession());
+                if (row.academicTermId() == null) {
+                  ps.setNull(7, Types.BIGINT);
+                } else {
+                  ps.setLong(7, row.academicTermId());
+                }
+                setInstant(ps, 8, now);
+                setInstant(ps, 9, now);
+                ps.addBatch();
+              }
+              ps.executeBatch();
+
+              List<Long> ids = new ArrayList<>(rows.size());
+              try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next()) {
+                  ids.add(keys.getLong(1));
+                }
+              }
+              return ids;
+            });
+
+    if (bookingIds == null || bookingIds.size() != rows.size()) {
+      throw new IllegalStateException("Batch insert did not return an id for every booking");
+    }
+
+    jdbcTemplate.execute(
+        INSERT_PAYMENT,
+        (PreparedStatement ps) -> {
+          for (int i = 0; i < rows.size(); i++) {
+            NewBooking row = rows.get(i);
+            ps.setLong(1, row.studentId());
+            ps.setLong(2, bookingIds.get(i));
+            ps.setBigDecimal(3, row.amount());
+            ps.setString(4, PaymentStatus.PENDING.name());
+            setInstant(ps, 5, row.dueAt());
+            setInstant(ps, 6, now);
+            setInstant(ps, 7, now);
+            ps.addBatch();
+          }
+          return ps.executeBatch();
+        });
+
+    return bookingIds;
+  }
+
+  private static void setInstant(PreparedStatement ps, int index, Instant value) throws SQLException {
+    ps.setTimestamp(index, Timestamp.from(value), Calendar.getInstance(UTC));
+  }
+
+  record NewBooking(
+      Long studentId,
+      Long roomId,
+      String specialRequests,
+      String academicYear,
+      String academicSession,
+      Long academicTermId,
+      BigDecimal amount,
+      Instant dueAt) {}
+}
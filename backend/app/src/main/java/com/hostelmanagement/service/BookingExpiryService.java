@@ -0,0 +1,210 @@
+package com.hostelmanagement.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hostelmanagement.domain.Booking;
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.PaymentStatus;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+import com.hostelmanagement.repository.RoomRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Set-based expiry of bookings whose payment hold has lapsed.
+ *
+ * <p>Works in chunks of {@code app.booking.expiry-chunk-size} bookings, one short transaction per
+ * chunk:
+ * <ol>
+ *   <li>lock the chunk with {@code FOR UPDATE SKIP LOCKED} (concurrent runs and payment callbacks
+ *       never wait on each other),
+ *   <li>flip the bookings to {@code EXPIRED} and their payments to {@code CANCELLED} with one bulk
+ *       {@code UPDATE} each,
+ *   <li>free the beds with one {@code UPDATE} per distinct "beds to free" count rather than one
+ *       per booking.
+ * </ol>
+ *
+ * <p>The in-memory inventory, search index and {@code available-rooms} cache are updated once the
+ * chunk commits, exactly as the single-booking paths in {@link BookingService} do.
+ */
+@Service
+public class BookingExpiryService {
+
+  private static final Logger log = LoggerFactory.getLogger(BookingExpiryService.class);
+
+  private final BookingRepository bookingRepository;
+  private final PaymentRepository paymentRepository;
+  private final RoomRepository roomRepository;
+  private final RoomInventoryService roomInventoryService;
+  private final RoomSearchIndex roomSearchIndex;
+  private final AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator;
+  private final AnalyticsProjectionService analyticsProjectionService;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final Counter expiredBookings;
+
+  public BookingExpiryService(
+      BookingRepository bookingRepository,
+      PaymentRepository paymentRepository,
+      RoomRepository roomRepository,
+      RoomInventoryService roomInventoryService,
+      RoomSearchIndex roomSearchIndex,
+      AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator,
+      AnalyticsProjectionService analyticsProjectionService,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.booking.expiry-chunk-size:500}") int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("app.booking.expiry-chunk-size must be positive");
+    }
+    this.bookingRepository = bookingRepository;
+    this.paymentRepository = paymentRepository;
+    this.roomRepository = roomRepository;
+    this.roomInventoryService = roomInventoryService;
+    this.roomSearchIndex = roomSearchIndex;
+    this.availableRoomsCacheInvalidator = availableRoomsCacheInvalidator;
+    this.analyticsProjectionService = analyticsProjectionService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.expiredBookings =
+        Counter.builder("booking.expiry.expired")
+            .description("Bookings expired because their payment hold lapsed")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Expires every {@code PENDING_PAYMENT} booking created before {@code cutoff}.
+   *
+   * @return what was expired and how fast
+   */
+  public ExpiryRun expireOverdue(Instant cutoff) {
+    long startNs = System.nanoTime();
+    int total = 0;
+    int chunks = 0;
+
+    while (true) {
+      Integer locked = transactionTemplate.execute(status -> expireChunk(cutoff));
+      int expired = locked == null ? 0 : locked;
+      if (expired == 0) {
+        break;
+      }
+      total += expired;
+      chunks++;
+      if (expired < chunkSize) {
+        break;
+      }
+    }
+
+    ExpiryRun run = new ExpiryRun(total, chunks, (System.nanoTime() - startNs) / 1_000_000);
+    if (total > 0) {
+      expiredBookings.increment(total);
+      log.info(
+          "[EXPIRY] Expired {} bookings in {} chunks in {}ms ({} bookings/s)",
+          run.expiredBookings(), run.chunks(), run.elapsedMs(), run.throughputPerSecond());
+    }
+    return run;
+  }
+
+  /**
+   * Expires the given bookings if they are still {@code PENDING_PAYMENT}; used when their
+   * deadlines fire. Bookings locked by a concurrent payment are skipped and left to the next
+   * sweep.
+   *
+   * @return what was expired and how fast
+   */
+  public ExpiryRun expireBookings(Collection<Long> bookingIds) {
+    long startNs = System.nanoTime();
+    List<Long> ids = List.copyOf(bookingIds);
+    int total = 0;
+    int chunks = 0;
+
+    for (int from = 0; from < ids.size(); from += chunkSize) {
+      List<Long> slice = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+      Integer locked =
+          transactionTemplate.execute(
+              status -> expireLocked(bookingRepository.lockByIdInAndStatus(slice, BookingStatus.PENDING_PAYMENT)));
+      total += locked == null ? 0 : locked;
+      chunks++;
+    }
+
+    ExpiryRun run = new ExpiryRun(total, chunks, (System.nanoTime() - startNs) / 1_000_000);
+    if (total > 0) {
+      expiredBookings.increment(total);
+      log.debug("[EXPIRY] Expired {} due bookings in {}ms", run.expiredBookings(), run.elapsedMs());
+    }
+    return run;
+  }
+
+  private int expireChunk(Instant cutoff) {
+    return expireLocked(
+        bookingRepository.lockChunkByStatusAndCreatedAtBefore(
+            BookingStatus.PENDING_PAYMENT, cutoff, PageRequest.of(0, chunkSize)));
+  }
+
+  private int expireLocked(List<Booking> chunk) {
+    if (chunk.isEmpty()) {
+      return 0;
+    }
+
+    List<Long> bookingIds = new ArrayList<>(chunk.size());
+    Map<Long, Integer> bedsByRoom = new HashMap<>();
+    for (Booking booking : chunk) {
+      bookingIds.add(booking.getId());
+      if (booking.getRoom() != null) {
+        // Reading the id does not initialize the lazy room proxy.
+        bedsByRoom.merge(booking.getRoom().getId(), 1, Integer::sum);
+      }
+    }
+
+    Instant now = Instant.now();
+    int expired =
+        bookingRepository.bulkTransitionStatus(
+            bookingIds, BookingStatus.PENDING_PAYMENT, BookingStatus.EXPIRED, now);
+    analyticsProjectionService.bookingsTransitioned(BookingStatus.PENDING_PAYMENT, BookingStatus.EXPIRED, expired);
+    paymentRepository.bulkUpdateStatusByBookingIds(bookingIds, PaymentStatus.CANCELLED, now);
+    releaseBeds(bedsByRoom);
+    return chunk.size();
+  }
+
+  private void releaseBeds(Map<Long, Integer> bedsByRoom) {
+    if (bedsByRoom.isEmpty()) {
+      return;
+    }
+
+    Map<Integer, List<Long>> roomsByBeds = new HashMap<>();
+    bedsByRoom.forEach((roomId, beds) -> roomsByBeds.computeIfAbsent(beds, k -> new ArrayList<>()).add(roomId));
+    roomsByBeds.forEach((beds, roomIds) -> roomRepository.bulkReleaseBeds(roomIds, beds));
+
+    for (Room room : roomRepository.findByIdInWithHostel(bedsByRoom.keySet())) {
+      for (int i = 0; i < bedsByRoom.get(room.getId()); i++) {
+        roomInventoryService.releaseBedAfterCommit(room.getId());
+      }
+      roomSearchIndex.refreshAfterCommit(room);
+      availableRoomsCacheInvalidator.evictAfterCommit(room);
+    }
+  }
+
+  /** Outcome of one expiry run. */
+  public record ExpiryRun(int expiredBookings, int chunks, long elapsedMs) {
+
+    public long throughputPerSecond() {
+      return elapsedMs == 0 ? expiredBookings * 1000L : expiredBookings * 1000L / elapsedMs;
+    }
+  }
+}
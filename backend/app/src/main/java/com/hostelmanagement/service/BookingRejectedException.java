@@ -0,0 +1,39 @@
+package com.hostelmanagement.service;
+
+import java.util.Locale;
+
+/**
+ * A booking application turned down by a business rule. Still an {@link IllegalArgumentException}
+ * ({@code 400 Bad Request}); the {@link Reason} tags the {@code booking.apply} timer.
+ */
+public class BookingRejectedException extends IllegalArgumentException {
+
+  public enum Reason {
+    STUDENT_NOT_FOUND,
+    WINDOW_CLOSED,
+    ACTIVE_APPLICATION,
+    ALREADY_ALLOCATED,
+    HOSTEL_UNAVAILABLE,
+    ROOM_NOT_FOUND,
+    ROOM_MISMATCH,
+    ROOM_FULL,
+    GENDER_MISMATCH,
+    PREFERENCE_MISMATCH;
+
+    /** Metric tag value, e.g. {@code room_full}. */
+    public String tag() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private final Reason reason;
+
+  public BookingRejectedException(Reason reason, String message) {
+    super(message);
+    this.reason = reason;
+  }
+
+  public Reason getReason() {
+    return reason;
+  }
+}
@@ -3,18 +3,26 @@ package com.hostelmanagement.service;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.hostelmanagement.domain.Booking;
 import com.hostelmanagement.domain.BookingStatus;
 import com.hostelmanagement.domain.AcademicTerm;
+import com.hostelmanagement.domain.Hostel;
 import com.hostelmanagement.domain.Payment;
 import com.hostelmanagement.domain.PaymentStatus;
 import com.hostelmanagement.domain.Room;
@@ -25,6 +33,7 @@ import com.hostelmanagement.repository.HostelRepository;
 import com.hostelmanagement.repository.PaymentRepository;
 import com.hostelmanagement.repository.RoomRepository;
 import com.hostelmanagement.repository.StudentRepository;
+import com.hostelmanagement.service.BookingRejectedException.Reason;
 import com.hostelmanagement.web.dto.ApplyRequest;
 import com.hostelmanagement.web.dto.BookingResponse;
 
@@ -38,6 +47,12 @@ public class BookingService {
   private final PaymentRepository paymentRepository;
   private final AcademicRolloverService academicRolloverService;
   private final NotificationService notificationService;
+  private final RoomInventoryService roomInventoryService;
+  private final RoomSearchIndex roomSearchIndex;
+  private final AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator;
+  private final PaymentDeadlineService paymentDeadlineService;
+  private final AnalyticsProjectionService analyticsProjectionService;
+  private final BookingBatchWriter bookingBatchWriter;
 
   private final long holdMinutes;
 
@@ -49,6 +64,12 @@ public class BookingService {
       PaymentRepository paymentRepository,
       AcademicRolloverService academicRolloverService,
       NotificationService notificationService,
+      RoomInventoryService roomInventoryService,
+      RoomSearchIndex roomSearchIndex,
+      AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator,
+      PaymentDeadlineService paymentDeadlineService,
+      AnalyticsProjectionService analyticsProjectionService,
+      BookingBatchWriter bookingBatchWriter,
       @Value("${app.booking.payment-hold-minutes}") long holdMinutes) {
     this.hostelRepository = hostelRepository;
     this.roomRepository = roomRepository;
@@ -57,10 +78,15 @@ public class BookingService {
     this.paymentRepository = paymentRepository;
     this.academicRolloverService = academicRolloverService;
     this.notificationService = notificationService;
+    this.roomInventoryService = roomInventoryService;
+    this.roomSearchIndex = roomSearchIndex;
+    this.availableRoomsCacheInvalidator = availableRoomsCacheInvalidator;
+    this.paymentDeadlineService = paymentDeadlineService;
+    this.analyticsProjectionService = analyticsProjectionService;
+    this.bookingBatchWriter = bookingBatchWriter;
     this.holdMinutes = holdMinutes;
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
   @Transactional
   public BookingResponse apply(Long studentId, ApplyRequest request) {
     Long requiredStudentId = Objects.requireNonNull(studentId, "studentId is required");
@@ -68,13 +94,19 @@ public class BookingService {
     Integer requiredFloorNumber = Objects.requireNonNull(request.floorNumber(), "floorNumber is required");
     Long requiredRoomId = Objects.requireNonNull(request.roomId(), "roomId is required");
 
+    // Claim a bed in memory first so applications for full rooms never reach the database.
+    // The bed is handed back automatically if this transaction rolls back.
+    if (!roomInventoryService.reserveBed(requiredRoomId)) {
+      throw new BookingRejectedException(Reason.ROOM_FULL, "Selected room is full or unavailable");
+    }
+
     Student student =
         studentRepository
         .findById(requiredStudentId)
-            .orElseThrow(() -> new IllegalArgumentException("Student not found"));
+            .orElseThrow(() -> new BookingRejectedException(Reason.STUDENT_NOT_FOUND, "Student not found"));
 
     if (!academicRolloverService.isReapplicationWindowOpen()) {
-      throw new IllegalArgumentException("The portal for next semester is not yet open");
+      throw new BookingRejectedException(Reason.WINDOW_CLOSED, "The portal for next semester is not yet open");
     }
 
     // Enforce one active booking at a time
@@ -88,49 +120,17 @@ public class BookingService {
 
     var hostelOpt = hostelRepository.findById(requiredHostelId);
     if (hostelOpt.isEmpty() || !hostelOpt.get().isActive()) {
-      throw new IllegalArgumentException("Selected hostel is not available");
+      throw new BookingRejectedException(Reason.HOSTEL_UNAVAILABLE, "Selected hostel is not available");
     }
 
     // Lock selected room and validate the exact student choice
     Room locked = roomRepository.findByIdForUpdate(requiredRoomId);
-    if (locked == null) {
-      throw new IllegalArgumentException("Selected room not found");
-    }
-
-    if (locked.getHostel() == null || !locked.getHostel().getId().equals(requiredHostelId)) {
-      throw new IllegalArgumentException("Selected room does not belong to selected hostel");
-    }
-
-    if (locked.getFloorNumber() != requiredFloorNumber) {
-      throw new IllegalArgumentException("Selected room does not belong to selected floor");
-    }
-
-    if (!locked.getHostel().isActive()) {
-      throw new IllegalArgumentException("Selected hostel is not active");
-    }
-
-    if (locked.getStatus() != RoomStatus.AVAILABLE || locked.getCurrentOccupancy() >= locked.getCapacity()) {
-      throw new IllegalArgumentException("Selected room is full or unavailable");
-    }
-
-    if (locked.getRoomGender() != student.getGender()) {
-      throw new IllegalArgumentException("Selected room does not match student gender");
-    }
-
-    if (locked.isHasAc() != request.hasAc()) {
-      throw new IllegalArgumentException("Selected room does not match AC preference");
-    }
-
-    if (locked.isHasWifi() != request.hasWifi()) {
-      throw new IllegalArgumentException("Selected room does not match WiFi preference");
-    }
-
-    if (locked.getMattressType() != request.mattressType()) {
-      throw new IllegalArgumentException("Selected room does not match mattress preference");
-    }
+    validateChoice(locked, student, request, requiredHostelId, requiredFloorNumber);
 
     locked.incrementOccupancy();
     roomRepository.save(locked);
+    roomSearchIndex.refreshAfterCommit(locked);
+    availableRoomsCacheInvalidator.evictAfterCommit(locked);
 
     Booking booking = new Booking();
     AcademicTerm activeTerm = academicRolloverService.getRequiredActiveTerm();
@@ -155,6 +155,8 @@ public class BookingService {
     payment.setAmount(amount == null ? BigDecimal.ZERO : amount);
 
     paymentRepository.save(payment);
+    analyticsProjectionService.bookingCreated(BookingStatus.PENDING_PAYMENT);
+    paymentDeadlineService.trackAfterCommit(savedBooking.getId(), dueAt);
 
     // Send booking confirmation email asynchronously
     notificationService.sendBookingConfirmation(
@@ -179,16 +181,207 @@ public class BookingService {
       payment.getPaidAt());
   }
 
+  /**
+   * Group-commit variant of {@link #apply}: validates every application against one snapshot
+   * (students, active bookings, hostels and row-locked rooms are each loaded with one query),
+   * assigns beds in arrival order and inserts all bookings and payments as JDBC batches in a single
+   * transaction. Applications that fail validation get their own rejection without affecting the
+   * rest of the group.
+   *
+   * @return one outcome per application, in the same order
+   */
+  @Transactional
+  public List<ApplyOutcome> applyBatch(List<Application> applications) {
+    ApplyOutcome[] outcomes = new ApplyOutcome[applications.size()];
+    List<Integer> candidates = new ArrayList<>();
+
+    // Claim beds in memory first, exactly as apply() does; rejected claims are handed back below.
+    for (int i = 0; i < applications.size(); i++) {
+      ApplyRequest request = applications.get(i).request();
+      try {
+        Objects.requireNonNull(applications.get(i).studentId(), "studentId is required");
+        Objects.requireNonNull(request.hostelId(), "hostelId is required");
+        Objects.requireNonNull(request.floorNumber(), "floorNumber is required");
+        Objects.requireNonNull(request.roomId(), "roomId is required");
+        if (!roomInventoryService.reserveBed(request.roomId())) {
+          throw new BookingRejectedException(Reason.ROOM_FULL, "Selected room is full or unavailable");
+        }
+        candidates.add(i);
+      } catch (RuntimeException ex) {
+        outcomes[i] = ApplyOutcome.failed(ex);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return List.of(outcomes);
+    }
+
+    if (!academicRolloverService.isReapplicationWindowOpen()) {
+      candidates.forEach(i -> reject(outcomes, applications.get(i),
+          i, new BookingRejectedException(Reason.WINDOW_CLOSED, "The portal for next semester is not yet open")));
+      return List.of(outcomes);
+    }
+
+    Set<Long> studentIds = new HashSet<>();
+    Set<Long> hostelIds = new HashSet<>();
+    Set<Long> roomIds = new HashSet<>();
+    for (int i : candidates) {
+      studentIds.add(applications.get(i).studentId());
+      hostelIds.add(applications.get(i).request().hostelId());
+      roomIds.add(applications.get(i).request().roomId());
+    }
+
+    Map<Long, Student> students =
+        studentRepository.findAllById(studentIds).stream()
+            .collect(Collectors.toMap(Student::getId, Function.identity()));
+    Map<Long, BookingStatus> activeStatuses = new HashMap<>();
+    bookingRepository
+        .findStatusesByStudentIdIn(studentIds, List.of(BookingStatus.PENDING_PAYMENT, BookingStatus.APPROVED))
+        .forEach(row -> activeStatuses.merge(row.getStudentId(), row.getStatus(),
+            (a, b) -> a == BookingStatus.APPROVED ? a : b));
+    Map<Long, Hostel> hostels =
+        hostelRepository.findAllById(hostelIds).stream()
+            .collect(Collectors.toMap(Hostel::getId, Function.identity()));
+    Map<Long, Room> rooms =
+        roomRepository.lockByIdInWithHostel(roomIds).stream()
+            .collect(Collectors.toMap(Room::getId, Function.identity()));
+    AcademicTerm activeTerm = academicRolloverService.getRequiredActiveTerm();
+
+    Instant now = Instant.now();
+    Instant dueAt = now.plus(holdMinutes, ChronoUnit.MINUTES);
+    List<Integer> accepted = new ArrayList<>();
+    List<BookingBatchWriter.NewBooking> rows = new ArrayList<>();
+    Map<Long, Room> touchedRooms = new LinkedHashMap<>();
+
+    for (int i : candidates) {
+      Application application = applications.get(i);
+      ApplyRequest request = application.request();
+      try {
+        Student student = students.get(application.studentId());
+        if (student == null) {
+          throw new BookingRejectedException(Reason.STUDENT_NOT_FOUND, "Student not found");
+        }
+        BookingStatus activeStatus = activeStatuses.get(student.getId());
+        if (activeStatus != null) {
+          validateNoActiveBooking(activeStatus);
+        }
+        Hostel hostel = hostels.get(request.hostelId());
+        if (hostel == null || !hostel.isActive()) {
+          throw new BookingRejectedException(Reason.HOSTEL_UNAVAILABLE, "Selected hostel is not available");
+        }
+        Room room = rooms.get(request.roomId());
+        validateChoice(room, student, request, request.hostelId(), request.floorNumber());
+
+        // Later applications in this group see the bed as taken.
+        room.incrementOccupancy();
+        activeStatuses.put(student.getId(), BookingStatus.PENDING_PAYMENT);
+        touchedRooms.put(room.getId(), room);
+        accepted.add(i);
+        rows.add(new BookingBatchWriter.NewBooking(
+            student.getId(),
+            room.getId(),
+            request.specialRequests(),
+            activeTerm.getAcademicYear(),
+            activeTerm.getSemester(),
+            activeTerm.getId(),
+            room.getPrice() == null ? BigDecimal.ZERO : room.getPrice(),
+            dueAt));
+      } catch (RuntimeException ex) {
+        reject(outcomes, application, i, ex);
+      }
+    }
+
+    List<Long> bookingIds = bookingBatchWriter.insert(rows, now);
+    roomRepository.saveAll(touchedRooms.values());
+    touchedRooms.values().forEach(room -> {
+      roomSearchIndex.refreshAfterCommit(room);
+      availableRoomsCacheInvalidator.evictAfterCommit(room);
+    });
+    analyticsProjectionService.bookingsCreated(BookingStatus.PENDING_PAYMENT, rows.size());
+
+    for (int k = 0; k < accepted.size(); k++) {
+      int i = accepted.get(k);
+      Long bookingId = bookingIds.get(k);
+      BookingBatchWriter.NewBooking row = rows.get(k);
+      Room room = rooms.get(row.roomId());
+      Student student = students.get(row.studentId());
+
+      paymentDeadlineService.trackAfterCommit(bookingId, dueAt);
+      notificationService.sendBookingConfirmation(
+          student.getEmail(), student.getFullName(), room.getHostel().getName(), room.getRoomNumber(), row.amount(), dueAt);
+      outcomes[i] = ApplyOutcome.ok(new BookingResponse(
+          bookingId,
+          BookingStatus.PENDING_PAYMENT,
+          room.getHostel().getName(),
+          room.getRoomNumber(),
+          dueAt,
+          PaymentStatus.PENDING,
+          row.amount(),
+          null,
+          null,
+          null,
+          null));
+    }
+    return List.of(outcomes);
+  }
+
+  private void reject(ApplyOutcome[] outcomes, Application application, int index, RuntimeException ex) {
+    outcomes[index] = ApplyOutcome.failed(ex);
+    roomInventoryService.releaseBedAfterCommit(application.request().roomId());
+  }
+
+  private static void validateChoice(
+      Room locked, Student student, ApplyRequest request, Long hostelId, int floorNumber) {
+    if (locked == null) {
+      throw new BookingRejectedException(Reason.ROOM_NOT_FOUND, "Selected room not found");
+    }
+
+    if (locked.getHostel() == null || !locked.getHostel().getId().equals(hostelId)) {
+      throw new BookingRejectedException(Reason.ROOM_MISMATCH, "Selected room does not belong to selected hostel");
+    }
+
+    if (locked.getFloorNumber() != floorNumber) {
+      throw new BookingRejectedException(Reason.ROOM_MISMATCH, "Selected room does not belong to selected floor");
+    }
+
+    if (!locked.getHostel().isActive()) {
+      throw new BookingRejectedException(Reason.HOSTEL_UNAVAILABLE, "Selected hostel is not active");
+    }
+
+    if (locked.getStatus() != RoomStatus.AVAILABLE || locked.getCurrentOccupancy() >= locked.getCapacity()) {
+      throw new BookingRejectedException(Reason.ROOM_FULL, "Selected room is full or unavailable");
+    }
+
+    if (locked.getRoomGender() != student.getGender()) {
+      throw new BookingRejectedException(Reason.GENDER_MISMATCH, "Selected room does not match student gender");
+    }
+
+    if (locked.isHasAc() != request.hasAc()) {
+      throw new BookingRejectedException(Reason.PREFERENCE_MISMATCH, "Selected room does not match AC preference");
+    }
+
+    if (locked.isHasWifi() != request.hasWifi()) {
+      throw new BookingRejectedException(Reason.PREFERENCE_MISMATCH, "Selected room does not match WiFi preference");
+    }
+
+    if (locked.getMattressType() != request.mattressType()) {
+      throw new BookingRejectedException(Reason.PREFERENCE_MISMATCH, "Selected room does not match mattress preference");
+    }
+  }
+
   private static void validateNoActiveBooking(Booking activeBooking) {
     if (activeBooking == null) {
       return;
     }
 
-    if (activeBooking.getStatus() == BookingStatus.APPROVED) {
-      throw new IllegalArgumentException("You already have an allocated room and cannot apply for another hostel");
+    validateNoActiveBooking(activeBooking.getStatus());
+  }
+
+  private static void validateNoActiveBooking(BookingStatus activeStatus) {
+    if (activeStatus == BookingStatus.APPROVED) {
+      throw new BookingRejectedException(Reason.ALREADY_ALLOCATED, "You already have an allocated room and cannot apply for another hostel");
     }
 
-    throw new IllegalArgumentException("You already have an active hostel application");
+    throw new BookingRejectedException(Reason.ACTIVE_APPLICATION, "You already have an active hostel application");
   }
 
   @Transactional(readOnly = true)
@@ -229,7 +422,6 @@ public class BookingService {
       payment == null ? null : payment.getPaidAt());
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
   @Transactional
   public Booking updateStatus(Long bookingId, BookingStatus status) {
     Long requiredBookingId = Objects.requireNonNull(bookingId, "bookingId is required");
@@ -255,6 +447,9 @@ public class BookingService {
         Room locked = roomRepository.findByIdForUpdate(room.getId());
         locked.decrementOccupancy();
         roomRepository.save(locked);
+        roomInventoryService.releaseBedAfterCommit(locked.getId());
+        roomSearchIndex.refreshAfterCommit(locked);
+        availableRoomsCacheInvalidator.evictAfterCommit(locked);
       }
 
       paymentRepository
@@ -271,11 +466,15 @@ public class BookingService {
           .findByBookingId(booking.getId())
           .ifPresent(
               p -> {
+                boolean newlyCompleted = p.getStatus() != PaymentStatus.COMPLETED;
                 p.setStatus(PaymentStatus.COMPLETED);
                 if (p.getPaidAt() == null) {
                   p.setPaidAt(Instant.now());
                 }
                 paymentRepository.save(p);
+                if (newlyCompleted) {
+                  analyticsProjectionService.paymentCompleted(p.getAmount(), p.getPaidAt());
+                }
               });
 
       // Send payment approval email asynchronously
@@ -287,41 +486,23 @@ public class BookingService {
       }
     }
 
+    analyticsProjectionService.bookingTransitioned(booking.getRoom(), current, status);
     booking.setStatus(status);
     return bookingRepository.save(booking);
   }
 
-  @CacheEvict(value = "available-rooms", allEntries = true)
-  @Transactional
-  public int expirePendingPayments(Instant cutoff) {
-    List<Booking> expired = bookingRepository.findByStatusAndCreatedAtBefore(BookingStatus.PENDING_PAYMENT, cutoff);
+  /** One application in a group passed to {@link #applyBatch}. */
+  public record Application(Long studentId, ApplyRequest request) {}
 
-    int updated = 0;
-    for (Booking booking : expired) {
-      // idempotency: re-check status
-      if (booking.getStatus() != BookingStatus.PENDING_PAYMENT) continue;
+  /** Result of one application in a batch: either the booking or the reason it was rejected. */
+  public record ApplyOutcome(BookingResponse response, RuntimeException error) {
 
-      Room room = booking.getRoom();
-      if (room != null) {
-        Room locked = roomRepository.findByIdForUpdate(room.getId());
-        locked.decrementOccupancy();
-        roomRepository.save(locked);
-      }
-
-      booking.setStatus(BookingStatus.EXPIRED);
-      bookingRepository.save(booking);
-
-      paymentRepository
-          .findByBookingId(booking.getId())
-          .ifPresent(
-              p -> {
-                p.setStatus(PaymentStatus.CANCELLED);
-                paymentRepository.save(p);
-              });
-
-      updated++;
+    static ApplyOutcome ok(BookingResponse response) {
+      return new ApplyOutcome(response, null);
     }
 
-    return updated;
+    static ApplyOutcome failed(RuntimeException error) {
+      return new ApplyOutcome(null, error);
+    }
   }
 }
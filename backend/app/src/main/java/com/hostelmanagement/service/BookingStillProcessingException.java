@@ -0,0 +1,13 @@
+package com.hostelmanagement.service;
+
+/**
+ * Thrown when an application was admitted from the booking queue but its transaction had not
+ * finished when the request timed out. It may still commit, so it is mapped to
+ * {@code 202 Accepted} and the student is pointed at their booking rather than told to retry.
+ */
+public class BookingStillProcessingException extends RuntimeException {
+
+  public BookingStillProcessingException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,95 @@
+package com.hostelmanagement.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps concurrent calls into one downstream (database, SMTP, Paystack) with a fair semaphore.
+ *
+ * <p>With virtual threads the number of request threads no longer limits how many callers pile
+ * onto a downstream, so each one gets a permit count matching what it can actually serve. A caller
+ * that cannot get a permit within the acquire timeout fails with {@link BulkheadFullException}
+ * instead of queueing indefinitely.
+ */
+public final class Bulkhead {
+
+  private final String name;
+  private final int permits;
+  private final long acquireTimeoutMs;
+  private final Semaphore semaphore;
+  private final Counter rejected;
+
+  public Bulkhead(String name, int permits, long acquireTimeoutMs, MeterRegistry meterRegistry) {
+    if (permits <= 0) {
+      throw new IllegalArgumentException("Bulkhead '" + name + "' needs at least one permit");
+    }
+    this.name = name;
+    this.permits = permits;
+    this.acquireTimeoutMs = acquireTimeoutMs;
+    this.semaphore = new Semaphore(permits, true);
+    this.rejected =
+        Counter.builder("bulkhead.rejected")
+            .tag("name", name)
+            .description("Calls refused because the bulkhead stayed full for the acquire timeout")
+            .register(meterRegistry);
+    Gauge.builder("bulkhead.in_use", this, Bulkhead::inUse).tag("name", name).register(meterRegistry);
+  }
+
+  public <T> T call(Supplier<T> action) {
+    acquire();
+    try {
+      return action.get();
+    } finally {
+      release();
+    }
+  }
+
+  public void run(Runnable action) {
+    acquire();
+    try {
+      action.run();
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Takes a permit; the caller must {@link #release()} it exactly once.
+   *
+   * @throws BulkheadFullException if no permit frees up within the acquire timeout
+   */
+  public void acquire() {
+    boolean acquired;
+    try {
+      acquired = semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      rejected.increment();
+      throw new BulkheadFullException(name);
+    }
+  }
+
+  public void release() {
+    semaphore.release();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getPermits() {
+    return permits;
+  }
+
+  public int inUse() {
+    return permits - semaphore.availablePermits();
+  }
+}
@@ -0,0 +1,19 @@
+package com.hostelmanagement.service;
+
+/**
+ * Thrown when a {@link Bulkhead} has no free permit within its acquire timeout; mapped to
+ * {@code 503 Service Unavailable} with a short {@code Retry-After}.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+  private final String bulkhead;
+
+  public BulkheadFullException(String bulkhead) {
+    super("The service is busy right now. Please try again shortly.");
+    this.bulkhead = bulkhead;
+  }
+
+  public String getBulkhead() {
+    return bulkhead;
+  }
+}
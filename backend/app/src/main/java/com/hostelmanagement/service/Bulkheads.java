@@ -0,0 +1,71 @@
+package com.hostelmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One {@link Bulkhead} per blocking downstream.
+ *
+ * <ul>
+ *   <li>{@code database} — sized to the Hikari pool and applied to every
+ *       {@code DataSource.getConnection()} in virtual-thread mode (see {@code BulkheadConfig}).</li>
+ *   <li>{@code smtp} — concurrent {@code JavaMailSender.send} calls.</li>
+ *   <li>{@code paystack} — concurrent gateway HTTP calls.</li>
+ * </ul>
+ *
+ * <p>The MySQL driver and Jakarta Mail both block on the socket inside {@code synchronized}
+ * code, which pins a virtual thread to its carrier. These permits therefore also cap how many
+ * carriers can be pinned at once; in virtual-thread mode a warning is logged if the database and
+ * SMTP permits together could pin every carrier.
+ */
+@Component
+public class Bulkheads {
+
+  private static final Logger log = LoggerFactory.getLogger(Bulkheads.class);
+
+  private final Bulkhead database;
+  private final Bulkhead smtp;
+  private final Bulkhead paystack;
+
+  public Bulkheads(
+      MeterRegistry meterRegistry,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int databasePermits,
+      @Value("${app.bulkhead.database.acquire-timeout-ms:5000}") long databaseTimeoutMs,
+      @Value("${app.bulkhead.smtp.permits:4}") int smtpPermits,
+      @Value("${app.bulkhead.smtp.acquire-timeout-ms:60000}") long smtpTimeoutMs,
+      @Value("${app.bulkhead.paystack.permits:16}") int paystackPermits,
+      @Value("${app.bulkhead.paystack.acquire-timeout-ms:2000}") long paystackTimeoutMs) {
+    this.database = new Bulkhead("database", databasePermits, databaseTimeoutMs, meterRegistry);
+    this.smtp = new Bulkhead("smtp", smtpPermits, smtpTimeoutMs, meterRegistry);
+    this.paystack = new Bulkhead("paystack", paystackPermits, paystackTimeoutMs, meterRegistry);
+
+    if (virtualThreads) {
+      int carriers =
+          Integer.getInteger(
+              "jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+      if (databasePermits + smtpPermits >= carriers) {
+        log.warn(
+            "[BULKHEAD] database ({}) + smtp ({}) permits can pin all {} virtual-thread carriers; "
+                + "raise -Djdk.virtualThreadScheduler.parallelism or lower the permits",
+            databasePermits, smtpPermits, carriers);
+      }
+    }
+  }
+
+  public Bulkhead database() {
+    return database;
+  }
+
+  public Bulkhead smtp() {
+    return smtp;
+  }
+
+  public Bulkhead paystack() {
+    return paystack;
+  }
+}
@@ -1,6 +1,8 @@
 package com.hostelmanagement.service;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
@@ -10,14 +12,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.hostelmanagement.domain.Gender;
 import com.hostelmanagement.domain.Hostel;
-import com.hostelmanagement.domain.Room;
 import com.hostelmanagement.domain.RoomStatus;
-import com.hostelmanagement.domain.Student;
 import com.hostelmanagement.repository.HostelRepository;
 import com.hostelmanagement.repository.RoomRepository;
 import com.hostelmanagement.repository.StudentRepository;
 import com.hostelmanagement.web.dto.RoomResponse;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Service for warming (pre-loading) Redis caches to optimize peak load performance.
  *
@@ -52,16 +55,19 @@ public class CacheWarmingService {
   private final HostelRepository hostelRepository;
   private final RoomRepository roomRepository;
   private final StudentRepository studentRepository;
+  private final MeterRegistry meterRegistry;
 
   public CacheWarmingService(
       StudentHostelService studentHostelService,
       HostelRepository hostelRepository,
       RoomRepository roomRepository,
-      StudentRepository studentRepository) {
+      StudentRepository studentRepository,
+      MeterRegistry meterRegistry) {
     this.studentHostelService = studentHostelService;
     this.hostelRepository = hostelRepository;
     this.roomRepository = roomRepository;
     this.studentRepository = studentRepository;
+    this.meterRegistry = meterRegistry;
   }
 
   /**
@@ -70,10 +76,10 @@ public class CacheWarmingService {
    */
   @Transactional(readOnly = true)
   public void warmActiveHostelsOnStartup() {
-    long startMs = System.currentTimeMillis();
+    Timer.Sample sample = Timer.start(meterRegistry);
     try {
       int count = studentHostelService.listActiveHostels().size();
-      long duration = System.currentTimeMillis() - startMs;
+      long duration = stop(sample, "active-hostels", "startup");
       log.info(
           "[CACHE-WARMING] Warmed active-hostels cache with {} hostels in {}ms",
           count, duration);
@@ -87,40 +93,20 @@ public class CacheWarmingService {
    * Scheduled during peak hours (7 AM - 10 PM) hourly.
    * This distributes cache warming over time instead of all happening on cache miss.
    *
+   * <p>Goes through {@link StudentHostelService#listAvailableRooms} so the entries land under the
+   * same {@code <hostelId>-<gender>} keys that student requests read.
+   *
    * <p>Execution: Runs every hour during peak hours.
    * If peak hours don't overlap this execution, it skips gracefully.
    */
   @Scheduled(cron = "0 0 7-22 * * *") // Every hour, 7 AM to 10 PM, every day
   @Transactional(readOnly = true)
   public void warmAvailableRoomsScheduled() {
-    long startMs = System.currentTimeMillis();
-    int totalCached = 0;
+    Timer.Sample sample = Timer.start(meterRegistry);
 
     try {
-      List<Hostel> activeHostels = hostelRepository.findByActiveTrue();
-
-      for (Hostel hostel : activeHostels) {
-        for (Gender gender : Gender.values()) {
-          try {
-            // Load and cache available rooms for this hostel/gender
-            List<Room> availableRooms =
-                roomRepository.findAvailableByHostelIdAndGenderWithHostel(hostel.getId(), gender);
-
-            if (!availableRooms.isEmpty()) {
-              totalCached += availableRooms.size();
-              log.debug(
-                  "[CACHE-WARMING] Warmed {}x rooms for hostel {} gender {}",
-                  availableRooms.size(), hostel.getName(), gender);
-            }
-          } catch (Exception e) {
-            log.warn(
-                "[CACHE-WARMING] Failed to warm rooms for hostel {} gender {}: {}",
-                hostel.getName(), gender, e.getMessage());
-          }
-        }
-      }
-
-      long duration = System.currentTimeMillis() - startMs;
+      int totalCached = warmActiveHostels();
+      long duration = stop(sample, "available-rooms", "scheduled");
       log.info("[CACHE-WARMING] Scheduled room cache warming completed: {} records in {}ms", totalCached, duration);
     } catch (Exception e) {
       log.warn("[CACHE-WARMING] Scheduled warming failed: {}", e.getMessage());
@@ -136,17 +122,15 @@ public class CacheWarmingService {
    */
   @Transactional(readOnly = true)
   public int warmRoomsForHostel(Long hostelId) {
-    long startMs = System.currentTimeMillis();
+    Timer.Sample sample = Timer.start(meterRegistry);
     int cached = 0;
 
     try {
       for (Gender gender : Gender.values()) {
-        List<Room> rooms =
-            roomRepository.findAvailableByHostelIdAndGenderWithHostel(hostelId, gender);
-        cached += rooms.size();
+        cached += studentHostelService.listAvailableRooms(hostelId, gender).size();
       }
 
-      long duration = System.currentTimeMillis() - startMs;
+      long duration = stop(sample, "available-rooms", "manual");
       log.info("[CACHE-WARMING] Manual room cache warming for hostel {}: {} records in {}ms",
           hostelId, cached, duration);
       return cached;
@@ -159,25 +143,35 @@ public class CacheWarmingService {
   /**
    * Clears and refreshes the available rooms cache.
    * Useful when cache may have become stale or after bulk admin operations.
-   * Broadcasts cache clear across all cache keys.
+   * Evicts before the method runs so the re-warmed entries survive.
    */
-  @CacheEvict(value = "available-rooms", allEntries = true)
+  @CacheEvict(value = "available-rooms", allEntries = true, beforeInvocation = true)
   @Transactional(readOnly = true)
   public void refreshAvailableRoomsCache() {
     log.info("[CACHE-WARMING] Evicted all available-rooms cache entries");
     // Immediately re-warm with fresh data
-    List<Hostel> activeHostels = hostelRepository.findByActiveTrue();
-    int total = 0;
+    int total = warmActiveHostels();
+    log.info("[CACHE-WARMING] Refreshed available-rooms cache with {} records", total);
+  }
 
-    for (Hostel hostel : activeHostels) {
+  private int warmActiveHostels() {
+    int total = 0;
+    for (Hostel hostel : hostelRepository.findByActiveTrue()) {
       for (Gender gender : Gender.values()) {
-        List<Room> rooms =
-            roomRepository.findAvailableByHostelIdAndGenderWithHostel(hostel.getId(), gender);
-        total += rooms.size();
+        try {
+          List<RoomResponse> rooms = studentHostelService.listAvailableRooms(hostel.getId(), gender);
+          total += rooms.size();
+          log.debug(
+              "[CACHE-WARMING] Warmed {}x rooms for hostel {} gender {}",
+              rooms.size(), hostel.getName(), gender);
+        } catch (Exception e) {
+          log.warn(
+              "[CACHE-WARMING] Failed to warm rooms for hostel {} gender {}: {}",
+              hostel.getName(), gender, e.getMessage());
+        }
       }
     }
-
-    log.info("[CACHE-WARMING] Refreshed available-rooms cache with {} records", total);
+    return total;
   }
 
   /**
@@ -205,6 +199,18 @@ public class CacheWarmingService {
         totalHostels, totalRooms, availableRooms, totalStudents, estimatedMemoryMb);
   }
 
+  /** Records the warm as {@code cache.warm{cache,trigger}} and returns its duration in ms. */
+  private long stop(Timer.Sample sample, String cache, String trigger) {
+    long nanos =
+        sample.stop(
+            Timer.builder("cache.warm")
+                .description("Time to pre-load a cache")
+                .tag("cache", cache)
+                .tag("trigger", trigger)
+                .register(meterRegistry));
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
   /**
    * Statistics about cache state and resource usage.
    */
@@ -0,0 +1,75 @@
+package com.hostelmanagement.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Consecutive-failure circuit breaker for a remote dependency.
+ *
+ * <p>After {@code failureThreshold} failures in a row the circuit opens and calls are refused
+ * without touching the network for {@code openDuration}. The first call after that is let through
+ * as a trial (half-open): success closes the circuit, failure opens it again. Lock-free, so it is
+ * safe to consult from virtual threads.
+ */
+public final class CircuitBreaker {
+
+  private final int failureThreshold;
+  private final long openNs;
+  private final AtomicInteger failures = new AtomicInteger();
+  private final AtomicBoolean trialInFlight = new AtomicBoolean();
+  private volatile boolean open;
+  private volatile long retryAtNs;
+
+  public CircuitBreaker(String name, int failureThreshold, long openSeconds, MeterRegistry meterRegistry) {
+    if (failureThreshold <= 0) {
+      throw new IllegalArgumentException("Circuit breaker '" + name + "' needs a positive failure threshold");
+    }
+    this.failureThreshold = failureThreshold;
+    this.openNs = TimeUnit.SECONDS.toNanos(openSeconds);
+    Gauge.builder("circuit_breaker.open", this, breaker -> breaker.open ? 1 : 0)
+        .tag("name", name)
+        .register(meterRegistry);
+  }
+
+  /** Whether a call may go out now; a {@code true} must be followed by a success or failure report. */
+  public boolean tryAcquire() {
+    if (!open) {
+      return true;
+    }
+    if (System.nanoTime() - retryAtNs < 0) {
+      return false;
+    }
+    return trialInFlight.compareAndSet(false, true);
+  }
+
+  public void onSuccess() {
+    failures.set(0);
+    open = false;
+    trialInFlight.set(false);
+  }
+
+  public void onFailure() {
+    if (trialInFlight.get() || failures.incrementAndGet() >= failureThreshold) {
+      retryAtNs = System.nanoTime() + openNs;
+      open = true;
+      trialInFlight.set(false);
+    }
+  }
+
+  /** Seconds until a trial call is allowed; zero when closed. */
+  public long retryAfterSeconds() {
+    if (!open) {
+      return 0;
+    }
+    long remaining = retryAtNs - System.nanoTime();
+    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining) + 1);
+  }
+
+  public boolean isOpen() {
+    return open;
+  }
+}
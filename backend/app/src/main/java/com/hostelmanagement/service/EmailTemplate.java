@@ -0,0 +1,190 @@
+package com.hostelmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An email template parsed once into literal text and {@code {{name}}} placeholders. On platform
+ * threads rendering appends the literals and values into a per-thread buffer that is reused across
+ * calls, so a send allocates the finished string and nothing else. Virtual threads are short-lived
+ * and would each fill a fresh buffer and thread-local entry, so they render into a builder sized
+ * from the template's literal length instead.
+ *
+ * <p>Placeholders are declared up front and values are passed in that order. Templates are
+ * immutable: {@link #nest} splices one template into another's placeholder. Values are inserted as
+ * given; callers escape anything that did not come from us.
+ */
+public final class EmailTemplate {
+
+  /** Buffers that grew past this, for an unusually large email, are dropped rather than kept. */
+  private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+  private static final ThreadLocal<StringBuilder> BUFFER =
+      ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+  private final List<String> parameters;
+  /** {@code literals[i]} comes before placeholder {@code i}; the last entry trails the template. */
+  private final String[] literals;
+  /** Index into {@link #parameters} for each placeholder, in document order. */
+  private final int[] slots;
+  private final int literalLength;
+
+  private EmailTemplate(List<String> parameters, String[] literals, int[] slots) {
+    this.parameters = parameters;
+    this.literals = literals;
+    this.slots = slots;
+    int length = 0;
+    for (String literal : literals) {
+      length += literal.length();
+    }
+    this.literalLength = length;
+  }
+
+  /**
+   * Parses {@code source}. Every placeholder must be one of {@code parameters}, and every
+   * parameter must appear at least once.
+   */
+  public static EmailTemplate compile(String source, String... parameters) {
+    List<String> declared = List.of(parameters);
+    if (declared.stream().distinct().count() != declared.size()) {
+      throw new IllegalArgumentException("Duplicate template parameter in " + declared);
+    }
+    Assembler assembler = new Assembler();
+    boolean[] used = new boolean[declared.size()];
+    int from = 0;
+    int open;
+    while ((open = source.indexOf("{{", from)) >= 0) {
+      int close = source.indexOf("}}", open + 2);
+      if (close < 0) {
+        throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+      }
+      String name = source.substring(open + 2, close).trim();
+      int index = declared.indexOf(name);
+      if (index < 0) {
+        throw new IllegalArgumentException("Undeclared placeholder {{" + name + "}}");
+      }
+      used[index] = true;
+      assembler.literal(source.substring(from, open));
+      assembler.slot(index);
+      from = close + 2;
+    }
+    assembler.literal(source.substring(from));
+    for (int i = 0; i < used.length; i++) {
+      if (!used[i]) {
+        throw new IllegalArgumentException("Parameter '" + declared.get(i) + "' does not appear in the template");
+      }
+    }
+    return assembler.build(declared);
+  }
+
+  /**
+   * Returns a template with {@code inner} spliced in wherever {@code parameter} appears. The
+   * result takes this template's parameters with {@code parameter} replaced by {@code inner}'s.
+   */
+  public EmailTemplate nest(String parameter, EmailTemplate inner) {
+    int target = indexOf(parameter);
+    List<String> merged = new ArrayList<>(parameters.size() - 1 + inner.parameters.size());
+    int[] outerIndex = new int[parameters.size()];
+    for (int i = 0; i < parameters.size(); i++) {
+      if (i == target) {
+        outerIndex[i] = -1;
+        for (String name : inner.parameters) {
+          if (parameters.contains(name)) {
+            throw new IllegalArgumentException("Parameter '" + name + "' is declared by both templates");
+          }
+          merged.add(name);
+        }
+      } else {
+        outerIndex[i] = merged.size();
+        merged.add(parameters.get(i));
+      }
+    }
+    int innerOffset = target;
+
+    Assembler assembler = new Assembler();
+    for (int i = 0; i < slots.length; i++) {
+      assembler.literal(literals[i]);
+      if (slots[i] == target) {
+        for (int j = 0; j < inner.slots.length; j++) {
+          assembler.literal(inner.literals[j]);
+          assembler.slot(innerOffset + inner.slots[j]);
+        }
+        assembler.literal(inner.literals[inner.slots.length]);
+      } else {
+        assembler.slot(outerIndex[slots[i]]);
+      }
+    }
+    assembler.literal(literals[slots.length]);
+    return assembler.build(merged);
+  }
+
+  public List<String> parameters() {
+    return parameters;
+  }
+
+  /** Renders with {@code values} in {@link #parameters()} order. */
+  public String render(String... values) {
+    if (Thread.currentThread().isVirtual()) {
+      return appendTo(new StringBuilder(estimatedLength()), values).toString();
+    }
+    StringBuilder out = BUFFER.get();
+    out.setLength(0);
+    try {
+      return appendTo(out, values).toString();
+    } finally {
+      if (out.capacity() > MAX_RETAINED_BUFFER) {
+        BUFFER.remove();
+      }
+    }
+  }
+
+  /** Appends the rendered template to {@code out} and returns it. */
+  public StringBuilder appendTo(StringBuilder out, String... values) {
+    if (values.length != parameters.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + parameters.size() + " values " + parameters + " but got " + values.length);
+    }
+    out.ensureCapacity(out.length() + estimatedLength());
+    for (int i = 0; i < slots.length; i++) {
+      out.append(literals[i]).append(values[slots[i]]);
+    }
+    return out.append(literals[slots.length]);
+  }
+
+  private int estimatedLength() {
+    return literalLength + 32 * slots.length;
+  }
+
+  private int indexOf(String parameter) {
+    int index = parameters.indexOf(parameter);
+    if (index < 0) {
+      throw new IllegalArgumentException("Unknown template parameter '" + parameter + "'; expected one of " + parameters);
+    }
+    return index;
+  }
+
+  /** Collects segments, merging adjacent literal text. */
+  private static final class Assembler {
+    private final List<String> literals = new ArrayList<>();
+    private final List<Integer> slots = new ArrayList<>();
+    private final StringBuilder pending = new StringBuilder();
+
+    void literal(String text) {
+      pending.append(text);
+    }
+
+    void slot(int index) {
+      literals.add(pending.toString());
+      pending.setLength(0);
+      slots.add(index);
+    }
+
+    EmailTemplate build(List<String> parameters) {
+      literals.add(pending.toString());
+      return new EmailTemplate(
+          List.copyOf(parameters),
+          literals.toArray(String[]::new),
+          slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+  }
+}
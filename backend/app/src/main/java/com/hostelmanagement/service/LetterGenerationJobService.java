@@ -0,0 +1,536 @@
+package com.hostelmanagement.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hostelmanagement.domain.Booking;
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.LetterGenerationJob;
+import com.hostelmanagement.domain.Payment;
+import com.hostelmanagement.repository.AcademicTermRepository;
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.HostelRepository;
+import com.hostelmanagement.repository.LetterGenerationJobRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Admin batch job that renders the allocation letter of every approved booking in a term and/or
+ * hostel into {@code app.letters.output-dir/job-<id>/}, one PDF per booking.
+ *
+ * <p>A single worker thread per node claims one job at a time under a lease. It reads approved
+ * bookings in keyset pages of {@code app.letters.page-size}, each in its own short read-only
+ * transaction, and renders the page on a dedicated {@link ForkJoinPool} of
+ * {@code app.letters.parallelism} low-priority threads. No connection is held while rendering, so
+ * a job uses at most one connection and a couple of cores. After every page it checkpoints the
+ * last booking id, renews the lease and pushes progress to the admin over STOMP
+ * ({@code /user/queue/letter-jobs}). If the node dies, the lease runs out and the job is picked up
+ * again from its last checkpoint; letters are written to a temporary file and moved into place, so
+ * a page that is redone simply replaces its own files.
+ *
+ * <p>A job's letters live only in the output directory of the node that wrote them. On startup
+ * the directory is given a random id ({@value #STORAGE_ID_FILE}), and a job records that id when
+ * it is first claimed. Only nodes with the same id can resume or download it. Mount
+ * {@code app.letters.output-dir} on a shared volume so that any node can take over a job.
+ * Otherwise a job stays with the node that started it, and if that node is gone it has to be
+ * submitted again.
+ *
+ * <p>The output directory is not served by {@code /uploads/**}; finished jobs are downloaded as a
+ * ZIP streamed from the stored files (see {@link #archive} and {@link #writeZip}).
+ */
+@Service
+public class LetterGenerationJobService {
+
+  private static final Logger log = LoggerFactory.getLogger(LetterGenerationJobService.class);
+
+  private static final List<LetterGenerationJob.Status> RUNNABLE =
+      List.of(LetterGenerationJob.Status.QUEUED, LetterGenerationJob.Status.RUNNING);
+  private static final String JOB_NOT_FOUND = "Letter job not found";
+  static final String STORAGE_ID_FILE = ".storage-id";
+
+  private final LetterGenerationJobRepository jobRepository;
+  private final BookingRepository bookingRepository;
+  private final PaymentRepository paymentRepository;
+  private final AcademicTermRepository academicTermRepository;
+  private final HostelRepository hostelRepository;
+  private final PdfAllocationLetterService pdfAllocationLetterService;
+  private final NotificationService notificationService;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransaction;
+  private final Path outputRoot;
+  private final String storageId;
+  private final int pageSize;
+  private final long pollIntervalMs;
+  private final Duration lease;
+  private final ForkJoinPool renderPool;
+  private final Counter written;
+  private final Counter failed;
+  private final Timer renderTimer;
+
+  private final Semaphore wakeup = new Semaphore(0);
+  private volatile Thread worker;
+
+  public LetterGenerationJobService(
+      LetterGenerationJobRepository jobRepository,
+      BookingRepository bookingRepository,
+      PaymentRepository paymentRepository,
+      AcademicTermRepository academicTermRepository,
+      HostelRepository hostelRepository,
+      PdfAllocationLetterService pdfAllocationLetterService,
+      NotificationService notificationService,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.letters.output-dir:letters}") String outputDir,
+      @Value("${app.letters.page-size:200}") int pageSize,
+      @Value("${app.letters.parallelism:2}") int parallelism,
+      @Value("${app.letters.poll-interval-ms:5000}") long pollIntervalMs,
+      @Value("${app.letters.lease-seconds:120}") long leaseSeconds) {
+    this.jobRepository = jobRepository;
+    this.bookingRepository = bookingRepository;
+    this.paymentRepository = paymentRepository;
+    this.academicTermRepository = academicTermRepository;
+    this.hostelRepository = hostelRepository;
+    this.pdfAllocationLetterService = pdfAllocationLetterService;
+    this.notificationService = notificationService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.outputRoot = Path.of(outputDir).toAbsolutePath().normalize();
+    this.storageId = readStorageId(outputRoot);
+    this.pageSize = pageSize;
+    this.pollIntervalMs = pollIntervalMs;
+    this.lease = Duration.ofSeconds(leaseSeconds);
+    this.renderPool =
+        new ForkJoinPool(
+            Math.max(1, parallelism),
+            pool -> {
+              ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+              thread.setName("letter-render-" + thread.getPoolIndex());
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            },
+            null,
+            false);
+
+    this.written = Counter.builder("letters.generated").tag("outcome", "ok").register(meterRegistry);
+    this.failed = Counter.builder("letters.generated").tag("outcome", "failed").register(meterRegistry);
+    this.renderTimer =
+        Timer.builder("letters.render")
+            .description("Time to render and store one allocation letter in a batch job")
+            .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    worker = Thread.ofPlatform().daemon().name("letter-jobs").start(this::workLoop);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread thread = worker;
+    if (thread != null) {
+      thread.interrupt();
+    }
+    renderPool.shutdownNow();
+  }
+
+  /**
+   * Queues a job for the approved bookings of a term, a hostel, or a hostel within a term.
+   *
+   * @throws IllegalArgumentException if neither is given or either does not exist
+   */
+  public LetterJobView submit(Long adminId, Long academicTermId, Long hostelId) {
+    if (academicTermId == null && hostelId == null) {
+      throw new IllegalArgumentException("Choose an academic term or a hostel");
+    }
+    if (academicTermId != null && !academicTermRepository.existsById(academicTermId)) {
+      throw new IllegalArgumentException("Academic term not found");
+    }
+    if (hostelId != null && !hostelRepository.existsById(hostelId)) {
+      throw new IllegalArgumentException("Hostel not found");
+    }
+
+    Instant now = Instant.now();
+    LetterGenerationJob job = new LetterGenerationJob();
+    job.setAcademicTermId(academicTermId);
+    job.setHostelId(hostelId);
+    job.setRequestedBy(adminId);
+    job.setTotalLetters(
+        (int) bookingRepository.countByStatusForTermAndHostel(BookingStatus.APPROVED, academicTermId, hostelId));
+    job.setLeaseUntil(now);
+    job.setCreatedAt(now);
+    LetterGenerationJob saved = jobRepository.save(job);
+    wakeup.release();
+    return LetterJobView.of(saved);
+  }
+
+  public List<LetterJobView> recent(int limit) {
+    return jobRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit)).stream()
+        .map(LetterJobView::of)
+        .toList();
+  }
+
+  public LetterJobView get(Long jobId) {
+    return LetterJobView.of(findJob(jobId));
+  }
+
+  /** Stops a queued or running job; the worker notices at its next checkpoint. */
+  public LetterJobView cancel(Long jobId) {
+    return transactionTemplate.execute(status -> {
+      LetterGenerationJob job = findJob(jobId);
+      if (!RUNNABLE.contains(job.getStatus())) {
+        throw new IllegalArgumentException("Only queued or running jobs can be cancelled");
+      }
+      job.setStatus(LetterGenerationJob.Status.CANCELLED);
+      job.setFinishedAt(Instant.now());
+      return LetterJobView.of(job);
+    });
+  }
+
+  /**
+   * Requeues a failed or cancelled job. It continues after its last checkpoint, on a node that
+   * shares the job's letters directory.
+   */
+  public LetterJobView resume(Long jobId) {
+    LetterJobView resumed = transactionTemplate.execute(status -> {
+      LetterGenerationJob job = findJob(jobId);
+      if (job.getStatus() != LetterGenerationJob.Status.FAILED
+          && job.getStatus() != LetterGenerationJob.Status.CANCELLED) {
+        throw new IllegalArgumentException("Only failed or cancelled jobs can be resumed");
+      }
+      job.setStatus(LetterGenerationJob.Status.QUEUED);
+      job.setLeaseUntil(Instant.now());
+      job.setLastError(null);
+      job.setFinishedAt(null);
+      return LetterJobView.of(job);
+    });
+    wakeup.release();
+    return resumed;
+  }
+
+  /**
+   * Lists the letters of a completed job for download.
+   *
+   * @throws IllegalArgumentException if the job is unknown, not completed, or its letters are in
+   *     another node's output directory
+   */
+  public LetterArchive archive(Long jobId) {
+    LetterGenerationJob job = findJob(jobId);
+    if (job.getStatus() != LetterGenerationJob.Status.COMPLETED) {
+      throw new IllegalArgumentException("Letters can be downloaded once the job has completed");
+    }
+    if (job.getStorageId() != null && !job.getStorageId().equals(storageId)) {
+      throw new IllegalArgumentException(
+          "Letters of job " + jobId + " are stored on another node; download them from a node that shares "
+              + "app.letters.output-dir");
+    }
+    Path dir = jobDirectory(jobId);
+    if (!Files.isDirectory(dir)) {
+      return new LetterArchive(archiveName(jobId), List.of());
+    }
+    try (Stream<Path> files = Files.list(dir)) {
+      return new LetterArchive(
+          archiveName(jobId),
+          files.filter(file -> file.getFileName().toString().endsWith(".pdf")).sorted().toList());
+    } catch (IOException ex) {
+      throw new IllegalStateException("Unable to read letters for job " + jobId, ex);
+    }
+  }
+
+  /**
+   * Streams the archive's letters into {@code out} as a ZIP. The PDFs are already compressed, so
+   * entries use the fastest deflate level. The stream is finished but not closed.
+   */
+  public static void writeZip(LetterArchive archive, OutputStream out) throws IOException {
+    ZipOutputStream zip = new ZipOutputStream(out);
+    zip.setLevel(Deflater.BEST_SPEED);
+    for (Path file : archive.files()) {
+      zip.putNextEntry(new ZipEntry(file.getFileName().toString()));
+      Files.copy(file, zip);
+      zip.closeEntry();
+    }
+    zip.finish();
+    zip.flush();
+  }
+
+  /**
+   * Claims one runnable job and works it until it completes, fails, is cancelled or the thread is
+   * interrupted.
+   *
+   * @return whether a job was claimed
+   */
+  boolean runOnce() {
+    Claim claim = transactionTemplate.execute(status -> claim(Instant.now()));
+    if (claim == null) {
+      return false;
+    }
+    run(claim);
+    return true;
+  }
+
+  private void workLoop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        if (!runOnce()) {
+          wakeup.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+          wakeup.drainPermits();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException ex) {
+        log.error("[LETTER-JOBS] Poll failed: {}", ex.getMessage(), ex);
+        try {
+          Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  private Claim claim(Instant now) {
+    List<LetterGenerationJob> jobs = jobRepository.lockRunnable(RUNNABLE, now, storageId, PageRequest.of(0, 1));
+    if (jobs.isEmpty()) {
+      return null;
+    }
+    LetterGenerationJob job = jobs.get(0);
+    if (job.getStatus() == LetterGenerationJob.Status.RUNNING) {
+      log.info("[LETTER-JOBS] Resuming job {} after booking {}", job.getId(), job.getLastBookingId());
+    }
+    job.setStatus(LetterGenerationJob.Status.RUNNING);
+    if (job.getStartedAt() == null) {
+      job.setStartedAt(now);
+    }
+    if (job.getStorageId() == null) {
+      job.setStorageId(storageId);
+    }
+    job.setLeaseUntil(now.plus(lease));
+    return new Claim(
+        job.getId(), job.getAcademicTermId(), job.getHostelId(), job.getRequestedBy(), job.getLastBookingId());
+  }
+
+  private void run(Claim claim) {
+    long cursor = claim.lastBookingId();
+    try {
+      Path dir = jobDirectory(claim.id());
+      Files.createDirectories(dir);
+      while (!Thread.currentThread().isInterrupted()) {
+        long after = cursor;
+        LetterPage page = readOnlyTransaction.execute(status -> loadPage(claim, after));
+        if (page == null || page.lastBookingId() == after) {
+          finish(claim, LetterGenerationJob.Status.COMPLETED, null);
+          return;
+        }
+
+        int ok = renderPage(dir, page.snapshots());
+        int failures = page.snapshots().size() - ok + page.skipped();
+        cursor = page.lastBookingId();
+        long checkpoint = cursor;
+        Integer updated =
+            transactionTemplate.execute(status ->
+                jobRepository.checkpoint(claim.id(), checkpoint, ok, failures, Instant.now().plus(lease)));
+        publish(claim);
+        if (updated == null || updated == 0) {
+          log.info("[LETTER-JOBS] Job {} was cancelled after booking {}", claim.id(), checkpoint);
+          return;
+        }
+      }
+    } catch (IOException | RuntimeException ex) {
+      if (Thread.currentThread().isInterrupted() || renderPool.isShutdown()) {
+        // Shutting down: keep the job RUNNING so another node resumes it when the lease runs out.
+        return;
+      }
+      log.error("[LETTER-JOBS] Job {} failed after booking {}: {}", claim.id(), cursor, ex.getMessage(), ex);
+      finish(claim, LetterGenerationJob.Status.FAILED, truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+    }
+  }
+
+  private LetterPage loadPage(Claim claim, long after) {
+    List<Booking> bookings =
+        bookingRepository.findPageWithDetailsAfter(
+            BookingStatus.APPROVED, after, claim.academicTermId(), claim.hostelId(), PageRequest.of(0, pageSize));
+    if (bookings.isEmpty()) {
+      return new LetterPage(List.of(), after, 0);
+    }
+    Map<Long, Payment> payments =
+        paymentRepository.findByBookingIdIn(bookings.stream().map(Booking::getId).toList()).stream()
+            .collect(Collectors.toMap(payment -> payment.getBooking().getId(), Function.identity(), (a, b) -> a));
+
+    List<PdfDocumentSnapshot> snapshots = new ArrayList<>(bookings.size());
+    int skipped = 0;
+    for (Booking booking : bookings) {
+      try {
+        Payment payment = payments.get(booking.getId());
+        if (payment == null) {
+          payment = StudentPaymentService.buildFallbackPaymentForApprovedBooking(booking);
+        }
+        snapshots.add(pdfAllocationLetterService.allocationLetterSnapshot(booking.getStudent(), booking, payment));
+      } catch (RuntimeException ex) {
+        skipped++;
+        failed.increment();
+        log.warn("[LETTER-JOBS] Skipping booking {}: {}", booking.getId(), ex.getMessage());
+      }
+    }
+    return new LetterPage(snapshots, bookings.get(bookings.size() - 1).getId(), skipped);
+  }
+
+  /** Renders a page on the render pool and waits for it; returns how many letters were written. */
+  private int renderPage(Path dir, List<PdfDocumentSnapshot> snapshots) {
+    List<ForkJoinTask<Boolean>> tasks =
+        snapshots.stream().map(snapshot -> renderPool.submit(() -> writeLetter(dir, snapshot))).toList();
+    int ok = 0;
+    for (ForkJoinTask<Boolean> task : tasks) {
+      if (task.join()) {
+        ok++;
+      }
+    }
+    return ok;
+  }
+
+  private boolean writeLetter(Path dir, PdfDocumentSnapshot snapshot) {
+    Timer.Sample sample = Timer.start();
+    Path target = dir.resolve(snapshot.filename());
+    Path partial = dir.resolve(snapshot.filename() + ".part");
+    try {
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+        pdfAllocationLetterService.write(snapshot, out);
+      }
+      Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      written.increment();
+      return true;
+    } catch (IOException | RuntimeException ex) {
+      failed.increment();
+      log.warn("[LETTER-JOBS] Could not write letter for booking {}: {}", snapshot.bookingId(), ex.getMessage());
+      return false;
+    } finally {
+      sample.stop(renderTimer);
+    }
+  }
+
+  private void finish(Claim claim, LetterGenerationJob.Status status, String error) {
+    transactionTemplate.executeWithoutResult(tx -> jobRepository.finish(claim.id(), status, Instant.now(), error));
+    publish(claim);
+  }
+
+  private void publish(Claim claim) {
+    jobRepository.findById(claim.id())
+        .ifPresent(job -> notificationService.notifyLetterJobProgress(claim.requestedBy(), LetterJobView.of(job)));
+  }
+
+  private LetterGenerationJob findJob(Long jobId) {
+    return jobRepository.findById(jobId).orElseThrow(() -> new IllegalArgumentException(JOB_NOT_FOUND));
+  }
+
+  /**
+   * Returns the id stored in {@code root}, creating the directory and the id on first use. Fails
+   * startup if the directory cannot be written, since no job could run.
+   */
+  private static String readStorageId(Path root) {
+    Path file = root.resolve(STORAGE_ID_FILE);
+    try {
+      Files.createDirectories(root);
+      try {
+        Files.writeString(
+            file, UUID.randomUUID().toString(), StandardCharsets.US_ASCII, StandardOpenOption.CREATE_NEW);
+      } catch (FileAlreadyExistsException ex) {
+        // Created earlier, or by another node sharing the directory.
+      }
+      String id = Files.readString(file, StandardCharsets.US_ASCII).trim();
+      if (id.isEmpty()) {
+        throw new IllegalStateException("Empty letters storage id in " + file);
+      }
+      log.info("[LETTER-JOBS] Letters stored in {} (storage {})", root, id);
+      return id;
+    } catch (IOException ex) {
+      throw new IllegalStateException("app.letters.output-dir " + root + " is not writable", ex);
+    }
+  }
+
+  private Path jobDirectory(Long jobId) {
+    return outputRoot.resolve("job-" + jobId);
+  }
+
+  private static String archiveName(Long jobId) {
+    return "allocation-letters-job-" + jobId + ".zip";
+  }
+
+  private static String truncate(String value) {
+    return value.length() <= 500 ? value : value.substring(0, 500);
+  }
+
+  /** Job state as returned to admins and pushed over STOMP. */
+  public record LetterJobView(
+      Long id,
+      Long academicTermId,
+      Long hostelId,
+      String status,
+      int totalLetters,
+      int generated,
+      int failed,
+      String lastError,
+      Instant createdAt,
+      Instant startedAt,
+      Instant finishedAt) {
+
+    static LetterJobView of(LetterGenerationJob job) {
+      return new LetterJobView(
+          job.getId(),
+          job.getAcademicTermId(),
+          job.getHostelId(),
+          job.getStatus().name(),
+          job.getTotalLetters(),
+          job.getGenerated(),
+          job.getFailed(),
+          job.getLastError(),
+          job.getCreatedAt(),
+          job.getStartedAt(),
+          job.getFinishedAt());
+    }
+  }
+
+  /** The stored letters of a completed job, sorted by file name. */
+  public record LetterArchive(String filename, List<Path> files) {}
+
+  private record Claim(Long id, Long academicTermId, Long hostelId, Long requestedBy, long lastBookingId) {}
+
+  private record LetterPage(List<PdfDocumentSnapshot> snapshots, long lastBookingId, int skipped) {}
+}
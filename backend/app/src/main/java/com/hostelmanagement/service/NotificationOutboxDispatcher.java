@@ -0,0 +1,384 @@
+package com.hostelmanagement.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hostelmanagement.domain.NotificationOutboxMessage;
+import com.hostelmanagement.repository.NotificationOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Drains the notification outbox written by {@link NotificationService}.
+ *
+ * <p>A single dispatcher thread claims due messages in batches of {@code batch-size}, leases them by
+ * pushing {@code next_attempt_at} forward and counting the attempt, and hands the whole batch to one
+ * {@code JavaMailSender.send(MimeMessage...)} call, which delivers it over a single SMTP connection
+ * under the {@code smtp} bulkhead. Sending is rate limited per minute, both overall
+ * ({@code max-per-minute}, the relay's quota) and per recipient domain
+ * ({@code max-per-domain-per-minute}, so a blast to one provider is not throttled or flagged as
+ * spam). Messages over either budget wait for the next minute without using up an attempt. Failed
+ * messages are retried with exponential backoff. Addresses the server rejects outright, and
+ * messages that exhaust {@code max-attempts}, are parked as {@code FAILED}. A claimed message whose
+ * dispatcher died becomes due again when its lease runs out; because the attempt was counted at
+ * claim time, a message that keeps killing its dispatcher is parked once its attempts run out
+ * rather than retried forever.
+ *
+ * <p>Without SMTP configured, messages are logged and marked sent, as before the outbox existed.
+ */
+@Service
+public class NotificationOutboxDispatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+  private final NotificationOutboxRepository repository;
+  private final Optional<JavaMailSender> mailSender;
+  private final Bulkheads bulkheads;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final long pollIntervalMs;
+  private final int maxAttempts;
+  private final Duration backoff;
+  private final Duration maxBackoff;
+  private final Duration lease;
+  private final RateWindow overall;
+  private final int maxPerDomainPerMinute;
+  private final Map<String, RateWindow> domains = new HashMap<>();
+  private final Counter sent;
+  private final Counter retried;
+  private final Counter failed;
+  private final Counter deferred;
+  private final Timer lag;
+  private final Timer batchTimer;
+  private final AtomicLong pending = new AtomicLong();
+
+  private final Semaphore wakeup = new Semaphore(0);
+  private volatile Thread dispatcher;
+
+  public NotificationOutboxDispatcher(
+      NotificationOutboxRepository repository,
+      @Autowired(required = false) JavaMailSender mailSender,
+      Bulkheads bulkheads,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.notifications.outbox.batch-size:50}") int batchSize,
+      @Value("${app.notifications.outbox.poll-interval-ms:2000}") long pollIntervalMs,
+      @Value("${app.notifications.outbox.max-attempts:8}") int maxAttempts,
+      @Value("${app.notifications.outbox.backoff-seconds:30}") long backoffSeconds,
+      @Value("${app.notifications.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+      @Value("${app.notifications.outbox.lease-seconds:120}") long leaseSeconds,
+      @Value("${app.notifications.outbox.max-per-minute:600}") int maxPerMinute,
+      @Value("${app.notifications.outbox.max-per-domain-per-minute:120}") int maxPerDomainPerMinute) {
+    this.repository = repository;
+    this.mailSender = Optional.ofNullable(mailSender);
+    this.bulkheads = bulkheads;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.pollIntervalMs = pollIntervalMs;
+    this.maxAttempts = maxAttempts;
+    this.backoff = Duration.ofSeconds(backoffSeconds);
+    this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+    this.lease = Duration.ofSeconds(leaseSeconds);
+    this.overall = new RateWindow(maxPerMinute);
+    this.maxPerDomainPerMinute = maxPerDomainPerMinute;
+    if (mailSender == null) {
+      log.info("[NOTIFICATION] SMTP not configured – emails will be logged only.");
+    }
+
+    this.sent = Counter.builder("notification.outbox.delivered").tag("outcome", "sent").register(meterRegistry);
+    this.retried = Counter.builder("notification.outbox.delivered").tag("outcome", "retry").register(meterRegistry);
+    this.failed = Counter.builder("notification.outbox.delivered").tag("outcome", "failed").register(meterRegistry);
+    this.deferred =
+        Counter.builder("notification.outbox.delivered").tag("outcome", "rate_limited").register(meterRegistry);
+    this.lag =
+        Timer.builder("notification.outbox.lag")
+            .description("Time from enqueue until the email was accepted by the SMTP server")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.batchTimer =
+        Timer.builder("notification.outbox.batch")
+            .description("Time to deliver one batch over a single SMTP connection")
+            .register(meterRegistry);
+    Gauge.builder("notification.outbox.pending", pending, AtomicLong::get)
+        .description("Outbox messages not yet sent, as of the last poll")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    dispatcher = Thread.ofPlatform().daemon().name("notification-outbox").start(this::dispatchLoop);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread thread = dispatcher;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  /** Wakes the dispatcher early; called once an enqueuing transaction has committed. */
+  public void notifyEnqueued() {
+    wakeup.release();
+  }
+
+  /**
+   * Claims and delivers one batch of due messages.
+   *
+   * @return number of messages handed to the SMTP server (sent or failed)
+   */
+  int drainOnce() {
+    Instant now = Instant.now();
+    int budget = overall.remaining(now);
+    if (budget == 0) {
+      return 0;
+    }
+    List<Claim> claims = transactionTemplate.execute(status -> claim(now, Math.min(batchSize, budget)));
+    if (claims != null && !claims.isEmpty()) {
+      deliver(claims);
+    }
+    pending.set(repository.countByStatus(NotificationOutboxMessage.Status.PENDING));
+    return claims == null ? 0 : claims.size();
+  }
+
+  private void dispatchLoop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        if (drainOnce() < batchSize) {
+          wakeup.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+          wakeup.drainPermits();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException ex) {
+        log.error("[NOTIFICATION-OUTBOX] Poll failed: {}", ex.getMessage(), ex);
+        try {
+          Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  private List<Claim> claim(Instant now, int limit) {
+    List<NotificationOutboxMessage> messages =
+        repository.lockDue(NotificationOutboxMessage.Status.PENDING, now, PageRequest.of(0, limit));
+    Instant leasedUntil = now.plus(lease);
+    Instant nextWindow = RateWindow.nextWindow(now);
+    List<Claim> claims = new ArrayList<>(messages.size());
+    for (NotificationOutboxMessage message : messages) {
+      if (message.getAttempts() >= maxAttempts) {
+        failed.increment();
+        log.error("[NOTIFICATION-OUTBOX] Giving up on '{}' → {}: lease expired after {} attempt(s)",
+            message.getSubject(), message.getRecipient(), message.getAttempts());
+        message.setStatus(NotificationOutboxMessage.Status.FAILED);
+        message.setLastError("Lease expired without an outcome after " + message.getAttempts() + " attempt(s)");
+      } else if (domainWindow(message.getRecipient()).tryTake(now) && overall.tryTake(now)) {
+        message.setAttempts(message.getAttempts() + 1);
+        message.setNextAttemptAt(leasedUntil);
+        claims.add(
+            new Claim(
+                message.getId(),
+                message.getRecipient(),
+                message.getSubject(),
+                message.getHtmlBody(),
+                message.getCreatedAt(),
+                message.getAttempts()));
+      } else {
+        message.setNextAttemptAt(nextWindow);
+        deferred.increment();
+      }
+    }
+    return claims;
+  }
+
+  private void deliver(List<Claim> claims) {
+    if (mailSender.isEmpty()) {
+      claims.forEach(claim ->
+          log.info("[NOTIFICATION] (no SMTP) '{}' → {}\n[HTML Body Suppressed for Log Clarity]", claim.subject(), claim.recipient()));
+      markSent(claims);
+      return;
+    }
+    JavaMailSender sender = mailSender.get();
+
+    List<Claim> built = new ArrayList<>(claims.size());
+    List<MimeMessage> messages = new ArrayList<>(claims.size());
+    for (Claim claim : claims) {
+      try {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo(claim.recipient());
+        helper.setSubject(claim.subject());
+        helper.setText(claim.htmlBody(), true);
+        built.add(claim);
+        messages.add(message);
+      } catch (MessagingException ex) {
+        recordFailure(claim, ex, true);
+      }
+    }
+    if (messages.isEmpty()) {
+      return;
+    }
+
+    Map<Object, Exception> failures = new IdentityHashMap<>();
+    Timer.Sample sample = Timer.start();
+    try {
+      bulkheads.smtp().run(() -> sender.send(messages.toArray(MimeMessage[]::new)));
+    } catch (MailSendException ex) {
+      failures.putAll(ex.getFailedMessages());
+    } catch (MailException | BulkheadFullException ex) {
+      messages.forEach(message -> failures.put(message, ex));
+    } finally {
+      sample.stop(batchTimer);
+    }
+
+    List<Claim> delivered = new ArrayList<>(built.size());
+    for (int i = 0; i < built.size(); i++) {
+      Exception failure = failures.get(messages.get(i));
+      if (failure == null) {
+        delivered.add(built.get(i));
+      } else {
+        recordFailure(built.get(i), failure, isPermanent(failure));
+      }
+    }
+    markSent(delivered);
+  }
+
+  private void markSent(List<Claim> claims) {
+    if (claims.isEmpty()) {
+      return;
+    }
+    Instant now = Instant.now();
+    transactionTemplate.executeWithoutResult(status ->
+        repository.markSent(claims.stream().map(Claim::id).toList(), NotificationOutboxMessage.Status.SENT, now));
+    for (Claim claim : claims) {
+      sent.increment();
+      lag.record(Duration.between(claim.createdAt(), now));
+    }
+  }
+
+  private void recordFailure(Claim claim, Exception ex, boolean permanent) {
+    boolean giveUp = permanent || claim.attempts() >= maxAttempts;
+    String error = truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage(), 500);
+    if (giveUp) {
+      failed.increment();
+      log.error("[NOTIFICATION-OUTBOX] Giving up on '{}' → {} after {} attempt(s): {}",
+          claim.subject(), claim.recipient(), claim.attempts(), error);
+    } else {
+      retried.increment();
+      log.warn("[NOTIFICATION-OUTBOX] '{}' → {} failed (attempt {}), retrying: {}",
+          claim.subject(), claim.recipient(), claim.attempts(), error);
+    }
+    transactionTemplate.executeWithoutResult(status ->
+        repository.markFailedAttempt(
+            claim.id(),
+            giveUp ? NotificationOutboxMessage.Status.FAILED : NotificationOutboxMessage.Status.PENDING,
+            Instant.now().plus(backoffFor(claim.attempts())),
+            error));
+  }
+
+  /** The server rejected the recipient address itself; retrying will not help. */
+  private static boolean isPermanent(Exception ex) {
+    return ex instanceof SendFailedException sendFailed
+        && sendFailed.getInvalidAddresses() != null
+        && sendFailed.getInvalidAddresses().length > 0;
+  }
+
+  Duration backoffFor(int attempts) {
+    int shift = Math.min(Math.max(attempts - 1, 0), 20);
+    Duration delay = backoff.multipliedBy(1L << shift);
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+
+  private RateWindow domainWindow(String recipient) {
+    int at = recipient.lastIndexOf('@');
+    String domain = at < 0 ? "" : recipient.substring(at + 1).toLowerCase(Locale.ROOT);
+    if (domains.size() > 10_000) {
+      domains.clear();
+    }
+    return domains.computeIfAbsent(domain, key -> new RateWindow(maxPerDomainPerMinute));
+  }
+
+  private static String truncate(String value, int max) {
+    return value.length() <= max ? value : value.substring(0, max);
+  }
+
+  /**
+   * Fixed one-minute budget. Only the dispatcher thread touches these, so they are not
+   * synchronized. A limit of zero or less means unlimited.
+   */
+  private static final class RateWindow {
+
+    private final int limit;
+    private long minute = -1;
+    private int used;
+
+    RateWindow(int limit) {
+      this.limit = limit;
+    }
+
+    int remaining(Instant now) {
+      if (limit <= 0) {
+        return Integer.MAX_VALUE;
+      }
+      roll(now);
+      return limit - used;
+    }
+
+    boolean tryTake(Instant now) {
+      if (remaining(now) <= 0) {
+        return false;
+      }
+      used++;
+      return true;
+    }
+
+    private void roll(Instant now) {
+      long current = now.getEpochSecond() / 60;
+      if (current != minute) {
+        minute = current;
+        used = 0;
+      }
+    }
+
+    static Instant nextWindow(Instant now) {
+      return Instant.ofEpochSecond((now.getEpochSecond() / 60 + 1) * 60);
+    }
+  }
+
+  private record Claim(Long id, String recipient, String subject, String htmlBody, Instant createdAt, int attempts) {}
+}
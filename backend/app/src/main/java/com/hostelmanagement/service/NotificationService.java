@@ -1,27 +1,31 @@
 package com.hostelmanagement.service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.hostelmanagement.domain.NotificationOutboxMessage;
+import com.hostelmanagement.repository.NotificationOutboxRepository;
 import com.hostelmanagement.web.notification.NotificationMessage;
 
 /**
- * Sends transactional notification emails off the main request thread.
- * Upgraded to support responsive HTML MimeMessages for professional branding.
+ * Renders transactional notification emails and stores them in the notification outbox, in the
+ * caller's transaction, so an email exists if and only if the booking or payment change commits.
+ * {@link NotificationOutboxDispatcher} delivers them. Emails use responsive HTML for professional
+ * branding.
+ *
+ * <p>Templates are compiled once into {@link EmailTemplate}s with the body already spliced into the
+ * page wrapper, so a send only copies literals and values into a reused buffer.
  */
 @Service
 public class NotificationService {
@@ -32,11 +36,12 @@ public class NotificationService {
       DateTimeFormatter.ofPattern("dd MMM yyyy 'at' HH:mm 'UTC'")
           .withZone(ZoneId.of("UTC"));
 
-  private final Optional<JavaMailSender> mailSender;
+  private final NotificationOutboxRepository outboxRepository;
+  private final NotificationOutboxDispatcher outboxDispatcher;
   private final Optional<SimpMessagingTemplate> messagingTemplate;
 
   // ─── Professional HTML Email Wrapper ───
-  private static final String HTML_WRAPPER = """
+  private static final EmailTemplate PAGE = EmailTemplate.compile("""
       <!DOCTYPE html>
       <html>
       <head>
@@ -66,7 +71,7 @@ public class NotificationService {
             <h1>UniHostel Management</h1>
           </div>
           <div class="content">
-            %s
+            {{content}}
           </div>
           <div class="footer">
             <p>This is an automated message from the University Hostel Management System.<br>Please do not reply to this email.</p>
@@ -74,16 +79,71 @@ public class NotificationService {
         </div>
       </body>
       </html>
-      """;
+      """, "content");
+
+  private static final EmailTemplate BOOKING_CONFIRMATION = PAGE.nest("content", EmailTemplate.compile("""
+      <h2>Application Received</h2>
+      <p>Dear <strong>{{name}}</strong>,</p>
+      <p>Your room application has been successfully submitted and is awaiting payment verification.</p>
+      
+      <div class="data-box">
+        <div class="data-row"><span class="data-label">Hostel:</span> <span class="data-value">{{hostel}}</span></div>
+        <div class="data-row"><span class="data-label">Room:</span> <span class="data-value">{{room}}</span></div>
+        <div class="data-row"><span class="data-label">Amount:</span> <span class="data-value" style="color: #0f6b46;">GHS {{amount}}</span></div>
+        <div class="data-row"><span class="data-label">Deadline:</span> <span class="data-value" style="color: #b91c1c;">{{deadline}}</span></div>
+      </div>
+      
+      <p>Please complete your payment before the deadline to secure your allocation. Log in to the student portal to upload your payment receipt.</p>
+      """, "name", "hostel", "room", "amount", "deadline"));
+
+  private static final EmailTemplate PAYMENT_APPROVAL = PAGE.nest("content", EmailTemplate.compile("""
+      <h2>Room Confirmed! 🎉</h2>
+      <p>Dear <strong>{{name}}</strong>,</p>
+      <p>Great news! Your payment has been verified by our administrative team and your room allocation is now fully confirmed.</p>
+      
+      <div class="data-box">
+        <div class="data-row"><span class="data-label">Hostel:</span> <span class="data-value">{{hostel}}</span></div>
+        <div class="data-row"><span class="data-label">Room:</span> <span class="data-value">{{room}}</span></div>
+        <div class="data-row"><span class="data-label">Status:</span> <span class="data-value" style="color: #059669;">Approved & Secured</span></div>
+      </div>
+      
+      <p>Please visit the main hostel office to collect your room key upon arrival. Welcome to your new home!</p>
+      """, "name", "hostel", "room"));
+
+  private static final EmailTemplate PAYMENT_REMINDER = PAGE.nest("content", EmailTemplate.compile("""
+      <h2 style="color: #b91c1c;">Action Required: Payment Reminder</h2>
+      <p>Dear <strong>{{name}}</strong>,</p>
+      <p>This is an automated reminder that your room booking for <strong>{{hostel}} (Room {{room}})</strong> is pending payment and will expire soon.</p>
+      
+      <div class="data-box" style="border-left: 4px solid #b91c1c;">
+        <div class="data-row"><span class="data-label" style="width: 120px;">Expires At:</span> <span class="data-value" style="color: #b91c1c;">{{expiresAt}}</span></div>
+      </div>
+      
+      <p>Please complete your payment immediately to secure your allocation. Log in to the student portal to upload your payment receipt.</p>
+      <p><em>If you have already made your payment and submitted your receipt, please ignore this reminder.</em></p>
+      """, "name", "hostel", "room", "expiresAt"));
+
+  private static final EmailTemplate PASSWORD_RESET = PAGE.nest("content", EmailTemplate.compile("""
+      <h2>Password Reset Request</h2>
+      <p>Dear <strong>{{name}}</strong>,</p>
+      <p>We received a request to reset the password associated with your account. You can set a new password by clicking the secure button below:</p>
+      
+      <div class="btn-container">
+        <a href="{{resetUrl}}" class="btn">Reset My Password</a>
+      </div>
+      
+      <p style="font-size: 14px; color: #64748b; margin-top: 30px;">
+        <strong>Security Notice:</strong> This link will expire on <strong>{{expiresAt}}</strong>. If you did not request a password reset, please ignore this email. Your password will remain unchanged.
+      </p>
+      """, "name", "resetUrl", "expiresAt"));
 
   public NotificationService(
-      @Autowired(required = false) JavaMailSender mailSender,
+      NotificationOutboxRepository outboxRepository,
+      NotificationOutboxDispatcher outboxDispatcher,
       @Autowired(required = false) SimpMessagingTemplate messagingTemplate) {
-    this.mailSender = Optional.ofNullable(mailSender);
+    this.outboxRepository = outboxRepository;
+    this.outboxDispatcher = outboxDispatcher;
     this.messagingTemplate = Optional.ofNullable(messagingTemplate);
-    if (mailSender == null) {
-      log.info("[NOTIFICATION] SMTP not configured – emails will be logged only.");
-    }
     if (messagingTemplate == null) {
       log.info("[NOTIFICATION] WebSocket not configured – real-time notifications disabled.");
     }
@@ -91,90 +151,30 @@ public class NotificationService {
 
   // ─────────────────────────────────────────────────────────────────────────
 
-  @Async("taskExecutor")
   public void sendBookingConfirmation(
       String email, String name, String hostel, String room, BigDecimal amount, Instant paymentDue) {
 
     log.info("[NOTIFICATION] Queuing booking-confirmation → {}", email);
-    
-    String content = """
-        <h2>Application Received</h2>
-        <p>Dear <strong>%s</strong>,</p>
-        <p>Your room application has been successfully submitted and is awaiting payment verification.</p>
-        
-        <div class="data-box">
-          <div class="data-row"><span class="data-label">Hostel:</span> <span class="data-value">%s</span></div>
-          <div class="data-row"><span class="data-label">Room:</span> <span class="data-value">%s</span></div>
-          <div class="data-row"><span class="data-label">Amount:</span> <span class="data-value" style="color: #0f6b46;">GHS %.2f</span></div>
-          <div class="data-row"><span class="data-label">Deadline:</span> <span class="data-value" style="color: #b91c1c;">%s</span></div>
-        </div>
-        
-        <p>Please complete your payment before the deadline to secure your allocation. Log in to the student portal to upload your payment receipt.</p>
-        """.formatted(name, hostel, room, amount, FMT.format(paymentDue));
-
-    send(email, "Room Booking Submitted – " + hostel + " Room " + room, String.format(HTML_WRAPPER, content));
+    String html = BOOKING_CONFIRMATION.render(name, hostel, room, money(amount), FMT.format(paymentDue));
+    enqueue("BOOKING_CONFIRMATION", email, "Room Booking Submitted – " + hostel + " Room " + room, html);
   }
 
-  @Async("taskExecutor")
   public void sendPaymentApproval(String email, String name, String hostel, String room) {
     log.info("[NOTIFICATION] Queuing payment-approval → {}", email);
-    
-    String content = """
-        <h2>Room Confirmed! 🎉</h2>
-        <p>Dear <strong>%s</strong>,</p>
-        <p>Great news! Your payment has been verified by our administrative team and your room allocation is now fully confirmed.</p>
-        
-        <div class="data-box">
-          <div class="data-row"><span class="data-label">Hostel:</span> <span class="data-value">%s</span></div>
-          <div class="data-row"><span class="data-label">Room:</span> <span class="data-value">%s</span></div>
-          <div class="data-row"><span class="data-label">Status:</span> <span class="data-value" style="color: #059669;">Approved & Secured</span></div>
-        </div>
-        
-        <p>Please visit the main hostel office to collect your room key upon arrival. Welcome to your new home!</p>
-        """.formatted(name, hostel, room);
-
-    send(email, "Payment Approved – Room " + room + " Confirmed!", String.format(HTML_WRAPPER, content));
+    String html = PAYMENT_APPROVAL.render(name, hostel, room);
+    enqueue("PAYMENT_APPROVAL", email, "Payment Approved – Room " + room + " Confirmed!", html);
   }
 
-  @Async("taskExecutor")
   public void sendPaymentReminder(String email, String name, String hostel, String room, Instant expiresAt) {
     log.info("[NOTIFICATION] Queuing payment-reminder → {}", email);
-    
-    String content = """
-        <h2 style="color: #b91c1c;">Action Required: Payment Reminder</h2>
-        <p>Dear <strong>%s</strong>,</p>
-        <p>This is an automated reminder that your room booking for <strong>%s (Room %s)</strong> is pending payment and will expire soon.</p>
-        
-        <div class="data-box" style="border-left: 4px solid #b91c1c;">
-          <div class="data-row"><span class="data-label" style="width: 120px;">Expires At:</span> <span class="data-value" style="color: #b91c1c;">%s</span></div>
-        </div>
-        
-        <p>Please complete your payment immediately to secure your allocation. Log in to the student portal to upload your payment receipt.</p>
-        <p><em>If you have already made your payment and submitted your receipt, please ignore this reminder.</em></p>
-        """.formatted(name, hostel, room, FMT.format(expiresAt));
-
-    send(email, "Action Required – Complete Your Booking for " + hostel, String.format(HTML_WRAPPER, content));
+    String html = PAYMENT_REMINDER.render(name, hostel, room, FMT.format(expiresAt));
+    enqueue("PAYMENT_REMINDER", email, "Action Required – Complete Your Booking for " + hostel, html);
   }
 
-  @Async("taskExecutor")
   public void sendPasswordReset(String email, String name, String resetUrl, Instant expiresAt) {
     log.info("[NOTIFICATION] Queuing password-reset → {}", email);
-    
-    String content = """
-        <h2>Password Reset Request</h2>
-        <p>Dear <strong>%s</strong>,</p>
-        <p>We received a request to reset the password associated with your account. You can set a new password by clicking the secure button below:</p>
-        
-        <div class="btn-container">
-          <a href="%s" class="btn">Reset My Password</a>
-        </div>
-        
-        <p style="font-size: 14px; color: #64748b; margin-top: 30px;">
-          <strong>Security Notice:</strong> This link will expire on <strong>%s</strong>. If you did not request a password reset, please ignore this email. Your password will remain unchanged.
-        </p>
-        """.formatted(name, resetUrl, FMT.format(expiresAt));
-
-    send(email, "Reset Your UniHostel Password", String.format(HTML_WRAPPER, content));
+    String html = PASSWORD_RESET.render(name, resetUrl, FMT.format(expiresAt));
+    enqueue("PASSWORD_RESET", email, "Reset Your UniHostel Password", html);
   }
 
   // ─── WebSocket/Real-time Notifications ──────────────────────────────────
@@ -221,26 +221,50 @@ public class NotificationService {
         () -> log.debug("[NOTIFICATION-WS] WebSocket disabled, skipping real-time notification for student {}", studentId));
   }
 
+  public void notifyAdmissionPosition(Long studentId, int position) {
+    messagingTemplate.ifPresent(
+        template -> template.convertAndSendToUser(
+            studentId.toString(), "/queue/notifications", NotificationMessage.admissionQueued(studentId, position)));
+  }
+
+  /** Sends letter-job progress to the admin who started the job. */
+  public void notifyLetterJobProgress(Long adminId, LetterGenerationJobService.LetterJobView progress) {
+    messagingTemplate.ifPresent(
+        template -> template.convertAndSendToUser(adminId.toString(), "/queue/letter-jobs", progress));
+  }
+
   // ─── private helpers ────────────────────────────────────────────────────
 
-  private void send(String to, String subject, String htmlBody) {
-    mailSender.ifPresentOrElse(
-        sender -> {
-          try {
-            // Use MimeMessage to support HTML emails instead of SimpleMailMessage
-            MimeMessage message = sender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true); // true indicates this is HTML
-            
-            sender.send(message);
-            log.info("[NOTIFICATION] Sent HTML Email '{}' → {}", subject, to);
-          } catch (MessagingException | MailException e) {
-            log.warn("[NOTIFICATION] Failed to send HTML Email '{}' → {}: {}", subject, to, e.getMessage());
-          }
-        },
-        () -> log.info("[NOTIFICATION] (no SMTP) '{}' → {}\n[HTML Body Suppressed for Log Clarity]", subject, to));
+  /**
+   * Adds an email to the outbox. Joins the caller's transaction when there is one, and wakes the
+   * dispatcher once it commits.
+   */
+  private void enqueue(String kind, String to, String subject, String htmlBody) {
+    NotificationOutboxMessage message = new NotificationOutboxMessage();
+    message.setKind(kind);
+    message.setRecipient(to);
+    message.setSubject(subject.length() <= 255 ? subject : subject.substring(0, 255));
+    message.setHtmlBody(htmlBody);
+    Instant now = Instant.now();
+    message.setNextAttemptAt(now);
+    message.setCreatedAt(now);
+    outboxRepository.save(message);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              outboxDispatcher.notifyEnqueued();
+            }
+          });
+    } else {
+      outboxDispatcher.notifyEnqueued();
+    }
+  }
+
+  /** Same text as {@code "%.2f"} gave for a {@link BigDecimal}, without the formatter. */
+  private static String money(BigDecimal amount) {
+    return amount == null ? "null" : amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package com.hostelmanagement.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hostelmanagement.domain.Booking;
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.PaymentStatus;
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fires payment-hold expiries and payment reminders at their exact deadlines.
+ *
+ * <p>Each pending booking contributes two entries to a {@link DelayQueue} keyed on
+ * {@code Payment.dueAt}: an expiry at {@code dueAt} and a reminder
+ * {@code app.booking.reminder-hours-before-expiry} earlier (skipped if already past). A single
+ * dispatcher thread blocks until the next deadline, so idle periods cost nothing, and drains every
+ * entry due at that moment so a burst of deadlines expires in one batch.
+ *
+ * <p>The queue is rebuilt from the payments table on startup. Entries are not removed when a
+ * booking is paid or cancelled; firing is idempotent because expiry and reminders re-check that
+ * the booking is still {@code PENDING_PAYMENT}. The scheduled sweep in
+ * {@code BookingExpirationScheduler} remains as a catch-up for anything missed (e.g. rows
+ * skipped while locked).
+ */
+@Service
+public class PaymentDeadlineService {
+
+  private static final Logger log = LoggerFactory.getLogger(PaymentDeadlineService.class);
+
+  private static final int MAX_BATCH = 500;
+
+  private final BookingRepository bookingRepository;
+  private final PaymentRepository paymentRepository;
+  private final BookingExpiryService bookingExpiryService;
+  private final NotificationService notificationService;
+  private final TransactionTemplate readOnlyTransaction;
+  private final TransactionTemplate transactionTemplate;
+  private final long reminderHoursBeforeExpiry;
+
+  private final DelayQueue<Deadline> queue = new DelayQueue<>();
+  private volatile Thread dispatcher;
+
+  public PaymentDeadlineService(
+      BookingRepository bookingRepository,
+      PaymentRepository paymentRepository,
+      BookingExpiryService bookingExpiryService,
+      NotificationService notificationService,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.booking.reminder-hours-before-expiry:24}") long reminderHoursBeforeExpiry) {
+    this.bookingRepository = bookingRepository;
+    this.paymentRepository = paymentRepository;
+    this.bookingExpiryService = bookingExpiryService;
+    this.notificationService = notificationService;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.reminderHoursBeforeExpiry = reminderHoursBeforeExpiry;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    int count = rehydrate();
+    dispatcher = Thread.ofPlatform().daemon().name("payment-deadlines").start(this::dispatchLoop);
+    log.info("[DEADLINES] Tracking {} pending payment deadlines", count);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread thread = dispatcher;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  /**
+   * Reloads deadlines for every payment still pending.
+   *
+   * @return number of bookings tracked
+   */
+  public int rehydrate() {
+    List<PaymentRepository.PaymentDeadline> deadlines =
+        readOnlyTransaction.execute(
+            status -> paymentRepository.findDeadlines(PaymentStatus.PENDING, BookingStatus.PENDING_PAYMENT));
+    if (deadlines == null) {
+      return 0;
+    }
+
+    queue.clear();
+    deadlines.forEach(deadline -> track(deadline.getBookingId(), deadline.getDueAt()));
+    return deadlines.size();
+  }
+
+  /** Starts tracking a new booking's deadlines once the creating transaction commits. */
+  public void trackAfterCommit(Long bookingId, Instant dueAt) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      track(bookingId, dueAt);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            track(bookingId, dueAt);
+          }
+        });
+  }
+
+  public int pendingDeadlines() {
+    return queue.size();
+  }
+
+  void track(Long bookingId, Instant dueAt) {
+    if (bookingId == null || dueAt == null) {
+      return;
+    }
+    queue.add(new Deadline(bookingId, dueAt, Kind.EXPIRE, dueAt));
+
+    Instant remindAt = dueAt.minus(reminderHoursBeforeExpiry, ChronoUnit.HOURS);
+    if (remindAt.isAfter(Instant.now())) {
+      queue.add(new Deadline(bookingId, dueAt, Kind.REMIND, remindAt));
+    }
+  }
+
+  /** Handles every deadline that is due now; returns how many entries were processed. */
+  int dispatchDue() {
+    List<Deadline> due = new ArrayList<>();
+    queue.drainTo(due, MAX_BATCH);
+    dispatch(due);
+    return due.size();
+  }
+
+  private void dispatchLoop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        List<Deadline> due = new ArrayList<>();
+        due.add(queue.take());
+        queue.drainTo(due, MAX_BATCH - 1);
+        dispatch(due);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException ex) {
+        // The catch-up sweep expires anything this batch failed on.
+        log.error("[DEADLINES] Failed to process due deadlines: {}", ex.getMessage(), ex);
+      }
+    }
+  }
+
+  private void dispatch(List<Deadline> due) {
+    List<Long> toExpire = new ArrayList<>();
+    for (Deadline deadline : due) {
+      if (deadline.kind() == Kind.EXPIRE) {
+        toExpire.add(deadline.bookingId());
+      } else {
+        sendReminder(deadline);
+      }
+    }
+    if (!toExpire.isEmpty()) {
+      bookingExpiryService.expireBookings(toExpire);
+    }
+  }
+
+  private void sendReminder(Deadline deadline) {
+    try {
+      // Read-write: the reminder email is written to the notification outbox in this transaction.
+      transactionTemplate.executeWithoutResult(status ->
+          bookingRepository.findByIdWithDetails(deadline.bookingId())
+              .filter(booking -> booking.getStatus() == BookingStatus.PENDING_PAYMENT)
+              .ifPresent(booking -> remind(booking, deadline.dueAt())));
+    } catch (RuntimeException ex) {
+      log.error("Failed to send reminder for booking {}: {}", deadline.bookingId(), ex.getMessage());
+    }
+  }
+
+  private void remind(Booking booking, Instant dueAt) {
+    String studentEmail = booking.getStudent().getEmail();
+    String hostelName = booking.getRoom() != null && booking.getRoom().getHostel() != null
+        ? booking.getRoom().getHostel().getName()
+        : "your requested hostel";
+    String roomNumber = booking.getRoom() != null ? booking.getRoom().getRoomNumber() : "";
+
+    notificationService.sendPaymentReminder(
+        studentEmail, booking.getStudent().getFullName(), hostelName, roomNumber, dueAt);
+    log.info("Sent payment reminder to {} for booking {}", studentEmail, booking.getId());
+  }
+
+  private enum Kind {
+    EXPIRE,
+    REMIND
+  }
+
+  private record Deadline(Long bookingId, Instant dueAt, Kind kind, Instant fireAt) implements Delayed {
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(fireAt.toEpochMilli() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      if (other instanceof Deadline deadline) {
+        return fireAt.compareTo(deadline.fireAt);
+      }
+      return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+  }
+}
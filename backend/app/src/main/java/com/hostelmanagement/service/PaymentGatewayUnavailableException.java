@@ -0,0 +1,19 @@
+package com.hostelmanagement.service;
+
+/**
+ * Thrown when Paystack cannot be reached (timeout, transport error, 5xx) or its circuit breaker is
+ * open; mapped to {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+public class PaymentGatewayUnavailableException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public PaymentGatewayUnavailableException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
@@ -0,0 +1,269 @@
+package com.hostelmanagement.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostelmanagement.domain.PaymentWebhookEvent;
+import com.hostelmanagement.repository.PaymentWebhookEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Durable inbox between the Paystack webhook endpoint and {@link StudentPaymentService}.
+ *
+ * <p>{@link #receive} verifies the signature and stores the raw event, deduplicated on an event id
+ * derived from the event type and Paystack transaction id, so the endpoint answers in one insert
+ * even during a webhook burst. A single consumer thread drains the inbox in batches: it claims the
+ * oldest pending event of each transaction reference (so one payment's events apply in arrival
+ * order), leases them by pushing {@code next_attempt_at} forward, and applies each in its own
+ * transaction. Failures are retried with exponential backoff; events that can never apply
+ * (malformed payload) or exhaust {@code max-attempts} are parked as {@code FAILED}. A claimed event
+ * whose consumer died becomes due again when its lease runs out.
+ */
+@Service
+public class PaymentWebhookInboxService {
+
+  private static final Logger log = LoggerFactory.getLogger(PaymentWebhookInboxService.class);
+
+  private final PaymentWebhookEventRepository repository;
+  private final StudentPaymentService studentPaymentService;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final long pollIntervalMs;
+  private final int maxAttempts;
+  private final Duration backoff;
+  private final Duration maxBackoff;
+  private final Duration lease;
+  private final Counter accepted;
+  private final Counter duplicates;
+  private final Counter applied;
+  private final Counter retried;
+  private final Counter failed;
+  private final Timer lag;
+  private final AtomicLong pending = new AtomicLong();
+
+  private final Semaphore wakeup = new Semaphore(0);
+  private volatile Thread consumer;
+
+  public PaymentWebhookInboxService(
+      PaymentWebhookEventRepository repository,
+      StudentPaymentService studentPaymentService,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.payments.webhook.batch-size:50}") int batchSize,
+      @Value("${app.payments.webhook.poll-interval-ms:1000}") long pollIntervalMs,
+      @Value("${app.payments.webhook.max-attempts:8}") int maxAttempts,
+      @Value("${app.payments.webhook.backoff-seconds:5}") long backoffSeconds,
+      @Value("${app.payments.webhook.max-backoff-seconds:600}") long maxBackoffSeconds,
+      @Value("${app.payments.webhook.lease-seconds:60}") long leaseSeconds) {
+    this.repository = repository;
+    this.studentPaymentService = studentPaymentService;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.pollIntervalMs = pollIntervalMs;
+    this.maxAttempts = maxAttempts;
+    this.backoff = Duration.ofSeconds(backoffSeconds);
+    this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+    this.lease = Duration.ofSeconds(leaseSeconds);
+
+    this.accepted = Counter.builder("payment.webhook.received").tag("outcome", "accepted").register(meterRegistry);
+    this.duplicates = Counter.builder("payment.webhook.received").tag("outcome", "duplicate").register(meterRegistry);
+    this.applied = Counter.builder("payment.webhook.processed").tag("outcome", "applied").register(meterRegistry);
+    this.retried = Counter.builder("payment.webhook.processed").tag("outcome", "retry").register(meterRegistry);
+    this.failed = Counter.builder("payment.webhook.processed").tag("outcome", "failed").register(meterRegistry);
+    this.lag =
+        Timer.builder("payment.webhook.lag")
+            .description("Time from webhook receipt until it was applied")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    Gauge.builder("payment.webhook.pending", pending, AtomicLong::get)
+        .description("Inbox events not yet applied, as of the last poll")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    consumer = Thread.ofPlatform().daemon().name("webhook-inbox").start(this::consumeLoop);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread thread = consumer;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  /**
+   * Verifies and stores a webhook for asynchronous processing. Redeliveries of a stored event are
+   * accepted and ignored.
+   *
+   * @throws org.springframework.security.access.AccessDeniedException if the signature is invalid
+   * @throws IllegalArgumentException if the payload is not valid JSON
+   */
+  public void receive(byte[] payload, String signature) {
+    studentPaymentService.verifyWebhookSignature(payload, signature);
+
+    JsonNode root;
+    try {
+      root = objectMapper.readTree(payload);
+    } catch (IOException ex) {
+      throw new IllegalArgumentException("Unable to parse webhook payload");
+    }
+    String eventType = root.path("event").asText("unknown");
+    JsonNode data = root.path("data");
+    String reference = data.path("reference").asText(null);
+    if (reference != null && (reference.isBlank() || reference.length() > 120)) {
+      reference = null;
+    }
+
+    int inserted =
+        repository.insertIfAbsent(
+            eventId(eventType, data, payload),
+            truncate(eventType, 50),
+            reference,
+            new String(payload, StandardCharsets.UTF_8),
+            Instant.now());
+    if (inserted == 0) {
+      duplicates.increment();
+      return;
+    }
+    accepted.increment();
+    wakeup.release();
+  }
+
+  /**
+   * Claims and applies one batch of due events.
+   *
+   * @return number of events claimed
+   */
+  int drainOnce() {
+    Instant now = Instant.now();
+    List<Claim> claims = transactionTemplate.execute(status -> claim(now));
+    if (claims == null) {
+      return 0;
+    }
+    claims.forEach(this::process);
+    pending.set(repository.countByStatus(PaymentWebhookEvent.Status.PENDING));
+    return claims.size();
+  }
+
+  private void consumeLoop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        if (drainOnce() < batchSize) {
+          wakeup.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+          wakeup.drainPermits();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException ex) {
+        log.error("[WEBHOOK-INBOX] Poll failed: {}", ex.getMessage(), ex);
+        try {
+          Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  private List<Claim> claim(Instant now) {
+    List<PaymentWebhookEvent> events =
+        repository.lockDueHeads(PaymentWebhookEvent.Status.PENDING, now, PageRequest.of(0, batchSize));
+    Instant leasedUntil = now.plus(lease);
+    return events.stream()
+        .map(event -> {
+          event.setAttempts(event.getAttempts() + 1);
+          event.setNextAttemptAt(leasedUntil);
+          return new Claim(event.getId(), event.getPayload(), event.getReceivedAt(), event.getAttempts());
+        })
+        .toList();
+  }
+
+  private void process(Claim claim) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        studentPaymentService.applyPaystackEvent(claim.payload());
+        repository.markProcessed(claim.id(), PaymentWebhookEvent.Status.PROCESSED, Instant.now());
+      });
+      applied.increment();
+      lag.record(Duration.between(claim.receivedAt(), Instant.now()));
+    } catch (IllegalArgumentException ex) {
+      recordFailure(claim, ex, true);
+    } catch (RuntimeException ex) {
+      recordFailure(claim, ex, claim.attempts() >= maxAttempts);
+    }
+  }
+
+  private void recordFailure(Claim claim, RuntimeException ex, boolean permanent) {
+    String error = truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage(), 500);
+    if (permanent) {
+      failed.increment();
+      log.error("[WEBHOOK-INBOX] Giving up on event {} after {} attempt(s): {}", claim.id(), claim.attempts(), error);
+    } else {
+      retried.increment();
+      log.warn("[WEBHOOK-INBOX] Event {} failed (attempt {}), retrying: {}", claim.id(), claim.attempts(), error);
+    }
+    transactionTemplate.executeWithoutResult(status ->
+        repository.markFailedAttempt(
+            claim.id(),
+            permanent ? PaymentWebhookEvent.Status.FAILED : PaymentWebhookEvent.Status.PENDING,
+            Instant.now().plus(backoffFor(claim.attempts())),
+            error));
+  }
+
+  Duration backoffFor(int attempts) {
+    int shift = Math.min(Math.max(attempts - 1, 0), 20);
+    Duration delay = backoff.multipliedBy(1L << shift);
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+
+  private static String eventId(String eventType, JsonNode data, byte[] payload) {
+    String transactionId = data.path("id").asText("");
+    if (!transactionId.isBlank()) {
+      return truncate(eventType + ":" + transactionId, 190);
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(payload);
+      return truncate(eventType, 120) + ":sha256:" + HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  private static String truncate(String value, int max) {
+    return value.length() <= max ? value : value.substring(0, max);
+  }
+
+  private record Claim(Long id, String payload, Instant receivedAt, int attempts) {}
+}
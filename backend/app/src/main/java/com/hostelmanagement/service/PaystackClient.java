@@ -0,0 +1,205 @@
+package com.hostelmanagement.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Non-blocking client for the Paystack transaction API.
+ *
+ * <p>One shared {@link HttpClient} negotiates HTTP/2, so concurrent calls are multiplexed over a
+ * reused connection. Every call is bounded by the connect and read timeouts, admitted through the
+ * {@code paystack} {@link Bulkhead} and guarded by a {@link CircuitBreaker}; latency is recorded in
+ * the {@code paystack.request} histogram tagged by operation and outcome.
+ *
+ * <p>Futures complete with the response {@code data} node, or exceptionally with
+ * {@link IllegalArgumentException} when Paystack rejects the request and
+ * {@link PaymentGatewayUnavailableException} when it cannot be reached. Continuations run on
+ * virtual threads, never on the caller's request thread.
+ */
+@Component
+public class PaystackClient {
+
+  private static final Logger log = LoggerFactory.getLogger(PaystackClient.class);
+  private static final String UNAVAILABLE = "Payment gateway is temporarily unavailable. Please try again shortly.";
+  private static final long RETRY_AFTER_SECONDS = 5;
+
+  private final ObjectMapper objectMapper;
+  private final Bulkhead bulkhead;
+  private final CircuitBreaker circuitBreaker;
+  private final MeterRegistry meterRegistry;
+  private final String baseUrl;
+  private final String secretKey;
+  private final Duration readTimeout;
+  private final ExecutorService executor;
+  private final HttpClient httpClient;
+
+  public PaystackClient(
+      ObjectMapper objectMapper,
+      Bulkheads bulkheads,
+      MeterRegistry meterRegistry,
+      @Value("${app.payments.paystack.base-url:https://api.paystack.co}") String baseUrl,
+      @Value("${app.payments.paystack.secret-key:}") String secretKey,
+      @Value("${app.payments.paystack.connect-timeout-ms:3000}") long connectTimeoutMs,
+      @Value("${app.payments.paystack.read-timeout-ms:10000}") long readTimeoutMs,
+      @Value("${app.payments.paystack.circuit-breaker.failure-threshold:5}") int failureThreshold,
+      @Value("${app.payments.paystack.circuit-breaker.open-seconds:30}") long openSeconds) {
+    this.objectMapper = objectMapper;
+    this.bulkhead = bulkheads.paystack();
+    this.circuitBreaker = new CircuitBreaker("paystack", failureThreshold, openSeconds, meterRegistry);
+    this.meterRegistry = meterRegistry;
+    this.baseUrl = baseUrl;
+    this.secretKey = secretKey;
+    this.readTimeout = Duration.ofMillis(readTimeoutMs);
+    this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .executor(executor)
+            .build();
+  }
+
+  @PreDestroy
+  public void close() {
+    httpClient.shutdownNow();
+    executor.shutdownNow();
+  }
+
+  public boolean isConfigured() {
+    return secretKey != null && !secretKey.isBlank();
+  }
+
+  public CompletableFuture<JsonNode> initializeTransaction(Map<String, Object> payload) {
+    return send("initialize", "/transaction/initialize", payload);
+  }
+
+  public CompletableFuture<JsonNode> verifyTransaction(String reference) {
+    return send("verify", "/transaction/verify/" + URLEncoder.encode(reference, StandardCharsets.UTF_8), null);
+  }
+
+  private CompletableFuture<JsonNode> send(String operation, String path, Map<String, Object> payload) {
+    HttpRequest request;
+    try {
+      request = buildRequest(path, payload);
+    } catch (JsonProcessingException ex) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException("Unable to encode payment request"));
+    }
+
+    try {
+      bulkhead.acquire();
+    } catch (BulkheadFullException ex) {
+      record(operation, "rejected", System.nanoTime());
+      return CompletableFuture.failedFuture(new PaymentGatewayUnavailableException(UNAVAILABLE, 1));
+    }
+    if (!circuitBreaker.tryAcquire()) {
+      bulkhead.release();
+      record(operation, "circuit_open", System.nanoTime());
+      return CompletableFuture.failedFuture(
+          new PaymentGatewayUnavailableException(UNAVAILABLE, circuitBreaker.retryAfterSeconds()));
+    }
+
+    long start = System.nanoTime();
+    CompletableFuture<HttpResponse<String>> response;
+    try {
+      response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    } catch (RuntimeException ex) {
+      response = CompletableFuture.failedFuture(ex);
+    }
+    return response
+        .orTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .handleAsync((res, error) -> {
+          bulkhead.release();
+          if (error != null) {
+            return onTransportFailure(operation, path, start, error);
+          }
+          return onResponse(operation, start, res);
+        }, executor);
+  }
+
+  private HttpRequest buildRequest(String path, Map<String, Object> payload) throws JsonProcessingException {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder()
+            .uri(URI.create(baseUrl + path))
+            .timeout(readTimeout)
+            .header("Authorization", "Bearer " + secretKey)
+            .header("Content-Type", "application/json");
+    if (payload == null) {
+      builder.GET();
+    } else {
+      builder.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)));
+    }
+    return builder.build();
+  }
+
+  private JsonNode onResponse(String operation, long start, HttpResponse<String> response) {
+    int status = response.statusCode();
+    if (status >= 500) {
+      circuitBreaker.onFailure();
+      record(operation, "server_error", start);
+      throw new PaymentGatewayUnavailableException(UNAVAILABLE, RETRY_AFTER_SECONDS);
+    }
+    // Any 2xx/4xx means the gateway is up, even if it rejected this request.
+    circuitBreaker.onSuccess();
+
+    JsonNode root;
+    try {
+      root = objectMapper.readTree(response.body());
+    } catch (IOException ex) {
+      record(operation, "invalid_response", start);
+      throw new IllegalArgumentException("Payment gateway returned an unreadable response");
+    }
+    if (status < 200 || status >= 300 || !root.path("status").asBoolean(false)) {
+      record(operation, "rejected_by_gateway", start);
+      throw new IllegalArgumentException(root.path("message").asText("Unable to process payment with gateway"));
+    }
+    record(operation, "success", start);
+    return root.path("data");
+  }
+
+  private JsonNode onTransportFailure(String operation, String path, long start, Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    boolean timedOut = cause instanceof HttpTimeoutException || cause instanceof TimeoutException;
+    circuitBreaker.onFailure();
+    record(operation, timedOut ? "timeout" : "io_error", start);
+    log.warn("[PAYSTACK] {} {} failed: {}", operation, path, cause.toString());
+    throw new PaymentGatewayUnavailableException(UNAVAILABLE, RETRY_AFTER_SECONDS);
+  }
+
+  private void record(String operation, String outcome, long start) {
+    Timer.builder("paystack.request")
+        .description("Paystack API call latency")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+}
@@ -14,21 +14,57 @@ import com.itextpdf.text.PageSize;
 import com.itextpdf.text.Paragraph;
 import com.itextpdf.text.Phrase;
 import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
 import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPCellEvent;
 import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfStamper;
 import com.itextpdf.text.pdf.PdfWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+/**
+ * Renders allocation letters and payment receipts.
+ *
+ * <p>The static part of each document (logo, headings, labels, terms, closing) is laid out once at
+ * startup into a template PDF. While the template is built, every per-student value gets an empty
+ * slot whose page and rectangle are recorded. A document is then the template plus those values,
+ * written into their slots with {@link PdfStamper}. The logo is decoded and the layout is computed
+ * once, not per download. A value that does not fit its slot is set in a smaller font.
+ *
+ * <p>Rendering is split in two. {@link #allocationLetterSnapshot} and
+ * {@link #paymentReceiptSnapshot} read the entities into a {@link PdfDocumentSnapshot}, so they
+ * must run inside a transaction. {@link #write} then renders from the snapshot alone. The
+ * snapshot's version fingerprints everything the document shows apart from the issue date, so
+ * {@link PdfDocumentCache} can tell when a cached copy is stale.
+ */
 @Service
 public class PdfAllocationLetterService {
 
   private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy");
   private static final float MARGIN = 36;
+  private static final float CELL_PADDING = 5;
+  private static final float MIN_FONT_SIZE = 6;
   private static final String UNIVERSITY_NAME = "University Of Mines And Technology";
   private static final String UNIVERSITY_CONTACT = "Admissions & Student Affairs | Tel: +233 XXX XXX XXX";
 
@@ -37,41 +73,132 @@ public class PdfAllocationLetterService {
   private static final Font REGULAR_FONT = new Font(Font.FontFamily.HELVETICA, 11);
   private static final Font SMALL_FONT = new Font(Font.FontFamily.HELVETICA, 10);
   private static final Font TINY_FONT = new Font(Font.FontFamily.HELVETICA, 8);
+  private static final Font FOOTER_FONT = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL, BaseColor.DARK_GRAY);
+
+  private static final String OPENING_TEXT =
+      "Congratulations! We are pleased to inform you that your application for hostel "
+          + "accommodation has been successful. This letter serves as your official allocation "
+          + "notice and confirms your hostel placement for the academic year %s.";
+  private static final String TERM_ONE_TEXT = "1. This allocation letter is valid for the academic year %s.";
+
+  private final Template allocationLetter;
+  private final Template paymentReceipt;
+  /** Slots of the template being built; only used while the constructor runs. */
+  private Map<String, Slot> recording;
+
+  public PdfAllocationLetterService() {
+    this.allocationLetter =
+        buildTemplate("allocation letter", document -> {
+          addHeader(document);
+          addTitle(document, "HOSTEL ALLOCATION LETTER");
+          addLetterContent(document);
+          addFooter(document);
+        });
+    this.paymentReceipt =
+        buildTemplate("payment receipt", document -> {
+          addHeader(document);
+          addTitle(document, "PAYMENT RECEIPT");
+          addReceiptContent(document);
+          addFooter(document);
+        });
+  }
 
   public byte[] generateAllocationLetterPdf(Student student, Booking booking, Payment payment) {
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    try {
-      Document document = new Document(PageSize.A4, MARGIN, MARGIN, MARGIN, MARGIN);
-      PdfWriter.getInstance(document, outputStream);
-      document.open();
-      addHeader(document);
-      addTitle(document, "HOSTEL ALLOCATION LETTER", "HMS/ALLOC/");
-      addLetterContent(document, student, booking, payment);
-      addFooter(document);
-      document.close();
-    } catch (DocumentException e) {
-      throw new RuntimeException("Failed to generate allocation letter PDF", e);
-    }
-    return outputStream.toByteArray();
+    return render(allocationLetterSnapshot(student, booking, payment));
   }
 
   public byte[] generatePaymentReceiptPdf(Student student, Payment payment, Booking booking) {
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    return render(paymentReceiptSnapshot(student, payment, booking));
+  }
+
+  public PdfDocumentSnapshot allocationLetterSnapshot(Student student, Booking booking, Payment payment) {
+    Map<String, String> values = letterValues(student, booking, payment);
+    values.put("ref", "Ref: HMS/ALLOC/" + booking.getId());
+    return new PdfDocumentSnapshot(
+        booking.getId(), PdfDocumentCache.DocumentType.ALLOCATION_LETTER, Collections.unmodifiableMap(values), fingerprint(values));
+  }
+
+  public PdfDocumentSnapshot paymentReceiptSnapshot(Student student, Payment payment, Booking booking) {
+    Map<String, String> values = receiptValues(student, payment, booking);
+    values.put("ref", "Ref: HMS/RECEIPT/" + booking.getId());
+    return new PdfDocumentSnapshot(
+        booking.getId(), PdfDocumentCache.DocumentType.PAYMENT_RECEIPT, Collections.unmodifiableMap(values), fingerprint(values));
+  }
+
+  /** Renders the document into a byte array sized for the template. */
+  public byte[] render(PdfDocumentSnapshot snapshot) {
+    Template template = template(snapshot.type());
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(template.pdf().length + 4096);
     try {
-      Document document = new Document(PageSize.A4, MARGIN, MARGIN, MARGIN, MARGIN);
-      PdfWriter.getInstance(document, outputStream);
-      document.open();
-      addHeader(document);
-      addTitle(document, "PAYMENT RECEIPT", "HMS/RECEIPT/");
-      addReceiptContent(document, student, payment, booking);
-      addFooter(document);
-      document.close();
-    } catch (DocumentException e) {
-      throw new RuntimeException("Failed to generate payment receipt PDF", e);
+      write(snapshot, outputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
     return outputStream.toByteArray();
   }
 
+  /**
+   * Renders the document straight into {@code out}. No database access; the stream is not
+   * closed.
+   */
+  public void write(PdfDocumentSnapshot snapshot, OutputStream out) throws IOException {
+    Map<String, String> values = new LinkedHashMap<>(snapshot.values());
+    stamp(template(snapshot.type()), withIssueDate(values), out, snapshot.type());
+  }
+
+  private Template template(PdfDocumentCache.DocumentType type) {
+    return type == PdfDocumentCache.DocumentType.ALLOCATION_LETTER ? allocationLetter : paymentReceipt;
+  }
+
+  private Map<String, String> letterValues(Student student, Booking booking, Payment payment) {
+    Room room = booking.getRoom();
+    Map<String, String> values = new LinkedHashMap<>();
+    values.put("salutation", "Dear " + student.getFullName() + ",");
+    values.put("opening", String.format(OPENING_TEXT, booking.getAcademicYear()));
+    values.put("studentId", student.getId().toString());
+    values.put("fullName", student.getFullName());
+    values.put("email", student.getEmail());
+    values.put("level", student.getCurrentLevel() + "00");
+    values.put("hostel", room != null && room.getHostel() != null ? room.getHostel().getName() : "Not Yet Assigned");
+    values.put("roomNumber", room != null && room.getRoomNumber() != null ? room.getRoomNumber() : "To Be Assigned");
+    values.put("roomType", room != null && room.getRoomType() != null ? room.getRoomType().toString() : "N/A");
+    values.put("floorNumber", room != null ? String.valueOf(room.getFloorNumber()) : "N/A");
+    values.put("academicYear", booking.getAcademicYear());
+    values.put("academicSession", booking.getAcademicSession());
+    values.put("amount", formatAmount(payment.getAmount()));
+    values.put("paymentDate", formatPaidAt(payment));
+    values.put("paymentMethod", payment.getPaymentMethod() != null ? payment.getPaymentMethod().toString() : "N/A");
+    values.put("transactionReference",
+        payment.getTransactionReference() != null ? payment.getTransactionReference() : "N/A");
+    values.put("termOne", String.format(TERM_ONE_TEXT, booking.getAcademicYear()));
+    return values;
+  }
+
+  private Map<String, String> receiptValues(Student student, Payment payment, Booking booking) {
+    Map<String, String> values = new LinkedHashMap<>();
+    values.put("studentId", student.getId().toString());
+    values.put("fullName", student.getFullName());
+    values.put("email", student.getEmail());
+    values.put("phone", student.getPhone() != null ? student.getPhone() : "N/A");
+    values.put("bookingId", booking.getId().toString());
+    values.put("amount", formatAmount(payment.getAmount()));
+    values.put("paymentDate", formatPaidAt(payment));
+    values.put("paymentMethod", payment.getPaymentMethod() != null ? payment.getPaymentMethod().toString() : "N/A");
+    values.put("transactionReference",
+        payment.getTransactionReference() != null ? payment.getTransactionReference() : "N/A");
+    values.put("paymentStatus", payment.getStatus() != null ? payment.getStatus().toString() : "N/A");
+    return values;
+  }
+
+  private static Map<String, String> withIssueDate(Map<String, String> values) {
+    String today = LocalDate.now().format(DATE_FORMATTER);
+    values.put("date", "Date: " + today);
+    values.put("generated", "Hostel Management System | " + UNIVERSITY_NAME + " | Generated on " + today);
+    return values;
+  }
+
+  // ── Template layout ────────────────────────────────────────────────────────
+
   private void addHeader(Document document) throws DocumentException {
     try {
       ClassPathResource logoResource = new ClassPathResource("logo.png");
@@ -96,36 +223,19 @@ public class PdfAllocationLetterService {
     document.add(new Paragraph("\n"));
   }
 
-  private void addTitle(Document document, String titleText, String refPrefix) throws DocumentException {
+  private void addTitle(Document document, String titleText) throws DocumentException {
     Paragraph title = new Paragraph(titleText, TITLE_FONT);
     title.setAlignment(Element.ALIGN_CENTER);
     title.setSpacingAfter(5);
     document.add(title);
 
-    Paragraph reference = new Paragraph("Ref: " + refPrefix + System.currentTimeMillis(), SMALL_FONT);
-    reference.setAlignment(Element.ALIGN_CENTER);
-    reference.setSpacingAfter(20);
-    document.add(reference);
+    addTextSlot(document, "ref", SMALL_FONT, Element.ALIGN_CENTER, "Ref: HMS/RECEIPT/0000000000", 0, 20);
   }
 
-  private void addLetterContent(Document document, Student student, Booking booking, Payment payment)
-      throws DocumentException {
-    Paragraph dateParagraph = new Paragraph("Date: " + java.time.LocalDate.now().format(DATE_FORMATTER), SMALL_FONT);
-    dateParagraph.setSpacingAfter(20);
-    document.add(dateParagraph);
-
-    Paragraph salutation = new Paragraph("Dear " + student.getFullName() + ",", REGULAR_FONT);
-    salutation.setSpacingAfter(15);
-    document.add(salutation);
-
-    Paragraph opening = new Paragraph(
-        "Congratulations! We are pleased to inform you that your application for hostel "
-            + "accommodation has been successful. This letter serves as your official allocation "
-            + "notice and confirms your hostel placement for the academic year "
-            + booking.getAcademicYear() + ".",
-        REGULAR_FONT);
-    opening.setSpacingAfter(15);
-    document.add(opening);
+  private void addLetterContent(Document document) throws DocumentException {
+    addTextSlot(document, "date", SMALL_FONT, Element.ALIGN_LEFT, "Date: 00 Sep 0000", 0, 20);
+    addTextSlot(document, "salutation", REGULAR_FONT, Element.ALIGN_LEFT, "Dear Student,", 0, 15);
+    addTextSlot(document, "opening", REGULAR_FONT, Element.ALIGN_LEFT, String.format(OPENING_TEXT, "0000/0000"), 0, 15);
 
     Paragraph detailsTitle = new Paragraph("ALLOCATION DETAILS", BOLD_FONT);
     detailsTitle.setSpacingAfter(10);
@@ -136,22 +246,16 @@ public class PdfAllocationLetterService {
     detailsTable.setWidthPercentage(100);
     detailsTable.setSpacingAfter(15);
 
-    Room room = booking.getRoom();
-    String hostelName = room != null && room.getHostel() != null ? room.getHostel().getName() : "Not Yet Assigned";
-    String roomNumber = room != null && room.getRoomNumber() != null ? room.getRoomNumber() : "To Be Assigned";
-    String roomType = room != null && room.getRoomType() != null ? room.getRoomType().toString() : "N/A";
-    String floorNumber = room != null ? String.valueOf(room.getFloorNumber()) : "N/A";
-
-    addDetailRow(detailsTable, "Student ID:", student.getId().toString());
-    addDetailRow(detailsTable, "Full Name:", student.getFullName());
-    addDetailRow(detailsTable, "Email:", student.getEmail());
-    addDetailRow(detailsTable, "Level:", student.getCurrentLevel() + "00");
-    addDetailRow(detailsTable, "Hostel:", hostelName);
-    addDetailRow(detailsTable, "Room Number:", roomNumber);
-    addDetailRow(detailsTable, "Room Type:", roomType);
-    addDetailRow(detailsTable, "Floor Number:", floorNumber);
-    addDetailRow(detailsTable, "Academic Year:", booking.getAcademicYear());
-    addDetailRow(detailsTable, "Academic Session:", booking.getAcademicSession());
+    addDetailRow(detailsTable, "Student ID:", "studentId");
+    addDetailRow(detailsTable, "Full Name:", "fullName");
+    addDetailRow(detailsTable, "Email:", "email");
+    addDetailRow(detailsTable, "Level:", "level");
+    addDetailRow(detailsTable, "Hostel:", "hostel");
+    addDetailRow(detailsTable, "Room Number:", "roomNumber");
+    addDetailRow(detailsTable, "Room Type:", "roomType");
+    addDetailRow(detailsTable, "Floor Number:", "floorNumber");
+    addDetailRow(detailsTable, "Academic Year:", "academicYear");
+    addDetailRow(detailsTable, "Academic Session:", "academicSession");
     document.add(detailsTable);
 
     Paragraph paymentTitle = new Paragraph("PAYMENT INFORMATION", BOLD_FONT);
@@ -163,19 +267,10 @@ public class PdfAllocationLetterService {
     paymentTable.setWidthPercentage(100);
     paymentTable.setSpacingAfter(15);
 
-    addDetailRow(paymentTable, "Amount Paid:", formatAmount(payment.getAmount()));
-    addDetailRow(paymentTable, "Payment Date:",
-        payment.getPaidAt() != null
-            ? java.time.Instant.ofEpochSecond(payment.getPaidAt().getEpochSecond())
-                .atZone(java.time.ZoneId.systemDefault())
-                .format(DATE_FORMATTER)
-            : "Pending");
-    addDetailRow(
-      paymentTable,
-      "Payment Method:",
-      payment.getPaymentMethod() != null ? payment.getPaymentMethod().toString() : "N/A");
-    addDetailRow(paymentTable, "Transaction Reference:",
-        payment.getTransactionReference() != null ? payment.getTransactionReference() : "N/A");
+    addDetailRow(paymentTable, "Amount Paid:", "amount");
+    addDetailRow(paymentTable, "Payment Date:", "paymentDate");
+    addDetailRow(paymentTable, "Payment Method:", "paymentMethod");
+    addDetailRow(paymentTable, "Transaction Reference:", "transactionReference");
     document.add(paymentTable);
 
     Paragraph termsTitle = new Paragraph("TERMS AND CONDITIONS", BOLD_FONT);
@@ -183,8 +278,8 @@ public class PdfAllocationLetterService {
     termsTitle.setSpacingBefore(15);
     document.add(termsTitle);
 
+    addTextSlot(document, "termOne", SMALL_FONT, Element.ALIGN_LEFT, String.format(TERM_ONE_TEXT, "0000/0000"), 0, 5);
     String[] terms = {
-        "1. This allocation letter is valid for the academic year " + booking.getAcademicYear() + ".",
         "2. You are required to register your details at the hostel office within 48 hours of receiving this letter.",
         "3. Students must comply with all hostel rules and regulations.",
         "4. Damages to hostel property will be charged to the student's account.",
@@ -214,11 +309,8 @@ public class PdfAllocationLetterService {
     document.add(signature);
   }
 
-  private void addReceiptContent(Document document, Student student, Payment payment, Booking booking)
-      throws DocumentException {
-    Paragraph dateParagraph = new Paragraph("Date: " + java.time.LocalDate.now().format(DATE_FORMATTER), SMALL_FONT);
-    dateParagraph.setSpacingAfter(20);
-    document.add(dateParagraph);
+  private void addReceiptContent(Document document) throws DocumentException {
+    addTextSlot(document, "date", SMALL_FONT, Element.ALIGN_LEFT, "Date: 00 Sep 0000", 0, 20);
 
     Font greenFont = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD, BaseColor.GREEN);
     Paragraph status = new Paragraph("PAYMENT CONFIRMED", greenFont);
@@ -235,10 +327,10 @@ public class PdfAllocationLetterService {
     payerTable.setWidthPercentage(100);
     payerTable.setSpacingAfter(15);
 
-    addDetailRow(payerTable, "Student ID:", student.getId().toString());
-    addDetailRow(payerTable, "Student Name:", student.getFullName());
-    addDetailRow(payerTable, "Email:", student.getEmail());
-    addDetailRow(payerTable, "Phone:", student.getPhone() != null ? student.getPhone() : "N/A");
+    addDetailRow(payerTable, "Student ID:", "studentId");
+    addDetailRow(payerTable, "Student Name:", "fullName");
+    addDetailRow(payerTable, "Email:", "email");
+    addDetailRow(payerTable, "Phone:", "phone");
     document.add(payerTable);
 
     Paragraph paymentDetailsTitle = new Paragraph("PAYMENT DETAILS", BOLD_FONT);
@@ -250,20 +342,12 @@ public class PdfAllocationLetterService {
     paymentDetailsTable.setWidthPercentage(100);
     paymentDetailsTable.setSpacingAfter(15);
 
-    addDetailRow(paymentDetailsTable, "Booking ID:", booking.getId().toString());
-    addDetailRow(paymentDetailsTable, "Amount Paid:", formatAmount(payment.getAmount()));
-    addDetailRow(paymentDetailsTable, "Payment Date:",
-        payment.getPaidAt() != null
-            ? java.time.Instant.ofEpochSecond(payment.getPaidAt().getEpochSecond())
-                .atZone(java.time.ZoneId.systemDefault())
-                .format(DATE_FORMATTER)
-            : "Pending");
-    addDetailRow(paymentDetailsTable, "Payment Method:",
-        payment.getPaymentMethod() != null ? payment.getPaymentMethod().toString() : "N/A");
-    addDetailRow(paymentDetailsTable, "Transaction Reference:",
-        payment.getTransactionReference() != null ? payment.getTransactionReference() : "N/A");
-    addDetailRow(paymentDetailsTable, "Payment Status:",
-      payment.getStatus() != null ? payment.getStatus().toString() : "N/A");
+    addDetailRow(paymentDetailsTable, "Booking ID:", "bookingId");
+    addDetailRow(paymentDetailsTable, "Amount Paid:", "amount");
+    addDetailRow(paymentDetailsTable, "Payment Date:", "paymentDate");
+    addDetailRow(paymentDetailsTable, "Payment Method:", "paymentMethod");
+    addDetailRow(paymentDetailsTable, "Transaction Reference:", "transactionReference");
+    addDetailRow(paymentDetailsTable, "Payment Status:", "paymentStatus");
     document.add(paymentDetailsTable);
 
     Font darkGrayFont = new Font(Font.FontFamily.HELVETICA, 10);
@@ -284,32 +368,193 @@ public class PdfAllocationLetterService {
     document.add(footer);
   }
 
-  private void addDetailRow(PdfPTable table, String label, String value) {
+  /** A label cell and an empty value cell whose position becomes the {@code slot}. */
+  private void addDetailRow(PdfPTable table, String label, String slot) {
     PdfPCell labelCell = new PdfPCell(new Phrase(label, BOLD_FONT));
     labelCell.setBorder(Rectangle.NO_BORDER);
-    labelCell.setPadding(5);
+    labelCell.setPadding(CELL_PADDING);
 
-    PdfPCell valueCell = new PdfPCell(new Phrase(value != null ? value : "N/A", REGULAR_FONT));
+    PdfPCell valueCell = new PdfPCell(new Phrase("", REGULAR_FONT));
     valueCell.setBorder(Rectangle.NO_BORDER);
-    valueCell.setPadding(5);
+    valueCell.setPadding(CELL_PADDING);
+    valueCell.setCellEvent(new SlotRecorder(slot, REGULAR_FONT, Element.ALIGN_LEFT, CELL_PADDING));
 
     table.addCell(labelCell);
     table.addCell(valueCell);
   }
 
-  private String formatAmount(BigDecimal amount) {
-    return String.format("GHS %.2f", amount != null ? amount : BigDecimal.ZERO);
+  /**
+   * Reserves a full-width slot tall enough for {@code sample}, standing in for a paragraph whose
+   * text varies per document.
+   */
+  private void addTextSlot(
+      Document document, String slot, Font font, int alignment, String sample, float spacingBefore, float spacingAfter)
+      throws DocumentException {
+    float width = document.right() - document.left();
+    ColumnText measure = new ColumnText(null);
+    measure.setSimpleColumn(new Phrase(sample, font), 0, 0, width, 10_000, leading(font), alignment);
+    measure.go(true);
+
+    PdfPCell cell = new PdfPCell();
+    cell.setBorder(Rectangle.NO_BORDER);
+    cell.setPadding(0);
+    cell.setMinimumHeight(Math.max(1, measure.getLinesWritten()) * leading(font) + font.getSize() * 0.3f);
+    cell.setCellEvent(new SlotRecorder(slot, font, alignment, 0));
+
+    PdfPTable table = new PdfPTable(1);
+    table.setWidthPercentage(100);
+    table.setSpacingBefore(spacingBefore);
+    table.setSpacingAfter(spacingAfter);
+    table.addCell(cell);
+    document.add(table);
   }
 
   private void addFooter(Document document) throws DocumentException {
     document.add(new Paragraph("\n"));
-    Font darkGrayFont = new Font(Font.FontFamily.HELVETICA, 8);
-    darkGrayFont.setColor(BaseColor.DARK_GRAY);
-    Paragraph footerText = new Paragraph(
-        "Hostel Management System | " + UNIVERSITY_NAME + " | Generated on "
-            + java.time.LocalDate.now().format(DATE_FORMATTER),
-        darkGrayFont);
-    footerText.setAlignment(Element.ALIGN_CENTER);
-    document.add(footerText);
+    addTextSlot(document, "generated", FOOTER_FONT, Element.ALIGN_CENTER,
+        "Hostel Management System | " + UNIVERSITY_NAME + " | Generated on 00 Sep 0000", 0, 0);
+  }
+
+  // ── Template building and stamping ─────────────────────────────────────────
+
+  private interface Layout {
+    void addTo(Document document) throws DocumentException;
+  }
+
+  private record Slot(int page, Rectangle box, Font font, int alignment) {}
+
+  private record Template(byte[] pdf, Map<String, Slot> slots) {}
+
+  /** Records where iText placed a slot's cell: page number and content rectangle. */
+  private final class SlotRecorder implements PdfPCellEvent {
+
+    private final String name;
+    private final Font font;
+    private final int alignment;
+    private final float padding;
+
+    SlotRecorder(String name, Font font, int alignment, float padding) {
+      this.name = name;
+      this.font = font;
+      this.alignment = alignment;
+      this.padding = padding;
+    }
+
+    @Override
+    public void cellLayout(PdfPCell cell, Rectangle position, PdfContentByte[] canvases) {
+      int page = canvases[PdfPTable.TEXTCANVAS].getPdfWriter().getPageNumber();
+      Rectangle box =
+          new Rectangle(
+              position.getLeft() + padding,
+              position.getBottom() + padding,
+              position.getRight() - padding,
+              position.getTop() - padding);
+      recording.put(name, new Slot(page, box, font, alignment));
+    }
+  }
+
+  private Template buildTemplate(String name, Layout layout) {
+    Map<String, Slot> slots = new LinkedHashMap<>();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    recording = slots;
+    try {
+      Document document = new Document(PageSize.A4, MARGIN, MARGIN, MARGIN, MARGIN);
+      PdfWriter.getInstance(document, outputStream);
+      document.open();
+      layout.addTo(document);
+      document.close();
+    } catch (DocumentException e) {
+      throw new IllegalStateException("Failed to lay out the " + name + " template", e);
+    } finally {
+      recording = null;
+    }
+    return new Template(outputStream.toByteArray(), Map.copyOf(slots));
+  }
+
+  private static void stamp(
+      Template template, Map<String, String> values, OutputStream out, PdfDocumentCache.DocumentType type)
+      throws IOException {
+    try {
+      PdfReader reader = new PdfReader(template.pdf());
+      PdfStamper stamper = new PdfStamper(reader, new NonClosingOutputStream(out));
+      for (Map.Entry<String, Slot> entry : template.slots().entrySet()) {
+        String value = values.get(entry.getKey());
+        Slot slot = entry.getValue();
+        write(stamper.getOverContent(slot.page()), slot, value != null ? value : "N/A");
+      }
+      stamper.close();
+      reader.close();
+    } catch (DocumentException e) {
+      throw new RuntimeException("Failed to generate " + type.name().toLowerCase(Locale.ROOT) + " PDF", e);
+    }
+  }
+
+  /** PdfStamper closes its target on {@code close()}; the servlet stream belongs to the container. */
+  private static final class NonClosingOutputStream extends FilterOutputStream {
+
+    NonClosingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+
+  /** Writes {@code text} into the slot, shrinking the font until it fits. */
+  private static void write(PdfContentByte canvas, Slot slot, String text) throws DocumentException {
+    Font font = slot.font();
+    for (float size = font.getSize(); ; size -= 0.5f) {
+      Font sized = new Font(font.getFamily(), size, font.getStyle(), font.getColor());
+      ColumnText fit = column(canvas, slot, text, sized);
+      if (size <= MIN_FONT_SIZE || !ColumnText.hasMoreText(fit.go(true))) {
+        column(canvas, slot, text, sized).go();
+        return;
+      }
+    }
+  }
+
+  private static ColumnText column(PdfContentByte canvas, Slot slot, String text, Font font) {
+    Rectangle box = slot.box();
+    ColumnText column = new ColumnText(canvas);
+    column.setSimpleColumn(
+        new Phrase(text, font), box.getLeft(), box.getBottom(), box.getRight(), box.getTop(), leading(font),
+        slot.alignment());
+    return column;
+  }
+
+  private static float leading(Font font) {
+    return font.getSize() * 1.5f;
+  }
+
+  private static String fingerprint(Map<String, String> values) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      values.forEach((key, value) -> {
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+      });
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private String formatAmount(BigDecimal amount) {
+    return String.format("GHS %.2f", amount != null ? amount : BigDecimal.ZERO);
+  }
+
+  private static String formatPaidAt(Payment payment) {
+    return payment.getPaidAt() != null
+        ? payment.getPaidAt().atZone(ZoneId.systemDefault()).format(DATE_FORMATTER)
+        : "Pending";
   }
 }
@@ -0,0 +1,89 @@
+package com.hostelmanagement.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-node cache of finished allocation letters and receipts. Right after a batch of approvals,
+ * thousands of students download their letter at about the same time, often more than once.
+ *
+ * <p>Entries are keyed by booking and document type and carry the version they were rendered
+ * for: a fingerprint of every value the document shows (see {@link PdfDocumentSnapshot}). When
+ * the booking, its payment, the student or the room changes, the fingerprint changes too. The
+ * next download re-renders the document and replaces the stale copy, on every node and with no
+ * invalidation messages.
+ *
+ * <p>The cache is bounded by total PDF bytes ({@code app.pdf.cache.max-mb}). Entries expire
+ * {@code app.pdf.cache.ttl-hours} after rendering, so the printed issue date does not lag far
+ * behind. Hits and misses are published as {@code cache.gets{cache=pdf-documents}}.
+ *
+ * <p>Each rendered copy gets a strong ETag taken from its bytes. iText stamps a fresh document ID
+ * and modification date on every render, so two renders of the same version are different
+ * files. Byte ranges resumed against the ETag must come from the same copy.
+ */
+@Component
+public class PdfDocumentCache {
+
+  public enum DocumentType {
+    ALLOCATION_LETTER,
+    PAYMENT_RECEIPT
+  }
+
+  /** A rendered document; {@code etag} is quoted and ready for the {@code ETag} header. */
+  public record RenderedPdf(String version, byte[] pdf, String etag) {}
+
+  private record Key(Long bookingId, DocumentType type) {}
+
+  private final Cache<Key, RenderedPdf> documents;
+
+  public PdfDocumentCache(
+      MeterRegistry meterRegistry,
+      @Value("${app.pdf.cache.max-mb:64}") long maxMegabytes,
+      @Value("${app.pdf.cache.ttl-hours:24}") long ttlHours) {
+    this.documents =
+        Caffeine.newBuilder()
+            .maximumWeight(maxMegabytes * 1024 * 1024)
+            .weigher((Key key, RenderedPdf rendered) -> rendered.pdf().length)
+            .expireAfterWrite(Duration.ofHours(ttlHours))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, documents, "pdf-documents");
+  }
+
+  /**
+   * Returns the cached document if it was rendered for the snapshot's version, otherwise renders
+   * it and caches the result in place of any older version.
+   */
+  public RenderedPdf get(PdfDocumentSnapshot snapshot, Supplier<byte[]> render) {
+    Key key = new Key(snapshot.bookingId(), snapshot.type());
+    RenderedPdf cached = documents.getIfPresent(key);
+    if (cached != null && cached.version().equals(snapshot.version())) {
+      return cached;
+    }
+    byte[] pdf = render.get();
+    RenderedPdf rendered = new RenderedPdf(snapshot.version(), pdf, etag(pdf));
+    documents.put(key, rendered);
+    return rendered;
+  }
+
+  private static String etag(byte[] pdf) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(pdf);
+      return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.hostelmanagement.service;
+
+import java.util.Map;
+
+/**
+ * Everything an allocation letter or receipt shows apart from its issue date, read in one short
+ * read-only transaction. {@link PdfAllocationLetterService#write} renders from the snapshot
+ * alone, so no database connection is held while the PDF is rendered or downloaded.
+ *
+ * @param values slot name to display text; values may be {@code null}
+ * @param version SHA-256 fingerprint of {@code values}
+ */
+public record PdfDocumentSnapshot(
+    Long bookingId, PdfDocumentCache.DocumentType type, Map<String, String> values, String version) {
+
+  public String filename() {
+    String prefix =
+        type == PdfDocumentCache.DocumentType.ALLOCATION_LETTER ? "allocation-letter-" : "payment-receipt-";
+    return prefix + bookingId + ".pdf";
+  }
+}
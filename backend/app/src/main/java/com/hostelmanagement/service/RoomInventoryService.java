@@ -0,0 +1,224 @@
+package com.hostelmanagement.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.RoomRepository;
+
+/**
+ * In-process mirror of free beds per room, used to reject applications for full rooms before
+ * they reach MySQL.
+ *
+ * <p>During the booking rush every {@code apply} used to lock the room row and fail late with a
+ * version conflict once the room filled up. This service keeps one atomic free-bed counter per
+ * room (plus aggregate counters per hostel/floor/gender partition) and reserves a bed with a
+ * compare-and-set loop. Only applications that won a bed go on to the database, where the
+ * occupancy update acts as the confirmation.
+ *
+ * <p><b>Consistency rules:</b>
+ * <ul>
+ *   <li>Rebuilt from {@link RoomRepository#findAllWithHostel()} on startup.
+ *   <li>A reservation taken inside a transaction is handed back automatically on rollback.
+ *   <li>Every {@link Room#decrementOccupancy()} is mirrored by {@link #releaseBedAfterCommit(Long)}.
+ *   <li>Admin room edits are mirrored by {@link #syncAfterCommit(Room)} / {@link #removeAfterCommit(Long)}.
+ * </ul>
+ *
+ * <p>The database remains the source of truth: rooms the index does not know about are passed
+ * through, and the locked row is still validated before occupancy is incremented.
+ */
+@Service
+public class RoomInventoryService {
+
+  private static final Logger log = LoggerFactory.getLogger(RoomInventoryService.class);
+
+  private final RoomRepository roomRepository;
+
+  private final Map<Long, RoomSlot> slots = new ConcurrentHashMap<>();
+  private final Map<Partition, AtomicInteger> partitionFreeBeds = new ConcurrentHashMap<>();
+
+  public RoomInventoryService(RoomRepository roomRepository) {
+    this.roomRepository = roomRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuildOnStartup() {
+    long startMs = System.currentTimeMillis();
+    int count = rebuild();
+    log.info("[INVENTORY] Loaded {} rooms into the in-memory inventory in {}ms",
+        count, System.currentTimeMillis() - startMs);
+  }
+
+  /**
+   * Reloads every counter from the rooms table.
+   *
+   * @return number of rooms indexed
+   */
+  @Transactional(readOnly = true)
+  public int rebuild() {
+    List<Room> rooms = roomRepository.findAllWithHostel();
+
+    slots.clear();
+    partitionFreeBeds.clear();
+    for (Room room : rooms) {
+      put(room.getId(), snapshotOf(room));
+    }
+    return rooms.size();
+  }
+
+  /**
+   * Reserves one bed in the given room for the current transaction.
+   *
+   * <p>If the surrounding transaction rolls back (validation failure, version conflict, ...)
+   * the bed is returned automatically.
+   *
+   * @return {@code false} when the room is known to be full; {@code true} when a bed was
+   *     reserved or the room is not tracked (the database then decides)
+   */
+  public boolean reserveBed(Long roomId) {
+    RoomSlot slot = slots.get(roomId);
+    if (slot == null) {
+      return true;
+    }
+
+    if (!slot.tryTake()) {
+      return false;
+    }
+    partitionCounter(slot.partition).decrementAndGet();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              if (status != STATUS_COMMITTED) {
+                giveBack(roomId, slot);
+              }
+            }
+          });
+    }
+    return true;
+  }
+
+  /** Mirrors a committed {@link Room#decrementOccupancy()}. */
+  public void releaseBedAfterCommit(Long roomId) {
+    AfterCommit.run(() -> {
+      RoomSlot slot = slots.get(roomId);
+      if (slot != null) {
+        giveBack(roomId, slot);
+      }
+    });
+  }
+
+  /** Mirrors a committed admin create/update of a room (capacity, floor, gender, hostel). */
+  public void syncAfterCommit(Room room) {
+    Long roomId = room.getId();
+    RoomSnapshot snapshot = snapshotOf(room);
+    AfterCommit.run(() -> put(roomId, snapshot));
+  }
+
+  /** Mirrors a committed room deletion. */
+  public void removeAfterCommit(Long roomId) {
+    AfterCommit.run(() -> {
+      RoomSlot removed = slots.remove(roomId);
+      if (removed != null) {
+        partitionCounter(removed.partition).addAndGet(-removed.freeBeds.get());
+      }
+    });
+  }
+
+  public int freeBeds(Long roomId) {
+    RoomSlot slot = slots.get(roomId);
+    return slot == null ? 0 : slot.freeBeds.get();
+  }
+
+  public int freeBeds(Long hostelId, int floorNumber, Gender gender) {
+    AtomicInteger counter = partitionFreeBeds.get(new Partition(hostelId, floorNumber, gender));
+    return counter == null ? 0 : counter.get();
+  }
+
+  public int trackedRooms() {
+    return slots.size();
+  }
+
+  private void giveBack(Long roomId, RoomSlot slot) {
+    // Ignore stale callbacks for a slot that was replaced by a rebuild or admin sync.
+    if (slots.get(roomId) == slot && slot.tryGiveBack()) {
+      partitionCounter(slot.partition).incrementAndGet();
+    }
+  }
+
+  private void put(Long roomId, RoomSnapshot snapshot) {
+    if (roomId == null) {
+      return;
+    }
+    RoomSlot fresh = new RoomSlot(snapshot.partition(), snapshot.capacity(), snapshot.freeBeds());
+    RoomSlot previous = slots.put(roomId, fresh);
+    if (previous != null) {
+      partitionCounter(previous.partition).addAndGet(-previous.freeBeds.get());
+    }
+    partitionCounter(fresh.partition).addAndGet(fresh.freeBeds.get());
+  }
+
+  private AtomicInteger partitionCounter(Partition partition) {
+    return partitionFreeBeds.computeIfAbsent(partition, k -> new AtomicInteger());
+  }
+
+  private static RoomSnapshot snapshotOf(Room room) {
+    Long hostelId = room.getHostel() == null ? null : room.getHostel().getId();
+    int free = Math.max(0, room.getCapacity() - room.getCurrentOccupancy());
+    return new RoomSnapshot(
+        new Partition(hostelId, room.getFloorNumber(), room.getRoomGender()), room.getCapacity(), free);
+  }
+
+  private record Partition(Long hostelId, int floorNumber, Gender gender) {}
+
+  private record RoomSnapshot(Partition partition, int capacity, int freeBeds) {}
+
+  private static final class RoomSlot {
+    private final Partition partition;
+    private final int capacity;
+    private final AtomicInteger freeBeds;
+
+    private RoomSlot(Partition partition, int capacity, int freeBeds) {
+      this.partition = partition;
+      this.capacity = capacity;
+      this.freeBeds = new AtomicInteger(freeBeds);
+    }
+
+    boolean tryTake() {
+      int current;
+      do {
+        current = freeBeds.get();
+        if (current <= 0) {
+          return false;
+        }
+      } while (!freeBeds.compareAndSet(current, current - 1));
+      return true;
+    }
+
+    boolean tryGiveBack() {
+      int current;
+      do {
+        current = freeBeds.get();
+        if (current >= capacity) {
+          return false;
+        }
+      } while (!freeBeds.compareAndSet(current, current + 1));
+      return true;
+    }
+  }
+}
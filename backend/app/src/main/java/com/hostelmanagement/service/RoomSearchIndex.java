@@ -0,0 +1,341 @@
+package com.hostelmanagement.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.MattressType;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.domain.RoomStatus;
+import com.hostelmanagement.domain.RoomType;
+import com.hostelmanagement.repository.RoomRepository;
+import com.hostelmanagement.web.dto.RoomResponse;
+
+/**
+ * In-memory bitmap index over the rooms table for preference searches.
+ *
+ * <p>Every room gets a dense position; each low-cardinality attribute value (gender, AC, WiFi,
+ * mattress type, room type, status, hostel, hostel active flag) owns one {@link BitSet} over those
+ * positions. "Available rooms matching my preferences" is then a handful of bitwise ANDs instead
+ * of a table scan through {@link RoomRepository#findMatchingRooms}.
+ *
+ * <p>The index is rebuilt on startup and kept current by the write paths in
+ * {@link BookingService}, {@link AdminRoomService}, {@link AdminHostelService} and
+ * {@link AcademicRolloverService}, which hand over a snapshot of the changed row that is applied
+ * once the transaction commits.
+ */
+@Service
+public class RoomSearchIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(RoomSearchIndex.class);
+
+  private static final Comparator<RoomResponse> RESULT_ORDER =
+      Comparator.comparing(RoomResponse::hostelName, Comparator.nullsLast(String::compareToIgnoreCase))
+          .thenComparingInt(RoomResponse::floorNumber)
+          .thenComparing(RoomResponse::price, Comparator.nullsLast(BigDecimal::compareTo))
+          .thenComparing(RoomResponse::roomNumber, Comparator.nullsLast(String::compareToIgnoreCase));
+
+  private final RoomRepository roomRepository;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Guarded by lock
+  private final Map<Long, Integer> positionByRoomId = new HashMap<>();
+  private final List<RoomResponse> rows = new ArrayList<>();
+  private final Deque<Integer> freePositions = new ArrayDeque<>();
+  private final BitSet live = new BitSet();
+  private final BitSet withAc = new BitSet();
+  private final BitSet withWifi = new BitSet();
+  private final BitSet activeHostel = new BitSet();
+  private final Map<Gender, BitSet> byGender = new EnumMap<>(Gender.class);
+  private final Map<MattressType, BitSet> byMattress = new EnumMap<>(MattressType.class);
+  private final Map<RoomType, BitSet> byRoomType = new EnumMap<>(RoomType.class);
+  private final Map<RoomStatus, BitSet> byStatus = new EnumMap<>(RoomStatus.class);
+  private final Map<Long, BitSet> byHostel = new HashMap<>();
+
+  public RoomSearchIndex(RoomRepository roomRepository) {
+    this.roomRepository = roomRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuildOnStartup() {
+    long startMs = System.currentTimeMillis();
+    int count = rebuild();
+    log.info("[ROOM-INDEX] Indexed {} rooms in {}ms", count, System.currentTimeMillis() - startMs);
+  }
+
+  /**
+   * Reloads the whole index from the rooms table.
+   *
+   * @return number of rooms indexed
+   */
+  @Transactional(readOnly = true)
+  public int rebuild() {
+    List<Room> rooms = roomRepository.findAllWithHostel();
+
+    lock.writeLock().lock();
+    try {
+      positionByRoomId.clear();
+      rows.clear();
+      freePositions.clear();
+      for (BitSet bits : allBitSets()) {
+        bits.clear();
+      }
+      byHostel.clear();
+
+      for (Room room : rooms) {
+        upsert(snapshotOf(room));
+      }
+      return positionByRoomId.size();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns available rooms in active hostels matching the given preferences.
+   *
+   * <p>{@code null} criteria fields mean "any"; {@code gender} is always required.
+   */
+  public List<RoomResponse> search(Criteria criteria) {
+    List<RoomResponse> matches = new ArrayList<>();
+
+    lock.readLock().lock();
+    try {
+      BitSet result = (BitSet) bitsFor(byStatus, RoomStatus.AVAILABLE).clone();
+      result.and(activeHostel);
+      result.and(bitsFor(byGender, criteria.gender()));
+
+      if (criteria.hostelId() != null) {
+        result.and(byHostel.getOrDefault(criteria.hostelId(), new BitSet()));
+      }
+      if (criteria.hasAc() != null) {
+        applyFlag(result, withAc, criteria.hasAc());
+      }
+      if (criteria.hasWifi() != null) {
+        applyFlag(result, withWifi, criteria.hasWifi());
+      }
+      if (criteria.mattressType() != null) {
+        result.and(bitsFor(byMattress, criteria.mattressType()));
+      }
+      if (criteria.roomType() != null) {
+        result.and(bitsFor(byRoomType, criteria.roomType()));
+      }
+
+      for (int pos = result.nextSetBit(0); pos >= 0; pos = result.nextSetBit(pos + 1)) {
+        matches.add(rows.get(pos));
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    matches.sort(RESULT_ORDER);
+    return matches;
+  }
+
+  /** Re-indexes the room (occupancy, status or attributes changed) once the transaction commits. */
+  public void refreshAfterCommit(Room room) {
+    IndexedRoom snapshot = snapshotOf(room);
+    AfterCommit.run(() -> {
+      lock.writeLock().lock();
+      try {
+        upsert(snapshot);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    });
+  }
+
+  /** Drops the room from the index once the transaction commits. */
+  public void removeAfterCommit(Long roomId) {
+    AfterCommit.run(() -> {
+      lock.writeLock().lock();
+      try {
+        remove(roomId);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    });
+  }
+
+  /** Propagates a hostel rename or (de)activation to all of its rooms once the transaction commits. */
+  public void refreshHostelAfterCommit(Hostel hostel) {
+    Long hostelId = hostel.getId();
+    String hostelName = hostel.getName();
+    boolean active = hostel.isActive();
+    AfterCommit.run(() -> {
+      lock.writeLock().lock();
+      try {
+        BitSet rooms = byHostel.get(hostelId);
+        if (rooms == null) {
+          return;
+        }
+        for (int pos = rooms.nextSetBit(0); pos >= 0; pos = rooms.nextSetBit(pos + 1)) {
+          activeHostel.set(pos, active);
+          rows.set(pos, withHostelName(rows.get(pos), hostelName));
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    });
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return positionByRoomId.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void upsert(IndexedRoom snapshot) {
+    RoomResponse row = snapshot.row();
+    if (row.id() == null) {
+      return;
+    }
+
+    Integer existing = positionByRoomId.get(row.id());
+    int pos;
+    if (existing != null) {
+      pos = existing;
+      clearPosition(pos);
+    } else {
+      pos = freePositions.isEmpty() ? rows.size() : freePositions.pop();
+      if (pos == rows.size()) {
+        rows.add(null);
+      }
+      positionByRoomId.put(row.id(), pos);
+    }
+
+    rows.set(pos, row);
+    live.set(pos);
+    withAc.set(pos, row.hasAc());
+    withWifi.set(pos, row.hasWifi());
+    activeHostel.set(pos, snapshot.hostelActive());
+    setIfPresent(byGender, row.roomGender(), pos);
+    setIfPresent(byMattress, row.mattressType(), pos);
+    setIfPresent(byRoomType, row.roomType(), pos);
+    setIfPresent(byStatus, row.status(), pos);
+    if (row.hostelId() != null) {
+      byHostel.computeIfAbsent(row.hostelId(), k -> new BitSet()).set(pos);
+    }
+  }
+
+  private void remove(Long roomId) {
+    Integer pos = positionByRoomId.remove(roomId);
+    if (pos == null) {
+      return;
+    }
+    clearPosition(pos);
+    rows.set(pos, null);
+    freePositions.push(pos);
+  }
+
+  private void clearPosition(int pos) {
+    for (BitSet bits : allBitSets()) {
+      bits.clear(pos);
+    }
+    RoomResponse previous = rows.get(pos);
+    if (previous != null && previous.hostelId() != null) {
+      BitSet hostelRooms = byHostel.get(previous.hostelId());
+      if (hostelRooms != null) {
+        hostelRooms.clear(pos);
+      }
+    }
+  }
+
+  private List<BitSet> allBitSets() {
+    List<BitSet> all = new ArrayList<>(List.of(live, withAc, withWifi, activeHostel));
+    all.addAll(byGender.values());
+    all.addAll(byMattress.values());
+    all.addAll(byRoomType.values());
+    all.addAll(byStatus.values());
+    return all;
+  }
+
+  private static <K> BitSet bitsFor(Map<K, BitSet> index, K key) {
+    BitSet bits = index.get(key);
+    return bits == null ? new BitSet() : bits;
+  }
+
+  private static <K> void setIfPresent(Map<K, BitSet> index, K key, int pos) {
+    if (key != null) {
+      index.computeIfAbsent(key, k -> new BitSet()).set(pos);
+    }
+  }
+
+  private static void applyFlag(BitSet result, BitSet flag, boolean wanted) {
+    if (wanted) {
+      result.and(flag);
+    } else {
+      result.andNot(flag);
+    }
+  }
+
+  private static IndexedRoom snapshotOf(Room room) {
+    Hostel hostel = room.getHostel();
+    RoomResponse row = new RoomResponse(
+        room.getId(),
+        hostel == null ? null : hostel.getId(),
+        hostel == null ? null : hostel.getName(),
+        room.getRoomNumber(),
+        room.getCapacity(),
+        room.getCurrentOccupancy(),
+        room.getRoomGender(),
+        room.getMattressType(),
+        room.isHasAc(),
+        room.isHasWifi(),
+        room.getStatus(),
+        room.getPrice(),
+        room.getFloorNumber(),
+        room.getRoomType());
+    return new IndexedRoom(row, hostel != null && hostel.isActive());
+  }
+
+  private static RoomResponse withHostelName(RoomResponse row, String hostelName) {
+    return new RoomResponse(
+        row.id(),
+        row.hostelId(),
+        hostelName,
+        row.roomNumber(),
+        row.capacity(),
+        row.currentOccupancy(),
+        row.roomGender(),
+        row.mattressType(),
+        row.hasAc(),
+        row.hasWifi(),
+        row.status(),
+        row.price(),
+        row.floorNumber(),
+        row.roomType());
+  }
+
+  /** Search criteria; {@code null} fields other than {@code gender} match any value. */
+  public record Criteria(
+      Gender gender,
+      Long hostelId,
+      Boolean hasAc,
+      Boolean hasWifi,
+      MattressType mattressType,
+      RoomType roomType) {}
+
+  private record IndexedRoom(RoomResponse row, boolean hostelActive) {}
+}
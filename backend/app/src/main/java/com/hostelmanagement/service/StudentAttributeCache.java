@@ -0,0 +1,39 @@
+package com.hostelmanagement.service;
+
+import java.util.Objects;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.repository.StudentRepository;
+
+/**
+ * Small cache of per-student attributes that drive shared cache keys.
+ *
+ * <p>Access tokens carry the student's gender, so this is only consulted for tokens issued before
+ * the claim existed. A student's gender is set at registration and never edited, so entries are
+ * only dropped when the student is deleted.
+ */
+@Service
+public class StudentAttributeCache {
+
+  public static final String GENDER_CACHE = "student-gender";
+
+  private final StudentRepository studentRepository;
+
+  public StudentAttributeCache(StudentRepository studentRepository) {
+    this.studentRepository = studentRepository;
+  }
+
+  @Cacheable(GENDER_CACHE)
+  @Transactional(readOnly = true)
+  public Gender genderOf(Long studentId) {
+    Long requiredStudentId = Objects.requireNonNull(studentId, "studentId is required");
+    return studentRepository
+        .findById(requiredStudentId)
+        .orElseThrow(() -> new IllegalArgumentException("Student not found"))
+        .getGender();
+  }
+}
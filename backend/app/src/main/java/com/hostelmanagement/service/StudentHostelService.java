@@ -9,12 +9,13 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.hostelmanagement.domain.Gender;
 import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.MattressType;
 import com.hostelmanagement.domain.Room;
-import com.hostelmanagement.domain.Student;
+import com.hostelmanagement.domain.RoomType;
 import com.hostelmanagement.repository.HostelRepository;
 import com.hostelmanagement.repository.RoomRepository;
-import com.hostelmanagement.repository.StudentRepository;
 import com.hostelmanagement.web.dto.HostelResponse;
 import com.hostelmanagement.web.dto.RoomResponse;
 
@@ -23,15 +24,15 @@ public class StudentHostelService {
 
   private final HostelRepository hostelRepository;
   private final RoomRepository roomRepository;
-  private final StudentRepository studentRepository;
+  private final RoomSearchIndex roomSearchIndex;
 
   public StudentHostelService(
       HostelRepository hostelRepository,
       RoomRepository roomRepository,
-      StudentRepository studentRepository) {
+      RoomSearchIndex roomSearchIndex) {
     this.hostelRepository = hostelRepository;
     this.roomRepository = roomRepository;
-    this.studentRepository = studentRepository;
+    this.roomSearchIndex = roomSearchIndex;
   }
 
   @Cacheable("active-hostels")
@@ -47,18 +48,17 @@ public class StudentHostelService {
         .toList();
   }
 
-  @Cacheable(value = "available-rooms", key = "#hostelId + '-' + #studentId")
+  /**
+   * Available rooms for one hostel and gender. The result does not depend on the student, so it
+   * is cached per (hostel, gender); callers resolve the gender from the access token.
+   */
+  @Cacheable(value = "available-rooms", key = "#hostelId + '-' + #gender")
   @Transactional(readOnly = true)
-  public List<RoomResponse> listAvailableRooms(Long studentId, Long hostelId) {
-    Long requiredStudentId = Objects.requireNonNull(studentId, "studentId is required");
+  public List<RoomResponse> listAvailableRooms(Long hostelId, Gender gender) {
     Objects.requireNonNull(hostelId, "hostelId is required");
+    Objects.requireNonNull(gender, "gender is required");
 
-    Student student =
-        studentRepository
-        .findById(requiredStudentId)
-            .orElseThrow(() -> new IllegalArgumentException("Student not found"));
-
-    return roomRepository.findAvailableByHostelIdAndGenderWithHostel(hostelId, student.getGender()).stream()
+    return roomRepository.findAvailableByHostelIdAndGenderWithHostel(hostelId, gender).stream()
         .sorted(
             Comparator.comparingInt(Room::getFloorNumber)
                 .thenComparing(Room::getPrice, Comparator.nullsLast(BigDecimal::compareTo))
@@ -67,6 +67,23 @@ public class StudentHostelService {
         .toList();
   }
 
+  /**
+   * Preference search across all active hostels (or one, when {@code hostelId} is given),
+   * answered from the in-memory {@link RoomSearchIndex}. {@code null} preferences match any value.
+   */
+  public List<RoomResponse> searchAvailableRooms(
+      Gender gender,
+      Long hostelId,
+      Boolean hasAc,
+      Boolean hasWifi,
+      MattressType mattressType,
+      RoomType roomType) {
+    Objects.requireNonNull(gender, "gender is required");
+
+    return roomSearchIndex.search(
+        new RoomSearchIndex.Criteria(gender, hostelId, hasAc, hasWifi, mattressType, roomType));
+  }
+
   private static HostelResponse toHostelDto(Hostel hostel) {
     return new HostelResponse(
         hostel.getId(),
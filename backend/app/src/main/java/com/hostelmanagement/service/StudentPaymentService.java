@@ -3,29 +3,24 @@ package com.hostelmanagement.service;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.security.GeneralSecurityException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -38,6 +33,7 @@ import com.hostelmanagement.domain.PaymentStatus;
 import com.hostelmanagement.domain.Student;
 import com.hostelmanagement.repository.BookingRepository;
 import com.hostelmanagement.repository.PaymentRepository;
+import com.hostelmanagement.security.HmacSignatureVerifier;
 import com.hostelmanagement.web.student.dto.PaymentGatewayInitResponse;
 import com.hostelmanagement.web.student.dto.PaymentHistoryItem;
 import com.hostelmanagement.web.student.dto.SubmitPaymentResponse;
@@ -47,7 +43,6 @@ public class StudentPaymentService {
 
   private static final long MAX_RECEIPT_SIZE_BYTES = 10L * 1024 * 1024;
   private static final String RECEIPTS_DIR = "uploads/payment-receipts";
-  private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder().build();
   
   // Paystack Keys
   private static final String REF_KEY = "reference";
@@ -62,11 +57,14 @@ public class StudentPaymentService {
   private final PaymentRepository paymentRepository;
   private final BookingService bookingService;
   private final PdfAllocationLetterService pdfAllocationLetterService;
+  private final PdfDocumentCache pdfDocumentCache;
   private final ObjectMapper objectMapper;
+  private final AnalyticsProjectionService analyticsProjectionService;
+  private final PaystackClient paystackClient;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransaction;
   
-  private final String paystackBaseUrl;
-  private final String paystackSecretKey;
-  private final String paystackWebhookSecret;
+  private final HmacSignatureVerifier webhookVerifier;
   private final String paystackCallbackUrl;
 
   public StudentPaymentService(
@@ -74,8 +72,11 @@ public class StudentPaymentService {
       PaymentRepository paymentRepository,
       BookingService bookingService,
       PdfAllocationLetterService pdfAllocationLetterService,
+      PdfDocumentCache pdfDocumentCache,
       ObjectMapper objectMapper,
-      @Value("${app.payments.paystack.base-url:https://api.paystack.co}") String paystackBaseUrl,
+      AnalyticsProjectionService analyticsProjectionService,
+      PaystackClient paystackClient,
+      PlatformTransactionManager transactionManager,
       @Value("${app.payments.paystack.secret-key:}") String paystackSecretKey,
       @Value("${app.payments.paystack.webhook-secret:}") String paystackWebhookSecret,
       @Value("${app.payments.paystack.callback-url:http://localhost:3000/student/payments}") String paystackCallbackUrl) {
@@ -84,10 +85,20 @@ public class StudentPaymentService {
     this.paymentRepository = paymentRepository;
     this.bookingService = bookingService;
     this.pdfAllocationLetterService = pdfAllocationLetterService;
+    this.pdfDocumentCache = pdfDocumentCache;
     this.objectMapper = objectMapper;
-    this.paystackBaseUrl = paystackBaseUrl;
-    this.paystackSecretKey = paystackSecretKey;
-    this.paystackWebhookSecret = paystackWebhookSecret;
+    this.analyticsProjectionService = analyticsProjectionService;
+    this.paystackClient = paystackClient;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    // Paystack signs webhooks with the secret key unless a dedicated webhook secret is set.
+    String webhookSecret =
+        (paystackWebhookSecret != null && !paystackWebhookSecret.isBlank()) ? paystackWebhookSecret : paystackSecretKey;
+    this.webhookVerifier =
+        (webhookSecret == null || webhookSecret.isBlank())
+            ? null
+            : new HmacSignatureVerifier("HmacSHA256", webhookSecret.getBytes(StandardCharsets.UTF_8));
     this.paystackCallbackUrl = paystackCallbackUrl;
   }
 
@@ -136,17 +147,24 @@ public class StudentPaymentService {
         "Payment proof submitted successfully. Awaiting admin confirmation.");
   }
 
-  @Transactional
-  public PaymentGatewayInitResponse initiateGatewayPayment(
+  /**
+   * Starts a Paystack checkout for the booking's pending payment.
+   *
+   * <p>The gateway call happens between two short transactions so no database connection is held
+   * while waiting on Paystack: the first validates the booking and reads what the payload needs, the
+   * second re-validates and records the gateway reference once Paystack has answered.
+   */
+  public CompletableFuture<PaymentGatewayInitResponse> initiateGatewayPayment(
       Long studentId, Long bookingId, PaymentMethod paymentMethod) {
-      
-    Payment payment = validateAndGetStudentPayment(studentId, bookingId);
-    Student student = payment.getStudent();
-
     ensurePaystackConfigured();
 
+    GatewayCharge charge = readOnlyTransaction.execute(status -> {
+      Payment payment = validateAndGetStudentPayment(studentId, bookingId);
+      return new GatewayCharge(payment.getStudent().getEmail(), payment.getAmount());
+    });
+
     String reference = "HMS-" + bookingId + "-" + Instant.now().toEpochMilli();
-    long amountInPesewas = toMinorUnits(payment.getAmount());
+    long amountInPesewas = toMinorUnits(charge.amount());
 
     List<String> channels = switch (paymentMethod) {
       case MTN_MOMO, TELECEL_CASH -> List.of("mobile_money");
@@ -154,7 +172,7 @@ public class StudentPaymentService {
     };
 
     Map<String, Object> payload = Map.of(
-        "email", student.getEmail(),
+        "email", charge.email(),
         AMOUNT_KEY, amountInPesewas,
         CURRENCY_KEY, "GHS",
         REF_KEY, reference,
@@ -167,105 +185,115 @@ public class StudentPaymentService {
         )
     );
 
-    JsonNode data = callPaystack("/transaction/initialize", payload);
-
-    payment.setPaymentMethod(paymentMethod);
-    payment.setTransactionReference(reference);
-    payment.setStatus(PaymentStatus.PENDING);
-    paymentRepository.save(payment);
+    return paystackClient.initializeTransaction(payload).thenApply(data -> {
+      transactionTemplate.executeWithoutResult(status -> {
+        Payment payment = validateAndGetStudentPayment(studentId, bookingId);
+        payment.setPaymentMethod(paymentMethod);
+        payment.setTransactionReference(reference);
+        payment.setStatus(PaymentStatus.PENDING);
+        paymentRepository.save(payment);
+      });
 
-    return new PaymentGatewayInitResponse(
-        bookingId,
-        paymentMethod,
-        reference,
-        data.path("authorization_url").asText(),
-        data.path("access_code").asText(),
-        "Gateway initialized. Complete payment and then verify payment status.");
+      return new PaymentGatewayInitResponse(
+          bookingId,
+          paymentMethod,
+          reference,
+          data.path("authorization_url").asText(),
+          data.path("access_code").asText(),
+          "Gateway initialized. Complete payment and then verify payment status.");
+    });
   }
 
-  @Transactional
-  public SubmitPaymentResponse verifyGatewayPayment(Long studentId, Long bookingId) {
-    Payment payment = validateAndGetStudentPaymentForVerification(studentId, bookingId);
-
+  /**
+   * Confirms a gateway payment with Paystack and approves the booking on success. As with
+   * {@link #initiateGatewayPayment}, the Paystack call sits between two transactions.
+   */
+  public CompletableFuture<SubmitPaymentResponse> verifyGatewayPayment(Long studentId, Long bookingId) {
     ensurePaystackConfigured();
 
-    if (payment.getTransactionReference() == null || payment.getTransactionReference().isBlank()) {
-      throw new IllegalArgumentException("No gateway transaction found for this booking");
-    }
+    GatewayVerification pending = readOnlyTransaction.execute(status -> {
+      Payment payment = validateAndGetStudentPaymentForVerification(studentId, bookingId);
 
-    if (payment.getStatus() == PaymentStatus.COMPLETED && payment.getBooking().getStatus() == BookingStatus.APPROVED) {
-      return new SubmitPaymentResponse(
-          bookingId,
-          payment.getBooking().getStatus(),
-          payment.getStatus(),
-          payment.getPaymentMethod(),
-          payment.getAmount(),
-          payment.getTransactionReference(),
-          payment.getReceiptFilename(),
-          payment.getPaidAt(),
-          "Payment already verified.");
+      if (payment.getTransactionReference() == null || payment.getTransactionReference().isBlank()) {
+        throw new IllegalArgumentException("No gateway transaction found for this booking");
+      }
+      if (payment.getStatus() == PaymentStatus.COMPLETED && payment.getBooking().getStatus() == BookingStatus.APPROVED) {
+        return new GatewayVerification(null, toSubmitResponse(payment, payment.getBooking().getStatus(), "Payment already verified."));
+      }
+      return new GatewayVerification(payment.getTransactionReference(), null);
+    });
+
+    if (pending.alreadyVerified() != null) {
+      return CompletableFuture.completedFuture(pending.alreadyVerified());
     }
 
-    JsonNode data = callPaystack("/transaction/verify/" + payment.getTransactionReference(), null);
+    return paystackClient.verifyTransaction(pending.reference())
+        .thenApply(data -> transactionTemplate.execute(status -> applyGatewayVerification(studentId, bookingId, data)));
+  }
+
+  private SubmitPaymentResponse applyGatewayVerification(Long studentId, Long bookingId, JsonNode data) {
+    // Lock the payment before reading anything else. The webhook consumer takes the same lock, so
+    // only one of the two completes it, and the booking read below already sees the other's commit.
+    Payment payment = paymentRepository.findByBookingIdForUpdate(bookingId)
+        .orElseThrow(() -> new IllegalArgumentException("Payment record not found"));
+    validateBookingForVerification(payment.getBooking(), studentId);
     validateGatewayPayloadForPayment(data, payment);
     String gatewayStatus = data.path("status").asText("").toLowerCase(Locale.ROOT);
 
     if (!"success".equals(gatewayStatus)) {
-      return new SubmitPaymentResponse(
-          bookingId,
+      return toSubmitResponse(
+          payment,
           payment.getBooking().getStatus(),
-          payment.getStatus(),
-          payment.getPaymentMethod(),
-          payment.getAmount(),
-          payment.getTransactionReference(),
-          payment.getReceiptFilename(),
-          payment.getPaidAt(),
           "Payment not yet successful. Please complete payment and try verify again.");
     }
 
+    if (payment.getStatus() == PaymentStatus.COMPLETED) {
+      return toSubmitResponse(payment, payment.getBooking().getStatus(), "Payment already verified.");
+    }
     payment.setStatus(PaymentStatus.COMPLETED);
     payment.setPaidAt(Instant.now());
     paymentRepository.save(payment);
+    analyticsProjectionService.paymentCompleted(payment.getAmount(), payment.getPaidAt());
 
     Booking approved = bookingService.updateStatus(bookingId, BookingStatus.APPROVED);
 
+    return toSubmitResponse(payment, approved.getStatus(), "Payment verified successfully and booking approved.");
+  }
+
+  private static SubmitPaymentResponse toSubmitResponse(Payment payment, BookingStatus bookingStatus, String message) {
     return new SubmitPaymentResponse(
-        bookingId,
-        approved.getStatus(),
+        payment.getBooking().getId(),
+        bookingStatus,
         payment.getStatus(),
         payment.getPaymentMethod(),
         payment.getAmount(),
         payment.getTransactionReference(),
         payment.getReceiptFilename(),
         payment.getPaidAt(),
-        "Payment verified successfully and booking approved.");
+        message);
   }
 
   /**
-   * Generates a PDF allocation letter for a student's booking. 
-   * Validates that the student owns the booking and payment/admin approval is confirmed.
+   * Reads what the allocation letter for a student's booking shows. Validates that the student
+   * owns the booking and payment/admin approval is confirmed. Runs in a short read-only
+   * transaction; render the result with {@link #renderDocument} after it has returned.
    */
-  @Transactional
-  public byte[] generateAllocationLetterPdf(Long studentId, Long bookingId) {
+  public PdfDocumentSnapshot allocationLetterSnapshot(Long studentId, Long bookingId) {
     try {
-      Booking booking = bookingRepository.findById(bookingId)
-          .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+      return readOnlyTransaction.execute(status -> {
+        Booking booking = loadOwnedBooking(studentId, bookingId);
+        Payment payment = resolvePaymentForDownload(booking);
 
-      if (!booking.getStudent().getId().equals(studentId)) {
-        throw new AccessDeniedException("You can only access your own booking");
-      }
+        boolean isPaymentCompleted = payment.getStatus() == PaymentStatus.COMPLETED;
+        boolean isBookingApproved = booking.getStatus() == BookingStatus.APPROVED;
 
-      Payment payment = resolvePaymentForDownload(booking);
-
-      boolean isPaymentCompleted = payment.getStatus() == PaymentStatus.COMPLETED;
-      boolean isBookingApproved = booking.getStatus() == BookingStatus.APPROVED;
-
-      if (!isPaymentCompleted && !isBookingApproved) {
-        throw new IllegalArgumentException(
-            "Allocation letter is only available after successful payment or admin approval");
-      }
+        if (!isPaymentCompleted && !isBookingApproved) {
+          throw new IllegalArgumentException(
+              "Allocation letter is only available after successful payment or admin approval");
+        }
 
-      return pdfAllocationLetterService.generateAllocationLetterPdf(booking.getStudent(), booking, payment);
+        return pdfAllocationLetterService.allocationLetterSnapshot(booking.getStudent(), booking, payment);
+      });
     } catch (IllegalArgumentException ex) {
       throw ex;
     } catch (Exception ex) {
@@ -274,30 +302,26 @@ public class StudentPaymentService {
   }
 
   /**
-   * Generates a payment receipt PDF for a student's payment. 
-   * Validates that the student owns the booking and payment/admin approval allows receipt access.
+   * Reads what the payment receipt for a student's booking shows. Validates that the student owns
+   * the booking and payment/admin approval allows receipt access. Runs in a short read-only
+   * transaction; render the result with {@link #renderDocument} after it has returned.
    */
-  @Transactional
-  public byte[] generatePaymentReceiptPdf(Long studentId, Long bookingId) {
+  public PdfDocumentSnapshot paymentReceiptSnapshot(Long studentId, Long bookingId) {
     try {
-      Booking booking = bookingRepository.findById(bookingId)
-          .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
-
-      if (!booking.getStudent().getId().equals(studentId)) {
-        throw new AccessDeniedException("You can only access your own booking");
-      }
+      return readOnlyTransaction.execute(status -> {
+        Booking booking = loadOwnedBooking(studentId, bookingId);
+        Payment payment = resolvePaymentForDownload(booking);
 
-      Payment payment = resolvePaymentForDownload(booking);
+        boolean canDownloadReceipt = payment.getStatus() == PaymentStatus.COMPLETED
+            || payment.getStatus() == PaymentStatus.PENDING
+            || booking.getStatus() == BookingStatus.APPROVED;
 
-      boolean canDownloadReceipt = payment.getStatus() == PaymentStatus.COMPLETED
-          || payment.getStatus() == PaymentStatus.PENDING
-          || booking.getStatus() == BookingStatus.APPROVED;
+        if (!canDownloadReceipt) {
+          throw new IllegalArgumentException("Receipt is only available for pending, completed, or approved bookings");
+        }
 
-      if (!canDownloadReceipt) {
-        throw new IllegalArgumentException("Receipt is only available for pending, completed, or approved bookings");
-      }
-
-      return pdfAllocationLetterService.generatePaymentReceiptPdf(booking.getStudent(), payment, booking);
+        return pdfAllocationLetterService.paymentReceiptSnapshot(booking.getStudent(), payment, booking);
+      });
     } catch (IllegalArgumentException ex) {
       throw ex;
     } catch (Exception ex) {
@@ -305,6 +329,24 @@ public class StudentPaymentService {
     }
   }
 
+  /**
+   * Returns the rendered document for a snapshot, from {@link PdfDocumentCache} when the same
+   * version was rendered before. Outside any transaction.
+   */
+  public PdfDocumentCache.RenderedPdf renderDocument(PdfDocumentSnapshot snapshot) {
+    return pdfDocumentCache.get(snapshot, () -> pdfAllocationLetterService.render(snapshot));
+  }
+
+  private Booking loadOwnedBooking(Long studentId, Long bookingId) {
+    Booking booking = bookingRepository.findById(bookingId)
+        .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+
+    if (!booking.getStudent().getId().equals(studentId)) {
+      throw new AccessDeniedException("You can only access your own booking");
+    }
+    return booking;
+  }
+
   /**
    * For approved bookings, we may not always have a fully populated payment record
    * (legacy/manual admin approvals). Build a safe in-memory fallback so document
@@ -315,7 +357,7 @@ public class StudentPaymentService {
         .orElseGet(() -> buildFallbackPaymentForApprovedBooking(booking));
   }
 
-  private Payment buildFallbackPaymentForApprovedBooking(Booking booking) {
+  static Payment buildFallbackPaymentForApprovedBooking(Booking booking) {
     if (booking.getStatus() != BookingStatus.APPROVED) {
       throw new IllegalArgumentException("Payment record not found");
     }
@@ -363,10 +405,41 @@ public class StudentPaymentService {
 
   // --- Webhook & Helper Methods ---
 
+  /**
+   * Verifies and applies a webhook in one call. The HTTP endpoint instead verifies on receipt and
+   * applies later through {@link PaymentWebhookInboxService}.
+   */
   @Transactional
   public void handlePaystackWebhook(String payload, String signature) {
-    requireValidWebhookSignature(payload, signature);
+    verifyWebhookSignature(payload.getBytes(StandardCharsets.UTF_8), signature);
+    applyPaystackEvent(payload);
+  }
 
+  /**
+   * Checks the {@code x-paystack-signature} HMAC of a raw webhook body.
+   *
+   * @throws AccessDeniedException if the signature is missing or does not match
+   */
+  public void verifyWebhookSignature(byte[] payload, String signature) {
+    if (signature == null || signature.isBlank()) {
+      throw new AccessDeniedException("Missing webhook signature");
+    }
+    if (webhookVerifier == null) {
+      throw new IllegalArgumentException("Webhook secret is not configured");
+    }
+    if (!webhookVerifier.verify(payload, signature.trim())) {
+      throw new AccessDeniedException("Invalid webhook signature");
+    }
+  }
+
+  /**
+   * Applies a verified Paystack event to its payment and booking. Idempotent: replays and stale
+   * events are ignored by the status transition guards.
+   *
+   * @throws IllegalArgumentException if the payload is not valid JSON
+   */
+  @Transactional
+  public void applyPaystackEvent(String payload) {
     try {
       JsonNode root = objectMapper.readTree(payload);
       String event = root.path("event").asText();
@@ -386,13 +459,14 @@ public class StudentPaymentService {
     String reference = getReference(data);
     if (reference == null) return;
 
-    paymentRepository.findByTransactionReference(reference).ifPresent(payment -> {
+    paymentRepository.findByTransactionReferenceForUpdate(reference).ifPresent(payment -> {
       if (!isEventConsistentWithPayment(data, payment) || !canTransitionToCompleted(payment)) {
         return;
       }
       payment.setStatus(PaymentStatus.COMPLETED);
       payment.setPaidAt(Instant.now());
       paymentRepository.save(payment);
+      analyticsProjectionService.paymentCompleted(payment.getAmount(), payment.getPaidAt());
 
       if (payment.getBooking().getStatus() == BookingStatus.PENDING_PAYMENT) {
         bookingService.updateStatus(payment.getBooking().getId(), BookingStatus.APPROVED);
@@ -404,7 +478,7 @@ public class StudentPaymentService {
     String reference = getReference(data);
     if (reference == null) return;
 
-    paymentRepository.findByTransactionReference(reference).ifPresent(payment -> {
+    paymentRepository.findByTransactionReferenceForUpdate(reference).ifPresent(payment -> {
       if (!isEventConsistentWithPayment(data, payment) || !canTransitionToCancelled(payment)) {
         return;
       }
@@ -432,7 +506,13 @@ public class StudentPaymentService {
   private Payment validateAndGetStudentPaymentForVerification(Long studentId, Long bookingId) {
     Booking booking = bookingRepository.findById(bookingId)
         .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+    validateBookingForVerification(booking, studentId);
+
+    return paymentRepository.findByBookingId(bookingId)
+        .orElseThrow(() -> new IllegalArgumentException("Payment record not found"));
+  }
 
+  private static void validateBookingForVerification(Booking booking, Long studentId) {
     if (!booking.getStudent().getId().equals(studentId)) {
       throw new IllegalArgumentException("You can only verify your own booking payment");
     }
@@ -440,13 +520,10 @@ public class StudentPaymentService {
     if (!(booking.getStatus() == BookingStatus.PENDING_PAYMENT || booking.getStatus() == BookingStatus.APPROVED)) {
       throw new IllegalArgumentException("Payment verification is unavailable for this booking status");
     }
-
-    return paymentRepository.findByBookingId(bookingId)
-        .orElseThrow(() -> new IllegalArgumentException("Payment record not found"));
   }
 
   private void ensurePaystackConfigured() {
-    if (paystackSecretKey == null || paystackSecretKey.isBlank()) {
+    if (!paystackClient.isConfigured()) {
       throw new IllegalArgumentException("Payment gateway is not configured. Set PAYSTACK_SECRET_KEY.");
     }
   }
@@ -456,36 +533,6 @@ public class StudentPaymentService {
     return amount.multiply(BigDecimal.valueOf(100)).setScale(0, RoundingMode.HALF_UP).longValue();
   }
 
-  private JsonNode callPaystack(String path, Map<String, Object> payload) {
-    try {
-      HttpRequest.Builder builder = HttpRequest.newBuilder()
-          .uri(URI.create(paystackBaseUrl + path))
-          .header("Authorization", "Bearer " + paystackSecretKey)
-          .header("Content-Type", "application/json");
-
-      if (payload == null) {
-        builder.GET();
-      } else {
-        builder.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)));
-      }
-
-      HttpResponse<String> response = HTTP_CLIENT.send(builder.build(), HttpResponse.BodyHandlers.ofString());
-      JsonNode root = objectMapper.readTree(response.body());
-
-      if (response.statusCode() < 200 || response.statusCode() >= 300 || !root.path("status").asBoolean(false)) {
-        String message = root.path("message").asText("Unable to process payment with gateway");
-        throw new IllegalArgumentException(message);
-      }
-
-      return root.path("data");
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
-      throw new IllegalArgumentException("Payment gateway request failed. Please try again.");
-    } catch (IOException ex) {
-      throw new IllegalArgumentException("Payment gateway request failed. Please try again.");
-    }
-  }
-
   private static String normalizeReference(String transactionReference) {
     String normalized = transactionReference == null ? "" : transactionReference.trim();
     if (normalized.length() < 4 || normalized.length() > 120) {
@@ -523,25 +570,6 @@ public class StudentPaymentService {
     }
   }
 
-  private void requireValidWebhookSignature(String payload, String signature) {
-    if (signature == null || signature.isBlank()) {
-      throw new AccessDeniedException("Missing webhook signature");
-    }
-    String secret = resolveWebhookSecret();
-    if (secret == null || secret.isBlank()) {
-      throw new IllegalArgumentException("Webhook secret is not configured");
-    }
-    if (!verifyPaystackSignature(payload, signature, secret)) {
-      throw new AccessDeniedException("Invalid webhook signature");
-    }
-  }
-
-  private String resolveWebhookSecret() {
-    return (paystackWebhookSecret != null && !paystackWebhookSecret.isBlank()) 
-        ? paystackWebhookSecret 
-        : paystackSecretKey;
-  }
-
   private String getReference(JsonNode data) {
     String reference = data.path(REF_KEY).asText(null);
     return (reference == null || reference.isBlank()) ? null : reference;
@@ -628,25 +656,7 @@ public class StudentPaymentService {
     }
   }
 
-  private boolean verifyPaystackSignature(String payload, String signature, String secret) {
-    try {
-      Mac mac = Mac.getInstance("HmacSHA256");
-      SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-      mac.init(secretKeySpec);
-      byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-
-      StringBuilder hexString = new StringBuilder();
-      for (byte b : hash) {
-        String hex = Integer.toHexString(0xff & b);
-        if (hex.length() == 1) hexString.append('0');
-        hexString.append(hex);
-      }
+  private record GatewayCharge(String email, BigDecimal amount) {}
 
-      return java.security.MessageDigest.isEqual(
-          hexString.toString().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8),
-          signature.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
-    } catch (GeneralSecurityException ex) {
-      return false;
-    }
-  }
-}
\ No newline at end of file
+  private record GatewayVerification(String reference, SubmitPaymentResponse alreadyVerified) {}
+}
@@ -1,6 +1,6 @@
 package com.hostelmanagement.web;
 
-import com.hostelmanagement.service.StudentPaymentService;
+import com.hostelmanagement.service.PaymentWebhookInboxService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -12,17 +12,21 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/payments/webhook")
 public class PaymentWebhookController {
 
-  private final StudentPaymentService studentPaymentService;
+  private final PaymentWebhookInboxService paymentWebhookInboxService;
 
-  public PaymentWebhookController(StudentPaymentService studentPaymentService) {
-    this.studentPaymentService = studentPaymentService;
+  public PaymentWebhookController(PaymentWebhookInboxService paymentWebhookInboxService) {
+    this.paymentWebhookInboxService = paymentWebhookInboxService;
   }
 
+  /**
+   * Verifies and stores the event; it is applied asynchronously from the inbox. The body is taken
+   * as raw bytes so the signature is checked on exactly what Paystack signed.
+   */
   @PostMapping("/paystack")
   public ResponseEntity<String> paystackWebhook(
-      @RequestBody String payload,
+      @RequestBody byte[] payload,
       @RequestHeader(value = "x-paystack-signature", required = false) String signature) {
-    studentPaymentService.handlePaystackWebhook(payload, signature);
+    paymentWebhookInboxService.receive(payload, signature);
     return ResponseEntity.ok("ok");
   }
 }
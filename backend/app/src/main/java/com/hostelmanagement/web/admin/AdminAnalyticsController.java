@@ -1,50 +1,47 @@
 package com.hostelmanagement.web.admin;
 
-import com.hostelmanagement.domain.PaymentStatus;
 import com.hostelmanagement.domain.BookingStatus;
-import com.hostelmanagement.repository.BookingRepository;
-import com.hostelmanagement.repository.PaymentRepository;
-import com.hostelmanagement.repository.RoomRepository;
+import com.hostelmanagement.domain.HostelOccupancySummary;
 import com.hostelmanagement.repository.HostelRepository;
-import com.hostelmanagement.domain.Hostel;
-import com.hostelmanagement.domain.Room;
-import com.hostelmanagement.domain.Booking;
-import com.hostelmanagement.domain.Payment;
+import com.hostelmanagement.repository.MonthlyRevenueSummaryRepository;
+import com.hostelmanagement.service.AnalyticsProjectionService;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Admin analytics controller providing dashboard metrics data.
  * Includes occupancy rates, revenue over time, and other KPIs.
+ *
+ * <p>All figures come from the summary tables maintained by {@link AnalyticsProjectionService},
+ * so each call reads O(hostels + months) rows regardless of how many bookings and payments exist.
  */
 @RestController
 @RequestMapping("/api/admin/analytics")
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminAnalyticsController {
 
-  private final BookingRepository bookingRepository;
-  private final PaymentRepository paymentRepository;
-  private final RoomRepository roomRepository;
+  private static final int MAX_RANGE_MONTHS = 60;
+
+  private final AnalyticsProjectionService analyticsProjectionService;
   private final HostelRepository hostelRepository;
 
   public AdminAnalyticsController(
-      BookingRepository bookingRepository,
-      PaymentRepository paymentRepository,
-      RoomRepository roomRepository,
+      AnalyticsProjectionService analyticsProjectionService,
       HostelRepository hostelRepository) {
-    this.bookingRepository = bookingRepository;
-    this.paymentRepository = paymentRepository;
-    this.roomRepository = roomRepository;
+    this.analyticsProjectionService = analyticsProjectionService;
     this.hostelRepository = hostelRepository;
   }
 
@@ -56,31 +53,19 @@ public class AdminAnalyticsController {
    */
   @GetMapping("/occupancy")
   public ResponseEntity<Map<String, Object>> getOccupancyAnalytics() {
-    List<Hostel> hostels = hostelRepository.findAll();
-    List<Room> allRooms = roomRepository.findAll();
-    List<Booking> approvedBookings =
-        bookingRepository.findByStatus(BookingStatus.APPROVED);
-
-    // Extract room IDs from approved bookings to determine occupied rooms
-    Set<Long> occupiedRoomIds =
-        approvedBookings.stream()
-            .map(b -> b.getRoom() != null ? b.getRoom().getId() : null)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
+    Map<Long, HostelOccupancySummary> summaries =
+        analyticsProjectionService.hostelOccupancy().stream()
+            .collect(Collectors.toMap(HostelOccupancySummary::getHostelId, Function.identity()));
 
     Map<String, Object> occupancyData = new LinkedHashMap<>();
+    int totalRoomsAllHostels = 0;
+    long totalBookedRooms = 0;
 
     // Calculate for each hostel
-    for (Hostel hostel : hostels) {
-      List<Room> hostelRooms = allRooms.stream()
-          .filter(r -> r.getHostel().getId().equals(hostel.getId()))
-          .collect(Collectors.toList());
-
-      int totalCapacity = hostelRooms.size();
-      long bookedCount =
-          hostelRooms.stream()
-              .filter(r -> occupiedRoomIds.contains(r.getId()))
-              .count();
+    for (HostelRepository.HostelName hostel : hostelRepository.findAllNames()) {
+      HostelOccupancySummary summary = summaries.get(hostel.getId());
+      int totalCapacity = summary == null ? 0 : summary.getTotalRooms();
+      long bookedCount = summary == null ? 0 : summary.getBookedRooms();
       long emptyCount = totalCapacity - bookedCount;
 
       Map<String, Object> hostelData = new LinkedHashMap<>();
@@ -91,12 +76,12 @@ public class AdminAnalyticsController {
       hostelData.put("occupancyRate", totalCapacity > 0 ? (bookedCount * 100.0 / totalCapacity) : 0);
 
       occupancyData.put(hostel.getName(), hostelData);
+      totalRoomsAllHostels += totalCapacity;
+      totalBookedRooms += bookedCount;
     }
 
     // Calculate overall statistics
     Map<String, Object> overall = new LinkedHashMap<>();
-    int totalRoomsAllHostels = allRooms.size();
-    long totalBookedRooms = occupiedRoomIds.size();
     long totalEmptyRooms = totalRoomsAllHostels - totalBookedRooms;
 
     overall.put("totalRooms", totalRoomsAllHostels);
@@ -111,52 +96,47 @@ public class AdminAnalyticsController {
   }
 
   /**
-   * Get revenue analytics - total payments by month for the last 12 months.
+   * Get revenue analytics - total payments by month for the last 12 months, or for the given
+   * date range (inclusive, at most {@value #MAX_RANGE_MONTHS} months).
    * Useful for bar charts and revenue trend analysis.
    *
    * @return List of monthly revenue data
    */
   @GetMapping("/revenue")
-  public ResponseEntity<List<Map<String, Object>>> getRevenueAnalytics() {
-    List<Payment> completedPayments =
-        paymentRepository.findAll().stream()
-            .filter(p -> p.getStatus() == PaymentStatus.COMPLETED && p.getPaidAt() != null)
-            .collect(Collectors.toList());
-
-    // Get last 12 months of data
-    LocalDate today = LocalDate.now();
-    LocalDate twelveMonthsAgo = today.minusMonths(11);
-    YearMonth startMonth = YearMonth.from(twelveMonthsAgo);
-
-    // Initialize map for each month
-    Map<YearMonth, BigDecimal> monthlyRevenue = new TreeMap<>();
-    for (int i = 0; i < 12; i++) {
-      monthlyRevenue.put(startMonth.plusMonths(i), BigDecimal.ZERO);
-    }
-
-    // Aggregate payments by month
-    for (Payment payment : completedPayments) {
-      Instant paidAt = payment.getPaidAt();
-      if (paidAt != null) {
-        LocalDate paymentDate = paidAt.atZone(ZoneId.systemDefault()).toLocalDate();
-        YearMonth paymentMonth = YearMonth.from(paymentDate);
-
-        if (!paymentMonth.isBefore(startMonth)) {
-          monthlyRevenue.merge(
-              paymentMonth,
-              payment.getAmount() != null ? payment.getAmount() : BigDecimal.ZERO,
-              BigDecimal::add);
-        }
+  public ResponseEntity<List<Map<String, Object>>> getRevenueAnalytics(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    YearMonth startMonth;
+    YearMonth endMonth;
+    Map<YearMonth, BigDecimal> revenueByMonth;
+
+    if (from == null && to == null) {
+      // Get last 12 months of data
+      endMonth = YearMonth.now(ZoneOffset.UTC);
+      startMonth = endMonth.minusMonths(11);
+      revenueByMonth = analyticsProjectionService.revenueSince(startMonth);
+    } else {
+      LocalDate rangeEnd = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+      LocalDate rangeStart = from != null ? from : rangeEnd.minusMonths(11).withDayOfMonth(1);
+      startMonth = YearMonth.from(rangeStart);
+      endMonth = YearMonth.from(rangeEnd);
+      if (endMonth.isBefore(startMonth)) {
+        throw new IllegalArgumentException("'from' must not be after 'to'");
       }
+      if (startMonth.plusMonths(MAX_RANGE_MONTHS).isBefore(endMonth.plusMonths(1))) {
+        throw new IllegalArgumentException("Revenue range cannot exceed " + MAX_RANGE_MONTHS + " months");
+      }
+      // Arbitrary day boundaries cannot come from the monthly summary; aggregate in the database.
+      revenueByMonth = analyticsProjectionService.revenueBetween(rangeStart, rangeEnd);
     }
 
     // Convert to list for JSON response
     List<Map<String, Object>> result = new ArrayList<>();
-    for (Map.Entry<YearMonth, BigDecimal> entry : monthlyRevenue.entrySet()) {
+    for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
       Map<String, Object> monthData = new LinkedHashMap<>();
-      monthData.put("month", entry.getKey().toString()); // Format: YYYY-MM
-      monthData.put("monthDisplay", entry.getKey().format(java.time.format.DateTimeFormatter.ofPattern("MMM yyyy")));
-      monthData.put("revenue", entry.getValue());
+      monthData.put("month", month.toString()); // Format: YYYY-MM
+      monthData.put("monthDisplay", month.format(java.time.format.DateTimeFormatter.ofPattern("MMM yyyy")));
+      monthData.put("revenue", revenueByMonth.getOrDefault(month, BigDecimal.ZERO));
       result.add(monthData);
     }
 
@@ -171,41 +151,29 @@ public class AdminAnalyticsController {
    */
   @GetMapping("/summary")
   public ResponseEntity<Map<String, Object>> getSummaryStatistics() {
-    List<Booking> allBookings = bookingRepository.findAll();
-    List<Booking> approvedBookings =
-        bookingRepository.findByStatus(BookingStatus.APPROVED);
-    List<Booking> pendingPaymentBookings =
-        bookingRepository.findByStatus(BookingStatus.PENDING_PAYMENT);
-
-    // Calculate revenue
-    List<Payment> completedPayments =
-        paymentRepository.findAll().stream()
-            .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-            .collect(Collectors.toList());
-
-    BigDecimal totalRevenue = completedPayments.stream()
-        .map(Payment::getAmount)
-        .filter(Objects::nonNull)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    // Get occupancy stats
-    List<Room> allRooms = roomRepository.findAll();
-    Set<Long> occupiedRoomIds = approvedBookings.stream()
-        .map(b -> b.getRoom() != null ? b.getRoom().getId() : null)
-        .filter(Objects::nonNull)
-        .collect(Collectors.toSet());
+    Map<BookingStatus, Long> bookingCounts = analyticsProjectionService.bookingCounts();
+    long totalBookings = bookingCounts.values().stream().mapToLong(Long::longValue).sum();
+
+    int totalRooms = 0;
+    long occupiedRooms = 0;
+    for (HostelOccupancySummary summary : analyticsProjectionService.hostelOccupancy()) {
+      totalRooms += summary.getTotalRooms();
+      occupiedRooms += summary.getBookedRooms();
+    }
+
+    MonthlyRevenueSummaryRepository.RevenueTotals revenue = analyticsProjectionService.revenueTotals();
 
     Map<String, Object> summary = new LinkedHashMap<>();
-    summary.put("totalBookings", allBookings.size());
-    summary.put("approvedBookings", approvedBookings.size());
-    summary.put("pendingPaymentBookings", pendingPaymentBookings.size());
-    summary.put("totalRooms", allRooms.size());
-    summary.put("occupiedRooms", occupiedRoomIds.size());
-    summary.put("emptyRooms", allRooms.size() - occupiedRoomIds.size());
+    summary.put("totalBookings", totalBookings);
+    summary.put("approvedBookings", bookingCounts.getOrDefault(BookingStatus.APPROVED, 0L));
+    summary.put("pendingPaymentBookings", bookingCounts.getOrDefault(BookingStatus.PENDING_PAYMENT, 0L));
+    summary.put("totalRooms", totalRooms);
+    summary.put("occupiedRooms", occupiedRooms);
+    summary.put("emptyRooms", totalRooms - occupiedRooms);
     summary.put("occupancyRate",
-        allRooms.size() > 0 ? (occupiedRoomIds.size() * 100.0 / allRooms.size()) : 0);
-    summary.put("totalRevenue", totalRevenue);
-    summary.put("completedPayments", completedPayments.size());
+        totalRooms > 0 ? (occupiedRooms * 100.0 / totalRooms) : 0);
+    summary.put("totalRevenue", revenue.getRevenue());
+    summary.put("completedPayments", revenue.getPayments());
     summary.put("timestamp", Instant.now().toString());
 
     return ResponseEntity.ok(summary);
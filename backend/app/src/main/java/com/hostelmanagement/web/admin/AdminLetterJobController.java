@@ -0,0 +1,81 @@
+package com.hostelmanagement.web.admin;
+
+import com.hostelmanagement.security.JwtUser;
+import com.hostelmanagement.service.LetterGenerationJobService;
+import com.hostelmanagement.service.LetterGenerationJobService.LetterArchive;
+import com.hostelmanagement.service.LetterGenerationJobService.LetterJobView;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulk allocation-letter jobs. Progress is also pushed to the requesting admin on
+ * {@code /user/queue/letter-jobs}.
+ */
+@RestController
+@RequestMapping("/api/admin/letter-jobs")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminLetterJobController {
+
+  private final LetterGenerationJobService letterGenerationJobService;
+
+  public AdminLetterJobController(LetterGenerationJobService letterGenerationJobService) {
+    this.letterGenerationJobService = letterGenerationJobService;
+  }
+
+  @PostMapping
+  public ResponseEntity<LetterJobView> submit(
+      @AuthenticationPrincipal JwtUser user, @RequestBody LetterJobRequest request) {
+    return ResponseEntity.accepted()
+        .body(letterGenerationJobService.submit(user.userId(), request.academicTermId(), request.hostelId()));
+  }
+
+  @GetMapping
+  public ResponseEntity<List<LetterJobView>> recent(@RequestParam(defaultValue = "20") int limit) {
+    return ResponseEntity.ok(letterGenerationJobService.recent(Math.clamp(limit, 1, 100)));
+  }
+
+  @GetMapping("/{jobId}")
+  public ResponseEntity<LetterJobView> get(@PathVariable Long jobId) {
+    return ResponseEntity.ok(letterGenerationJobService.get(jobId));
+  }
+
+  @PostMapping("/{jobId}/cancel")
+  public ResponseEntity<LetterJobView> cancel(@PathVariable Long jobId) {
+    return ResponseEntity.ok(letterGenerationJobService.cancel(jobId));
+  }
+
+  @PostMapping("/{jobId}/resume")
+  public ResponseEntity<LetterJobView> resume(@PathVariable Long jobId) {
+    return ResponseEntity.ok(letterGenerationJobService.resume(jobId));
+  }
+
+  /**
+   * Streams the job's letters as a ZIP without buffering the archive in memory. Written on the
+   * request thread rather than through {@code StreamingResponseBody}, so large archives are not cut
+   * off by the async request timeout.
+   */
+  @GetMapping("/{jobId}/download")
+  public void download(@PathVariable Long jobId, HttpServletResponse response) throws IOException {
+    LetterArchive archive = letterGenerationJobService.archive(jobId);
+    response.setContentType("application/zip");
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment().filename(archive.filename()).build().toString());
+    LetterGenerationJobService.writeZip(archive, response.getOutputStream());
+  }
+
+  public record LetterJobRequest(Long academicTermId, Long hostelId) {}
+}
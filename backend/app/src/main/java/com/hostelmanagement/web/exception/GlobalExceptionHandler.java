@@ -2,11 +2,15 @@ package com.hostelmanagement.web.exception;
 
 import java.util.Map;
 
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -17,17 +21,57 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import com.hostelmanagement.service.AdmissionRejectedException;
+import com.hostelmanagement.service.BookingStillProcessingException;
+import com.hostelmanagement.service.BulkheadFullException;
+import com.hostelmanagement.service.PaymentGatewayUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
   private static final String ERROR_KEY = "error";
 
+  private final MeterRegistry meterRegistry;
+
+  public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST)
         .body(Map.of(ERROR_KEY, ex.getMessage()));
   }
 
+  @ExceptionHandler(AdmissionRejectedException.class)
+  public ResponseEntity<Map<String, Object>> handleAdmissionRejected(AdmissionRejectedException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(Map.of(ERROR_KEY, ex.getMessage()));
+  }
+
+  @ExceptionHandler(BookingStillProcessingException.class)
+  public ResponseEntity<Map<String, Object>> handleBookingStillProcessing(BookingStillProcessingException ex) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("message", ex.getMessage()));
+  }
+
+  @ExceptionHandler(BulkheadFullException.class)
+  public ResponseEntity<Map<String, Object>> handleBulkheadFull(BulkheadFullException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(Map.of(ERROR_KEY, ex.getMessage()));
+  }
+
+  @ExceptionHandler(PaymentGatewayUnavailableException.class)
+  public ResponseEntity<Map<String, Object>> handleGatewayUnavailable(PaymentGatewayUnavailableException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(Map.of(ERROR_KEY, ex.getMessage()));
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
     var first = ex.getBindingResult().getFieldErrors().stream().findFirst().orElse(null);
@@ -41,6 +85,33 @@ public class GlobalExceptionHandler {
       .body(Map.of(ERROR_KEY, "Request violates a database constraint"));
   }
 
+  /**
+   * Optimistic version clashes on a room (e.g. {@code RoomRepository.findByIdForUpdate}) and row
+   * lock timeouts or deadlocks. The request can be retried, so it is a 409 rather than a 500;
+   * {@code db.lock.conflicts{exception,entity}} counts them for capacity testing; {@code entity} is
+   * the versioned class (e.g. {@code Room}) for optimistic clashes and {@code none} otherwise.
+   */
+  @ExceptionHandler(ConcurrencyFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+    Counter.builder("db.lock.conflicts")
+        .description("Requests that failed on an optimistic version clash, lock timeout or deadlock")
+        .tag("exception", ex.getClass().getSimpleName())
+        .tag("entity", conflictingEntity(ex))
+        .register(meterRegistry)
+        .increment();
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(Map.of(ERROR_KEY, "The record was changed by another request. Please try again."));
+  }
+
+  private static String conflictingEntity(ConcurrencyFailureException ex) {
+    if (ex instanceof ObjectOptimisticLockingFailureException optimistic
+        && optimistic.getPersistentClassName() != null) {
+      String className = optimistic.getPersistentClassName();
+      return className.substring(className.lastIndexOf('.') + 1);
+    }
+    return "none";
+  }
+
   @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
   public ResponseEntity<Map<String, Object>> handleMethodNotSupported(HttpRequestMethodNotSupportedException ex) {
     String method = ex.getMethod();
@@ -76,6 +147,10 @@ public class GlobalExceptionHandler {
 
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
+    // A database bulkhead rejection surfaces wrapped, e.g. in CannotCreateTransactionException.
+    if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof BulkheadFullException full) {
+      return handleBulkheadFull(full);
+    }
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
         .body(Map.of(ERROR_KEY, "Internal server error"));
   }
@@ -18,6 +18,7 @@ public class NotificationMessage {
   private String severity; // success, warning, error, info
   private Long bookingId;
   private Long paymentId;
+  private Integer queuePosition;
   private Instant timestamp;
 
   // Default constructor for JSON deserialization
@@ -85,6 +86,27 @@ public class NotificationMessage {
     return msg;
   }
 
+  /**
+   * Creates a booking-queue position update.
+   *
+   * @param studentId the student receiving the notification
+   * @param position 1-based place in the admission queue
+   * @return notification message
+   */
+  public static NotificationMessage admissionQueued(Long studentId, int position) {
+    NotificationMessage msg = new NotificationMessage();
+    msg.studentId = studentId;
+    msg.type = "ADMISSION_QUEUED";
+    msg.title = "You're in the queue";
+    msg.message = position == 1
+        ? "You're next. Your application is about to be processed."
+        : "Your application is number " + position + " in the queue. Please keep this page open.";
+    msg.severity = "info";
+    msg.queuePosition = position;
+    msg.timestamp = Instant.now();
+    return msg;
+  }
+
   // Getters and setters
   public Long getStudentId() {
     return studentId;
@@ -142,6 +164,14 @@ public class NotificationMessage {
     this.paymentId = paymentId;
   }
 
+  public Integer getQueuePosition() {
+    return queuePosition;
+  }
+
+  public void setQueuePosition(Integer queuePosition) {
+    this.queuePosition = queuePosition;
+  }
+
   public Instant getTimestamp() {
     return timestamp;
   }
@@ -171,6 +201,8 @@ public class NotificationMessage {
         + bookingId
         + ", paymentId="
         + paymentId
+        + ", queuePosition="
+        + queuePosition
         + ", timestamp="
         + timestamp
         + '}';
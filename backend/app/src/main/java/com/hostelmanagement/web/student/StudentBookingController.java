@@ -1,6 +1,7 @@
 package com.hostelmanagement.web.student;
 
 import com.hostelmanagement.security.JwtUser;
+import com.hostelmanagement.service.BookingAdmissionService;
 import com.hostelmanagement.service.BookingService;
 import com.hostelmanagement.web.dto.ApplyRequest;
 import com.hostelmanagement.web.dto.BookingResponse;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequestMapping("/api/student")
@@ -16,15 +18,19 @@ import org.springframework.web.bind.annotation.*;
 public class StudentBookingController {
 
   private final BookingService bookingService;
+  private final BookingAdmissionService bookingAdmissionService;
 
-  public StudentBookingController(BookingService bookingService) {
+  public StudentBookingController(
+      BookingService bookingService, BookingAdmissionService bookingAdmissionService) {
     this.bookingService = bookingService;
+    this.bookingAdmissionService = bookingAdmissionService;
   }
 
+  /** Completes once the application is admitted from the booking queue and processed. */
   @PostMapping("/apply")
-  public ResponseEntity<BookingResponse> apply(
+  public DeferredResult<BookingResponse> apply(
       @AuthenticationPrincipal JwtUser user, @Valid @RequestBody ApplyRequest request) {
-    return ResponseEntity.ok(bookingService.apply(user.userId(), request));
+    return bookingAdmissionService.submit(user.userId(), request);
   }
 
   @GetMapping("/booking")
@@ -8,9 +8,14 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.MattressType;
+import com.hostelmanagement.domain.RoomType;
 import com.hostelmanagement.security.JwtUser;
+import com.hostelmanagement.service.StudentAttributeCache;
 import com.hostelmanagement.service.StudentHostelService;
 import com.hostelmanagement.web.dto.HostelResponse;
 import com.hostelmanagement.web.dto.RoomResponse;
@@ -21,9 +26,12 @@ import com.hostelmanagement.web.dto.RoomResponse;
 public class StudentHostelController {
 
   private final StudentHostelService studentHostelService;
+  private final StudentAttributeCache studentAttributeCache;
 
-  public StudentHostelController(StudentHostelService studentHostelService) {
+  public StudentHostelController(
+      StudentHostelService studentHostelService, StudentAttributeCache studentAttributeCache) {
     this.studentHostelService = studentHostelService;
+    this.studentAttributeCache = studentAttributeCache;
   }
 
   @GetMapping
@@ -34,6 +42,24 @@ public class StudentHostelController {
   @GetMapping("/{hostelId}/rooms")
   public ResponseEntity<List<RoomResponse>> listRooms(
       @AuthenticationPrincipal JwtUser user, @PathVariable Long hostelId) {
-    return ResponseEntity.ok(studentHostelService.listAvailableRooms(user.userId(), hostelId));
+    return ResponseEntity.ok(studentHostelService.listAvailableRooms(hostelId, genderOf(user)));
+  }
+
+  @GetMapping("/rooms/search")
+  public ResponseEntity<List<RoomResponse>> searchRooms(
+      @AuthenticationPrincipal JwtUser user,
+      @RequestParam(required = false) Long hostelId,
+      @RequestParam(required = false) Boolean hasAc,
+      @RequestParam(required = false) Boolean hasWifi,
+      @RequestParam(required = false) MattressType mattressType,
+      @RequestParam(required = false) RoomType roomType) {
+    return ResponseEntity.ok(
+        studentHostelService.searchAvailableRooms(
+            genderOf(user), hostelId, hasAc, hasWifi, mattressType, roomType));
+  }
+
+  /** Gender from the token claim; older tokens without the claim fall back to the cached lookup. */
+  private Gender genderOf(JwtUser user) {
+    return user.gender() != null ? user.gender() : studentAttributeCache.genderOf(user.userId());
   }
 }
@@ -2,6 +2,8 @@ package com.hostelmanagement.web.student;
 
 import com.hostelmanagement.domain.PaymentMethod;
 import com.hostelmanagement.security.JwtUser;
+import com.hostelmanagement.service.PdfDocumentCache;
+import com.hostelmanagement.service.PdfDocumentSnapshot;
 import com.hostelmanagement.service.StudentPaymentService;
 import com.hostelmanagement.web.student.dto.PaymentGatewayInitResponse;
 import com.hostelmanagement.web.student.dto.PaymentHistoryItem;
@@ -9,6 +11,10 @@ import com.hostelmanagement.web.student.dto.SubmitPaymentResponse;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -92,18 +98,20 @@ public class StudentPaymentController {
   }
 
   @PostMapping("/gateway/initiate")
-  public ResponseEntity<PaymentGatewayInitResponse> initiateGatewayPayment(
+  public CompletableFuture<ResponseEntity<PaymentGatewayInitResponse>> initiateGatewayPayment(
       @AuthenticationPrincipal JwtUser user, @RequestBody @Validated GatewayPaymentRequest request) {
-    return ResponseEntity.ok(
-        studentPaymentService.initiateGatewayPayment(
-            user.userId(), request.bookingId(), request.paymentMethod()));
+    return studentPaymentService
+        .initiateGatewayPayment(user.userId(), request.bookingId(), request.paymentMethod())
+        .thenApply(ResponseEntity::ok);
   }
 
   @PostMapping("/gateway/verify")
-  public ResponseEntity<SubmitPaymentResponse> verifyGatewayPayment(
+  public CompletableFuture<ResponseEntity<SubmitPaymentResponse>> verifyGatewayPayment(
       @AuthenticationPrincipal JwtUser user,
       @RequestBody @Validated VerifyGatewayPaymentRequest request) {
-    return ResponseEntity.ok(studentPaymentService.verifyGatewayPayment(user.userId(), request.bookingId()));
+    return studentPaymentService
+        .verifyGatewayPayment(user.userId(), request.bookingId())
+        .thenApply(ResponseEntity::ok);
   }
 
   /**
@@ -111,19 +119,12 @@ public class StudentPaymentController {
    *
    * @param user the authenticated student
    * @param bookingId the booking ID
-   * @return PDF file as byte array with appropriate headers
+   * @return the PDF; supports {@code If-None-Match} (304) and {@code Range} (206)
    */
   @GetMapping("/{bookingId}/allocation-letter")
-  public ResponseEntity<byte[]> downloadAllocationLetter(
+  public ResponseEntity<Resource> downloadAllocationLetter(
       @AuthenticationPrincipal JwtUser user, @PathVariable Long bookingId) {
-    byte[] pdfContent = studentPaymentService.generateAllocationLetterPdf(user.userId(), bookingId);
-
-    return ResponseEntity.ok()
-        .header(
-            HttpHeaders.CONTENT_DISPOSITION,
-            "attachment; filename=\"allocation-letter-" + bookingId + ".pdf\"")
-        .contentType(MediaType.valueOf("application/pdf"))
-        .body(pdfContent);
+    return pdfResponse(studentPaymentService.allocationLetterSnapshot(user.userId(), bookingId));
   }
 
   @GetMapping("/history")
@@ -140,18 +141,27 @@ public class StudentPaymentController {
    *
    * @param user the authenticated student
    * @param bookingId the booking ID
-   * @return PDF file as byte array with appropriate headers
+   * @return the PDF; supports {@code If-None-Match} (304) and {@code Range} (206)
    */
   @GetMapping("/{bookingId}/receipt")
-  public ResponseEntity<byte[]> downloadPaymentReceipt(
+  public ResponseEntity<Resource> downloadPaymentReceipt(
       @AuthenticationPrincipal JwtUser user, @PathVariable Long bookingId) {
-    byte[] pdfContent = studentPaymentService.generatePaymentReceiptPdf(user.userId(), bookingId);
+    return pdfResponse(studentPaymentService.paymentReceiptSnapshot(user.userId(), bookingId));
+  }
 
+  /**
+   * Serves a document. The snapshot was read in its own transaction, so no connection is held
+   * here. The body is the rendered bytes, usually shared with {@code PdfDocumentCache}, not a
+   * copy. Spring answers {@code If-None-Match} with 304 from the ETag and {@code Range} with 206
+   * for {@link Resource} bodies.
+   */
+  private ResponseEntity<Resource> pdfResponse(PdfDocumentSnapshot snapshot) {
+    PdfDocumentCache.RenderedPdf pdf = studentPaymentService.renderDocument(snapshot);
     return ResponseEntity.ok()
-        .header(
-            HttpHeaders.CONTENT_DISPOSITION,
-            "attachment; filename=\"payment-receipt-" + bookingId + ".pdf\"")
-        .contentType(MediaType.valueOf("application/pdf"))
-        .body(pdfContent);
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + snapshot.filename() + "\"")
+        .eTag(pdf.etag())
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .contentType(MediaType.APPLICATION_PDF)
+        .body(new ByteArrayResource(pdf.pdf()));
   }
 }
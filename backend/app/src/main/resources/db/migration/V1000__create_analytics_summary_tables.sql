@@ -0,0 +1,32 @@
+-- Pre-aggregated counters behind /api/admin/analytics, maintained by AnalyticsProjectionService
+-- and rebuilt nightly by its reconciliation job.
+
+CREATE TABLE analytics_hostel_occupancy (
+  hostel_id BIGINT PRIMARY KEY,
+  total_rooms INT NOT NULL DEFAULT 0,
+  booked_rooms INT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE analytics_room_approvals (
+  room_id BIGINT PRIMARY KEY,
+  hostel_id BIGINT NOT NULL,
+  approved_bookings INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_analytics_room_approvals_hostel ON analytics_room_approvals(hostel_id);
+
+-- Status and revenue counters are striped over a few slots to spread concurrent updates.
+CREATE TABLE analytics_booking_status (
+  status VARCHAR(20) NOT NULL,
+  slot INT NOT NULL,
+  booking_count BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (status, slot)
+);
+
+CREATE TABLE analytics_monthly_revenue (
+  revenue_month VARCHAR(7) NOT NULL,
+  slot INT NOT NULL,
+  revenue DECIMAL(14,2) NOT NULL DEFAULT 0,
+  completed_payments BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (revenue_month, slot)
+);
@@ -0,0 +1,7 @@
+-- Backing indexes for the database-side analytics aggregates.
+
+-- Monthly revenue: range on paid_at within one status; amount included so SUM is index-only.
+CREATE INDEX idx_payments_status_paid_at ON payments(status, paid_at, amount);
+
+-- Occupied rooms per hostel: COUNT(DISTINCT room_id) over APPROVED bookings.
+CREATE INDEX idx_bookings_status_room ON bookings(status, room_id);
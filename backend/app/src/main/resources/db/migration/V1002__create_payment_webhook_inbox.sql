@@ -0,0 +1,21 @@
+-- Durable inbox for Paystack webhooks. The controller verifies the signature and inserts the raw
+-- event; PaymentWebhookInboxService applies it asynchronously with retry and backoff.
+
+CREATE TABLE payment_webhook_inbox (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  event_id VARCHAR(190) NOT NULL,
+  event_type VARCHAR(50) NOT NULL,
+  transaction_reference VARCHAR(120) NULL,
+  payload MEDIUMTEXT NOT NULL,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  attempts INT NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  last_error VARCHAR(500) NULL,
+  received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  processed_at TIMESTAMP NULL,
+  CONSTRAINT uk_webhook_inbox_event UNIQUE (event_id)
+);
+
+-- Consumer polling (due pending events) and per-reference ordering.
+CREATE INDEX idx_webhook_inbox_status_due ON payment_webhook_inbox(status, next_attempt_at, id);
+CREATE INDEX idx_webhook_inbox_reference ON payment_webhook_inbox(transaction_reference, status, id);
@@ -0,0 +1,25 @@
+-- Admin batch jobs that render allocation letters for a term and/or hostel. The worker checkpoints
+-- last_booking_id after every page, so a job interrupted by a crash resumes where it stopped once
+-- its lease runs out.
+
+CREATE TABLE letter_generation_jobs (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  academic_term_id BIGINT NULL,
+  hostel_id BIGINT NULL,
+  requested_by BIGINT NOT NULL,
+  status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+  total_letters INT NOT NULL DEFAULT 0,
+  generated INT NOT NULL DEFAULT 0,
+  failed INT NOT NULL DEFAULT 0,
+  last_booking_id BIGINT NOT NULL DEFAULT 0,
+  lease_until TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  last_error VARCHAR(500) NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  started_at TIMESTAMP NULL,
+  finished_at TIMESTAMP NULL,
+  CONSTRAINT fk_letter_jobs_term FOREIGN KEY (academic_term_id) REFERENCES academic_terms(id) ON DELETE SET NULL,
+  CONSTRAINT fk_letter_jobs_hostel FOREIGN KEY (hostel_id) REFERENCES hostels(id) ON DELETE SET NULL
+);
+
+-- Worker polling (runnable jobs whose lease has run out).
+CREATE INDEX idx_letter_jobs_status_lease ON letter_generation_jobs(status, lease_until, id);
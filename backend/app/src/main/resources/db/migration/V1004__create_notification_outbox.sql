@@ -0,0 +1,20 @@
+-- Durable outbox for notification emails. NotificationService inserts rows in the transaction that
+-- changes the booking or payment; NotificationOutboxDispatcher sends them in batches over one SMTP
+-- connection with rate limits and retry.
+
+CREATE TABLE notification_outbox (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  kind VARCHAR(40) NOT NULL,
+  recipient VARCHAR(254) NOT NULL,
+  subject VARCHAR(255) NOT NULL,
+  html_body MEDIUMTEXT NOT NULL,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  attempts INT NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  last_error VARCHAR(500) NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  sent_at TIMESTAMP NULL
+);
+
+-- Dispatcher polling (due pending messages, oldest first).
+CREATE INDEX idx_notification_outbox_status_due ON notification_outbox(status, next_attempt_at, id);
@@ -0,0 +1,5 @@
+-- Letters are written to app.letters.output-dir on the node that runs the job. storage_id names
+-- that directory (see .storage-id inside it), so a job is only resumed or downloaded by nodes that
+-- can see the letters it already wrote.
+
+ALTER TABLE letter_generation_jobs ADD COLUMN storage_id VARCHAR(36) NULL;
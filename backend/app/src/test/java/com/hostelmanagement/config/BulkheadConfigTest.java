@@ -0,0 +1,35 @@
+package com.hostelmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hostelmanagement.service.Bulkheads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class BulkheadConfigTest {
+
+  private final ApplicationContextRunner contextRunner =
+      new ApplicationContextRunner()
+          .withUserConfiguration(BulkheadConfig.class)
+          .withBean(Bulkheads.class, () -> new Bulkheads(new SimpleMeterRegistry(), true, 10, 5000, 4, 60000, 16, 2000))
+          .withBean(DataSource.class, () -> new DriverManagerDataSource("jdbc:h2:mem:bulkhead"));
+
+  @Test
+  void dataSource_shouldBeWrappedWithVirtualThreads() {
+    contextRunner
+        .withPropertyValues("spring.threads.virtual.enabled=true")
+        .run(context -> assertThat(context.getBean(DataSource.class)).isInstanceOf(BulkheadDataSource.class));
+  }
+
+  @Test
+  void dataSource_shouldBeLeftToHikariWithPlatformThreads() {
+    contextRunner
+        .run(context -> assertThat(context.getBean(DataSource.class)).isInstanceOf(DriverManagerDataSource.class));
+    contextRunner
+        .withPropertyValues("spring.threads.virtual.enabled=false")
+        .run(context -> assertThat(context.getBean(DataSource.class)).isInstanceOf(DriverManagerDataSource.class));
+  }
+}
@@ -0,0 +1,121 @@
+package com.hostelmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class CompactJsonRedisSerializerTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final JavaType ROOMS = MAPPER.getTypeFactory().constructCollectionType(List.class, String.class);
+
+  /** {@code ["A12","B01"]}: 13 bytes of JSON. */
+  private static final List<String> SMALL = List.of("A12", "B01");
+  private static final int SMALL_JSON_LENGTH = 13;
+
+  @Test
+  void serialize_belowThreshold_shouldWritePlainJsonAfterTheHeader() {
+    byte[] bytes = serializer(1024).serialize(SMALL);
+
+    assertThat(bytes[0]).isEqualTo(CompactJsonRedisSerializer.PLAIN);
+    assertThat(new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8)).isEqualTo("[\"A12\",\"B01\"]");
+    assertThat(serializer(1024).deserialize(bytes)).isEqualTo(SMALL);
+  }
+
+  @Test
+  void serialize_atOrAboveThreshold_shouldCompressAndRecordTheJsonLength() {
+    List<String> rooms = Collections.nCopies(500, "Volta Hall, Block B, Room 12");
+    CompactJsonRedisSerializer<List<String>> serializer = serializer(1024);
+
+    byte[] bytes = serializer.serialize(rooms);
+
+    assertThat(bytes[0]).isEqualTo(CompactJsonRedisSerializer.LZ4);
+    int jsonLength = ByteBuffer.wrap(bytes, 1, 4).getInt();
+    assertThat(jsonLength).isEqualTo(rooms.size() * 31 + 1);
+    assertThat(bytes.length).isLessThan(jsonLength / 4);
+    assertThat(serializer.deserialize(bytes)).isEqualTo(rooms);
+  }
+
+  @Test
+  void serialize_shouldSwitchToLz4ExactlyAtTheThreshold() {
+    byte[] justBelow = serializer(SMALL_JSON_LENGTH + 1).serialize(SMALL);
+    byte[] atThreshold = serializer(SMALL_JSON_LENGTH).serialize(SMALL);
+
+    assertThat(justBelow[0]).isEqualTo(CompactJsonRedisSerializer.PLAIN);
+    assertThat(justBelow).hasSize(SMALL_JSON_LENGTH + 1);
+    assertThat(atThreshold[0]).isEqualTo(CompactJsonRedisSerializer.LZ4);
+    assertThat(ByteBuffer.wrap(atThreshold, 1, 4).getInt()).isEqualTo(SMALL_JSON_LENGTH);
+    assertThat(serializer(SMALL_JSON_LENGTH).deserialize(atThreshold)).isEqualTo(SMALL);
+  }
+
+  @Test
+  void deserialize_shouldReadEitherFormatRegardlessOfItsOwnThreshold() {
+    byte[] compressed = serializer(1).serialize(SMALL);
+    byte[] plain = serializer(Integer.MAX_VALUE).serialize(SMALL);
+
+    assertThat(serializer(Integer.MAX_VALUE).deserialize(compressed)).isEqualTo(SMALL);
+    assertThat(serializer(1).deserialize(plain)).isEqualTo(SMALL);
+  }
+
+  @Test
+  void nullAndEmpty_shouldMapToAnEmptyPayloadAndBack() {
+    CompactJsonRedisSerializer<List<String>> serializer = serializer(1024);
+
+    assertThat(serializer.serialize(null)).isEmpty();
+    assertThat(serializer.deserialize(null)).isNull();
+    assertThat(serializer.deserialize(new byte[0])).isNull();
+    assertThat(serializer.deserialize(serializer.serialize(List.of()))).isEmpty();
+  }
+
+  @Test
+  void deserialize_shouldRejectUnknownHeadersAndCorruptPayloads() {
+    CompactJsonRedisSerializer<List<String>> serializer = serializer(1);
+    byte[] compressed = serializer.serialize(SMALL);
+    byte[] unknown = compressed.clone();
+    unknown[0] = 7;
+
+    assertThatThrownBy(() -> serializer.deserialize(unknown))
+        .isInstanceOf(SerializationException.class)
+        .hasMessageContaining("header");
+    assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(compressed, compressed.length - 2)))
+        .isInstanceOf(SerializationException.class);
+    assertThatThrownBy(() -> serializer.deserialize(new byte[] {CompactJsonRedisSerializer.LZ4, 0}))
+        .isInstanceOf(SerializationException.class);
+  }
+
+  @Test
+  void deserialize_shouldRejectImplausibleLengthsBeforeAllocating() {
+    CompactJsonRedisSerializer<List<String>> serializer = serializer(1);
+    byte[] compressed = serializer.serialize(SMALL);
+    int frame = compressed.length - 5;
+
+    byte[] huge = compressed.clone();
+    ByteBuffer.wrap(huge, 1, 4).putInt(Integer.MAX_VALUE);
+    byte[] negative = compressed.clone();
+    ByteBuffer.wrap(negative, 1, 4).putInt(-1);
+    byte[] pastRatio = compressed.clone();
+    ByteBuffer.wrap(pastRatio, 1, 4).putInt(frame * CompactJsonRedisSerializer.MAX_LZ4_RATIO + 1);
+
+    for (byte[] corrupt : List.of(huge, negative, pastRatio)) {
+      assertThatThrownBy(() -> serializer.deserialize(corrupt))
+          .isInstanceOf(SerializationException.class)
+          .hasMessageContaining("bad LZ4 length");
+    }
+
+    List<String> repetitive = List.of("a".repeat(4 * 1024 * 1024));
+    assertThat(serializer.deserialize(serializer.serialize(repetitive))).isEqualTo(repetitive);
+  }
+
+  private static CompactJsonRedisSerializer<List<String>> serializer(int compressionThreshold) {
+    return new CompactJsonRedisSerializer<>(MAPPER, ROOMS, compressionThreshold);
+  }
+}
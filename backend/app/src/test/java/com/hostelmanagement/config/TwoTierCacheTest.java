@@ -0,0 +1,147 @@
+package com.hostelmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class TwoTierCacheTest {
+
+  private static final String CHANNEL = TwoTierCacheManager.INVALIDATION_CHANNEL;
+
+  /** Stands in for Redis; {@link ConcurrentMapCacheManager} allows null values by default. */
+  private final ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager("available-rooms", "student-gender");
+  private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final TwoTierCacheManager manager = new TwoTierCacheManager(
+      remote, redisTemplate, meterRegistry, Set.of("available-rooms"), 100, Duration.ofMinutes(1));
+
+  private final Cache cache = manager.getCache("available-rooms");
+  private final Cache l2 = remote.getCache("available-rooms");
+
+  @Test
+  void getCache_shouldWrapOnlyNearCaches() {
+    assertThat(cache).isInstanceOf(TwoTierCache.class).isSameAs(manager.getCache("available-rooms"));
+    assertThat(manager.getCache("student-gender")).isSameAs(remote.getCache("student-gender"));
+  }
+
+  @Test
+  void get_shouldServeFromL1AfterPut() {
+    cache.put(3L, List.of("A12"));
+    l2.clear(); // behind the near cache's back, so only L1 can answer
+
+    assertThat(cache.get(3L, Object.class)).isEqualTo(List.of("A12"));
+    assertThat(gets("l1", "hit")).isEqualTo(1);
+    assertThat(gets("l2", "hit") + gets("l2", "miss")).isZero();
+  }
+
+  @Test
+  void get_shouldReadThroughL2IntoL1() {
+    l2.put(3L, List.of("A12"));
+
+    assertThat(cache.get(3L).get()).isEqualTo(List.of("A12"));
+    l2.evict(3L);
+    assertThat(cache.get(3L).get()).isEqualTo(List.of("A12"));
+
+    assertThat(gets("l1", "miss")).isEqualTo(1);
+    assertThat(gets("l2", "hit")).isEqualTo(1);
+    assertThat(gets("l1", "hit")).isEqualTo(1);
+  }
+
+  @Test
+  void get_withLoader_shouldLoadOnceAndKeepTheValueInL1() {
+    assertThat(cache.get(3L, () -> List.of("A12"))).isEqualTo(List.of("A12"));
+    l2.clear();
+
+    assertThat(cache.get(3L, () -> List.of("reloaded"))).isEqualTo(List.of("A12"));
+  }
+
+  @Test
+  void evict_shouldInvalidateBothTiersAndBroadcast() {
+    cache.put(3L, List.of("A12"));
+
+    cache.evict(3L);
+
+    assertThat(l2.get(3L)).isNull();
+    assertThat(cache.get(3L)).isNull();
+    verify(redisTemplate).convertAndSend(eq(CHANNEL), endsWith("|available-rooms|3"));
+  }
+
+  @Test
+  void clear_shouldInvalidateBothTiersAndBroadcast() {
+    cache.put(3L, List.of("A12"));
+    cache.put(4L, List.of("B01"));
+
+    cache.clear();
+
+    assertThat(l2.get(3L)).isNull();
+    assertThat(cache.get(3L)).isNull();
+    assertThat(cache.get(4L)).isNull();
+    verify(redisTemplate).convertAndSend(eq(CHANNEL), endsWith("|available-rooms|"));
+  }
+
+  @Test
+  void nullValues_shouldNotBeKeptInL1() {
+    cache.put(3L, null);
+
+    Cache.ValueWrapper wrapper = cache.get(3L);
+    assertThat(wrapper).isNotNull();
+    assertThat(wrapper.get()).isNull();
+    assertThat(gets("l2", "miss")).isEqualTo(1);
+
+    l2.put(3L, List.of("A12"));
+    assertThat(cache.get(3L, Object.class)).isEqualTo(List.of("A12"));
+    assertThat(cache.get(5L)).isNull();
+    assertThat(cache.get(5L, () -> (Object) null)).isNull();
+  }
+
+  @Test
+  void onMessage_shouldDropL1EntriesForOtherNodesOnly() {
+    cache.put(3L, List.of("A12"));
+    cache.put(4L, List.of("B01"));
+    l2.clear();
+
+    manager.onMessage(message("other-node|available-rooms|3"), null);
+    assertThat(cache.get(3L)).isNull();
+    assertThat(cache.get(4L, Object.class)).isEqualTo(List.of("B01"));
+
+    manager.onMessage(message("other-node|available-rooms|"), null);
+    assertThat(cache.get(4L)).isNull();
+  }
+
+  @Test
+  void onMessage_shouldIgnoreMalformedAndUnknownCacheMessages() {
+    cache.put(3L, List.of("A12"));
+    l2.clear();
+
+    manager.onMessage(message("garbage"), null);
+    manager.onMessage(message("other-node|student-gender|3"), null);
+
+    assertThat(cache.get(3L, Object.class)).isEqualTo(List.of("A12"));
+    verify(redisTemplate, never()).convertAndSend(eq(CHANNEL), anyString());
+  }
+
+  private double gets(String tier, String result) {
+    return meterRegistry.get("cache.tier.gets")
+        .tag("cache", "available-rooms").tag("tier", tier).tag("result", result)
+        .counter().count();
+  }
+
+  private static DefaultMessage message(String body) {
+    return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+  }
+}
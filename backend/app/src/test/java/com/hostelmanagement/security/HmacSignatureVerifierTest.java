@@ -0,0 +1,54 @@
+package com.hostelmanagement.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+
+class HmacSignatureVerifierTest {
+
+  private static final byte[] SECRET = "test_webhook_secret".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] BODY = "{\"event\":\"charge.success\"}".getBytes(StandardCharsets.UTF_8);
+
+  private final HmacSignatureVerifier verifier = new HmacSignatureVerifier("HmacSHA256", SECRET);
+
+  @Test
+  void verify_shouldAcceptEitherHexCase() throws Exception {
+    String signature = sign(BODY);
+
+    assertThat(verifier.verify(BODY, signature)).isTrue();
+    assertThat(verifier.verify(BODY, signature.toUpperCase())).isTrue();
+  }
+
+  @Test
+  void verify_shouldRejectTamperedBodyAndMalformedSignatures() throws Exception {
+    String signature = sign(BODY);
+    byte[] tampered = BODY.clone();
+    tampered[2] ^= 1;
+
+    assertThat(verifier.verify(tampered, signature)).isFalse();
+    assertThat(verifier.verify(BODY, signature.substring(2))).isFalse();
+    assertThat(verifier.verify(BODY, "zz" + signature.substring(2))).isFalse();
+    assertThat(verifier.verify(BODY, null)).isFalse();
+  }
+
+  @Test
+  void verify_shouldWorkOnVirtualThreads() throws Exception {
+    String signature = sign(BODY);
+    AtomicBoolean verified = new AtomicBoolean();
+
+    Thread.ofVirtual().start(() -> verified.set(verifier.verify(BODY, signature))).join();
+
+    assertThat(verified).isTrue();
+  }
+
+  private static String sign(byte[] body) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+    return HexFormat.of().formatHex(mac.doFinal(body));
+  }
+}
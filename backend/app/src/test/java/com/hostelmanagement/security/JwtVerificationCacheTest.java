@@ -0,0 +1,41 @@
+package com.hostelmanagement.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Role;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class JwtVerificationCacheTest {
+
+  private final JwtService jwtService = new JwtService("test-jwt-secret-0123456789abcdefghij", 3600, 604800);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final JwtVerificationCache cache = new JwtVerificationCache(jwtService, meterRegistry, 100);
+
+  @Test
+  void verify_shouldServeRepeatTokensFromCache() {
+    String token = jwtService.generateAccessToken(7L, "ama@example.com", Role.STUDENT, Gender.FEMALE);
+
+    JwtUser first = cache.verify(token);
+    JwtUser second = cache.verify(token);
+
+    assertThat(second).isEqualTo(first).isEqualTo(new JwtUser(7L, "ama@example.com", Role.STUDENT, Gender.FEMALE));
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt-verified").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void verify_shouldRejectTamperedAndExpiredTokens() {
+    String token = jwtService.generateAccessToken(7L, "ama@example.com", Role.STUDENT, Gender.FEMALE);
+    String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+    JwtService expiring = new JwtService("test-jwt-secret-0123456789abcdefghij", -1, 604800);
+
+    assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(JwtException.class);
+    assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(JwtException.class);
+    String expired = expiring.generateAccessToken(7L, "ama@example.com", Role.STUDENT, Gender.FEMALE);
+    assertThatThrownBy(() -> cache.verify(expired)).isInstanceOf(JwtException.class);
+  }
+}
@@ -0,0 +1,93 @@
+package com.hostelmanagement.service;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.BookingStatusSummaryRepository;
+import com.hostelmanagement.repository.HostelOccupancySummaryRepository;
+import com.hostelmanagement.repository.MonthlyRevenueSummaryRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+import com.hostelmanagement.repository.RoomApprovalSummaryRepository;
+import com.hostelmanagement.repository.RoomRepository;
+import java.lang.reflect.Field;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsProjectionServiceTest {
+
+  @Mock private HostelOccupancySummaryRepository hostelOccupancyRepository;
+  @Mock private RoomApprovalSummaryRepository roomApprovalRepository;
+  @Mock private BookingStatusSummaryRepository bookingStatusRepository;
+  @Mock private MonthlyRevenueSummaryRepository monthlyRevenueRepository;
+  @Mock private BookingRepository bookingRepository;
+  @Mock private PaymentRepository paymentRepository;
+  @Mock private RoomRepository roomRepository;
+
+  private AnalyticsProjectionService service;
+  private Room room;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    service =
+        new AnalyticsProjectionService(
+            hostelOccupancyRepository,
+            roomApprovalRepository,
+            bookingStatusRepository,
+            monthlyRevenueRepository,
+            bookingRepository,
+            paymentRepository,
+            roomRepository);
+
+    Hostel hostel = new Hostel();
+    setId(hostel, 1L);
+    room = new Room();
+    setId(room, 10L);
+    room.setHostel(hostel);
+  }
+
+  @Test
+  void bookingTransitioned_firstApprovalMarksRoomBooked() {
+    when(roomApprovalRepository.findApprovedBookings(10L)).thenReturn(Optional.of(1));
+
+    service.bookingTransitioned(room, BookingStatus.PENDING_PAYMENT, BookingStatus.APPROVED);
+
+    verify(bookingStatusRepository).add(eq("PENDING_PAYMENT"), anyInt(), eq(-1L));
+    verify(bookingStatusRepository).add(eq("APPROVED"), anyInt(), eq(1L));
+    verify(roomApprovalRepository).add(10L, 1L, 1);
+    verify(hostelOccupancyRepository).add(1L, 0, 1);
+  }
+
+  @Test
+  void bookingTransitioned_checkoutKeepsRoomBookedWhileOthersRemain() {
+    when(roomApprovalRepository.findApprovedBookings(10L)).thenReturn(Optional.of(2));
+
+    service.bookingTransitioned(room, BookingStatus.APPROVED, BookingStatus.CHECKED_OUT);
+
+    verify(roomApprovalRepository).add(10L, 1L, -1);
+    verify(hostelOccupancyRepository, never()).add(anyLong(), anyInt(), anyInt());
+  }
+
+  private static void setId(Object target, Long id) {
+    try {
+      Field field = target.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(target, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id", ex);
+    }
+  }
+}
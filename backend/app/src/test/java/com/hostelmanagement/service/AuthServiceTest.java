@@ -85,7 +85,7 @@ class AuthServiceTest {
         when(studentRepository.findByEmail(any())).thenReturn(Optional.empty());
         when(passwordEncoder.encode("pass")).thenReturn("encodedPass");
         when(studentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(jwtService.generateAccessToken(any(), any(), any())).thenReturn("access-token");
+        when(jwtService.generateAccessToken(any(), any(), any(), any())).thenReturn("access-token");
         when(jwtService.generateRefreshToken(any())).thenReturn("refresh-token");
         
         // When
@@ -0,0 +1,162 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import com.hostelmanagement.domain.Room;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAdmissionServiceTest {
+
+  @Mock private BookingService bookingService;
+  @Mock private NotificationService notificationService;
+
+  private BookingAdmissionService service;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    // Dispatcher is not started, so tickets stay queued.
+    service = new BookingAdmissionService(bookingService, notificationService, new SimpleMeterRegistry(), 2, 60, 10, 2, 8, 5, 30);
+  }
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  @Test
+  void submit_shouldQueueInOrderAndShedWhenFull() {
+    service.submit(1L, null);
+    service.submit(2L, null);
+
+    assertThat(service.waitingCount()).isEqualTo(2);
+    verify(notificationService).notifyAdmissionPosition(2L, 2);
+    assertThatThrownBy(() -> service.submit(3L, null))
+        .isInstanceOf(AdmissionRejectedException.class)
+        .satisfies(ex -> assertThat(((AdmissionRejectedException) ex).getRetryAfterSeconds()).isPositive());
+  }
+
+  @Test
+  void submit_shouldRejectSecondTicketForSameStudent() {
+    service.submit(1L, null);
+
+    assertThatThrownBy(() -> service.submit(1L, null)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void submit_shouldTimeOutTheRequestOnlyAfterTheWaitAndProcessingAllowance() throws Exception {
+    MockHttpServletRequest request = startAsync(service.submit(1L, null));
+
+    assertThat(request.getAsyncContext().getTimeout()).isEqualTo(TimeUnit.SECONDS.toMillis(60 + 30));
+  }
+
+  @Test
+  void timeout_whileQueued_shouldExpireTheTicket() throws Exception {
+    DeferredResult<?> result = service.submit(1L, null);
+    MockHttpServletRequest request = startAsync(result);
+
+    timeOut(request);
+
+    assertThat(result.getResult()).isInstanceOf(AdmissionRejectedException.class);
+    assertThat(service.waitingCount()).isZero();
+    service.submit(1L, null);
+  }
+
+  @Test
+  void timeout_afterAdmission_shouldAnswerStillProcessing() throws Exception {
+    CountDownLatch inBatch = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(bookingService.applyBatch(anyList())).thenAnswer(invocation -> {
+      inBatch.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return List.of(new BookingService.ApplyOutcome(null, new IllegalStateException("late")));
+    });
+    DeferredResult<?> result = service.submit(1L, null);
+    MockHttpServletRequest request = startAsync(result);
+    service.start();
+    assertThat(inBatch.await(5, TimeUnit.SECONDS)).isTrue();
+
+    timeOut(request);
+    release.countDown();
+
+    assertThat(result.getResult()).isInstanceOf(BookingStillProcessingException.class);
+  }
+
+  @Test
+  void dispatcher_shouldExpireTicketsThatWaitedPastTheDeadline() throws Exception {
+    service.stop();
+    service = new BookingAdmissionService(bookingService, notificationService, new SimpleMeterRegistry(), 2, 0, 10, 2, 8, 5, 30);
+    DeferredResult<?> result = service.submit(1L, null);
+    Thread.sleep(1);
+
+    service.start();
+
+    assertThat(awaitResult(result)).isInstanceOf(AdmissionRejectedException.class);
+    verify(bookingService, never()).applyBatch(anyList());
+  }
+
+  @Test
+  void outcomeTag_shouldNameRejectionReasonOrFailureKind() {
+    assertThat(BookingAdmissionService.outcomeTag(null)).isEqualTo("booked");
+    assertThat(BookingAdmissionService.outcomeTag(
+            new BookingRejectedException(BookingRejectedException.Reason.ROOM_FULL, "Selected room is full or unavailable")))
+        .isEqualTo("room_full");
+    assertThat(BookingAdmissionService.outcomeTag(new ObjectOptimisticLockingFailureException(Room.class, 7L)))
+        .isEqualTo("lock_conflict");
+    assertThat(BookingAdmissionService.outcomeTag(new IllegalArgumentException("Invalid"))).isEqualTo("invalid");
+    assertThat(BookingAdmissionService.outcomeTag(new IllegalStateException("boom"))).isEqualTo("error");
+  }
+
+  /** Hands the result to Spring MVC's async machinery, as the controller's return would. */
+  private static MockHttpServletRequest startAsync(DeferredResult<?> result) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setAsyncSupported(true);
+    WebAsyncManager manager = WebAsyncUtils.getAsyncManager(request);
+    manager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+    manager.startDeferredResultProcessing(result);
+    return request;
+  }
+
+  private static void timeOut(MockHttpServletRequest request) throws IOException {
+    MockAsyncContext context = (MockAsyncContext) request.getAsyncContext();
+    for (AsyncListener listener : context.getListeners()) {
+      listener.onTimeout(new AsyncEvent(context));
+    }
+  }
+
+  private static Object awaitResult(DeferredResult<?> result) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!result.hasResult() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    return result.getResult();
+  }
+}
@@ -0,0 +1,118 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hostelmanagement.domain.Booking;
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.PaymentStatus;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+import com.hostelmanagement.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpiryServiceTest {
+
+  @Mock private BookingRepository bookingRepository;
+  @Mock private PaymentRepository paymentRepository;
+  @Mock private RoomRepository roomRepository;
+  @Mock private RoomInventoryService roomInventoryService;
+  @Mock private RoomSearchIndex roomSearchIndex;
+  @Mock private AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator;
+  @Mock private AnalyticsProjectionService analyticsProjectionService;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private BookingExpiryService service;
+  private Room sharedRoom;
+  private Room singleRoom;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    service =
+        new BookingExpiryService(
+            bookingRepository,
+            paymentRepository,
+            roomRepository,
+            roomInventoryService,
+            roomSearchIndex,
+            availableRoomsCacheInvalidator,
+            analyticsProjectionService,
+            transactionManager,
+            new SimpleMeterRegistry(),
+            2);
+
+    Hostel hostel = new Hostel();
+    setId(hostel, 1L);
+    sharedRoom = room(10L, hostel);
+    singleRoom = room(11L, hostel);
+  }
+
+  @Test
+  void expireOverdue_shouldBatchUpdatesAndGroupBedReleasesPerRoom() {
+    Instant cutoff = Instant.now();
+    when(bookingRepository.lockChunkByStatusAndCreatedAtBefore(
+            eq(BookingStatus.PENDING_PAYMENT), eq(cutoff), any(Pageable.class)))
+        .thenReturn(List.of(booking(1L, sharedRoom), booking(2L, sharedRoom)))
+        .thenReturn(List.of(booking(3L, singleRoom)));
+    when(roomRepository.findByIdInWithHostel(anyCollection()))
+        .thenReturn(List.of(sharedRoom))
+        .thenReturn(List.of(singleRoom));
+
+    BookingExpiryService.ExpiryRun run = service.expireOverdue(cutoff);
+
+    assertThat(run.expiredBookings()).isEqualTo(3);
+    assertThat(run.chunks()).isEqualTo(2);
+    verify(bookingRepository)
+        .bulkTransitionStatus(
+            eq(List.of(1L, 2L)), eq(BookingStatus.PENDING_PAYMENT), eq(BookingStatus.EXPIRED), any());
+    verify(paymentRepository).bulkUpdateStatusByBookingIds(eq(List.of(3L)), eq(PaymentStatus.CANCELLED), any());
+    verify(roomRepository).bulkReleaseBeds(List.of(10L), 2);
+    verify(roomRepository).bulkReleaseBeds(List.of(11L), 1);
+    verify(roomInventoryService, times(2)).releaseBedAfterCommit(10L);
+    verify(availableRoomsCacheInvalidator).evictAfterCommit(singleRoom);
+  }
+
+  private static Booking booking(Long id, Room room) {
+    Booking booking = new Booking();
+    setId(booking, id);
+    booking.setRoom(room);
+    booking.setStatus(BookingStatus.PENDING_PAYMENT);
+    return booking;
+  }
+
+  private static Room room(Long id, Hostel hostel) {
+    Room room = new Room();
+    setId(room, id);
+    room.setHostel(hostel);
+    return room;
+  }
+
+  private static void setId(Object target, Long id) {
+    try {
+      Field field = target.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(target, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id", ex);
+    }
+  }
+}
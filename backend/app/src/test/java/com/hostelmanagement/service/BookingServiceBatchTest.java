@@ -0,0 +1,211 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import com.hostelmanagement.domain.AcademicTerm;
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.MattressType;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.domain.Student;
+import com.hostelmanagement.repository.AcademicTermRepository;
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.HostelRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+import com.hostelmanagement.repository.RoomRepository;
+import com.hostelmanagement.repository.StudentRepository;
+import com.hostelmanagement.web.dto.ApplyRequest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs {@link BookingService#applyBatch} against H2 in MySQL mode, so the JDBC batch inserts, the
+ * room row locks and the in-memory bed claims are exercised together. Tests run outside a test
+ * transaction because the bed claims are settled on commit or rollback.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({BookingService.class, BookingBatchWriter.class, RoomInventoryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceBatchTest {
+
+  @Autowired private BookingService bookingService;
+  @Autowired private RoomInventoryService roomInventoryService;
+  @Autowired private HostelRepository hostelRepository;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private PaymentRepository paymentRepository;
+  @Autowired private AcademicTermRepository academicTermRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @MockBean private AcademicRolloverService academicRolloverService;
+  @MockBean private NotificationService notificationService;
+  @MockBean private RoomSearchIndex roomSearchIndex;
+  @MockBean private AvailableRoomsCacheInvalidator availableRoomsCacheInvalidator;
+  @MockBean private PaymentDeadlineService paymentDeadlineService;
+  @MockBean private AnalyticsProjectionService analyticsProjectionService;
+
+  private Hostel hostel;
+  private Room single;
+  private Room triple;
+  private List<Student> students;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    AcademicTerm term = new AcademicTerm();
+    term.setAcademicYear("2026/2027");
+    term.setSemester("FIRST");
+    term.setStartDate(LocalDate.of(2026, 9, 1));
+    term.setEndDate(LocalDate.of(2027, 1, 31));
+    term.setReapplicationOpenDate(LocalDate.of(2026, 8, 1));
+    term.setActive(true);
+    term = academicTermRepository.save(term);
+    when(academicRolloverService.isReapplicationWindowOpen()).thenReturn(true);
+    when(academicRolloverService.getRequiredActiveTerm()).thenReturn(term);
+
+    hostel = new Hostel();
+    hostel.setName("Volta Hall");
+    hostel.setTotalRooms(2);
+    hostel = hostelRepository.save(hostel);
+    single = roomRepository.save(room("A01", 1, "1500.00"));
+    triple = roomRepository.save(room("B12", 3, "900.00"));
+    students = studentRepository.saveAll(List.of(student("ama"), student("esi"), student("akua"), student("efua")));
+    roomInventoryService.rebuild();
+  }
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @AfterEach
+  void tearDown() {
+    paymentRepository.deleteAllInBatch();
+    bookingRepository.deleteAllInBatch();
+    roomRepository.deleteAllInBatch();
+    hostelRepository.deleteAllInBatch();
+    studentRepository.deleteAllInBatch();
+    academicTermRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void applyBatch_shouldWriteAcceptedMembersAndRejectTheRestIndividually() {
+    List<BookingService.ApplyOutcome> outcomes =
+        bookingService.applyBatch(List.of(
+            application(0, triple),
+            application(1, single),
+            application(2, single), // the only bed in A01 was claimed just above
+            application(0, triple), // same student again in the same group
+            application(3, triple)));
+
+    assertThat(outcomes).hasSize(5);
+    assertThat(rejection(outcomes.get(2))).isEqualTo(BookingRejectedException.Reason.ROOM_FULL);
+    assertThat(rejection(outcomes.get(3))).isEqualTo(BookingRejectedException.Reason.ACTIVE_APPLICATION);
+    List<Long> bookingIds =
+        List.of(bookingId(outcomes.get(0)), bookingId(outcomes.get(1)), bookingId(outcomes.get(4)));
+    assertThat(bookingIds).isSorted().doesNotHaveDuplicates();
+    assertThat(outcomes.get(1).response().roomNumber()).isEqualTo("A01");
+    assertThat(outcomes.get(4).response().paymentAmount()).isEqualByComparingTo("900.00");
+
+    List<Map<String, Object>> bookings =
+        jdbcTemplate.queryForList("SELECT id, student_id, room_id, status FROM bookings ORDER BY id");
+    assertThat(bookings).extracting(row -> ((Number) row.get("id")).longValue()).isEqualTo(bookingIds);
+    assertThat(bookings).extracting(row -> ((Number) row.get("student_id")).longValue())
+        .containsExactly(students.get(0).getId(), students.get(1).getId(), students.get(3).getId());
+    assertThat(bookings).extracting(row -> ((Number) row.get("room_id")).longValue())
+        .containsExactly(triple.getId(), single.getId(), triple.getId());
+    assertThat(bookings).extracting(row -> row.get("status")).containsOnly(BookingStatus.PENDING_PAYMENT.name());
+
+    List<Map<String, Object>> payments =
+        jdbcTemplate.queryForList("SELECT booking_id, amount, status FROM payments ORDER BY booking_id");
+    assertThat(payments).extracting(row -> ((Number) row.get("booking_id")).longValue()).isEqualTo(bookingIds);
+    assertThat(payments).extracting(row -> (BigDecimal) row.get("amount"))
+        .usingElementComparator(BigDecimal::compareTo)
+        .containsExactly(new BigDecimal("900.00"), new BigDecimal("1500.00"), new BigDecimal("900.00"));
+    assertThat(payments).extracting(row -> row.get("status")).containsOnly("PENDING");
+
+    assertThat(occupancy(single)).isEqualTo(1);
+    assertThat(occupancy(triple)).isEqualTo(2);
+    assertThat(roomInventoryService.freeBeds(single.getId())).isZero();
+    assertThat(roomInventoryService.freeBeds(triple.getId())).isEqualTo(1);
+  }
+
+  @Test
+  void applyBatch_whenTheTransactionFails_shouldHandBackEveryBedClaim() {
+    doThrow(new IllegalStateException("projection unavailable"))
+        .when(analyticsProjectionService).bookingsCreated(any(), anyInt());
+
+    assertThatThrownBy(() ->
+            bookingService.applyBatch(List.of(
+                application(0, triple),
+                application(1, single),
+                application(2, triple))))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class)).isZero();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments", Long.class)).isZero();
+    assertThat(occupancy(single)).isZero();
+    assertThat(occupancy(triple)).isZero();
+    assertThat(roomInventoryService.freeBeds(single.getId())).isEqualTo(1);
+    assertThat(roomInventoryService.freeBeds(triple.getId())).isEqualTo(3);
+    assertThat(roomInventoryService.freeBeds(hostel.getId(), 1, Gender.FEMALE)).isEqualTo(4);
+  }
+
+  private BookingService.Application application(int student, Room room) {
+    return new BookingService.Application(
+        students.get(student).getId(),
+        new ApplyRequest(hostel.getId(), room.getFloorNumber(), room.getId(), false, true, MattressType.NORMAL, null));
+  }
+
+  private int occupancy(Room room) {
+    return roomRepository.findById(room.getId()).orElseThrow().getCurrentOccupancy();
+  }
+
+  private static Long bookingId(BookingService.ApplyOutcome outcome) {
+    assertThat(outcome.error()).isNull();
+    return outcome.response().id();
+  }
+
+  private static BookingRejectedException.Reason rejection(BookingService.ApplyOutcome outcome) {
+    assertThat(outcome.error()).isInstanceOf(BookingRejectedException.class);
+    return ((BookingRejectedException) outcome.error()).getReason();
+  }
+
+  private Room room(String number, int capacity, String price) {
+    Room room = new Room();
+    room.setHostel(hostel);
+    room.setRoomNumber(number);
+    room.setCapacity(capacity);
+    room.setRoomGender(Gender.FEMALE);
+    room.setPrice(new BigDecimal(price));
+    return room;
+  }
+
+  private static Student student(String name) {
+    Student student = new Student();
+    student.setFullName(name);
+    student.setEmail(name + "@students.test");
+    student.setPassword("hashed");
+    student.setGender(Gender.FEMALE);
+    return student;
+  }
+}
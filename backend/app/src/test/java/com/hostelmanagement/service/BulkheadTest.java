@@ -0,0 +1,35 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void acquire_shouldRejectOnceAllPermitsAreHeld() {
+    Bulkhead bulkhead = new Bulkhead("smtp", 1, 10, meterRegistry);
+    bulkhead.acquire();
+
+    assertThatThrownBy(bulkhead::acquire).isInstanceOf(BulkheadFullException.class);
+    assertThat(meterRegistry.get("bulkhead.rejected").tag("name", "smtp").counter().count()).isEqualTo(1.0);
+
+    bulkhead.release();
+    assertThat(bulkhead.call(() -> bulkhead.inUse())).isEqualTo(1);
+    assertThat(bulkhead.inUse()).isZero();
+  }
+
+  @Test
+  void run_shouldReleasePermitWhenActionThrows() {
+    Bulkhead bulkhead = new Bulkhead("paystack", 1, 10, meterRegistry);
+
+    assertThatThrownBy(() -> bulkhead.run(() -> {
+      throw new IllegalStateException("gateway down");
+    })).isInstanceOf(IllegalStateException.class);
+    assertThat(bulkhead.inUse()).isZero();
+  }
+}
@@ -0,0 +1,50 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class EmailTemplateTest {
+
+  private static final EmailTemplate PAGE =
+      EmailTemplate.compile("<html><body>{{content}}</body><footer>{{content}}</footer></html>", "content");
+
+  @Test
+  void render_shouldMatchStringFormatForTheSameTemplate() {
+    EmailTemplate body = EmailTemplate.compile("<p>Dear {{name}}, room {{room}} in {{hostel}}.</p>", "name", "hostel", "room");
+
+    String html = PAGE.nest("content", body).render("Ama", "Volta", "A12");
+
+    String content = "<p>Dear %s, room %s in %s.</p>".formatted("Ama", "A12", "Volta");
+    assertThat(html).isEqualTo(String.format("<html><body>%s</body><footer>%s</footer></html>", content, content));
+  }
+
+  @Test
+  void render_shouldGiveTheSameResultOnVirtualThreads() throws Exception {
+    EmailTemplate body = EmailTemplate.compile("<p>Dear {{name}}, room {{room}}.</p>", "name", "room");
+    EmailTemplate page = PAGE.nest("content", body);
+    String expected = page.render("Ama", "A12");
+
+    AtomicReference<String> rendered = new AtomicReference<>();
+    Thread.ofVirtual().start(() -> rendered.set(page.render("Ama", "A12"))).join();
+
+    assertThat(rendered.get()).isEqualTo(expected);
+  }
+
+  @Test
+  void compile_shouldRejectUndeclaredAndUnusedPlaceholders() {
+    assertThatThrownBy(() -> EmailTemplate.compile("Hi {{name}}", "email"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("{{name}}");
+    assertThatThrownBy(() -> EmailTemplate.compile("Hi {{name}}", "name", "room"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("room");
+  }
+
+  @Test
+  void render_shouldRejectTheWrongNumberOfValues() {
+    assertThatThrownBy(() -> PAGE.render("a", "b")).isInstanceOf(IllegalArgumentException.class);
+  }
+}
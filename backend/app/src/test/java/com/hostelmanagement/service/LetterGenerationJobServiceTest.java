@@ -0,0 +1,216 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hostelmanagement.domain.Booking;
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.LetterGenerationJob;
+import com.hostelmanagement.domain.Student;
+import com.hostelmanagement.repository.AcademicTermRepository;
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.HostelRepository;
+import com.hostelmanagement.repository.LetterGenerationJobRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class LetterGenerationJobServiceTest {
+
+  @Mock private LetterGenerationJobRepository jobRepository;
+  @Mock private BookingRepository bookingRepository;
+  @Mock private PaymentRepository paymentRepository;
+  @Mock private AcademicTermRepository academicTermRepository;
+  @Mock private HostelRepository hostelRepository;
+  @Mock private PdfAllocationLetterService pdfAllocationLetterService;
+  @Mock private NotificationService notificationService;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @TempDir Path outputDir;
+
+  private LetterGenerationJobService service;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    service =
+        new LetterGenerationJobService(
+            jobRepository,
+            bookingRepository,
+            paymentRepository,
+            academicTermRepository,
+            hostelRepository,
+            pdfAllocationLetterService,
+            notificationService,
+            transactionManager,
+            new SimpleMeterRegistry(),
+            outputDir.toString(),
+            2,
+            2,
+            1000,
+            120);
+  }
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  @Test
+  void submit_shouldRequireTermOrHostel() {
+    assertThatThrownBy(() -> service.submit(1L, null, null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Choose an academic term or a hostel");
+  }
+
+  @Test
+  void runOnce_shouldResumeAfterCheckpointAndZipTheLetters() throws Exception {
+    LetterGenerationJob job = job(7L, 10L);
+    when(jobRepository.lockRunnable(any(), any(), any(), any())).thenReturn(List.of(job));
+    when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+    when(bookingRepository.findPageWithDetailsAfter(eq(BookingStatus.APPROVED), anyLong(), eq(3L), isNull(), any()))
+        .thenReturn(List.of(booking(11L), booking(12L)))
+        .thenReturn(List.of());
+    when(paymentRepository.findByBookingIdIn(List.of(11L, 12L))).thenReturn(List.of());
+    when(pdfAllocationLetterService.allocationLetterSnapshot(any(), any(), any()))
+        .thenAnswer(invocation -> snapshot(invocation.<Booking>getArgument(1).getId()));
+    doAnswer(invocation -> {
+          PdfDocumentSnapshot snapshot = invocation.getArgument(0);
+          invocation.<OutputStream>getArgument(1).write(("%PDF " + snapshot.bookingId()).getBytes(StandardCharsets.UTF_8));
+          return null;
+        })
+        .when(pdfAllocationLetterService).write(any(), any());
+    when(jobRepository.checkpoint(eq(7L), eq(12L), eq(2), eq(0), any())).thenReturn(1);
+
+    assertThat(service.runOnce()).isTrue();
+
+    verify(bookingRepository).findPageWithDetailsAfter(eq(BookingStatus.APPROVED), eq(10L), eq(3L), isNull(), any());
+    verify(jobRepository).finish(eq(7L), eq(LetterGenerationJob.Status.COMPLETED), any(), isNull());
+
+    job.setStatus(LetterGenerationJob.Status.COMPLETED);
+    ByteArrayOutputStream zip = new ByteArrayOutputStream();
+    LetterGenerationJobService.writeZip(service.archive(7L), zip);
+    assertThat(entries(zip.toByteArray()))
+        .containsExactly("allocation-letter-11.pdf", "allocation-letter-12.pdf");
+  }
+
+  @Test
+  void runOnce_shouldClaimOnlyJobsInThisNodesLettersDirectory() {
+    LetterGenerationJob job = job(7L, 10L);
+    String storageId = storageId(outputDir);
+    when(jobRepository.lockRunnable(any(), any(), eq(storageId), any())).thenReturn(List.of(job));
+    when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+    when(bookingRepository.findPageWithDetailsAfter(any(), anyLong(), any(), any(), any())).thenReturn(List.of());
+
+    assertThat(service.runOnce()).isTrue();
+
+    assertThat(job.getStorageId()).isEqualTo(storageId);
+  }
+
+  @Test
+  void storageId_shouldBeSharedByNodesUsingTheSameDirectory() throws Exception {
+    String first = storageId(outputDir);
+
+    service.stop();
+    setUp();
+
+    assertThat(storageId(outputDir)).isEqualTo(first);
+    assertThat(Files.readString(outputDir.resolve(LetterGenerationJobService.STORAGE_ID_FILE))).isEqualTo(first);
+  }
+
+  @Test
+  void archive_shouldRejectJobsWrittenToAnotherNodesDirectory() {
+    LetterGenerationJob job = job(7L, 12L);
+    job.setStatus(LetterGenerationJob.Status.COMPLETED);
+    job.setStorageId("another-node");
+    when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+
+    assertThatThrownBy(() -> service.archive(7L))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("stored on another node");
+  }
+
+  private static String storageId(Path dir) {
+    try {
+      return Files.readString(dir.resolve(LetterGenerationJobService.STORAGE_ID_FILE)).trim();
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static LetterGenerationJob job(Long id, long lastBookingId) {
+    LetterGenerationJob job = new LetterGenerationJob();
+    setId(job, id);
+    job.setAcademicTermId(3L);
+    job.setRequestedBy(1L);
+    job.setStatus(LetterGenerationJob.Status.RUNNING);
+    job.setLastBookingId(lastBookingId);
+    job.setLeaseUntil(Instant.now());
+    job.setCreatedAt(Instant.now());
+    return job;
+  }
+
+  private static Booking booking(Long id) {
+    Booking booking = new Booking();
+    setId(booking, id);
+    booking.setStatus(BookingStatus.APPROVED);
+    booking.setStudent(new Student());
+    return booking;
+  }
+
+  private static PdfDocumentSnapshot snapshot(Long bookingId) {
+    return new PdfDocumentSnapshot(
+        bookingId, PdfDocumentCache.DocumentType.ALLOCATION_LETTER, Map.of(), "v" + bookingId);
+  }
+
+  private static List<String> entries(byte[] zip) throws Exception {
+    List<String> names = new ArrayList<>();
+    try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+      for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+        names.add(entry.getName());
+      }
+    }
+    return names;
+  }
+
+  private static void setId(Object target, Long id) {
+    try {
+      Field field = target.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(target, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id", ex);
+    }
+  }
+}
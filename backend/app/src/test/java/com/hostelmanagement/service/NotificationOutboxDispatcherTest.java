@@ -0,0 +1,159 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hostelmanagement.domain.NotificationOutboxMessage;
+import com.hostelmanagement.repository.NotificationOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+  @RegisterExtension
+  static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+  @Mock private NotificationOutboxRepository repository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private JavaMailSenderImpl mailSender;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("localhost");
+    mailSender.setPort(greenMail.getSmtp().getPort());
+    mailSender.getJavaMailProperties().put("mail.smtp.from", "no-reply@hostel.test");
+  }
+
+  @Test
+  void drainOnce_shouldDeliverTheBatchOverSmtpAndMarkItSent() throws Exception {
+    when(repository.lockDue(eq(NotificationOutboxMessage.Status.PENDING), any(), any()))
+        .thenReturn(List.of(
+            message(1L, "ama@students.test"),
+            message(2L, "kofi@students.test"),
+            message(3L, "esi@mail.test")));
+
+    int drained = dispatcher(0).drainOnce();
+
+    assertThat(drained).isEqualTo(3);
+    MimeMessage[] received = greenMail.getReceivedMessages();
+    assertThat(Arrays.stream(received).map(this::recipient))
+        .containsExactlyInAnyOrder("ama@students.test", "kofi@students.test", "esi@mail.test");
+    assertThat(received[0].getSubject()).isEqualTo("Payment Approved");
+    verify(repository).markSent(eq(List.of(1L, 2L, 3L)), eq(NotificationOutboxMessage.Status.SENT), any());
+    assertThat(meterRegistry.get("notification.outbox.delivered").tag("outcome", "sent").counter().count())
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  void drainOnce_shouldDeferMessagesOverTheDomainLimitWithoutUsingAnAttempt() {
+    NotificationOutboxMessage first = message(1L, "ama@students.test");
+    NotificationOutboxMessage second = message(2L, "kofi@students.test");
+    when(repository.lockDue(eq(NotificationOutboxMessage.Status.PENDING), any(), any()))
+        .thenReturn(List.of(first, second));
+
+    Instant before = Instant.now();
+    dispatcher(1).drainOnce();
+
+    assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    verify(repository).markSent(eq(List.of(1L)), eq(NotificationOutboxMessage.Status.SENT), any());
+    verify(repository, never()).markFailedAttempt(eq(2L), any(), any(), any());
+    assertThat(second.getAttempts()).isZero();
+    assertThat(second.getNextAttemptAt()).isAfter(before).isBeforeOrEqualTo(Instant.now().plusSeconds(60));
+  }
+
+  @Test
+  void drainOnce_shouldCountTheAttemptWhenClaiming() {
+    NotificationOutboxMessage message = message(1L, "ama@students.test");
+    message.setAttempts(1);
+    when(repository.lockDue(eq(NotificationOutboxMessage.Status.PENDING), any(), any()))
+        .thenReturn(List.of(message));
+
+    Instant before = Instant.now();
+    mailSender.setPort(1); // nothing listens here, so the send fails after the claim
+    dispatcher(0).drainOnce();
+
+    assertThat(message.getAttempts()).isEqualTo(2);
+    assertThat(message.getNextAttemptAt()).isAfter(before.plusSeconds(60));
+    verify(repository).markFailedAttempt(eq(1L), eq(NotificationOutboxMessage.Status.PENDING), any(), any());
+  }
+
+  @Test
+  void drainOnce_shouldParkMessagesWhoseLeasesRanOutOfAttempts() {
+    NotificationOutboxMessage exhausted = message(1L, "ama@students.test");
+    exhausted.setAttempts(3);
+    NotificationOutboxMessage fresh = message(2L, "kofi@students.test");
+    when(repository.lockDue(eq(NotificationOutboxMessage.Status.PENDING), any(), any()))
+        .thenReturn(List.of(exhausted, fresh));
+
+    int drained = dispatcher(0).drainOnce();
+
+    assertThat(drained).isEqualTo(1);
+    assertThat(exhausted.getStatus()).isEqualTo(NotificationOutboxMessage.Status.FAILED);
+    assertThat(exhausted.getAttempts()).isEqualTo(3);
+    assertThat(exhausted.getLastError()).contains("3 attempt(s)");
+    assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    verify(repository).markSent(eq(List.of(2L)), eq(NotificationOutboxMessage.Status.SENT), any());
+    assertThat(meterRegistry.get("notification.outbox.delivered").tag("outcome", "failed").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  private NotificationOutboxDispatcher dispatcher(int maxPerDomainPerMinute) {
+    Bulkheads bulkheads = new Bulkheads(meterRegistry, false, 10, 5000, 4, 60000, 16, 2000);
+    return new NotificationOutboxDispatcher(
+        repository, mailSender, bulkheads, transactionManager, meterRegistry, 50, 1000, 3, 30, 3600, 120, 0,
+        maxPerDomainPerMinute);
+  }
+
+  private String recipient(MimeMessage message) {
+    try {
+      return message.getAllRecipients()[0].toString();
+    } catch (jakarta.mail.MessagingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static NotificationOutboxMessage message(Long id, String recipient) {
+    NotificationOutboxMessage message = new NotificationOutboxMessage();
+    setId(message, id);
+    message.setKind("PAYMENT_APPROVAL");
+    message.setRecipient(recipient);
+    message.setSubject("Payment Approved");
+    message.setHtmlBody("<p>Room confirmed</p>");
+    message.setNextAttemptAt(Instant.now());
+    message.setCreatedAt(Instant.now());
+    return message;
+  }
+
+  private static void setId(Object target, Long id) {
+    try {
+      Field field = target.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(target, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id", ex);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hostelmanagement.repository.BookingRepository;
+import com.hostelmanagement.repository.PaymentRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentDeadlineServiceTest {
+
+  @Mock private BookingRepository bookingRepository;
+  @Mock private PaymentRepository paymentRepository;
+  @Mock private BookingExpiryService bookingExpiryService;
+  @Mock private NotificationService notificationService;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private PaymentDeadlineService service;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    service =
+        new PaymentDeadlineService(
+            bookingRepository, paymentRepository, bookingExpiryService, notificationService, transactionManager, 24);
+  }
+
+  @Test
+  void dispatchDue_shouldExpireOnlyBookingsPastTheirDeadline() {
+    service.track(1L, Instant.now().minusSeconds(1));
+    service.track(2L, Instant.now().plus(30, ChronoUnit.MINUTES));
+
+    int processed = service.dispatchDue();
+
+    assertThat(processed).isEqualTo(1);
+    verify(bookingExpiryService).expireBookings(List.of(1L));
+    assertThat(service.pendingDeadlines()).isEqualTo(1);
+  }
+
+  @Test
+  void track_shouldScheduleReminderOnlyWhenStillAhead() {
+    service.track(1L, Instant.now().plus(2, ChronoUnit.DAYS));
+    service.track(2L, Instant.now().plus(30, ChronoUnit.MINUTES));
+
+    assertThat(service.pendingDeadlines()).isEqualTo(3);
+    assertThat(service.dispatchDue()).isZero();
+    verifyNoInteractions(bookingExpiryService, notificationService);
+  }
+}
@@ -0,0 +1,110 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostelmanagement.domain.PaymentWebhookEvent;
+import com.hostelmanagement.repository.PaymentWebhookEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentWebhookInboxServiceTest {
+
+  private static final String PAYLOAD =
+      "{\"event\":\"charge.success\",\"data\":{\"id\":4099,\"reference\":\"HMS-12-1711111111111\"}}";
+
+  @Mock private PaymentWebhookEventRepository repository;
+  @Mock private StudentPaymentService studentPaymentService;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private PaymentWebhookInboxService service;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    service =
+        new PaymentWebhookInboxService(
+            repository, studentPaymentService, new ObjectMapper(), transactionManager, meterRegistry, 50, 1000, 3, 5, 600, 60);
+  }
+
+  @Test
+  void receive_shouldStoreEventKeyedOnTypeAndTransactionId() {
+    when(repository.insertIfAbsent(eq("charge.success:4099"), eq("charge.success"), eq("HMS-12-1711111111111"), eq(PAYLOAD), any()))
+        .thenReturn(1, 0);
+
+    service.receive(PAYLOAD.getBytes(StandardCharsets.UTF_8), "sig");
+    service.receive(PAYLOAD.getBytes(StandardCharsets.UTF_8), "sig");
+
+    verify(studentPaymentService, never()).applyPaystackEvent(anyString());
+    assertThat(meterRegistry.get("payment.webhook.received").tag("outcome", "accepted").counter().count()).isEqualTo(1.0);
+    assertThat(meterRegistry.get("payment.webhook.received").tag("outcome", "duplicate").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void drainOnce_shouldApplyAndMarkProcessed() {
+    PaymentWebhookEvent event = event(1L, 0);
+    when(repository.lockDueHeads(eq(PaymentWebhookEvent.Status.PENDING), any(), any())).thenReturn(List.of(event));
+
+    assertThat(service.drainOnce()).isEqualTo(1);
+
+    assertThat(event.getAttempts()).isEqualTo(1);
+    verify(studentPaymentService).applyPaystackEvent(PAYLOAD);
+    verify(repository).markProcessed(eq(1L), eq(PaymentWebhookEvent.Status.PROCESSED), any());
+  }
+
+  @Test
+  void drainOnce_shouldBackOffTransientFailuresAndParkAfterMaxAttempts() {
+    PaymentWebhookEvent retrying = event(1L, 0);
+    PaymentWebhookEvent exhausted = event(2L, 2);
+    when(repository.lockDueHeads(eq(PaymentWebhookEvent.Status.PENDING), any(), any()))
+        .thenReturn(List.of(retrying, exhausted));
+    doThrow(new CannotAcquireLockException("deadlock")).when(studentPaymentService).applyPaystackEvent(PAYLOAD);
+
+    service.drainOnce();
+
+    verify(repository).markFailedAttempt(eq(1L), eq(PaymentWebhookEvent.Status.PENDING), any(), anyString());
+    verify(repository).markFailedAttempt(eq(2L), eq(PaymentWebhookEvent.Status.FAILED), any(), anyString());
+    assertThat(service.backoffFor(1)).isEqualTo(Duration.ofSeconds(5));
+    assertThat(service.backoffFor(3)).isEqualTo(Duration.ofSeconds(20));
+    assertThat(service.backoffFor(30)).isEqualTo(Duration.ofSeconds(600));
+  }
+
+  private static PaymentWebhookEvent event(Long id, int attempts) {
+    PaymentWebhookEvent event = new PaymentWebhookEvent();
+    setId(event, id);
+    event.setPayload(PAYLOAD);
+    event.setAttempts(attempts);
+    event.setReceivedAt(Instant.now());
+    return event;
+  }
+
+  private static void setId(Object target, Long id) {
+    try {
+      Field field = target.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(target, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id", ex);
+    }
+  }
+}
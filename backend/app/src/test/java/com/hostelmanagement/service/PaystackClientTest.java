@@ -0,0 +1,127 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Runs {@link PaystackClient} against a local stub gateway. */
+class PaystackClientTest {
+
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicReference<StubResponse> next = new AtomicReference<>();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private HttpServer gateway;
+  private PaystackClient client;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() throws IOException {
+    gateway = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    gateway.createContext("/", this::respond);
+    gateway.start();
+
+    Bulkheads bulkheads = new Bulkheads(meterRegistry, false, 10, 1000, 4, 1000, 4, 1000);
+    client =
+        new PaystackClient(
+            new ObjectMapper(),
+            bulkheads,
+            meterRegistry,
+            "http://localhost:" + gateway.getAddress().getPort(),
+            "sk_test_key",
+            1000,
+            300,
+            2,
+            60);
+  }
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @AfterEach
+  void tearDown() {
+    client.close();
+    gateway.stop(0);
+  }
+
+  @Test
+  void initializeTransaction_shouldReturnDataNode() {
+    next.set(new StubResponse(200, "{\"status\":true,\"data\":{\"access_code\":\"abc\"}}", 0));
+
+    JsonNode data = client.initializeTransaction(Map.of("amount", 10000)).join();
+
+    assertThat(data.path("access_code").asText()).isEqualTo("abc");
+    assertThat(meterRegistry.get("paystack.request").tag("outcome", "success").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void verifyTransaction_shouldSurfaceGatewayRejectionAsBadRequest() {
+    next.set(new StubResponse(400, "{\"status\":false,\"message\":\"Transaction reference not found\"}", 0));
+
+    assertThatThrownBy(() -> client.verifyTransaction("HMS-1").join())
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Transaction reference not found");
+  }
+
+  @Test
+  void verifyTransaction_shouldOpenCircuitAfterRepeatedServerErrors() {
+    next.set(new StubResponse(502, "bad gateway", 0));
+
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> client.verifyTransaction("HMS-1").join())
+          .cause()
+          .isInstanceOf(PaymentGatewayUnavailableException.class);
+    }
+    assertThatThrownBy(() -> client.verifyTransaction("HMS-1").join())
+        .cause()
+        .isInstanceOf(PaymentGatewayUnavailableException.class);
+
+    assertThat(hits.get()).isEqualTo(2);
+  }
+
+  @Test
+  void verifyTransaction_shouldTimeOutSlowGateway() {
+    next.set(new StubResponse(200, "{\"status\":true,\"data\":{}}", 2000));
+
+    assertThatThrownBy(() -> client.verifyTransaction("HMS-1").join())
+        .cause()
+        .isInstanceOf(PaymentGatewayUnavailableException.class);
+    assertThat(meterRegistry.get("paystack.request").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+  }
+
+  private void respond(HttpExchange exchange) throws IOException {
+    hits.incrementAndGet();
+    StubResponse response = next.get();
+    try {
+      Thread.sleep(response.delayMs());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(response.status(), body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    } catch (IOException ex) {
+      // Client gave up (timeout test).
+    }
+  }
+
+  private record StubResponse(int status, String body, long delayMs) {}
+}
@@ -0,0 +1,137 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hostelmanagement.domain.Booking;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.Payment;
+import com.hostelmanagement.domain.PaymentMethod;
+import com.hostelmanagement.domain.PaymentStatus;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.domain.RoomType;
+import com.hostelmanagement.domain.Student;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PdfAllocationLetterServiceTest {
+
+  private static final PdfAllocationLetterService SERVICE = new PdfAllocationLetterService();
+
+  private Student student;
+  private Booking booking;
+  private Payment payment;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    Hostel hostel = new Hostel();
+    setId(hostel, 1L);
+    hostel.setName("Volta Hall");
+
+    Room room = new Room();
+    setId(room, 10L);
+    room.setHostel(hostel);
+    room.setRoomNumber("B-214");
+    room.setRoomType(RoomType.DOUBLE);
+    room.setFloorNumber(2);
+
+    student = new Student();
+    setId(student, 7L);
+    student.setFullName("Ama Mensah");
+    student.setEmail("ama.mensah@example.com");
+    student.setPhone("0241234567");
+    student.setCurrentLevel(300);
+
+    booking = new Booking();
+    setId(booking, 12L);
+    booking.setStudent(student);
+    booking.setRoom(room);
+    booking.setAcademicYear("2026/2027");
+    booking.setAcademicSession("First Semester");
+
+    payment = new Payment();
+    setId(payment, 30L);
+    payment.setBooking(booking);
+    payment.setStudent(student);
+    payment.setAmount(new BigDecimal("2450.00"));
+    payment.setStatus(PaymentStatus.COMPLETED);
+    payment.setPaymentMethod(PaymentMethod.MTN_MOMO);
+    payment.setTransactionReference("HMS-12-1711111111111");
+    payment.setPaidAt(Instant.parse("2026-09-01T10:15:30Z"));
+  }
+
+  @Test
+  void allocationLetter_shouldStampTheBookingAndStudentValuesIntoTheTemplate() throws IOException {
+    String text = text(SERVICE.generateAllocationLetterPdf(student, booking, payment));
+
+    assertThat(text)
+        .contains("HOSTEL ALLOCATION LETTER")
+        .contains("Ref: HMS/ALLOC/12")
+        .contains("Dear Ama Mensah,")
+        .contains("ama.mensah@example.com")
+        .contains("Volta Hall")
+        .contains("B-214")
+        .contains("DOUBLE")
+        .contains("2026/2027")
+        .contains("First Semester")
+        .contains("GHS 2450.00")
+        .contains("MTN_MOMO")
+        .contains("HMS-12-1711111111111")
+        .doesNotContain("0000/0000");
+  }
+
+  @Test
+  void paymentReceipt_shouldStampThePaymentValuesIntoTheTemplate() throws IOException {
+    String text = text(SERVICE.generatePaymentReceiptPdf(student, payment, booking));
+
+    assertThat(text)
+        .contains("PAYMENT RECEIPT")
+        .contains("Ref: HMS/RECEIPT/12")
+        .contains("Ama Mensah")
+        .contains("0241234567")
+        .contains("GHS 2450.00")
+        .contains("COMPLETED");
+  }
+
+  @Test
+  void snapshotVersion_shouldChangeOnlyWhenAShownValueChanges() {
+    PdfDocumentSnapshot first = SERVICE.allocationLetterSnapshot(student, booking, payment);
+    PdfDocumentSnapshot again = SERVICE.allocationLetterSnapshot(student, booking, payment);
+
+    booking.getRoom().setRoomNumber("C-101");
+    PdfDocumentSnapshot moved = SERVICE.allocationLetterSnapshot(student, booking, payment);
+
+    assertThat(again.version()).isEqualTo(first.version());
+    assertThat(moved.version()).isNotEqualTo(first.version());
+    assertThat(SERVICE.paymentReceiptSnapshot(student, payment, booking).version()).isNotEqualTo(first.version());
+  }
+
+  private static String text(byte[] pdf) throws IOException {
+    PdfReader reader = new PdfReader(pdf);
+    try {
+      StringBuilder text = new StringBuilder();
+      for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+        text.append(PdfTextExtractor.getTextFromPage(reader, page)).append('\n');
+      }
+      return text.toString();
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static void setId(Object target, Long id) {
+    try {
+      Field field = target.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(target, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id", ex);
+    }
+  }
+}
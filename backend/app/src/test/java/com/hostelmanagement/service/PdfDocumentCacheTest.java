@@ -0,0 +1,56 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class PdfDocumentCacheTest {
+
+  private final PdfDocumentCache cache = new PdfDocumentCache(new SimpleMeterRegistry(), 1, 1);
+  private final AtomicInteger renders = new AtomicInteger();
+
+  @Test
+  void get_withUnchangedVersion_shouldServeTheCachedCopy() {
+    PdfDocumentCache.RenderedPdf first = cache.get(letter(12L, "v1"), render());
+    PdfDocumentCache.RenderedPdf second = cache.get(letter(12L, "v1"), render());
+
+    assertThat(renders).hasValue(1);
+    assertThat(second).isSameAs(first);
+    assertThat(second.etag()).startsWith("\"").endsWith("\"").hasSize(34);
+  }
+
+  @Test
+  void get_withChangedVersion_shouldRenderAgainAndReplaceTheStaleCopy() {
+    PdfDocumentCache.RenderedPdf stale = cache.get(letter(12L, "v1"), render());
+
+    PdfDocumentCache.RenderedPdf fresh = cache.get(letter(12L, "v2"), render());
+    PdfDocumentCache.RenderedPdf again = cache.get(letter(12L, "v2"), render());
+
+    assertThat(renders).hasValue(2);
+    assertThat(fresh.version()).isEqualTo("v2");
+    assertThat(fresh.etag()).isNotEqualTo(stale.etag());
+    assertThat(again).isSameAs(fresh);
+  }
+
+  @Test
+  void get_shouldKeepBookingsAndDocumentTypesApart() {
+    cache.get(letter(12L, "v1"), render());
+    cache.get(letter(13L, "v1"), render());
+    cache.get(new PdfDocumentSnapshot(12L, PdfDocumentCache.DocumentType.PAYMENT_RECEIPT, Map.of(), "v1"), render());
+
+    assertThat(renders).hasValue(3);
+  }
+
+  private Supplier<byte[]> render() {
+    return () -> ("%PDF render " + renders.incrementAndGet()).getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static PdfDocumentSnapshot letter(Long bookingId, String version) {
+    return new PdfDocumentSnapshot(bookingId, PdfDocumentCache.DocumentType.ALLOCATION_LETTER, Map.of(), version);
+  }
+}
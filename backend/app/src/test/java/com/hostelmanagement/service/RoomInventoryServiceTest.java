@@ -0,0 +1,124 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.RoomRepository;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoomInventoryServiceTest {
+
+  @Mock private RoomRepository roomRepository;
+
+  private RoomInventoryService inventory;
+  private Hostel hostel;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    inventory = new RoomInventoryService(roomRepository);
+    hostel = new Hostel();
+    setId(hostel, 1L);
+  }
+
+  @Test
+  void reserveBed_shouldRejectOnceRoomIsFull() {
+    when(roomRepository.findAllWithHostel()).thenReturn(List.of(room(10L, 2, 1, 3, Gender.MALE)));
+    inventory.rebuild();
+
+    assertThat(inventory.reserveBed(10L)).isTrue();
+    assertThat(inventory.reserveBed(10L)).isFalse();
+    assertThat(inventory.freeBeds(10L)).isZero();
+    assertThat(inventory.freeBeds(1L, 3, Gender.MALE)).isZero();
+  }
+
+  @Test
+  void releaseBed_shouldNeverExceedCapacity() {
+    when(roomRepository.findAllWithHostel()).thenReturn(List.of(room(10L, 2, 0, 1, Gender.FEMALE)));
+    inventory.rebuild();
+
+    inventory.releaseBedAfterCommit(10L);
+
+    assertThat(inventory.freeBeds(10L)).isEqualTo(2);
+    assertThat(inventory.freeBeds(1L, 1, Gender.FEMALE)).isEqualTo(2);
+  }
+
+  @Test
+  void reserveBed_untrackedRoom_shouldDeferToDatabase() {
+    when(roomRepository.findAllWithHostel()).thenReturn(List.of());
+    inventory.rebuild();
+
+    assertThat(inventory.reserveBed(99L)).isTrue();
+  }
+
+  @Test
+  void syncAfterCommit_shouldMoveBedsBetweenPartitions() {
+    Room room = room(10L, 4, 1, 1, Gender.MALE);
+    when(roomRepository.findAllWithHostel()).thenReturn(List.of(room));
+    inventory.rebuild();
+
+    room.setFloorNumber(2);
+    inventory.syncAfterCommit(room);
+
+    assertThat(inventory.freeBeds(1L, 1, Gender.MALE)).isZero();
+    assertThat(inventory.freeBeds(1L, 2, Gender.MALE)).isEqualTo(3);
+  }
+
+  @Test
+  void reserveBed_concurrentApplicants_shouldNeverOverbook() throws InterruptedException {
+    when(roomRepository.findAllWithHostel()).thenReturn(List.of(room(10L, 4, 0, 1, Gender.MALE)));
+    inventory.rebuild();
+
+    AtomicInteger granted = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    for (int i = 0; i < 200; i++) {
+      pool.execute(() -> {
+        if (inventory.reserveBed(10L)) {
+          granted.incrementAndGet();
+        }
+      });
+    }
+    pool.shutdown();
+    assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(granted.get()).isEqualTo(4);
+    assertThat(inventory.freeBeds(10L)).isZero();
+  }
+
+  private Room room(Long id, int capacity, int occupancy, int floor, Gender gender) {
+    Room room = new Room();
+    setId(room, id);
+    room.setHostel(hostel);
+    room.setCapacity(capacity);
+    room.setFloorNumber(floor);
+    room.setRoomGender(gender);
+    for (int i = 0; i < occupancy; i++) {
+      room.incrementOccupancy();
+    }
+    return room;
+  }
+
+  private static void setId(Object target, Long id) {
+    try {
+      Field field = target.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(target, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id", ex);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.hostelmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.MattressType;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.RoomRepository;
+import com.hostelmanagement.web.dto.RoomResponse;
+import java.lang.reflect.Field;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoomSearchIndexTest {
+
+  @Mock private RoomRepository roomRepository;
+
+  private RoomSearchIndex index;
+  private Hostel hostel;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    index = new RoomSearchIndex(roomRepository);
+    hostel = new Hostel();
+    setId(hostel, 1L);
+    hostel.setName("Unity Hall");
+    hostel.setActive(true);
+  }
+
+  @Test
+  void search_shouldIntersectPreferences() {
+    Room acQueen = room(10L, "A1", Gender.MALE, true, MattressType.QUEEN);
+    Room acNormal = room(11L, "A2", Gender.MALE, true, MattressType.NORMAL);
+    Room noAc = room(12L, "A3", Gender.MALE, false, MattressType.QUEEN);
+    Room female = room(13L, "B1", Gender.FEMALE, true, MattressType.QUEEN);
+    when(roomRepository.findAllWithHostel()).thenReturn(List.of(acQueen, acNormal, noAc, female));
+    index.rebuild();
+
+    List<RoomResponse> result =
+        index.search(new RoomSearchIndex.Criteria(Gender.MALE, 1L, true, null, MattressType.QUEEN, null));
+
+    assertThat(result).extracting(RoomResponse::id).containsExactly(10L);
+  }
+
+  @Test
+  void refreshAfterCommit_shouldDropRoomOnceFull() {
+    Room room = room(10L, "A1", Gender.MALE, false, MattressType.NORMAL);
+    when(roomRepository.findAllWithHostel()).thenReturn(List.of(room));
+    index.rebuild();
+
+    room.incrementOccupancy();
+    room.incrementOccupancy();
+    index.refreshAfterCommit(room);
+
+    assertThat(index.search(new RoomSearchIndex.Criteria(Gender.MALE, null, null, null, null, null))).isEmpty();
+  }
+
+  @Test
+  void refreshHostelAfterCommit_shouldHideRoomsOfInactiveHostel() {
+    when(roomRepository.findAllWithHostel())
+        .thenReturn(List.of(room(10L, "A1", Gender.MALE, false, MattressType.NORMAL)));
+    index.rebuild();
+
+    hostel.setActive(false);
+    index.refreshHostelAfterCommit(hostel);
+
+    assertThat(index.search(new RoomSearchIndex.Criteria(Gender.MALE, null, null, null, null, null))).isEmpty();
+  }
+
+  private Room room(Long id, String number, Gender gender, boolean hasAc, MattressType mattressType) {
+    Room room = new Room();
+    setId(room, id);
+    room.setHostel(hostel);
+    room.setRoomNumber(number);
+    room.setRoomGender(gender);
+    room.setHasAc(hasAc);
+    room.setMattressType(mattressType);
+    return room;
+  }
+
+  private static void setId(Object target, Long id) {
+    try {
+      Field field = target.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(target, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id", ex);
+    }
+  }
+}
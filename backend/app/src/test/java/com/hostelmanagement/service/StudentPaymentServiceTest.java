@@ -9,6 +9,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.hostelmanagement.domain.Booking;
 import com.hostelmanagement.domain.BookingStatus;
 import com.hostelmanagement.domain.Payment;
@@ -17,11 +18,13 @@ import com.hostelmanagement.domain.PaymentStatus;
 import com.hostelmanagement.domain.Student;
 import com.hostelmanagement.repository.BookingRepository;
 import com.hostelmanagement.repository.PaymentRepository;
+import com.hostelmanagement.web.student.dto.SubmitPaymentResponse;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class StudentPaymentServiceTest {
@@ -41,6 +45,10 @@ class StudentPaymentServiceTest {
   @Mock private PaymentRepository paymentRepository;
   @Mock private BookingService bookingService;
   @Mock private PdfAllocationLetterService pdfAllocationLetterService;
+  @Mock private PdfDocumentCache pdfDocumentCache;
+  @Mock private AnalyticsProjectionService analyticsProjectionService;
+  @Mock private PaystackClient paystackClient;
+  @Mock private PlatformTransactionManager transactionManager;
 
   private StudentPaymentService service;
   private Payment payment;
@@ -54,8 +62,11 @@ class StudentPaymentServiceTest {
             paymentRepository,
             bookingService,
             pdfAllocationLetterService,
+            pdfDocumentCache,
             new ObjectMapper(),
-            "https://api.paystack.co",
+            analyticsProjectionService,
+            paystackClient,
+            transactionManager,
             "sk_test_key",
             SIGNING_SECRET,
             "http://localhost:3000/student/payments");
@@ -79,7 +90,7 @@ class StudentPaymentServiceTest {
 
   @Test
   void webhookSuccess_withValidSignature_shouldCompletePaymentAndApproveBooking() {
-    when(paymentRepository.findByTransactionReference(REFERENCE)).thenReturn(Optional.of(payment));
+    when(paymentRepository.findByTransactionReferenceForUpdate(REFERENCE)).thenReturn(Optional.of(payment));
     String payload = successPayload(REFERENCE, 10000);
 
     service.handlePaystackWebhook(payload, sign(payload, SIGNING_SECRET));
@@ -98,13 +109,13 @@ class StudentPaymentServiceTest {
         .hasMessage("Invalid webhook signature");
 
     verifyNoInteractions(bookingService);
-    verify(paymentRepository, never()).findByTransactionReference(REFERENCE);
+    verify(paymentRepository, never()).findByTransactionReferenceForUpdate(REFERENCE);
     verify(paymentRepository, never()).save(payment);
   }
 
   @Test
   void webhookReplay_successThenFailed_shouldNotDowngradeCompletedPayment() {
-    when(paymentRepository.findByTransactionReference(REFERENCE)).thenReturn(Optional.of(payment));
+    when(paymentRepository.findByTransactionReferenceForUpdate(REFERENCE)).thenReturn(Optional.of(payment));
     String successPayload = successPayload(REFERENCE, 10000);
     service.handlePaystackWebhook(successPayload, sign(successPayload, SIGNING_SECRET));
 
@@ -118,7 +129,7 @@ class StudentPaymentServiceTest {
 
   @Test
   void webhookSuccess_withMismatchedAmount_shouldIgnoreEvent() {
-    when(paymentRepository.findByTransactionReference(REFERENCE)).thenReturn(Optional.of(payment));
+    when(paymentRepository.findByTransactionReferenceForUpdate(REFERENCE)).thenReturn(Optional.of(payment));
     String payload = successPayload(REFERENCE, 5000);
 
     service.handlePaystackWebhook(payload, sign(payload, SIGNING_SECRET));
@@ -128,6 +139,30 @@ class StudentPaymentServiceTest {
     verifyNoInteractions(bookingService);
   }
 
+  @Test
+  void verifyGatewayPayment_completedByWebhookMeanwhile_shouldNotCompleteOrApproveAgain() throws Exception {
+    Booking booking = payment.getBooking();
+    when(paystackClient.isConfigured()).thenReturn(true);
+    when(bookingRepository.findById(12L)).thenReturn(Optional.of(booking));
+    when(paymentRepository.findByBookingId(12L)).thenReturn(Optional.of(payment));
+    ObjectNode verified = (ObjectNode) new ObjectMapper().readTree(successPayload(REFERENCE, 10000)).path("data");
+    verified.put("status", "success");
+    when(paystackClient.verifyTransaction(REFERENCE)).thenReturn(CompletableFuture.completedFuture(verified));
+    // The webhook consumer held the row lock first and committed before this read returned.
+    when(paymentRepository.findByBookingIdForUpdate(12L)).thenAnswer(invocation -> {
+      payment.setStatus(PaymentStatus.COMPLETED);
+      booking.setStatus(BookingStatus.APPROVED);
+      return Optional.of(payment);
+    });
+
+    SubmitPaymentResponse response = service.verifyGatewayPayment(7L, 12L).join();
+
+    assertThat(response.message()).isEqualTo("Payment already verified.");
+    assertThat(response.bookingStatus()).isEqualTo(BookingStatus.APPROVED);
+    verify(paymentRepository, never()).save(payment);
+    verifyNoInteractions(analyticsProjectionService, bookingService);
+  }
+
   private static String successPayload(String reference, long amount) {
     return """
         {
@@ -0,0 +1,109 @@
+package com.hostelmanagement.web.student;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Role;
+import com.hostelmanagement.security.JwtUser;
+import com.hostelmanagement.service.PdfDocumentCache;
+import com.hostelmanagement.service.PdfDocumentSnapshot;
+import com.hostelmanagement.service.StudentPaymentService;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class StudentPaymentControllerTest {
+
+  private static final byte[] PDF = "%PDF-1.4 allocation letter for booking 12".getBytes(StandardCharsets.US_ASCII);
+  private static final String ETAG = "\"0123456789abcdef0123456789abcdef\"";
+  private static final String URL = "/api/student/payments/12/allocation-letter";
+
+  private final StudentPaymentService studentPaymentService = mock(StudentPaymentService.class);
+  private MockMvc mockMvc;
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @BeforeEach
+  void setUp() {
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new StudentPaymentController(studentPaymentService))
+            .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+            .build();
+    JwtUser user = new JwtUser(7L, "ama@example.com", Role.STUDENT, Gender.FEMALE);
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+    PdfDocumentSnapshot snapshot =
+        new PdfDocumentSnapshot(12L, PdfDocumentCache.DocumentType.ALLOCATION_LETTER, Map.of(), "v1");
+    when(studentPaymentService.allocationLetterSnapshot(7L, 12L)).thenReturn(snapshot);
+    when(studentPaymentService.renderDocument(snapshot)).thenReturn(new PdfDocumentCache.RenderedPdf("v1", PDF, ETAG));
+  }
+
+  @SuppressWarnings({"java:S1144", "unused"}) // Invoked by JUnit lifecycle.
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void download_shouldServeTheWholeDocumentWithItsValidators() throws Exception {
+    mockMvc.perform(get(URL))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+        .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+        .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"allocation-letter-12.pdf\""))
+        .andExpect(content().bytes(PDF));
+  }
+
+  @Test
+  void download_withMatchingIfNoneMatch_shouldAnswerNotModified() throws Exception {
+    MvcResult result =
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andReturn();
+
+    assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  void download_withStaleIfNoneMatch_shouldServeTheDocument() throws Exception {
+    mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(PDF));
+  }
+
+  @Test
+  void download_withRange_shouldAnswerPartialContent() throws Exception {
+    mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=5-12"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-12/" + PDF.length))
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+        .andExpect(content().bytes(Arrays.copyOfRange(PDF, 5, 13)));
+  }
+
+  @Test
+  void download_withUnsatisfiableRange_shouldAnswerRangeNotSatisfiable() throws Exception {
+    mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=" + PDF.length + "-"))
+        .andExpect(status().isRequestedRangeNotSatisfiable())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + PDF.length));
+  }
+}
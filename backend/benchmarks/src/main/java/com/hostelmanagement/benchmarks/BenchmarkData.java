@@ -0,0 +1,223 @@
+package com.hostelmanagement.benchmarks;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import com.hostelmanagement.domain.Booking;
+import com.hostelmanagement.domain.BookingStatus;
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.MattressType;
+import com.hostelmanagement.domain.Payment;
+import com.hostelmanagement.domain.PaymentMethod;
+import com.hostelmanagement.domain.PaymentStatus;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.domain.RoomStatus;
+import com.hostelmanagement.domain.RoomType;
+import com.hostelmanagement.domain.Student;
+import com.hostelmanagement.web.dto.HostelResponse;
+import com.hostelmanagement.web.dto.RoomResponse;
+
+/**
+ * Deterministic data generators sized like a semester-start catalogue.
+ *
+ * <p>All generators take a seed so runs are comparable across commits.
+ */
+public final class BenchmarkData {
+
+  private static final String[] HOSTEL_NAMES = {
+    "Unity Hall", "Independence Hall", "Queen Amina Hall", "Nnamdi Azikiwe Hall", "Moremi Hall",
+    "Kuti Hall", "Mellanby Hall", "Tedder Hall", "Sultan Bello Hall", "Idia Hall"
+  };
+
+  private static final String[] FIRST_NAMES = {
+    "Kwame", "Ama", "Kofi", "Akosua", "Yaw", "Abena", "Kwabena", "Efua", "Chinedu", "Ngozi",
+    "Tunde", "Folake", "Emeka", "Adaeze", "Kojo", "Esi"
+  };
+
+  private static final String[] LAST_NAMES = {
+    "Mensah", "Owusu", "Boateng", "Asante", "Osei", "Addo", "Okafor", "Adeyemi", "Nwosu", "Danso",
+    "Appiah", "Quaye"
+  };
+
+  private BenchmarkData() {}
+
+  /** One paid booking with its student and payment, wired the way the PDF and mail paths read them. */
+  public record Allocation(Student student, Booking booking, Payment payment) {}
+
+  public static List<HostelResponse> hostels(int count, long seed) {
+    Random random = new Random(seed);
+    List<HostelResponse> hostels = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      hostels.add(new HostelResponse(
+          (long) i + 1,
+          HOSTEL_NAMES[i % HOSTEL_NAMES.length] + (i < HOSTEL_NAMES.length ? "" : " " + (i / HOSTEL_NAMES.length + 1)),
+          "Block " + (char) ('A' + i % 26) + ", Main Campus",
+          "/uploads/hostels/" + (i + 1) + ".jpg",
+          BigDecimal.valueOf(random.nextInt(50) + 1, 1),
+          200 + random.nextInt(400),
+          true));
+    }
+    return hostels;
+  }
+
+  /** Rooms of one hostel, spread over floors, genders and attributes like a real block. */
+  public static List<RoomResponse> rooms(long hostelId, String hostelName, int count, long seed) {
+    Random random = new Random(seed);
+    MattressType[] mattresses = MattressType.values();
+    RoomType[] roomTypes = RoomType.values();
+    List<RoomResponse> rooms = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int floor = i / 50 + 1;
+      int capacity = 1 + random.nextInt(4);
+      rooms.add(new RoomResponse(
+          hostelId * 100_000 + i,
+          hostelId,
+          hostelName,
+          floor + String.format("%02d", i % 50),
+          capacity,
+          random.nextInt(capacity),
+          i % 2 == 0 ? Gender.MALE : Gender.FEMALE,
+          mattresses[random.nextInt(mattresses.length)],
+          random.nextBoolean(),
+          random.nextInt(4) != 0,
+          RoomStatus.AVAILABLE,
+          BigDecimal.valueOf(80_000 + random.nextInt(12) * 10_000L, 2),
+          floor,
+          roomTypes[random.nextInt(roomTypes.length)]));
+    }
+    return rooms;
+  }
+
+  /** Active hostel entities with the same names and distances as {@link #hostels}. */
+  public static List<Hostel> hostelEntities(int count, long seed) {
+    List<Hostel> hostels = new ArrayList<>(count);
+    for (HostelResponse dto : hostels(count, seed)) {
+      Hostel hostel = new Hostel();
+      setId(hostel, dto.id());
+      hostel.setName(dto.name());
+      hostel.setLocation(dto.location());
+      hostel.setImagePath(dto.imagePath());
+      hostel.setDistanceToCampusKm(dto.distanceToCampusKm());
+      hostel.setTotalRooms(dto.totalRooms());
+      hostel.setActive(true);
+      hostels.add(hostel);
+    }
+    return hostels;
+  }
+
+  /**
+   * Room entities for {@code hostel}, in the unspecified order a database returns them so the
+   * service's sort does real work.
+   */
+  public static List<Room> roomEntities(Hostel hostel, int count, long seed) {
+    Random random = new Random(seed);
+    List<Room> rooms = new ArrayList<>(count);
+    for (RoomResponse dto : rooms(hostel.getId(), hostel.getName(), count, seed)) {
+      Room room = new Room();
+      setId(room, dto.id());
+      room.setHostel(hostel);
+      room.setRoomNumber(dto.roomNumber());
+      room.setCapacity(dto.capacity());
+      room.setRoomGender(dto.roomGender());
+      room.setMattressType(dto.mattressType());
+      room.setHasAc(dto.hasAc());
+      room.setHasWifi(dto.hasWifi());
+      room.setPrice(dto.price());
+      room.setFloorNumber(dto.floorNumber());
+      room.setRoomType(dto.roomType());
+      rooms.add(room);
+    }
+    Collections.shuffle(rooms, random);
+    return rooms;
+  }
+
+  /** {@code count} approved bookings spread over {@code rooms}, one student and payment each. */
+  public static List<Allocation> allocations(List<Room> rooms, int count, long seed) {
+    Random random = new Random(seed);
+    PaymentMethod[] methods = PaymentMethod.values();
+    Instant paidAt = Instant.parse("2026-09-01T08:00:00Z");
+    List<Allocation> allocations = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Room room = rooms.get(random.nextInt(rooms.size()));
+      String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+      String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+      Student student = new Student();
+      setId(student, (long) i + 1);
+      student.setFullName(first + " " + last);
+      student.setEmail((first + "." + last).toLowerCase(Locale.ROOT) + (i + 1) + "@st.university.edu.gh");
+      student.setPhone("+23324" + String.format("%07d", random.nextInt(10_000_000)));
+      student.setGender(room.getRoomGender());
+      student.setCurrentLevel(100 * (1 + random.nextInt(4)));
+
+      Booking booking = new Booking();
+      setId(booking, (long) i + 1);
+      booking.setStudent(student);
+      booking.setRoom(room);
+      booking.setStatus(BookingStatus.APPROVED);
+      booking.setAcademicYear("2026/2027");
+
+      Payment payment = new Payment();
+      setId(payment, (long) i + 1);
+      payment.setStudent(student);
+      payment.setBooking(booking);
+      payment.setAmount(room.getPrice());
+      payment.setStatus(PaymentStatus.COMPLETED);
+      payment.setPaymentMethod(methods[random.nextInt(methods.length)]);
+      payment.setTransactionReference("HMS-" + (i + 1) + "-" + (1_711_111_111_111L + random.nextInt(1_000_000)));
+      payment.setPaidAt(paidAt.plusSeconds(random.nextInt(30 * 24 * 3600)));
+
+      allocations.add(new Allocation(student, booking, payment));
+    }
+    return allocations;
+  }
+
+  /**
+   * A Paystack {@code charge.success} webhook body of roughly {@code targetBytes}, padded out with
+   * the gateway's request-log history the way large real deliveries are.
+   */
+  public static byte[] webhookPayload(int targetBytes, long seed) {
+    Random random = new Random(seed);
+    long bookingId = 1 + random.nextInt(50_000);
+    StringBuilder json = new StringBuilder(targetBytes + 256);
+    json.append("{\"event\":\"charge.success\",\"data\":{")
+        .append("\"id\":").append(3_000_000_000L + random.nextInt(1_000_000)).append(',')
+        .append("\"domain\":\"live\",\"status\":\"success\",")
+        .append("\"reference\":\"HMS-").append(bookingId).append('-').append(1_711_111_111_111L + random.nextInt(1_000_000)).append("\",")
+        .append("\"amount\":").append(80_000 + random.nextInt(12) * 10_000).append(",\"currency\":\"GHS\",")
+        .append("\"channel\":\"mobile_money\",\"gateway_response\":\"Approved\",")
+        .append("\"metadata\":{\"bookingId\":").append(bookingId)
+        .append(",\"studentId\":").append(1 + random.nextInt(20_000))
+        .append(",\"paymentMethod\":\"MTN_MOMO\"},")
+        .append("\"log\":{\"history\":[");
+    int step = 0;
+    while (json.length() < targetBytes - 8) {
+      if (step > 0) {
+        json.append(',');
+      }
+      json.append("{\"type\":\"action\",\"message\":\"Attempted to pay with mobile money ")
+          .append(random.nextInt(1_000_000))
+          .append("\",\"time\":").append(step++).append('}');
+    }
+    json.append("]}}}");
+    return json.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void setId(Object entity, Long id) {
+    try {
+      Field field = entity.getClass().getDeclaredField("id");
+      field.setAccessible(true);
+      field.set(entity, id);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to set id on " + entity.getClass().getSimpleName(), ex);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.hostelmanagement.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostelmanagement.config.CompactJsonRedisSerializer;
+import com.hostelmanagement.web.dto.RoomResponse;
+
+/**
+ * Compares the generic JSON cache serializer with {@link CompactJsonRedisSerializer} on an
+ * {@code available-rooms} entry. Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializationBenchmark {
+
+  @Param({"50", "500"})
+  public int rooms;
+
+  private GenericJackson2JsonRedisSerializer generic;
+  private CompactJsonRedisSerializer<List<RoomResponse>> compact;
+  private List<RoomResponse> value;
+  private byte[] genericBytes;
+  private byte[] compactBytes;
+
+  @Setup
+  public void setUp() {
+    generic = new GenericJackson2JsonRedisSerializer();
+    ObjectMapper mapper = new ObjectMapper();
+    compact = new CompactJsonRedisSerializer<>(
+        mapper, mapper.getTypeFactory().constructCollectionType(List.class, RoomResponse.class), 1024);
+    value = BenchmarkData.rooms(1L, "Unity Hall", rooms, 42L);
+
+    genericBytes = generic.serialize(value);
+    compactBytes = compact.serialize(value);
+    System.out.printf("%n[payload] rooms=%d generic=%d bytes compact=%d bytes (%.1fx smaller)%n",
+        rooms, genericBytes.length, compactBytes.length, (double) genericBytes.length / compactBytes.length);
+  }
+
+  @Benchmark
+  public byte[] serializeGeneric() {
+    return generic.serialize(value);
+  }
+
+  @Benchmark
+  public byte[] serializeCompact() {
+    return compact.serialize(value);
+  }
+
+  @Benchmark
+  public Object deserializeGeneric() {
+    return generic.deserialize(genericBytes);
+  }
+
+  @Benchmark
+  public Object deserializeCompact() {
+    return compact.deserialize(compactBytes);
+  }
+}
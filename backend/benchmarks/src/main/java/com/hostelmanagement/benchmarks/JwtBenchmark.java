@@ -0,0 +1,100 @@
+package com.hostelmanagement.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.hostelmanagement.domain.Role;
+import com.hostelmanagement.security.JwtAuthenticationFilter;
+import com.hostelmanagement.security.JwtService;
+import com.hostelmanagement.security.JwtVerificationCache;
+import com.hostelmanagement.security.JwtUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.ServletException;
+
+/**
+ * Access-token verification on every authenticated request: a full {@link JwtService#parse}, a
+ * lookup through the {@link JwtVerificationCache}, and a {@link JwtAuthenticationFilter} pass
+ * (which uses the cache). Requests cycle through {@code activeUsers} distinct tokens, as a busy
+ * allocation window would present them; all of them fit in the default cache size, so after
+ * warm-up {@code cachedVerify} measures hits.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+  private static final String SECRET = "benchmark-jwt-secret-0123456789abcdef";
+
+  @Param({"1", "5000"})
+  public int activeUsers;
+
+  private JwtService jwtService;
+  private JwtVerificationCache verificationCache;
+  private JwtAuthenticationFilter filter;
+  private String[] tokens;
+  private int cursor;
+
+  @Setup
+  public void setUp() {
+    jwtService = new JwtService(SECRET, 3600, 604800);
+    verificationCache = new JwtVerificationCache(jwtService, new SimpleMeterRegistry(), 10_000);
+    filter = new JwtAuthenticationFilter(verificationCache);
+    List<BenchmarkData.Allocation> allocations =
+        BenchmarkData.allocations(
+            BenchmarkData.roomEntities(BenchmarkData.hostelEntities(1, 42L).get(0), 250, 42L), activeUsers, 42L);
+    tokens = allocations.stream()
+        .map(allocation -> jwtService.generateAccessToken(
+            allocation.student().getId(), allocation.student().getEmail(), Role.STUDENT, allocation.student().getGender()))
+        .toArray(String[]::new);
+  }
+
+  @Benchmark
+  public JwtUser parse() {
+    return jwtService.parse(nextToken());
+  }
+
+  @Benchmark
+  public JwtUser cachedVerify() {
+    return verificationCache.verify(nextToken());
+  }
+
+  @Benchmark
+  public Authentication filter() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/student/hostels");
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + nextToken());
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContextHolder.clearContext();
+    return authentication;
+  }
+
+  private String nextToken() {
+    String token = tokens[cursor];
+    cursor = cursor + 1 == tokens.length ? 0 : cursor + 1;
+    return token;
+  }
+}
@@ -0,0 +1,168 @@
+package com.hostelmanagement.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.NotificationOutboxRepository;
+import com.hostelmanagement.service.Bulkheads;
+import com.hostelmanagement.service.NotificationOutboxDispatcher;
+import com.hostelmanagement.service.NotificationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * HTML email rendering in {@link NotificationService}: template formatting and building the outbox
+ * row. The outbox repository hands each row to a {@link Blackhole} instead of the database.
+ *
+ * <p>{@code bookingConfirmationLegacy} is the {@code String.format} rendering the service used
+ * before templates were precompiled, kept as the baseline. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} per message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NotificationTemplateBenchmark {
+
+  private static final String LEGACY_WRAPPER = """
+      <!DOCTYPE html>
+      <html>
+      <head>
+        <meta charset="UTF-8">
+        <style>
+          body { margin: 0; padding: 0; background-color: #f3f1ea; font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', Roboto, Helvetica, Arial, sans-serif; -webkit-font-smoothing: antialiased; }
+          .container { max-width: 600px; margin: 40px auto; background: #ffffff; border-radius: 12px; overflow: hidden; box-shadow: 0 4px 24px rgba(0,0,0,0.06); border: 1px solid #e2e8f0; }
+          .header { background: #0a4a30; padding: 28px 32px; text-align: center; }
+          .header h1 { margin: 0; color: #ffffff; font-size: 22px; font-weight: 700; letter-spacing: 0.5px; }
+          .content { padding: 40px 32px; color: #334155; line-height: 1.6; font-size: 16px; }
+          .content h2 { margin-top: 0; color: #0f6b46; font-size: 20px; font-weight: 600; }
+          .content p { margin: 0 0 20px 0; }
+          .data-box { background: #f8fafc; border: 1px solid #e2e8f0; border-radius: 8px; padding: 20px; margin-bottom: 24px; }
+          .data-row { margin-bottom: 12px; font-size: 15px; }
+          .data-row:last-child { margin-bottom: 0; }
+          .data-label { font-weight: 600; color: #64748b; display: inline-block; width: 90px; }
+          .data-value { color: #0f172a; font-weight: 500; }
+          .btn-container { text-align: center; margin: 32px 0; }
+          .btn { display: inline-block; background: #0f6b46; color: #ffffff !important; text-decoration: none; padding: 14px 28px; border-radius: 8px; font-weight: 600; font-size: 16px; letter-spacing: 0.3px; }
+          .footer { background: #f8fafc; padding: 24px 32px; text-align: center; border-top: 1px solid #e2e8f0; }
+          .footer p { margin: 0; color: #64748b; font-size: 13px; line-height: 1.5; }
+        </style>
+      </head>
+      <body>
+        <div class="container">
+          <div class="header">
+            <h1>UniHostel Management</h1>
+          </div>
+          <div class="content">
+            %s
+          </div>
+          <div class="footer">
+            <p>This is an automated message from the University Hostel Management System.<br>Please do not reply to this email.</p>
+          </div>
+        </div>
+      </body>
+      </html>
+      """;
+
+  private static final String LEGACY_BOOKING_CONFIRMATION = """
+      <h2>Application Received</h2>
+      <p>Dear <strong>%s</strong>,</p>
+      <p>Your room application has been successfully submitted and is awaiting payment verification.</p>
+      
+      <div class="data-box">
+        <div class="data-row"><span class="data-label">Hostel:</span> <span class="data-value">%s</span></div>
+        <div class="data-row"><span class="data-label">Room:</span> <span class="data-value">%s</span></div>
+        <div class="data-row"><span class="data-label">Amount:</span> <span class="data-value" style="color: #0f6b46;">GHS %.2f</span></div>
+        <div class="data-row"><span class="data-label">Deadline:</span> <span class="data-value" style="color: #b91c1c;">%s</span></div>
+      </div>
+      
+      <p>Please complete your payment before the deadline to secure your allocation. Log in to the student portal to upload your payment receipt.</p>
+      """;
+
+  private static final DateTimeFormatter LEGACY_FMT =
+      DateTimeFormatter.ofPattern("dd MMM yyyy 'at' HH:mm 'UTC'").withZone(ZoneId.of("UTC"));
+
+  private NotificationService service;
+  private List<BenchmarkData.Allocation> allocations;
+  private Instant dueAt;
+  private int cursor;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    Bulkheads bulkheads = new Bulkheads(meterRegistry, false, 10, 5000, 4, 60000, 16, 2000);
+    NotificationOutboxRepository outbox = discardingOutbox(blackhole);
+    NotificationOutboxDispatcher dispatcher = new NotificationOutboxDispatcher(
+        outbox, null, bulkheads, null, meterRegistry, 50, 2000, 8, 30, 3600, 120, 600, 120);
+    service = new NotificationService(outbox, dispatcher, null);
+    allocations = BenchmarkData.allocations(
+        BenchmarkData.roomEntities(BenchmarkData.hostelEntities(1, 42L).get(0), 250, 42L), 1_000, 42L);
+    dueAt = Instant.parse("2026-09-03T08:00:00Z");
+  }
+
+  @Benchmark
+  public String bookingConfirmationLegacy() {
+    BenchmarkData.Allocation allocation = next();
+    Room room = allocation.booking().getRoom();
+    String content = LEGACY_BOOKING_CONFIRMATION.formatted(
+        allocation.student().getFullName(), room.getHostel().getName(), room.getRoomNumber(),
+        allocation.payment().getAmount(), LEGACY_FMT.format(dueAt));
+    return String.format(LEGACY_WRAPPER, content);
+  }
+
+  @Benchmark
+  public void bookingConfirmation() {
+    BenchmarkData.Allocation allocation = next();
+    Room room = allocation.booking().getRoom();
+    service.sendBookingConfirmation(
+        allocation.student().getEmail(), allocation.student().getFullName(),
+        room.getHostel().getName(), room.getRoomNumber(), allocation.payment().getAmount(), dueAt);
+  }
+
+  @Benchmark
+  public void paymentApproval() {
+    BenchmarkData.Allocation allocation = next();
+    Room room = allocation.booking().getRoom();
+    service.sendPaymentApproval(
+        allocation.student().getEmail(), allocation.student().getFullName(), room.getHostel().getName(), room.getRoomNumber());
+  }
+
+  private BenchmarkData.Allocation next() {
+    BenchmarkData.Allocation allocation = allocations.get(cursor);
+    cursor = cursor + 1 == allocations.size() ? 0 : cursor + 1;
+    return allocation;
+  }
+
+  /** An outbox whose {@code save} consumes the row and returns it; nothing else is called. */
+  private static NotificationOutboxRepository discardingOutbox(Blackhole blackhole) {
+    return (NotificationOutboxRepository) Proxy.newProxyInstance(
+        NotificationOutboxRepository.class.getClassLoader(),
+        new Class<?>[] {NotificationOutboxRepository.class},
+        (proxy, method, args) -> {
+          if (!method.getName().equals("save")) {
+            throw new UnsupportedOperationException(method.getName());
+          }
+          blackhole.consume(args[0]);
+          return args[0];
+        });
+  }
+}
@@ -0,0 +1,119 @@
+package com.hostelmanagement.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.service.PdfAllocationLetterService;
+import com.hostelmanagement.service.PdfDocumentCache;
+import com.hostelmanagement.service.PdfDocumentSnapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Allocation-letter and payment-receipt rendering through {@link PdfAllocationLetterService}
+ * (stamping values onto the pre-rendered templates), cycling through 20k paid bookings spread
+ * over 5k rooms.
+ *
+ * <ul>
+ *   <li>{@code allocationLetter} renders into a {@code byte[]}, as a cache miss does.
+ *   <li>{@code streamAllocationLetter} writes into a discarding stream instead, with no buffer.
+ *   <li>{@code cachedAllocationLetter} is a repeat download: snapshot, fingerprint and a
+ *       {@link PdfDocumentCache} hit.
+ * </ul>
+ *
+ * <p>Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the heap allocated per download.
+ * Multiplied by concurrent downloads, it gives the young-generation pressure of a download rush.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PdfGenerationBenchmark {
+
+  private static final int BOOKINGS = 20_000;
+
+  private PdfAllocationLetterService service;
+  private PdfDocumentCache cache;
+  private List<BenchmarkData.Allocation> allocations;
+  private int cursor;
+
+  @Setup
+  public void setUp() {
+    service = new PdfAllocationLetterService();
+    cache = new PdfDocumentCache(new SimpleMeterRegistry(), 1024, 24);
+    List<Room> rooms = BenchmarkData.hostelEntities(20, 42L).stream()
+        .flatMap(hostel -> BenchmarkData.roomEntities(hostel, 250, hostel.getId()).stream())
+        .toList();
+    allocations = BenchmarkData.allocations(rooms, BOOKINGS, 42L);
+  }
+
+  @Benchmark
+  public byte[] allocationLetter() {
+    BenchmarkData.Allocation allocation = next();
+    return service.generateAllocationLetterPdf(allocation.student(), allocation.booking(), allocation.payment());
+  }
+
+  @Benchmark
+  public void streamAllocationLetter(Blackhole blackhole) throws IOException {
+    BenchmarkData.Allocation allocation = next();
+    PdfDocumentSnapshot snapshot =
+        service.allocationLetterSnapshot(allocation.student(), allocation.booking(), allocation.payment());
+    service.write(snapshot, new BlackholeOutputStream(blackhole));
+  }
+
+  @Benchmark
+  public byte[] cachedAllocationLetter() {
+    BenchmarkData.Allocation allocation = next();
+    PdfDocumentSnapshot snapshot =
+        service.allocationLetterSnapshot(allocation.student(), allocation.booking(), allocation.payment());
+    return cache.get(snapshot, () -> service.render(snapshot)).pdf();
+  }
+
+  @Benchmark
+  public byte[] paymentReceipt() {
+    BenchmarkData.Allocation allocation = next();
+    return service.generatePaymentReceiptPdf(allocation.student(), allocation.payment(), allocation.booking());
+  }
+
+  private BenchmarkData.Allocation next() {
+    BenchmarkData.Allocation allocation = allocations.get(cursor);
+    cursor = cursor + 1 == allocations.size() ? 0 : cursor + 1;
+    return allocation;
+  }
+
+  private static final class BlackholeOutputStream extends OutputStream {
+
+    private final Blackhole blackhole;
+
+    BlackholeOutputStream(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(int b) {
+      blackhole.consume(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      blackhole.consume(b);
+    }
+  }
+}
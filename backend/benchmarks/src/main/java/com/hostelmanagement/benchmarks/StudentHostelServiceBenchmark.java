@@ -0,0 +1,87 @@
+package com.hostelmanagement.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hostelmanagement.domain.Gender;
+import com.hostelmanagement.domain.Hostel;
+import com.hostelmanagement.domain.Room;
+import com.hostelmanagement.repository.HostelRepository;
+import com.hostelmanagement.repository.RoomRepository;
+import com.hostelmanagement.service.StudentHostelService;
+import com.hostelmanagement.web.dto.HostelResponse;
+import com.hostelmanagement.web.dto.RoomResponse;
+
+/**
+ * Sorting and DTO mapping in {@link StudentHostelService} on a cache miss, with the repositories
+ * answering from memory so only the service's own work is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentHostelServiceBenchmark {
+
+  private static final int HOSTELS = 40;
+
+  @Param({"250", "2500"})
+  public int roomsPerHostel;
+
+  private StudentHostelService service;
+
+  @Setup
+  public void setUp() {
+    List<Hostel> hostels = BenchmarkData.hostelEntities(HOSTELS, 42L);
+    List<Room> maleRooms = BenchmarkData.roomEntities(hostels.get(0), roomsPerHostel, 42L).stream()
+        .filter(room -> room.getRoomGender() == Gender.MALE)
+        .toList();
+
+    HostelRepository hostelRepository = repository(HostelRepository.class, "findByActiveTrue", hostels);
+    RoomRepository roomRepository =
+        repository(RoomRepository.class, "findAvailableByHostelIdAndGenderWithHostel", maleRooms);
+    service = new StudentHostelService(hostelRepository, roomRepository, null);
+  }
+
+  @Benchmark
+  public List<HostelResponse> listActiveHostels() {
+    return service.listActiveHostels();
+  }
+
+  @Benchmark
+  public List<RoomResponse> listAvailableRooms() {
+    return service.listAvailableRooms(1L, Gender.MALE);
+  }
+
+  /** A repository whose {@code finder} returns {@code result}; any other query fails loudly. */
+  private static <T> T repository(Class<T> type, String finder, List<?> result) {
+    Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+      if (method.getName().equals(finder)) {
+        return result;
+      }
+      if (method.getDeclaringClass() == Object.class) {
+        return switch (method.getName()) {
+          case "equals" -> self == args[0];
+          case "hashCode" -> System.identityHashCode(self);
+          default -> type.getSimpleName() + "Stub";
+        };
+      }
+      throw new UnsupportedOperationException(method.getName());
+    });
+    return type.cast(proxy);
+  }
+}
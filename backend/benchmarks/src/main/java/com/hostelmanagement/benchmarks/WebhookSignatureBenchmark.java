@@ -0,0 +1,90 @@
+package com.hostelmanagement.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hostelmanagement.security.HmacSignatureVerifier;
+
+/**
+ * Paystack webhook signature check: the previous per-request implementation (new {@link Mac},
+ * body decoded to a String and re-encoded, hex built with {@code Integer.toHexString}, both sides
+ * lowercased) against {@link HmacSignatureVerifier} on the raw body bytes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebhookSignatureBenchmark {
+
+  private static final String SECRET = "sk_test_4f1c0d5e8a7b6c5d4e3f2a1b0c9d8e7f";
+
+  @Param({"5", "20", "50"})
+  public int payloadKb;
+
+  private byte[] body;
+  private String signature;
+  private HmacSignatureVerifier verifier;
+
+  @Setup
+  public void setUp() throws GeneralSecurityException {
+    body = BenchmarkData.webhookPayload(payloadKb * 1024, 7L);
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+    signature = HexFormat.of().formatHex(mac.doFinal(body));
+    verifier = new HmacSignatureVerifier("HmacSHA256", SECRET.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Benchmark
+  public boolean legacyStringHex() {
+    // The controller used to bind the body as a String.
+    return legacyVerify(new String(body, StandardCharsets.UTF_8), signature, SECRET);
+  }
+
+  @Benchmark
+  public boolean streamingBytes() {
+    return verifier.verify(body, signature);
+  }
+
+  private static boolean legacyVerify(String payload, String signature, String secret) {
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+      mac.init(secretKeySpec);
+      byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+
+      StringBuilder hexString = new StringBuilder();
+      for (byte b : hash) {
+        String hex = Integer.toHexString(0xff & b);
+        if (hex.length() == 1) hexString.append('0');
+        hexString.append(hex);
+      }
+
+      return MessageDigest.isEqual(
+          hexString.toString().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8),
+          signature.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException ex) {
+      return false;
+    }
+  }
+}
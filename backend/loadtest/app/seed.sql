@@ -0,0 +1,52 @@
+-- Registration-day catalogue for the loadtest profile (H2, MODE=MySQL): one open academic term,
+-- 20 hostels and 3,000 rooms (8,000-odd beds) split evenly between genders. Students are
+-- registered by the harness through /api/auth/register. The admin account lets the harness read
+-- /actuator/metrics; its password is LoadTest#2026.
+
+INSERT INTO academic_terms
+  (academic_year, semester, start_date, end_date, reapplication_open_date, is_active, created_at, updated_at)
+VALUES
+  ('2026/2027', '1', DATEADD('DAY', -30, CURRENT_DATE), DATEADD('DAY', 120, CURRENT_DATE),
+   DATEADD('DAY', -30, CURRENT_DATE), TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+INSERT INTO hostels (name, location, image_path, distance_to_campus_km, total_rooms, active, created_at, updated_at)
+SELECT
+  CONCAT('Load Hall ', X),
+  CONCAT('Block ', CHAR(64 + X), ', Main Campus'),
+  NULL,
+  0.3 * X,
+  150,
+  TRUE,
+  CURRENT_TIMESTAMP,
+  CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 20);
+
+INSERT INTO rooms
+  (hostel_id, room_number, capacity, current_occupancy, room_gender, mattress_type, has_ac, has_wifi,
+   status, price, floor_number, room_type, version, created_at, updated_at)
+SELECT
+  h.id,
+  CONCAT((r.X - 1) / 50 + 1, LPAD(MOD(r.X - 1, 50), 2, '0')),
+  2 + MOD(r.X, 3),
+  0,
+  CASE WHEN MOD(r.X, 2) = 0 THEN 'MALE' ELSE 'FEMALE' END,
+  CASE WHEN MOD(r.X, 3) = 0 THEN 'QUEEN' ELSE 'NORMAL' END,
+  MOD(r.X, 4) = 0,
+  TRUE,
+  'AVAILABLE',
+  800 + MOD(r.X * 7, 12) * 100,
+  (r.X - 1) / 50 + 1,
+  'STANDARD',
+  0,
+  CURRENT_TIMESTAMP,
+  CURRENT_TIMESTAMP
+FROM hostels h
+CROSS JOIN SYSTEM_RANGE(1, 150) r;
+
+INSERT INTO students
+  (full_name, email, phone, gender, password, role, current_level, retained_from_checkout,
+   is_email_verified, created_at, updated_at)
+VALUES
+  ('Load Test Admin', 'loadtest-admin@hostel.test', '+233240000000', 'MALE',
+   '$2a$10$LKo3.YjQXzYVhEDouluLquVBhK6cg/q3DBhjDDaKLI962Tljnh//m', 'ADMIN', 100, FALSE, TRUE,
+   CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
@@ -0,0 +1,24 @@
+#!/usr/bin/env sh
+# Starts the app with the loadtest profile (H2, Caffeine, stub Paystack on :9099) and a
+# continuous JFR recording that is written when the app exits. Extra JVM flags go in
+# APP_JVM_ARGS, e.g. APP_JVM_ARGS="-Xmx2g" VIRTUAL_THREADS_ENABLED=true ./run-app.sh
+set -eu
+
+HERE=$(cd "$(dirname "$0")" && pwd)
+JFR_DIR="${JFR_DIR:-$HERE/target/jfr}"
+mkdir -p "$JFR_DIR"
+JFR_FILE="$JFR_DIR/app-$(date +%Y%m%d-%H%M%S).jfr"
+
+# "profile" samples Java stacks every 10-20 ms; deeper stacks keep Spring/Hibernate frames intact
+# for flame graphs.
+JFR="-XX:StartFlightRecording=name=loadtest,settings=profile,dumponexit=true,filename=$JFR_FILE"
+JFR="$JFR -XX:FlightRecorderOptions=stackdepth=256"
+
+echo "JFR recording -> $JFR_FILE"
+cd "$HERE/../app"
+# The test classpath supplies the H2 driver.
+exec ./mvnw -q spring-boot:run \
+  -Dspring-boot.run.useTestClasspath=true \
+  -Dspring-boot.run.profiles=loadtest \
+  -Dspring-boot.run.jvmArguments="$JFR ${APP_JVM_ARGS:-}" \
+  -Dspring-boot.run.arguments="--spring.config.additional-location=file:$HERE/app/ --spring.sql.init.data-locations=file:$HERE/app/seed.sql"
@@ -0,0 +1,163 @@
+package com.hostelmanagement.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+/** Thin JSON client for the app's REST API that times every call into {@link Stats}. */
+final class ApiClient {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final URI baseUrl;
+  private final Duration timeout;
+  private final Stats stats;
+  private final HttpClient http;
+
+  ApiClient(URI baseUrl, Duration timeout, Stats stats) {
+    this.baseUrl = baseUrl;
+    this.timeout = timeout;
+    this.stats = stats;
+    this.http =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+  }
+
+  record Response(int status, JsonNode body) {
+    boolean ok() {
+      return status >= 200 && status < 300;
+    }
+  }
+
+  Response get(String operation, String path, String token) {
+    return send(operation, request(path, token).GET().build());
+  }
+
+  Response post(String operation, String path, String token, Object body) {
+    return post(operation, path, token, json(body), Map.of());
+  }
+
+  Response post(String operation, String path, String token, byte[] body, Map<String, String> headers) {
+    HttpRequest.Builder builder =
+        request(path, token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+    headers.forEach(builder::header);
+    return send(operation, builder.build());
+  }
+
+  /** Whether {@code /actuator/health} answers 200; not recorded. */
+  boolean healthy() {
+    try {
+      return http.send(request("/actuator/health", null).GET().build(), HttpResponse.BodyHandlers.discarding())
+              .statusCode() == 200;
+    } catch (IOException ex) {
+      return false;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Cumulative count of a Micrometer counter per value of {@code tag}, read from
+   * {@code /actuator/metrics}; empty when the meter has not been registered yet. Not recorded.
+   */
+  Map<String, Double> counterByTag(String meter, String tag, String token) {
+    Map<String, Double> counts = new TreeMap<>();
+    JsonNode root = fetchMetric(meter, null, token);
+    for (JsonNode available : root.path("availableTags")) {
+      if (!tag.equals(available.path("tag").asText())) {
+        continue;
+      }
+      for (JsonNode value : available.path("values")) {
+        counts.put(value.asText(), count(fetchMetric(meter, tag + ":" + value.asText(), token)));
+      }
+    }
+    if (counts.isEmpty() && !root.isMissingNode()) {
+      counts.put("", count(root));
+    }
+    return counts;
+  }
+
+  private JsonNode fetchMetric(String meter, String tagFilter, String token) {
+    String path = "/actuator/metrics/" + meter
+        + (tagFilter == null ? "" : "?tag=" + URLEncoder.encode(tagFilter, StandardCharsets.UTF_8));
+    try {
+      HttpResponse<byte[]> response =
+          http.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+      return response.statusCode() == 200 ? MAPPER.readTree(response.body()) : MissingNode.getInstance();
+    } catch (IOException ex) {
+      return MissingNode.getInstance();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return MissingNode.getInstance();
+    }
+  }
+
+  private static double count(JsonNode metric) {
+    for (JsonNode measurement : metric.path("measurements")) {
+      if ("COUNT".equals(measurement.path("statistic").asText())) {
+        return measurement.path("value").asDouble();
+      }
+    }
+    return 0;
+  }
+
+  static byte[] json(Object body) {
+    try {
+      return MAPPER.writeValueAsBytes(body);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException("Cannot serialise request body", ex);
+    }
+  }
+
+  private HttpRequest.Builder request(String path, String token) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout);
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    return builder;
+  }
+
+  private Response send(String operation, HttpRequest request) {
+    long start = System.nanoTime();
+    try {
+      HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+      stats.record(operation, System.nanoTime() - start, String.valueOf(response.statusCode()));
+      byte[] body = response.body();
+      JsonNode json = MissingNode.getInstance();
+      if (body.length > 0) {
+        try {
+          json = MAPPER.readTree(body);
+        } catch (IOException notJson) {
+          // Error pages and empty 202s carry no JSON.
+        }
+      }
+      return new Response(response.statusCode(), json);
+    } catch (IOException ex) {
+      stats.record(operation, System.nanoTime() - start, ex.getClass().getSimpleName());
+      return new Response(-1, MissingNode.getInstance());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      stats.record(operation, System.nanoTime() - start, "Interrupted");
+      return new Response(-1, MissingNode.getInstance());
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package com.hostelmanagement.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registration-day load generator.
+ *
+ * <p>Starts the stub Paystack gateway, waits for the app, registers {@code --students} accounts,
+ * then lets those students arrive at {@code --arrivals-per-second} (an open model: arrivals do not
+ * wait for slow responses, so queueing shows up in the latencies instead of hiding in the client).
+ * Each arrival runs a {@link StudentJourney} on its own virtual thread. The report has per-endpoint
+ * latency percentiles and throughput, the error mix, how journeys ended, and the change in the
+ * app's lock-conflict, bulkhead and webhook counters over the run.
+ */
+public final class LoadTest {
+
+  /** Counters read from {@code /actuator/metrics} before and after the run, with their tag. */
+  private static final List<String[]> APP_COUNTERS = List.of(
+      new String[] {"booking.apply", "outcome"},
+      new String[] {"db.lock.conflicts", "exception"},
+      new String[] {"bulkhead.rejected", "name"},
+      new String[] {"booking.admission.rejected", ""},
+      new String[] {"payment.webhook.received", "outcome"},
+      new String[] {"payment.webhook.processed", "outcome"});
+
+  private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    Options options;
+    try {
+      options = Options.parse(args);
+    } catch (IllegalArgumentException ex) {
+      if (ex.getMessage() != null && !ex.getMessage().isEmpty()) {
+        System.err.println(ex.getMessage());
+      }
+      System.err.print(Options.USAGE);
+      System.exit(2);
+      return;
+    }
+
+    Duration timeout = Duration.ofSeconds(options.requestTimeoutSeconds());
+    Stats setupStats = new Stats();
+    Stats runStats = new Stats();
+    ApiClient setupApi = new ApiClient(options.baseUrl(), timeout, setupStats);
+    ApiClient api = new ApiClient(options.baseUrl(), timeout, runStats);
+    // Health and metrics are on the management port; those calls are not recorded.
+    ApiClient management = new ApiClient(options.managementUrl(), timeout, setupStats);
+
+    try (StubPaystack paystack = new StubPaystack(options.paystackPort(), options.paystackLatencyMs())) {
+      System.out.printf("Stub Paystack on :%d, waiting for %s ...%n", options.paystackPort(), options.baseUrl());
+      awaitHealthy(management);
+
+      long setupStart = System.nanoTime();
+      boolean registered = registerStudents(setupApi, options);
+      setupStats.print(System.out, "setup: " + options.students() + " registrations", since(setupStart));
+      if (!registered) {
+        System.err.println("No student could be registered or logged in; is the loadtest profile active?");
+        System.exit(1);
+      }
+      String metricsToken = adminToken(setupApi, options);
+      if (metricsToken == null) {
+        System.err.println("Admin login as " + options.adminEmail() + " failed; app counters will read as 0.");
+      }
+
+      Map<String, Map<String, Double>> before = snapshot(management, metricsToken);
+      long runStart = System.nanoTime();
+      arrive(api, paystack, options, runStats);
+      Duration elapsed = since(runStart);
+      awaitWebhookDrain(management, metricsToken, before);
+      Map<String, Map<String, Double>> after = snapshot(management, metricsToken);
+
+      runStats.print(System.out, "run: " + options.students() + " students at "
+          + options.arrivalsPerSecond() + "/s", elapsed);
+      printCounterDeltas(before, after);
+    }
+  }
+
+  private static void awaitHealthy(ApiClient api) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+    while (!api.healthy()) {
+      if (System.nanoTime() > deadline) {
+        throw new IllegalStateException("App did not become healthy within 3 minutes");
+      }
+      Thread.sleep(1000);
+    }
+  }
+
+  /**
+   * Registers the students, alternating genders. Accounts left over from an earlier run are
+   * logged in instead.
+   *
+   * @return whether at least one student could register or log in
+   */
+  private static boolean registerStudents(ApiClient api, Options options) throws InterruptedException {
+    Semaphore permits = new Semaphore(options.setupConcurrency());
+    AtomicBoolean anyOk = new AtomicBoolean();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < options.students(); i++) {
+        int index = i;
+        permits.acquire();
+        executor.execute(() -> {
+          try {
+            ApiClient.Response response =
+                api.post("register", "/api/auth/register", null, Map.of(
+                    "fullName", "Load Student " + index,
+                    "email", email(index),
+                    "phone", "+23324" + String.format("%07d", index),
+                    "gender", index % 2 == 0 ? "MALE" : "FEMALE",
+                    "password", options.password()));
+            if (!response.ok()) {
+              response = api.post("login", "/api/auth/login", null,
+                  Map.of("email", email(index), "password", options.password()));
+            }
+            if (response.ok()) {
+              anyOk.set(true);
+            }
+          } finally {
+            permits.release();
+          }
+        });
+      }
+    }
+    return anyOk.get();
+  }
+
+  /** Logs in as the admin; {@code /actuator/metrics} is admin-only. Null if the login fails. */
+  private static String adminToken(ApiClient api, Options options) {
+    ApiClient.Response response = api.post("login", "/api/auth/login", null,
+        Map.of("email", options.adminEmail(), "password", options.adminPassword()));
+    return response.ok() ? response.body().path("accessToken").asText() : null;
+  }
+
+  private static void arrive(ApiClient api, StubPaystack paystack, Options options, Stats stats) {
+    long intervalNs = (long) (TimeUnit.SECONDS.toNanos(1) / options.arrivalsPerSecond());
+    long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < options.students(); i++) {
+        long wait = start + i * intervalNs - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        executor.execute(new StudentJourney(api, paystack, options, stats, email(i), options.seed() * 31 + i));
+      }
+    }
+  }
+
+  /** Waits until the app's webhook inbox has stopped applying events, so the counters settle. */
+  private static void awaitWebhookDrain(ApiClient api, String token, Map<String, Map<String, Double>> before)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+    Map<String, Double> previous = before.get("payment.webhook.processed");
+    while (System.nanoTime() < deadline) {
+      Thread.sleep(2000);
+      Map<String, Double> current = api.counterByTag("payment.webhook.processed", "outcome", token);
+      if (Objects.equals(current, previous)) {
+        return;
+      }
+      previous = current;
+    }
+  }
+
+  private static Map<String, Map<String, Double>> snapshot(ApiClient api, String token) {
+    Map<String, Map<String, Double>> counters = new LinkedHashMap<>();
+    for (String[] counter : APP_COUNTERS) {
+      counters.put(counter[0], api.counterByTag(counter[0], counter[1], token));
+    }
+    return counters;
+  }
+
+  private static void printCounterDeltas(Map<String, Map<String, Double>> before, Map<String, Map<String, Double>> after) {
+    System.out.println("\napp counters during the run:");
+    after.forEach((meter, values) -> {
+      if (values.isEmpty()) {
+        System.out.printf("  %-50s %8d%n", meter, 0);
+      }
+      values.forEach((tag, value) -> {
+        double delta = value - before.getOrDefault(meter, Map.of()).getOrDefault(tag, 0.0);
+        System.out.printf("  %-50s %8.0f%n", tag.isEmpty() ? meter : meter + "{" + tag + "}", delta);
+      });
+    });
+  }
+
+  private static String email(int index) {
+    return "student" + index + "@loadtest.hms";
+  }
+
+  private static Duration since(long startNanos) {
+    return Duration.ofNanos(System.nanoTime() - startNanos);
+  }
+}
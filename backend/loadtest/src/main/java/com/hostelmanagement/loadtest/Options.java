@@ -0,0 +1,98 @@
+package com.hostelmanagement.loadtest;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name=value}. Defaults describe a mid-sized
+ * registration morning against the {@code loadtest} profile started by {@code run-app.sh}.
+ */
+record Options(
+    URI baseUrl,
+    URI managementUrl,
+    int students,
+    double arrivalsPerSecond,
+    int hotRooms,
+    long thinkMs,
+    double webhookShare,
+    int paystackPort,
+    long paystackLatencyMs,
+    String webhookSecret,
+    String password,
+    String adminEmail,
+    String adminPassword,
+    int setupConcurrency,
+    long requestTimeoutSeconds,
+    long seed) {
+
+  static final String USAGE =
+      """
+      Usage: java -jar loadtest.jar [--name=value ...]
+
+        --base-url=http://localhost:8080   app under test
+        --management-url=http://localhost:8090
+                                           the app's actuator port (health and metrics)
+        --students=2000                    students registered, then arriving once each
+        --arrivals-per-second=50           open-model arrival rate of student journeys
+        --hot-rooms=10                     students pick among the first N listed rooms (contention)
+        --think-ms=500                     mean pause on the Paystack checkout page
+        --webhook-share=0.5                share of payments confirmed by webhook instead of /verify
+        --paystack-port=9099               port of the stub gateway (PAYSTACK_BASE_URL of the app)
+        --paystack-latency-ms=150          latency added to every stub gateway call
+        --webhook-secret=whsec_loadtest    PAYSTACK_WEBHOOK_SECRET of the app
+        --password=LoadTest#2026           password of the generated students
+        --admin-email=loadtest-admin@hostel.test
+                                           admin account used to read /actuator/metrics
+        --admin-password=LoadTest#2026
+        --setup-concurrency=32             parallel registrations before the run
+        --request-timeout-seconds=30
+        --seed=42
+      """;
+
+  static Options parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      if (arg.equals("--help") || arg.equals("-h")) {
+        throw new IllegalArgumentException("");
+      }
+      int eq = arg.indexOf('=');
+      if (!arg.startsWith("--") || eq < 0) {
+        throw new IllegalArgumentException("Unrecognised argument: " + arg);
+      }
+      values.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+
+    Options options =
+        new Options(
+            URI.create(take(values, "base-url", "http://localhost:8080").replaceAll("/+$", "")),
+            URI.create(take(values, "management-url", "http://localhost:8090").replaceAll("/+$", "")),
+            Integer.parseInt(take(values, "students", "2000")),
+            Double.parseDouble(take(values, "arrivals-per-second", "50")),
+            Integer.parseInt(take(values, "hot-rooms", "10")),
+            Long.parseLong(take(values, "think-ms", "500")),
+            Double.parseDouble(take(values, "webhook-share", "0.5")),
+            Integer.parseInt(take(values, "paystack-port", "9099")),
+            Long.parseLong(take(values, "paystack-latency-ms", "150")),
+            take(values, "webhook-secret", "whsec_loadtest"),
+            take(values, "password", "LoadTest#2026"),
+            take(values, "admin-email", "loadtest-admin@hostel.test"),
+            take(values, "admin-password", "LoadTest#2026"),
+            Integer.parseInt(take(values, "setup-concurrency", "32")),
+            Long.parseLong(take(values, "request-timeout-seconds", "30")),
+            Long.parseLong(take(values, "seed", "42")));
+    if (!values.isEmpty()) {
+      throw new IllegalArgumentException("Unknown option(s): " + values.keySet());
+    }
+    if (options.students <= 0 || options.arrivalsPerSecond <= 0 || options.hotRooms <= 0
+        || options.setupConcurrency <= 0 || options.webhookShare < 0 || options.webhookShare > 1) {
+      throw new IllegalArgumentException("Counts and rates must be positive; webhook-share is 0..1");
+    }
+    return options;
+  }
+
+  private static String take(Map<String, String> values, String name, String defaultValue) {
+    String value = values.remove(name);
+    return value == null ? defaultValue : value;
+  }
+}
@@ -0,0 +1,78 @@
+package com.hostelmanagement.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latencies and outcomes. Every response is kept (a run is at most a few hundred
+ * thousand requests) so percentiles are exact rather than bucketed.
+ */
+final class Stats {
+
+  private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> journeys = new ConcurrentHashMap<>();
+
+  /** Records one response; {@code outcome} is the HTTP status, or the exception name if none. */
+  void record(String operation, long nanos, String outcome) {
+    Operation op = operations.computeIfAbsent(operation, name -> new Operation());
+    op.latencies.add(nanos);
+    op.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+  }
+
+  /** Counts how a student journey ended, e.g. {@code paid-webhook} or {@code no-room}. */
+  void journey(String result) {
+    journeys.computeIfAbsent(result, key -> new LongAdder()).increment();
+  }
+
+  void print(PrintStream out, String title, Duration elapsed) {
+    double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+    out.printf("%n== %s (%.1f s) ==%n", title, seconds);
+    out.printf("%-16s %8s %9s %8s %8s %8s %8s %8s%n",
+        "operation", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+    Map<String, Long> errorMix = new TreeMap<>();
+    new TreeMap<>(operations).forEach((name, op) -> {
+      long[] sorted = op.latencies.stream().mapToLong(Long::longValue).toArray();
+      Arrays.sort(sorted);
+      long errors = 0;
+      for (Map.Entry<String, LongAdder> outcome : op.outcomes.entrySet()) {
+        if (!outcome.getKey().startsWith("2")) {
+          errors += outcome.getValue().sum();
+          errorMix.put(name + " " + outcome.getKey(), outcome.getValue().sum());
+        }
+      }
+      out.printf("%-16s %8d %9.1f %7.1f%% %8.1f %8.1f %8.1f %8.1f%n",
+          name, sorted.length, sorted.length / seconds, 100.0 * errors / Math.max(sorted.length, 1),
+          millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 1.0));
+    });
+
+    if (!errorMix.isEmpty()) {
+      out.println("\nerror mix:");
+      errorMix.forEach((key, count) -> out.printf("  %-40s %8d%n", key, count));
+    }
+    if (!journeys.isEmpty()) {
+      out.println("\njourneys:");
+      new TreeMap<>(journeys).forEach((key, count) -> out.printf("  %-40s %8d%n", key, count.sum()));
+    }
+  }
+
+  private static double millis(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(quantile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+  }
+
+  private static final class Operation {
+    final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+    final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+  }
+}
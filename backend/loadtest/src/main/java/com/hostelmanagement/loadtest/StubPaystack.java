@@ -0,0 +1,129 @@
+package com.hostelmanagement.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the Paystack transaction API: {@code POST /transaction/initialize} and
+ * {@code GET /transaction/verify/{reference}}. Every initialised charge succeeds. A fixed latency
+ * is added to each call so the app's gateway client, bulkhead and connection handling see
+ * realistic waits.
+ */
+final class StubPaystack implements AutoCloseable {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String INITIALIZE = "/transaction/initialize";
+  private static final String VERIFY = "/transaction/verify/";
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final long latencyMs;
+  private final Map<String, ObjectNode> charges = new ConcurrentHashMap<>();
+  private final AtomicLong transactionIds = new AtomicLong(4_000_000_000L);
+
+  StubPaystack(int port, long latencyMs) throws IOException {
+    this.latencyMs = latencyMs;
+    this.server = HttpServer.create(new InetSocketAddress(port), 512);
+    this.server.setExecutor(executor);
+    this.server.createContext("/transaction/", this::handle);
+    this.server.start();
+  }
+
+  /** The {@code charge.success} webhook Paystack would send for an initialised charge. */
+  byte[] chargeSuccessEvent(String reference) {
+    ObjectNode charge = charges.get(reference);
+    if (charge == null) {
+      throw new IllegalArgumentException("Unknown reference " + reference);
+    }
+    ObjectNode event = MAPPER.createObjectNode();
+    event.put("event", "charge.success");
+    event.set("data", charge);
+    return ApiClient.json(event);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      pause();
+      String path = exchange.getRequestURI().getPath();
+      if ("POST".equals(exchange.getRequestMethod()) && path.equals(INITIALIZE)) {
+        JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+        String reference = request.path("reference").asText();
+        ObjectNode charge = MAPPER.createObjectNode();
+        charge.put("id", transactionIds.incrementAndGet());
+        charge.put("domain", "test");
+        charge.put("status", "success");
+        charge.put("reference", reference);
+        charge.put("amount", request.path("amount").asLong());
+        charge.put("currency", request.path("currency").asText("GHS"));
+        charge.put("channel", request.path("channels").path(0).asText("mobile_money"));
+        charge.put("gateway_response", "Approved");
+        charge.set("metadata", request.path("metadata"));
+        charges.put(reference, charge);
+
+        ObjectNode data = MAPPER.createObjectNode();
+        data.put("authorization_url", "https://checkout.paystack.test/" + charge.get("id").asText());
+        data.put("access_code", "ac_" + charge.get("id").asText());
+        data.put("reference", reference);
+        respond(exchange, 200, envelope(true, "Authorization URL created", data));
+      } else if ("GET".equals(exchange.getRequestMethod()) && path.startsWith(VERIFY)) {
+        ObjectNode charge = charges.get(path.substring(VERIFY.length()));
+        if (charge == null) {
+          respond(exchange, 400, envelope(false, "Transaction reference not found", null));
+        } else {
+          respond(exchange, 200, envelope(true, "Verification successful", charge));
+        }
+      } else {
+        respond(exchange, 404, envelope(false, "Not found", null));
+      }
+    }
+  }
+
+  private void pause() {
+    if (latencyMs <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(latencyMs);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ObjectNode envelope(boolean status, String message, JsonNode data) {
+    ObjectNode body = MAPPER.createObjectNode();
+    body.put("status", status);
+    body.put("message", message);
+    if (data != null) {
+      body.set("data", data);
+    }
+    return body;
+  }
+
+  private static void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+    byte[] bytes = MAPPER.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.close();
+  }
+}
@@ -0,0 +1,143 @@
+package com.hostelmanagement.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Random;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One student's registration-day session: log in, browse hostels and rooms, apply (re-choosing
+ * up to {@value #APPLY_ATTEMPTS} times when the room is taken), pay through the gateway, then
+ * either verify from the browser or wait for the webhook. Paystack redelivers webhooks, so every
+ * payment also sees one replay.
+ */
+final class StudentJourney implements Runnable {
+
+  private static final int APPLY_ATTEMPTS = 3;
+  private static final String WEBHOOK_PATH = "/api/payments/webhook/paystack";
+
+  private final ApiClient api;
+  private final StubPaystack paystack;
+  private final Options options;
+  private final Stats stats;
+  private final String email;
+  private final Random random;
+
+  StudentJourney(ApiClient api, StubPaystack paystack, Options options, Stats stats, String email, long seed) {
+    this.api = api;
+    this.paystack = paystack;
+    this.options = options;
+    this.stats = stats;
+    this.email = email;
+    this.random = new Random(seed);
+  }
+
+  @Override
+  public void run() {
+    ApiClient.Response login =
+        api.post("login", "/api/auth/login", null, Map.of("email", email, "password", options.password()));
+    if (!login.ok()) {
+      stats.journey("login-failed");
+      return;
+    }
+    String token = login.body().path("accessToken").asText();
+
+    ApiClient.Response hostels = api.get("list-hostels", "/api/student/hostels", token);
+    if (!hostels.ok() || hostels.body().isEmpty()) {
+      stats.journey("no-hostels");
+      return;
+    }
+
+    JsonNode booking = apply(token, hostels.body());
+    if (booking == null) {
+      return;
+    }
+    long bookingId = booking.path("id").asLong();
+
+    ApiClient.Response initiated =
+        api.post("pay-initiate", "/api/student/payments/gateway/initiate", token,
+            Map.of("bookingId", bookingId, "paymentMethod", "MTN_MOMO"));
+    if (!initiated.ok()) {
+      stats.journey("initiate-failed");
+      return;
+    }
+    String reference = initiated.body().path("transactionReference").asText();
+
+    think();
+    byte[] event = paystack.chargeSuccessEvent(reference);
+    Map<String, String> headers = Map.of("x-paystack-signature", sign(event));
+    if (random.nextDouble() < options.webhookShare()) {
+      ApiClient.Response delivered = api.post("webhook", WEBHOOK_PATH, null, event, headers);
+      api.post("webhook-replay", WEBHOOK_PATH, null, event, headers);
+      stats.journey(delivered.ok() ? "paid-webhook" : "webhook-failed");
+    } else {
+      ApiClient.Response verified =
+          api.post("pay-verify", "/api/student/payments/gateway/verify", token, Map.of("bookingId", bookingId));
+      api.post("webhook-replay", WEBHOOK_PATH, null, event, headers);
+      stats.journey(verified.ok() ? "paid-verify" : "verify-failed");
+    }
+  }
+
+  private JsonNode apply(String token, JsonNode hostels) {
+    String lastFailure = "no-room";
+    for (int attempt = 0; attempt < APPLY_ATTEMPTS; attempt++) {
+      JsonNode hostel = pickHostel(hostels);
+      ApiClient.Response rooms =
+          api.get("list-rooms", "/api/student/hostels/" + hostel.path("id").asLong() + "/rooms", token);
+      if (!rooms.ok() || rooms.body().isEmpty()) {
+        continue;
+      }
+      JsonNode room = rooms.body().get(random.nextInt(Math.min(options.hotRooms(), rooms.body().size())));
+
+      ApiClient.Response applied =
+          api.post("apply", "/api/student/apply", token, Map.of(
+              "hostelId", hostel.path("id").asLong(),
+              "floorNumber", room.path("floorNumber").asInt(),
+              "roomId", room.path("id").asLong(),
+              "hasAc", room.path("hasAc").asBoolean(),
+              "hasWifi", room.path("hasWifi").asBoolean(),
+              "mattressType", room.path("mattressType").asText()));
+      if (applied.ok()) {
+        return applied.body();
+      }
+      lastFailure = "apply-" + applied.status();
+    }
+    stats.journey("not-booked (" + lastFailure + ")");
+    return null;
+  }
+
+  /** Most students want one of the three closest hostels; the list is sorted by distance. */
+  private JsonNode pickHostel(JsonNode hostels) {
+    int bound = random.nextDouble() < 0.6 ? Math.min(3, hostels.size()) : hostels.size();
+    return hostels.get(random.nextInt(bound));
+  }
+
+  /** Exponentially distributed time on the checkout page, capped at ten times the mean. */
+  private void think() {
+    if (options.thinkMs() <= 0) {
+      return;
+    }
+    double pause = -Math.log(1 - random.nextDouble()) * options.thinkMs();
+    try {
+      Thread.sleep((long) Math.min(pause, options.thinkMs() * 10.0));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private String sign(byte[] body) {
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(new SecretKeySpec(options.webhookSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+      return HexFormat.of().formatHex(mac.doFinal(body));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("HmacSHA256 is not available", ex);
+    }
+  }
+}